@@ -0,0 +1,72 @@
+package pc.ado;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.WorkItem;
+
+/**
+ * Work item and pull request thread parsing in {@link AdoApiClient}.
+ *
+ * <p>Responses come from an in-process gateway that caches the rendered bodies, so only the client
+ * side (JSON parsing, relation walking, DTO construction) is measured. With {@code children=all}
+ * one call parses the story, its relations twice, 4 tasks, 2 pull requests and their threads; with
+ * {@code children=pullRequests} task fetching is off, isolating the pull request and thread path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdoApiClientBenchmark {
+
+  @Param({"all", "pullRequests"})
+  public String children;
+
+  private AdoApiClient apiClient;
+  private Iteration iteration;
+  private List<String> workItemLinks;
+  private int next;
+
+  @Setup
+  public void setUp() throws Exception {
+    BenchmarkData data =
+        new BenchmarkData(
+            BenchmarkData.DEFAULT_SIZES,
+            children.equals("all") ? Map.of() : Map.of("fetchWorkItemDetails.tasks", "false"));
+    apiClient = data.getApiClient();
+    String team = data.getData().getTeamNames().get(0);
+    iteration = apiClient.getTeamSprint(BenchmarkData.PROJECT, team, List.of()).get(0);
+    workItemLinks = apiClient.getSprintWorkItemLinks(BenchmarkData.PROJECT, team, iteration);
+    // Render and cache every response once
+    for (String link : workItemLinks) {
+      apiClient.fetchWorkItem(BenchmarkData.PROJECT, link);
+    }
+  }
+
+  @Benchmark
+  public WorkItem fetchWorkItem() throws Exception {
+    String link = workItemLinks.get(next);
+    next = (next + 1) % workItemLinks.size();
+    return apiClient.fetchWorkItem(BenchmarkData.PROJECT, link);
+  }
+
+  @Benchmark
+  public List<String> sprintWorkItemLinks() throws Exception {
+    return apiClient.getSprintWorkItemLinks(
+        BenchmarkData.PROJECT, iteration.getTeamName(), iteration);
+  }
+}
@@ -0,0 +1,120 @@
+package pc.ado;
+
+import ch.qos.logback.classic.Level;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.slf4j.LoggerFactory;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.TeamMemberAllocation;
+import pc.ado.dto.TeamMemberCapacity;
+import pc.ado.mock.MockAdoConfig;
+import pc.ado.mock.SyntheticAdoData;
+import pc.ado.mock.SyntheticAdoGateway;
+import pc.ado.service.AdoJsonParserService;
+
+/**
+ * Shared inputs of the benchmarks: a synthetic organization served in-process, the client wired to
+ * it and the fully hydrated iterations it yields.
+ *
+ * <p>The default size is 4 teams of 8 members with 6 sprints of 25 stories, each story carrying 4
+ * tasks and 2 pull requests with 3 review threads of 3 comments. Logging below WARN is switched off
+ * so benchmarks measure the code rather than the console appender.
+ */
+public final class BenchmarkData {
+
+  public static final String BASE_URI = "https://dev.azure.com/";
+  public static final String PROJECT = "proj";
+
+  public static final SyntheticAdoData.Sizes DEFAULT_SIZES =
+      new SyntheticAdoData.Sizes(4, 6, 25, 4, 2, 3, 3, 8);
+
+  static {
+    ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("pc.ado")).setLevel(Level.WARN);
+  }
+
+  private final SyntheticAdoData data;
+  private final AdoConfig config;
+  private final SyntheticAdoGateway gateway;
+  private final AdoApiClient apiClient;
+
+  public BenchmarkData() {
+    this(DEFAULT_SIZES, Map.of());
+  }
+
+  /**
+   * Creates the data set.
+   *
+   * @param sizes data set dimensions
+   * @param overrides configuration properties replacing the {@link MockAdoConfig} defaults
+   */
+  public BenchmarkData(SyntheticAdoData.Sizes sizes, Map<String, String> overrides) {
+    this.data = new SyntheticAdoData(42, sizes);
+    Properties properties = MockAdoConfig.properties(BASE_URI, data.getTeamNames());
+    properties.putAll(overrides);
+    this.config = AdoConfig.fromProperties(properties);
+    this.gateway = new SyntheticAdoGateway(data, BASE_URI);
+    this.apiClient = new AdoApiClient(config, gateway, new AdoJsonParserService());
+  }
+
+  public SyntheticAdoData getData() {
+    return data;
+  }
+
+  public AdoConfig getConfig() {
+    return config;
+  }
+
+  public SyntheticAdoGateway getGateway() {
+    return gateway;
+  }
+
+  public AdoApiClient getApiClient() {
+    return apiClient;
+  }
+
+  /**
+   * Gets the raw response body of an API URL.
+   *
+   * @param url absolute URL
+   * @return JSON response body
+   * @throws Exception if the URL is not served
+   */
+  public String response(String url) throws Exception {
+    return gateway.get(url);
+  }
+
+  /**
+   * Fetches every iteration with capacities, work items, tasks and pull requests, the way a report
+   * run hydrates them.
+   *
+   * @return hydrated iterations of all teams
+   * @throws Exception if fetching fails
+   */
+  public List<Iteration> hydratedIterations() throws Exception {
+    List<Iteration> iterations = new ArrayList<>();
+    for (String team : config.getTeams()) {
+      for (Iteration iteration : apiClient.getTeamSprint(PROJECT, team, List.of())) {
+        for (TeamMemberCapacity capacity :
+            apiClient.getIterationCapacities(PROJECT, team, iteration.getId())) {
+          int workedDays =
+              DateUtils.calculateWeekDays(
+                  DateUtils.formatStringToLocalDate(iteration.getStartDate()),
+                  DateUtils.formatStringToLocalDate(iteration.getFinishDate()),
+                  capacity.getDaysOff());
+          iteration.addAllocation(
+              new TeamMemberAllocation(
+                  capacity.getDisplayName(),
+                  capacity.getCapacityPerDay(),
+                  capacity.getDaysOff(),
+                  workedDays,
+                  workedDays * capacity.getCapacityPerDay()));
+        }
+        apiClient.getSprintWorkItems(PROJECT, team, iteration);
+        iterations.add(iteration);
+      }
+    }
+    return iterations;
+  }
+}
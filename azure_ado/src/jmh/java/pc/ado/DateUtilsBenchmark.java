@@ -0,0 +1,84 @@
+package pc.ado;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Date conversions called once or more per iteration, capacity entry, work item and comment. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilsBenchmark {
+
+  // Parameters rather than constants, so the JIT cannot fold the conversions of a known input
+  @Param("2025-03-17T09:30:00Z")
+  public String isoDate;
+
+  @Param("2025-03-28T17:00:00Z")
+  public String isoEndDate;
+
+  @Param("17-Mar-2025")
+  public String reportDate;
+
+  private LocalDate sprintStart;
+  private LocalDate sprintFinish;
+
+  @Setup
+  public void setUp() {
+    sprintStart = LocalDate.parse(isoDate.substring(0, 10));
+    sprintFinish = LocalDate.parse(isoEndDate.substring(0, 10));
+  }
+
+  @Benchmark
+  public String formatISODate() {
+    return DateUtils.formatISODate(isoDate);
+  }
+
+  @Benchmark
+  public LocalDate formatStringToLocalDate() {
+    return DateUtils.formatStringToLocalDate(reportDate);
+  }
+
+  @Benchmark
+  public LocalDate formatISODateToLocalDate() {
+    return DateUtils.formatISODateToLocalDate(isoDate);
+  }
+
+  @Benchmark
+  public LocalDate parseLocalDateIso() {
+    return DateUtils.parseLocalDate(isoDate);
+  }
+
+  @Benchmark
+  public LocalDate parseLocalDateReport() {
+    return DateUtils.parseLocalDate(reportDate);
+  }
+
+  @Benchmark
+  public int calculateWeekDays() {
+    return DateUtils.calculateWeekDays(sprintStart, sprintFinish, 1);
+  }
+
+  @Benchmark
+  public String daysBetween() {
+    return DateUtils.daysBetween(isoDate, isoEndDate);
+  }
+
+  @Benchmark
+  public Object getWeekDaysBetween() {
+    return DateUtils.getWeekDaysBetween(sprintStart, sprintFinish);
+  }
+}
@@ -0,0 +1,48 @@
+package pc.ado.formatter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pc.ado.BenchmarkData;
+import pc.ado.dto.Iteration;
+
+/**
+ * Whole-report rendering by the TSV and JSON formatters over the default synthetic data set: 24
+ * iterations, 600 stories, 2400 tasks and 1200 pull requests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IterationFormatterBenchmark {
+
+  private final TsvIterationFormatter tsv = new TsvIterationFormatter();
+  private final JsonIterationFormatter json = new JsonIterationFormatter();
+  private List<Iteration> iterations;
+
+  @Setup
+  public void setUp() throws Exception {
+    iterations = new BenchmarkData().hydratedIterations();
+  }
+
+  @Benchmark
+  public String tsvFormat() {
+    return tsv.format(iterations);
+  }
+
+  @Benchmark
+  public String jsonFormat() {
+    return json.format(iterations);
+  }
+}
@@ -0,0 +1,83 @@
+package pc.ado.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pc.ado.AdoConfig;
+import pc.ado.BenchmarkData;
+import pc.ado.dto.Iteration;
+import pc.ado.mock.SyntheticAdoData;
+
+/**
+ * Iteration and capacity parsing in {@link AdoJsonParserService}, starting from the response body.
+ *
+ * <p>The payloads hold 26 sprints and 12 team members, about the size of a team's full history and
+ * of a large team's capacity page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdoJsonParserServiceBenchmark {
+
+  private final AdoJsonParserService parser = new AdoJsonParserService();
+  private AdoConfig config;
+  private String team;
+  private String iterationsResponse;
+  private String capacitiesResponse;
+  private String teamDaysOffResponse;
+
+  @Setup
+  public void setUp() throws Exception {
+    BenchmarkData data =
+        new BenchmarkData(new SyntheticAdoData.Sizes(1, 26, 1, 0, 0, 0, 0, 12), Map.of());
+    config = data.getConfig();
+    team = data.getData().getTeamNames().get(0);
+    String teamUri = parser.buildTeamUri(config, BenchmarkData.PROJECT, team);
+    String query = "?api-version=" + config.getApiVersion();
+    iterationsResponse = data.response(teamUri + config.getIterationsApiPath() + query);
+    String iterationId =
+        parser
+            .parseIterations(iterationsResponse, BenchmarkData.PROJECT, team, config, List.of())
+            .get(0)
+            .getId();
+    capacitiesResponse =
+        data.response(
+            teamUri + config.getCapacitiesApiPath().replace("{iterationId}", iterationId) + query);
+    teamDaysOffResponse =
+        data.response(
+            teamUri
+                + config.getIterationDayOffPath().replace("{iterationId}", iterationId)
+                + query);
+  }
+
+  @Benchmark
+  public List<Iteration> parseIterations() throws Exception {
+    return parser.parseIterations(
+        iterationsResponse, BenchmarkData.PROJECT, team, config, List.of());
+  }
+
+  @Benchmark
+  public void parseTeamMemberCapacities(Blackhole blackhole) throws Exception {
+    JSONArray teamDaysOff = new JSONObject(teamDaysOffResponse).getJSONArray("daysOff");
+    JSONArray members = new JSONObject(capacitiesResponse).getJSONArray("teamMembers");
+    for (int i = 0; i < members.length(); i++) {
+      blackhole.consume(parser.parseTeamMemberCapacity(members.getJSONObject(i), teamDaysOff));
+    }
+  }
+}
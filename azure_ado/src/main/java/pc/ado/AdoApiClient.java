@@ -23,7 +23,12 @@ import pc.ado.dto.WorkItem;
 import pc.ado.exception.AdoException;
 import pc.ado.exception.AdoParsingException;
 import pc.ado.gateway.AdoGateway;
+import pc.ado.jfr.ParseEvent;
+import pc.ado.metrics.Endpoint;
+import pc.ado.metrics.Phase;
+import pc.ado.metrics.ResourceAccounting;
 import pc.ado.service.AdoJsonParserService;
+import pc.ado.service.StringPool;
 
 /**
  * Production-grade Azure DevOps API client.
@@ -45,6 +50,8 @@ public class AdoApiClient {
   private final AdoGateway gateway;
   private final AdoConfig config;
   private final AdoJsonParserService parserService;
+  private final StringPool stringPool;
+  private final ResourceAccounting accounting;
 
   /**
    * Creates an API client with the given configuration and HTTP client.
@@ -65,12 +72,39 @@ public class AdoApiClient {
    * @param parserService service for parsing JSON responses
    */
   public AdoApiClient(AdoConfig config, AdoGateway gateway, AdoJsonParserService parserService) {
+    this(config, gateway, parserService, new ResourceAccounting(false));
+  }
+
+  /**
+   * Creates an API client that accounts task and pull request fetching as their own phases.
+   *
+   * @param config ADO configuration
+   * @param gateway gateway for API communication
+   * @param parserService service for parsing JSON responses
+   * @param accounting resource accounting for the task and pull request phases
+   */
+  public AdoApiClient(
+      AdoConfig config,
+      AdoGateway gateway,
+      AdoJsonParserService parserService,
+      ResourceAccounting accounting) {
     this.config = config;
     this.gateway = gateway;
     this.parserService = parserService;
+    this.accounting = accounting;
+    this.stringPool = parserService.getStringPool();
     logger.debug("API client initialized");
   }
 
+  /**
+   * Gets the pool that parsed names, states and tags are deduplicated through for this run.
+   *
+   * @return the run-scoped string pool
+   */
+  public StringPool getStringPool() {
+    return stringPool;
+  }
+
   /**
    * Retrieves team iterations for the specified team and project.
    *
@@ -91,7 +125,18 @@ public class AdoApiClient {
 
     try {
       String response = gateway.get(url);
-      return parserService.parseIterations(response, project, team, config, itrNames);
+      ParseEvent event = new ParseEvent();
+      event.begin();
+      List<Iteration> iterations =
+          parserService.parseIterations(response, project, team, config, itrNames);
+      event.end();
+      if (event.shouldCommit()) {
+        event.payloadType = Endpoint.ITERATIONS.getValue();
+        event.payloadSize = utf8Length(response);
+        event.records = iterations.size();
+        event.commit();
+      }
+      return iterations;
     } catch (AdoParsingException e) {
       logger.error("Failed to parse iterations for team: {}", team, e);
       throw e;
@@ -164,7 +209,8 @@ public class AdoApiClient {
         + config.getApiVersion();
 
     String response = gateway.get(url);
-    JSONObject jsonResponse = new JSONObject(response);
+    JSONObject jsonResponse =
+        parse(Endpoint.TEAM_DAYS_OFF, response, AdoConstants.JsonFields.DAYS_OFF);
     return jsonResponse.getJSONArray(AdoConstants.JsonFields.DAYS_OFF);
   }
 
@@ -183,7 +229,8 @@ public class AdoApiClient {
     String url = teamUri + "/" + capacitiesPath + "?api-version=" + config.getApiVersion();
 
     String response = gateway.get(url);
-    JSONObject jsonResponse = new JSONObject(response);
+    JSONObject jsonResponse =
+        parse(Endpoint.CAPACITIES, response, AdoConstants.JsonFields.TEAM_MEMBERS);
     JSONArray teamMembersArray = jsonResponse.getJSONArray(AdoConstants.JsonFields.TEAM_MEMBERS);
 
     List<TeamMemberCapacity> capacities = new ArrayList<>();
@@ -285,6 +332,33 @@ public class AdoApiClient {
    */
   public List<TeamMemberCapacity> getSprintWorkItems(
       String project, String team, Iteration iteration) throws Exception {
+    List<String> workItemLinks = getSprintWorkItemLinks(project, team, iteration);
+    for (String workItemLink : workItemLinks) {
+      WorkItem workItem = fetchWorkItem(project, workItemLink);
+      if (workItem != null) {
+        iteration.addWorkItem(workItem);
+        logger.trace(
+            "  Added work item {} in {} state to iteration {}",
+            workItem.getId(),
+            workItem.getState(),
+            iteration.getName());
+      }
+    }
+    logger.debug("Total work items processed: {}", workItemLinks.size());
+    return null;
+  }
+
+  /**
+   * Lists the links of the top-level work items planned in a sprint, without fetching them.
+   *
+   * @param project project name
+   * @param team team name
+   * @param iteration sprint to list
+   * @return work item URLs in sprint order
+   * @throws Exception if the API call or parsing fails
+   */
+  public List<String> getSprintWorkItemLinks(String project, String team, Iteration iteration)
+      throws Exception {
     String teamUri = buildTeamUri(project, team);
     try {
       // Get team holidays for the iteration
@@ -295,41 +369,52 @@ public class AdoApiClient {
               + "?api-version="
               + config.getApiVersion();
       String response = gateway.get(url);
-      JSONObject jsonResponse = new JSONObject(response);
+      JSONObject jsonResponse =
+          parse(Endpoint.WORK_ITEMS, response, AdoConstants.JsonFields.WORK_ITEM_RELATIONS);
       JSONArray workItemsArray = jsonResponse.getJSONArray("workItemRelations");
-      int count = 0;
+      List<String> workItemLinks = new ArrayList<>();
       for (int i = 0; i < workItemsArray.length(); i++) {
         JSONObject workItem = workItemsArray.getJSONObject(i);
         // When work item relation is null then get the target object
         Object relObj = workItem.opt("rel");
         if (relObj == null || relObj == JSONObject.NULL) {
-          count++;
           JSONObject target = workItem.optJSONObject("target");
-          String workItemLink = target.getString("url");
-          getWorkItemFields(project, workItemLink, iteration);
+          workItemLinks.add(target.getString("url"));
         }
       }
-      logger.debug("Total work items processed: {}", count);
       // logger.debug("Sprint Work Items response: {}", response);
+      return workItemLinks;
     } catch (JSONException e) {
       logger.error("Failed to parse work items response for iteration: {}", iteration.getId(), e);
       throw new Exception("Failed to parse work items response", e);
     }
-    return null;
   }
 
   /**
-   * Retrieves and logs fields for a given work item(story level).
+   * Fetches one work item (story level) with its tasks and pull requests as configured.
    *
-   * @param project
-   * @param team
-   * @param workItemLink
-   * @throws Exception
+   * @param project project name
+   * @param workItemLink work item URL, as listed by {@link #getSprintWorkItemLinks}
+   * @return the work item, or null if it has no fields or is in an ignored state
+   * @throws Exception if an API call or parsing fails
+   */
+  public WorkItem fetchWorkItem(String project, String workItemLink) throws Exception {
+    return fetchWorkItem(project, workItemLink, new FetchStatus());
+  }
+
+  /**
+   * Fetches one work item (story level) with its tasks and pull requests as configured.
+   *
+   * @param project project name
+   * @param workItemLink work item URL, as listed by {@link #getSprintWorkItemLinks}
+   * @param status records pull requests that could not be fetched and were left out
+   * @return the work item, or null if it has no fields or is in an ignored state
+   * @throws Exception if an API call or parsing fails
    */
-  private void getWorkItemFields(String project, String workItemLink, Iteration iteration)
+  public WorkItem fetchWorkItem(String project, String workItemLink, FetchStatus status)
       throws Exception {
     String workItemResponse = gateway.get(workItemLink);
-    JSONObject workItemJsonResponse = new JSONObject(workItemResponse);
+    JSONObject workItemJsonResponse = parse(Endpoint.WORK_ITEM, workItemResponse, null);
     // logger.debug("Work Item Response: {}", workItemJsonResponse.toString());
     String id = workItemJsonResponse.optString("id", "N/A");
     JSONObject fields = workItemJsonResponse.optJSONObject("fields");
@@ -337,8 +422,9 @@ public class AdoApiClient {
       // Do not extract any project specific details
       // String title = fields.optString("System.Title", "N/A");
       String title = "";
-      String workItemType = fields.optString("System.WorkItemType"); // Bug/Story
-      String state = fields.optString("System.State");
+      String workItemType =
+          stringPool.intern(fields.optString("System.WorkItemType")); // Bug/Story
+      String state = stringPool.intern(fields.optString("System.State"));
       // Check if the work item state is in the ignored list
       List<String> ignoredStates =
           (config.getIgnoredWorkItemStates() != null)
@@ -352,20 +438,23 @@ public class AdoApiClient {
         JSONObject assignedToObj = fields.optJSONObject("System.AssignedTo");
         String assignedTo =
             assignedToObj != null
-                ? assignedToObj.optString("displayName", "Unassigned")
+                ? stringPool.intern(assignedToObj.optString("displayName", "Unassigned"))
                 : "Unassigned";
         String priority = fields.optString("Microsoft.VSTS.Common.Priority");
-        String severity = fields.optString("Microsoft.VSTS.Common.Severity");
+        String severity = stringPool.intern(fields.optString("Microsoft.VSTS.Common.Severity"));
         String createdDate = fields.optString("System.CreatedDate");
         JSONObject createdByObj = fields.optJSONObject("System.CreatedBy");
-        String createdBy = createdByObj != null ? createdByObj.optString("displayName") : "Unknown";
+        String createdBy =
+            createdByObj != null
+                ? stringPool.intern(createdByObj.optString("displayName"))
+                : "Unknown";
         String devEndDate = fields.optString("Custom.DevEndDate");
         String qaReadyDate = fields.optString("Microsoft.VSTS.Scheduling.DueDate");
         // TODO: Test this field with ADO dataset.
         String qaEndDate = fields.optString("Custom.QACompletionDate");
         String implDetails = fields.optString("Custom.ImplementationDetails");
 
-        String tags = fields.optString("System.Tags");
+        String tags = stringPool.intern(fields.optString("System.Tags"));
         logger.trace(
             "ID: {} | Title: {} | Type: {} | Story Points: {} | Assigned To: {} | State: {} | Priority: {} | Severity: {} | Created Date: {} | Created By: {} | Dev End Date: {} | QA End Date: {} | Tags: {}",
             id,
@@ -383,7 +472,8 @@ public class AdoApiClient {
             tags);
 
         // Custom field for project
-        String plannedReleaseVersion = fields.optString("Custom.SYMPlannedReleaseVersion", "");
+        String plannedReleaseVersion =
+            stringPool.intern(fields.optString("Custom.SYMPlannedReleaseVersion", ""));
 
         // Create and add WorkItem to iteration
         WorkItem workItem =
@@ -407,27 +497,30 @@ public class AdoApiClient {
                 !implDetails.isEmpty(),
                 tags);
 
-        populateWorkItemChildren(project, id, workItem);
-        iteration.addWorkItem(workItem);
-        logger.trace(
-            "  Added work item {} in {} state to iteration {}", id, state, iteration.getName());
+        populateWorkItemChildren(project, id, workItem, status);
+        return workItem;
       }
     } else {
       logger.warn("No fields found for work item ID: {}", id);
     }
+    return null;
   }
 
-  private void populateWorkItemChildren(String project, String id, WorkItem workItem)
-      throws Exception {
+  private void populateWorkItemChildren(
+      String project, String id, WorkItem workItem, FetchStatus status) throws Exception {
     // Retrieve work item tasks based on configuration
     if (config.isFetchWorkItemTasks()) {
       logger.trace("      Fetching tasks for Work item ID: {}", id);
-      populateTasks(project, Integer.parseInt(id), workItem);
+      accounting.measure(Phase.TASKS, null, null, () -> {
+        populateTasks(project, Integer.parseInt(id), workItem);
+      });
     }
     // Retrieve work item pull requests based on configuration
     if (config.isFetchWorkItemPullRequests()) {
       logger.trace("      Fetching pull requests for Work item ID: {}", id);
-      populatePullRequests(project, Integer.parseInt(id), workItem);
+      accounting.measure(Phase.PULL_REQUESTS, null, null, () -> {
+        populatePullRequests(project, Integer.parseInt(id), workItem, status);
+      });
     }
   }
 
@@ -459,10 +552,11 @@ public class AdoApiClient {
    *
    * @param project
    * @param workItemId
+   * @param status records pull requests left out after a failure
    * @throws Exception
    */
-  private void populatePullRequests(String project, int workItemId, WorkItem workItem)
-      throws Exception {
+  private void populatePullRequests(
+      String project, int workItemId, WorkItem workItem, FetchStatus status) throws Exception {
     String teamUri = buildTeamUri(project, null);
     int totalPullRequestsAdded = 0;
     try {
@@ -481,6 +575,7 @@ public class AdoApiClient {
                   "Failed to process pull request for work item {}: {}",
                   workItemId,
                   e.getMessage());
+              status.recordFailure();
               // Continue processing other PRs even if one fails
             }
           }
@@ -490,6 +585,7 @@ public class AdoApiClient {
       logger.warn(
           "Failed to fetch work item relations for work item {}: {}", workItemId, e.getMessage());
       logger.debug("Error details", e);
+      status.recordFailure();
       // Don't fail entirely if PR retrieval fails
     }
     logger.trace("      Total PR added to work item {}: {}", workItemId, totalPullRequestsAdded);
@@ -513,7 +609,7 @@ public class AdoApiClient {
             + "&api-version="
             + config.getApiVersion();
     String response = gateway.get(url);
-    JSONObject jsonResponse = new JSONObject(response);
+    JSONObject jsonResponse = parse(Endpoint.RELATIONS, response, "relations");
     return jsonResponse.optJSONArray("relations");
   }
 
@@ -564,7 +660,7 @@ public class AdoApiClient {
   private int processTaskRelation(String taskUrl, WorkItem workItem) throws Exception {
     int taskAdded = 0;
     String taskResponse = gateway.get(taskUrl);
-    JSONObject taskJsonResponse = new JSONObject(taskResponse);
+    JSONObject taskJsonResponse = parse(Endpoint.WORK_ITEM, taskResponse, null);
     // logger.trace(taskJsonResponse.toString());
     JSONObject fields = taskJsonResponse.optJSONObject("fields");
     // log fields for debugging
@@ -592,12 +688,12 @@ public class AdoApiClient {
       }
     }
     if (workItemType.equals("Task")) {
-      String taskState = fields.optString("System.State");
-      String taskType = fields.optString("Microsoft.VSTS.Common.Activity");
+      String taskState = stringPool.intern(fields.optString("System.State"));
+      String taskType = stringPool.intern(fields.optString("Microsoft.VSTS.Common.Activity"));
       JSONObject assignedToObj = fields.optJSONObject("System.AssignedTo");
       String assignedTo =
           assignedToObj != null
-              ? assignedToObj.optString("displayName", "Unassigned")
+              ? stringPool.intern(assignedToObj.optString("displayName", "Unassigned"))
               : "Unassigned";
       String originalEstimate = fields.optString("Microsoft.VSTS.Scheduling.OriginalEstimate");
       String completedHrs = fields.optString("Microsoft.VSTS.Scheduling.CompletedWork");
@@ -687,8 +783,10 @@ public class AdoApiClient {
           "Pull PR for {} {} {} from: {}", projectId, repositoryId, pullRequestId, prDetailsUrl);
 
       String prDetailsResponse = gateway.get(prDetailsUrl);
-      JSONObject prDetailsJsonResponse = new JSONObject(prDetailsResponse);
-      String createdBy = prDetailsJsonResponse.optJSONObject("createdBy").optString("displayName");
+      JSONObject prDetailsJsonResponse = parse(Endpoint.PULL_REQUEST, prDetailsResponse, null);
+      String createdBy =
+          stringPool.intern(
+              prDetailsJsonResponse.optJSONObject("createdBy").optString("displayName"));
       String creationDate = prDetailsJsonResponse.optString("creationDate");
       logger.trace(
           "  Pull request: {} - {} by {} on {} : {}",
@@ -703,7 +801,8 @@ public class AdoApiClient {
       // Fetch PR threads
       String prThreadUrl = buildPullRequestThreadUrl(teamUri, repositoryId, pullRequestId);
       String prThreadResponse = gateway.get(prThreadUrl);
-      JSONObject prThreadJsonResponse = new JSONObject(prThreadResponse);
+      JSONObject prThreadJsonResponse =
+          parse(Endpoint.PR_THREADS, prThreadResponse, AdoConstants.JsonFields.VALUE);
 
       processPullRequestThreads(prThreadJsonResponse, pullRequest);
 
@@ -758,6 +857,54 @@ public class AdoApiClient {
         + config.getApiVersion();
   }
 
+  /**
+   * Parses an API response, recording a JFR parse event when enabled.
+   *
+   * @param payloadType endpoint the response came from
+   * @param response response body
+   * @param recordsField array holding the response entries, or null for a single record
+   * @return the parsed response
+   */
+  private static JSONObject parse(Endpoint payloadType, String response, String recordsField) {
+    ParseEvent event = new ParseEvent();
+    event.begin();
+    JSONObject json = new JSONObject(response);
+    event.end();
+    if (event.shouldCommit()) {
+      JSONArray records = recordsField == null ? null : json.optJSONArray(recordsField);
+      event.payloadType = payloadType.getValue();
+      event.payloadSize = utf8Length(response);
+      event.records = recordsField == null ? 1 : records == null ? 0 : records.length();
+      event.commit();
+    }
+    return json;
+  }
+
+  /**
+   * Counts the UTF-8 bytes of a response without encoding it again.
+   *
+   * @param value decoded response body
+   * @return size of the body as received
+   */
+  private static long utf8Length(String value) {
+    long bytes = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        bytes++;
+      } else if (c < 0x800) {
+        bytes += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        bytes += 4;
+        i++;
+      } else {
+        bytes += 3;
+      }
+    }
+    return bytes;
+  }
+
   /**
    * Processes pull request threads and extracts commenter information.
    *
@@ -772,7 +919,7 @@ public class AdoApiClient {
     for (int j = 0; j < prThreadArray.length(); j++) {
       JSONObject prObject = prThreadArray.getJSONObject(j);
       String prThreadId = prObject.optString("id");
-      String prThreadStatus = prObject.optString("status");
+      String prThreadStatus = stringPool.intern(prObject.optString("status"));
       Boolean prThreadIsDeleted = prObject.optBoolean("isDeleted");
 
       if (!prThreadIsDeleted && !prThreadStatus.equals("abandoned")) {
@@ -817,7 +964,8 @@ public class AdoApiClient {
       String prThreadCommentType = commentObj.optString("commentType");
       if (prThreadCommentType.equals("text")) {
         String commentPublishedDate = commentObj.optString("publishedDate");
-        String commenter = commentObj.optJSONObject("author").optString("displayName");
+        String commenter =
+            stringPool.intern(commentObj.optJSONObject("author").optString("displayName"));
 
         // Skip submitter's comments if configured to ignore them
         if (config.isIgnoreSubmitterPRComments() && commenter.equals(pullRequestCreatedBy)) {
@@ -7,6 +7,11 @@ import java.util.List;
 import java.util.Properties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pc.ado.formatter.SummaryIterationFormatter;
+import pc.ado.gateway.GatewayMode;
+import pc.ado.metrics.MetricsServerMode;
+import pc.ado.output.ReportOutput;
+import pc.ado.storage.StorageMode;
 
 /**
  * Manages ADO configuration loaded from properties file.
@@ -16,21 +21,39 @@ import org.slf4j.LoggerFactory;
 public class AdoConfig {
 
   private static final Logger logger = LoggerFactory.getLogger(AdoConfig.class);
-  private static final AdoConfig INSTANCE = new AdoConfig();
   private final Properties config;
 
-  private AdoConfig() {
-    this.config = loadConfiguration();
+  private AdoConfig(final Properties config) {
+    this.config = config;
     validateConfiguration();
   }
 
+  /** Loads config.properties on first use, so {@link #fromProperties} works without it. */
+  private static final class Holder {
+    private static final AdoConfig INSTANCE = new AdoConfig(loadConfiguration());
+  }
+
   public static AdoConfig getInstance() {
-    return INSTANCE;
+    return Holder.INSTANCE;
   }
 
-  private Properties loadConfiguration() {
+  /**
+   * Creates a configuration from the given properties instead of config.properties, e.g. to embed
+   * the tool or to point it at a test server.
+   *
+   * @param properties configuration properties
+   * @return validated configuration
+   */
+  public static AdoConfig fromProperties(final Properties properties) {
+    final Properties copy = new Properties();
+    copy.putAll(properties);
+    return new AdoConfig(copy);
+  }
+
+  private static Properties loadConfiguration() {
     final Properties props = new Properties();
-    try (InputStream input = getClass().getClassLoader().getResourceAsStream("config.properties")) {
+    try (InputStream input =
+        AdoConfig.class.getClassLoader().getResourceAsStream("config.properties")) {
       if (input == null) {
         throw new IOException("config.properties file not found in resources");
       }
@@ -118,6 +141,209 @@ public class AdoConfig {
     return config.getProperty("outputFormatterType", "json");
   }
 
+  /**
+   * Gets the report compression (none, gzip, bgzf or auto). With auto, the compression is detected
+   * from the extension of the report file path.
+   *
+   * @return configured compression value
+   */
+  public String getOutputCompression() {
+    return config.getProperty("outputCompression", "auto");
+  }
+
+  public boolean isOutputCompressionIndexEnabled() {
+    return Boolean.parseBoolean(config.getProperty("outputCompression.writeIndex", "true"));
+  }
+
+  /**
+   * Gets the report outputs. Each entry of the {@code outputs} property is a {@code format:path}
+   * pair; when the property is not set, a single output is built from {@code outputFormatterType}
+   * and {@code sprintCapacityDetailsFilePath}.
+   *
+   * @return report outputs, never empty
+   */
+  public List<ReportOutput> getReportOutputs() {
+    final List<ReportOutput> outputs = ReportOutput.parseList(config.getProperty("outputs"));
+    if (outputs.isEmpty()) {
+      return List.of(
+          new ReportOutput(getOutputFormatterType(), getSprintCapacityDetailsFilePath()));
+    }
+    return outputs;
+  }
+
+  public int getOutputBufferSize() {
+    return Integer.parseInt(config.getProperty("outputs.bufferSize", "16").trim());
+  }
+
+  public boolean isParallelFormattingEnabled() {
+    return Boolean.parseBoolean(config.getProperty("parallelFormatting", "false"));
+  }
+
+  public int getParallelFormattingChunkSize() {
+    return Integer.parseInt(config.getProperty("parallelFormatting.chunkSize", "32").trim());
+  }
+
+  /**
+   * Gets the number of formatting threads; 0 uses the common fork-join pool (one thread per core).
+   *
+   * @return configured thread count
+   */
+  public int getParallelFormattingThreads() {
+    return Integer.parseInt(config.getProperty("parallelFormatting.threads", "0").trim());
+  }
+
+  /**
+   * Gets the work item states counted as done by the summary output.
+   *
+   * @return done states, defaulting to Done, Closed and Resolved
+   */
+  public List<String> getSummaryDoneStates() {
+    final String states = config.getProperty("summary.doneStates", "").trim();
+    return states.isEmpty()
+        ? SummaryIterationFormatter.DEFAULT_DONE_STATES
+        : List.of(states.split(","));
+  }
+
+  /**
+   * Gets where hydrated work items are kept during the run: heap, offheap or mmap.
+   *
+   * @return storage mode, defaulting to heap
+   */
+  public StorageMode getStorageMode() {
+    return StorageMode.fromString(config.getProperty("storageMode", "heap"));
+  }
+
+  /**
+   * Gets the size of each off-heap or memory-mapped storage segment.
+   *
+   * @return segment size in bytes, defaulting to 64 MB
+   */
+  public int getStorageSegmentSize() {
+    return Integer.parseInt(config.getProperty("storage.segmentSizeMb", "64").trim()) * 1024 * 1024;
+  }
+
+  /**
+   * Gets the directory for memory-mapped storage files.
+   *
+   * @return directory, defaulting to the system temp directory
+   */
+  public String getStorageDirectory() {
+    return config.getProperty("storage.directory", System.getProperty("java.io.tmpdir"));
+  }
+
+  /**
+   * Gets the number of listed iterations queued for the hydrate stage of the pipeline.
+   *
+   * @return queue size, defaulting to 4
+   */
+  public int getPipelineQueueSize() {
+    return Integer.parseInt(config.getProperty("pipeline.queueSize", "4").trim());
+  }
+
+  /**
+   * Gets the number of threads loading capacities and work items for iterations in parallel.
+   *
+   * @return hydrate thread count, defaulting to 1
+   */
+  public int getPipelineHydrateThreads() {
+    return Integer.parseInt(config.getProperty("pipeline.hydrateThreads", "1").trim());
+  }
+
+  /**
+   * Gets the number of completed iterations kept in memory while they wait for earlier ones; more
+   * are spilled to a temporary file in the storage directory.
+   *
+   * @return in-memory limit, defaulting to 16
+   */
+  public int getPipelineMaxBufferedIterations() {
+    return Integer.parseInt(config.getProperty("pipeline.maxBufferedIterations", "16").trim());
+  }
+
+  /**
+   * Checks whether completed work items and iterations are journaled so an interrupted run can be
+   * resumed with {@code --resume}. A run started with {@code --resume} journals regardless.
+   *
+   * @return true if checkpointing is enabled (default: false)
+   */
+  public boolean isCheckpointEnabled() {
+    return Boolean.parseBoolean(config.getProperty("checkpoint.enabled", "false"));
+  }
+
+  /**
+   * Gets the checkpoint journal file; it is deleted when a run completes.
+   *
+   * @return journal path, defaulting to ado-checkpoint.journal
+   */
+  public String getCheckpointFilePath() {
+    return config.getProperty("checkpoint.file", "ado-checkpoint.journal");
+  }
+
+  /**
+   * Gets how the tool talks to Azure DevOps: live, record (live and captured to the archive) or
+   * replay (served from the archive, offline).
+   *
+   * @return gateway mode, defaulting to live
+   */
+  public GatewayMode getGatewayMode() {
+    return GatewayMode.fromString(config.getProperty("gateway.mode", "live"));
+  }
+
+  /**
+   * Gets the archive written in record mode and read in replay mode.
+   *
+   * @return archive path, defaulting to ado-recording.zip
+   */
+  public String getGatewayArchivePath() {
+    return config.getProperty("gateway.archive", "ado-recording.zip");
+  }
+
+  /**
+   * Gets the latency added to every call in replay mode.
+   *
+   * @return latency in milliseconds, defaulting to 0
+   */
+  public long getGatewayReplayLatencyMs() {
+    return Long.parseLong(config.getProperty("gateway.replayLatencyMs", "0").trim());
+  }
+
+  /**
+   * Checks whether CPU time, allocations and API calls are attributed to run phases and to each
+   * team/iteration, and logged next to the execution statistics.
+   *
+   * @return true if resource accounting is enabled (default: false)
+   */
+  public boolean isResourceAccountingEnabled() {
+    return Boolean.parseBoolean(config.getProperty("resourceAccounting.enabled", "false"));
+  }
+
+  /**
+   * Checks whether a JFR recording is taken for the run and written to {@link #getJfrFile()} at
+   * exit.
+   *
+   * @return true if JFR recording is enabled (default: false)
+   */
+  public boolean isJfrEnabled() {
+    return Boolean.parseBoolean(config.getProperty("jfr.enabled", "false"));
+  }
+
+  /**
+   * Gets the file the JFR recording is written to.
+   *
+   * @return recording file path (default: ado-run.jfr)
+   */
+  public String getJfrFile() {
+    return config.getProperty("jfr.file", "ado-run.jfr");
+  }
+
+  /**
+   * Gets the predefined JFR settings the recording uses.
+   *
+   * @return default (low overhead) or profile (more detail); default: default
+   */
+  public String getJfrSettings() {
+    return config.getProperty("jfr.settings", "default");
+  }
+
   public List<String> getIgnoredWorkItemStates() {
     final String states = config.getProperty("ignoredWorkItemStates", "");
     return List.of(states.split(","));
@@ -153,6 +379,121 @@ public class AdoConfig {
     return Boolean.parseBoolean(config.getProperty("enableExecutionTracking", "false"));
   }
 
+  /**
+   * Gets how often the memory monitor takes a full statistics snapshot, with thread states, when
+   * execution tracking is enabled.
+   *
+   * @return snapshot interval in milliseconds (default: 30000)
+   */
+  public long getExecutionTrackingIntervalMs() {
+    return Long.parseLong(config.getProperty("executionTracking.intervalMs", "30000"));
+  }
+
+  /**
+   * Gets how often the memory monitor collects per-pool details and runs deadlock detection, which
+   * pause the JVM for longer as the thread count grows.
+   *
+   * @return expensive collection interval in milliseconds (default: 300000)
+   */
+  public long getExecutionTrackingExpensiveIntervalMs() {
+    return Long.parseLong(config.getProperty("executionTracking.expensiveIntervalMs", "300000"));
+  }
+
+  /**
+   * Gets how often the memory monitor samples heap, pool, GC, thread and CPU metrics into its time
+   * series when execution tracking is enabled.
+   *
+   * @return sample interval in milliseconds (default: 1000)
+   */
+  public long getExecutionTrackingSampleIntervalMs() {
+    return Long.parseLong(config.getProperty("executionTracking.sampleIntervalMs", "1000"));
+  }
+
+  /**
+   * Gets the CSV file the memory monitor time series is exported to at exit.
+   *
+   * @return export file path, or empty for no export (default)
+   */
+  public String getExecutionTrackingTimeSeriesFile() {
+    return config.getProperty("executionTracking.timeSeriesFile", "");
+  }
+
+  /**
+   * Gets the binary metrics log the memory monitor appends every snapshot to. With a log, periodic
+   * snapshots are no longer written to the text log.
+   *
+   * @return metrics log path, or empty to log snapshots as text only (default)
+   */
+  public String getExecutionTrackingMetricsLogFile() {
+    return config.getProperty("executionTracking.metricsLogFile", "");
+  }
+
+  /**
+   * Checks whether a warning naming the work in progress is logged when the tenured heap stays
+   * above {@link #getMemoryAlertThresholdPercent()} after GC.
+   *
+   * @return true if memory alerts are enabled (default: false)
+   */
+  public boolean isMemoryAlertEnabled() {
+    return Boolean.parseBoolean(config.getProperty("memoryAlert.enabled", "false"));
+  }
+
+  /**
+   * Gets the share of the tenured heap's maximum that, still used after GC, raises a memory alert.
+   *
+   * @return threshold percentage (default: 85)
+   */
+  public double getMemoryAlertThresholdPercent() {
+    return Double.parseDouble(config.getProperty("memoryAlert.thresholdPercent", "85"));
+  }
+
+  /**
+   * Gets the directory a heap dump is written to on the first memory alert of a run.
+   *
+   * @return heap dump directory, empty for no heap dump (default: empty)
+   */
+  public String getMemoryAlertHeapDumpDirectory() {
+    return config.getProperty("memoryAlert.heapDumpDirectory", "");
+  }
+
+  /**
+   * Checks whether the classes using the most heap are logged on the first memory alert of a run.
+   *
+   * @return true if a class histogram is logged (default: false)
+   */
+  public boolean isMemoryAlertClassHistogram() {
+    return Boolean.parseBoolean(config.getProperty("memoryAlert.classHistogram", "false"));
+  }
+
+  /**
+   * Checks whether metrics are served in the OpenMetrics format on localhost for a
+   * Prometheus-compatible agent to scrape.
+   *
+   * @return true if the metrics server is enabled (default: false)
+   */
+  public boolean isMetricsServerEnabled() {
+    return Boolean.parseBoolean(config.getProperty("metrics.server.enabled", "false"));
+  }
+
+  /**
+   * Gets the localhost port the metrics server listens on.
+   *
+   * @return port, or 0 for any free port (default: 9464)
+   */
+  public int getMetricsServerPort() {
+    return Integer.parseInt(config.getProperty("metrics.server.port", "9464"));
+  }
+
+  /**
+   * Gets whether the metrics server stops with the run (oneshot) or keeps serving until the process
+   * is stopped (daemon).
+   *
+   * @return metrics server mode, defaulting to oneshot
+   */
+  public MetricsServerMode getMetricsServerMode() {
+    return MetricsServerMode.fromString(config.getProperty("metrics.server.mode", "oneshot"));
+  }
+
   public boolean isExecutionStatsEnabled() {
     return Boolean.parseBoolean(config.getProperty("enableExecutionStats", "true"));
   }
@@ -5,6 +5,7 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 
 import org.slf4j.Logger;
@@ -16,6 +17,9 @@ import pc.ado.exception.AdoAuthenticationException;
 import pc.ado.exception.AdoException;
 import pc.ado.exception.ErrorCode;
 import pc.ado.gateway.AdoGateway;
+import pc.ado.jfr.HttpRequestEvent;
+import pc.ado.metrics.Endpoint;
+import pc.ado.metrics.HttpMetrics;
 import pc.ado.service.AuthenticationService;
 import pc.ado.service.RetryStrategy;
 
@@ -30,6 +34,7 @@ import pc.ado.service.RetryStrategy;
  *   <li>Structured exception handling
  *   <li>Authentication abstraction
  *   <li>Health checking capabilities
+ *   <li>Per-endpoint latency, status code and byte metrics
  * </ul>
  *
  * <p>Follows SOLID principles: implements DIP through interface, SRP by delegating authentication.
@@ -41,6 +46,7 @@ public class AdoHttpClient implements AdoGateway {
   private final HttpClient httpClient;
   private final AuthenticationService authService;
   private final RetryStrategy retryStrategy;
+  private final HttpMetrics metrics;
 
   /**
    * Creates an HTTP client with Basic Authentication.
@@ -48,7 +54,17 @@ public class AdoHttpClient implements AdoGateway {
    * @param patToken Personal Access Token for Azure DevOps
    */
   public AdoHttpClient(String patToken) {
-    this(new AuthenticationService(patToken), new RetryStrategy());
+    this(patToken, new HttpMetrics());
+  }
+
+  /**
+   * Creates an HTTP client with Basic Authentication that records into the given metrics.
+   *
+   * @param patToken Personal Access Token for Azure DevOps
+   * @param metrics metrics to record every request into
+   */
+  public AdoHttpClient(String patToken, HttpMetrics metrics) {
+    this(new AuthenticationService(patToken), new RetryStrategy(), metrics);
   }
 
   /**
@@ -60,8 +76,21 @@ public class AdoHttpClient implements AdoGateway {
    * @param retryStrategy retry strategy
    */
   public AdoHttpClient(AuthenticationService authService, RetryStrategy retryStrategy) {
+    this(authService, retryStrategy, new HttpMetrics());
+  }
+
+  /**
+   * Creates an HTTP client with custom authentication, retry strategy and metrics.
+   *
+   * @param authService authentication service
+   * @param retryStrategy retry strategy
+   * @param metrics metrics to record every request into
+   */
+  public AdoHttpClient(
+      AuthenticationService authService, RetryStrategy retryStrategy, HttpMetrics metrics) {
     this.authService = authService;
     this.retryStrategy = retryStrategy;
+    this.metrics = metrics;
     this.httpClient = buildHttpClient();
     logger.debug("HTTP client initialized with retry strategy: max {} attempts",
         retryStrategy.getMaxRetries());
@@ -118,6 +147,15 @@ public class AdoHttpClient implements AdoGateway {
     }, "GET " + url);
   }
 
+  /**
+   * Gets the metrics this client records into.
+   *
+   * @return per-endpoint HTTP metrics
+   */
+  public HttpMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * Executes a GET request with proper error handling.
    *
@@ -130,19 +168,50 @@ public class AdoHttpClient implements AdoGateway {
 
     HttpRequest request = buildGetRequest(url);
 
+    HttpRequestEvent event = new HttpRequestEvent();
+    event.begin();
+    long start = System.nanoTime();
+    HttpResponse<byte[]> response;
     try {
-      HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-      return handleResponse(response, url);
+      response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
     } catch (IOException e) {
+      metrics.recordFailure(url, System.nanoTime() - start);
+      commit(event, url, 0, 0);
       logger.error("Network error for URL: {}", url, e);
       throw new AdoApiException(
           "Network error: " + e.getMessage(), e, ErrorCode.NET_001);
     } catch (InterruptedException e) {
+      metrics.recordFailure(url, System.nanoTime() - start);
+      commit(event, url, 0, 0);
       Thread.currentThread().interrupt();
       logger.error("Request interrupted for URL: {}", url, e);
       throw new AdoApiException(
           "Request interrupted", e, ErrorCode.API_004);
     }
+    metrics.recordResponse(
+        url, response.statusCode(), response.body().length, System.nanoTime() - start);
+    commit(event, url, response.statusCode(), response.body().length);
+    return handleResponse(
+        response.statusCode(), new String(response.body(), StandardCharsets.UTF_8), url);
+  }
+
+  /**
+   * Ends and commits a request event if JFR is recording it.
+   *
+   * @param event the event begun before sending
+   * @param url the requested URL
+   * @param statusCode the HTTP status code, or 0 if no response was received
+   * @param bytes the response body length
+   */
+  private static void commit(HttpRequestEvent event, String url, int statusCode, long bytes) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.endpoint = Endpoint.classify(url).getValue();
+      event.url = url;
+      event.statusCode = statusCode;
+      event.bytes = bytes;
+      event.commit();
+    }
   }
 
   /**
@@ -164,23 +233,22 @@ public class AdoHttpClient implements AdoGateway {
   /**
    * Handles HTTP response and throws appropriate exceptions for error status codes.
    *
-   * @param response the HTTP response
+   * @param statusCode the HTTP status code
+   * @param responseBody the decoded response body
    * @param url the requested URL (for logging)
    * @return the response body
    * @throws AdoException if the response status is not successful
    */
-  private String handleResponse(HttpResponse<String> response, String url) throws AdoException {
-    int statusCode = response.statusCode();
-
+  private String handleResponse(int statusCode, String responseBody, String url)
+      throws AdoException {
     if (statusCode == AdoConstants.Http.HTTP_OK) {
       logger.trace("API request successful for URL: {}", url);
-      return response.body();
+      return responseBody;
     }
 
     // Handle specific error codes
     String errorMessage = String.format(
         "API request failed: HTTP %d for URL: %s", statusCode, url);
-    String responseBody = response.body();
 
     if (statusCode == AdoConstants.Http.HTTP_UNAUTHORIZED) {
       logger.error("Authentication failed for URL: {}", url);
@@ -3,12 +3,18 @@ package pc.ado;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pc.ado.dto.Iteration;
 import pc.ado.formatter.IterationFormatter;
 import pc.ado.formatter.IterationFormatterFactory;
+import pc.ado.metrics.ResourceAccounting;
+import pc.ado.output.OutputCompression;
+import pc.ado.output.ReportOutput;
+import pc.ado.output.ReportSink;
 
 /**
  * Handles presentation/formatting of ADO data.
@@ -20,16 +26,35 @@ public class AdoReportFormatter {
   private static final Logger logger = LoggerFactory.getLogger(AdoReportFormatter.class);
 
   private final String outputFilePath;
-  private final IterationFormatter iterationFormatter;
+  private final AdoConfig config;
+  private final List<ReportOutput> outputs;
+  private final String compression;
+  private final boolean writeCompressionIndex;
+  private final int bufferSize;
+  private final ResourceAccounting accounting;
+  private List<ReportSink> sinks;
+  private ForkJoinPool formattingPool;
 
   public AdoReportFormatter(final AdoConfig config) {
+    this(config, new ResourceAccounting(false));
+  }
+
+  /**
+   * Creates a formatter whose outputs account their formatting and writing.
+   *
+   * @param config configuration with the outputs to write
+   * @param accounting resource accounting for the format and write phases
+   */
+  public AdoReportFormatter(final AdoConfig config, final ResourceAccounting accounting) {
+    this.config = config;
+    this.accounting = accounting;
     this.outputFilePath = config.getSprintCapacityDetailsFilePath();
-    final String formatterType = config.getOutputFormatterType();
-    this.iterationFormatter = IterationFormatterFactory.createFormatter(formatterType, config);
+    this.outputs = config.getReportOutputs();
+    this.compression = config.getOutputCompression();
+    this.writeCompressionIndex = config.isOutputCompressionIndexEnabled();
+    this.bufferSize = config.getOutputBufferSize();
     logger.info(
-        "Report formatter initialized with output file: {} and formatter type: {}",
-        outputFilePath,
-        formatterType);
+        "Report formatter initialized with outputs: {} and compression: {}", outputs, compression);
   }
 
   /**
@@ -66,28 +91,112 @@ public class AdoReportFormatter {
    */
   public void writeSprintCapacitiesToFormattedFile(final List<Iteration> iterations) {
     try {
-      final String formattedContent = iterationFormatter.format(iterations);
-      writeFormattedContentToFile(formattedContent);
+      writeFormattedContentToFile(iterations);
     } catch (Exception e) {
       logger.error("Error occurred while converting iterations to formatted output", e);
     }
   }
 
   /**
-   * Writes formatted content to file.
+   * Writes formatted iterations to every configured output.
    *
-   * @param content the formatted content to write
+   * @param iterations the iterations to format and write
    */
-  private void writeFormattedContentToFile(final String content) {
+  private void writeFormattedContentToFile(final List<Iteration> iterations) {
+    startReport();
     try {
-      logger.info("Writing formatted data to report file");
-      try (FileWriter writer = new FileWriter(outputFilePath, false)) {
-        writer.write(content);
-        writer.flush();
-        logger.info("Formatted data successfully written to {}", outputFilePath);
+      for (final Iteration iteration : iterations) {
+        writeIteration(iteration);
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.error("Interrupted while writing formatted content", e);
+    } finally {
+      finishReport();
+    }
+  }
+
+  /**
+   * Opens every configured output for streaming.
+   *
+   * <p>Each output gets its own {@link ReportSink} thread with a bounded buffer. Iterations passed
+   * to {@link #writeIteration(Iteration)} are handed to every sink, so slow formats overlap with
+   * fast ones and the data is never fetched or traversed once per format. Call {@link
+   * #finishReport()} once all iterations have been written.
+   *
+   * <p>With parallel formatting, all outputs share one fork-join pool that lives until {@link
+   * #finishReport()}.
+   */
+  public void startReport() {
+    sinks = new ArrayList<>();
+    formattingPool = createFormattingPool();
+    for (final ReportOutput output : outputs) {
+      final IterationFormatter formatter =
+          IterationFormatterFactory.createFormatter(output.formatterType(), config, formattingPool);
+      final OutputCompression outputCompression =
+          OutputCompression.resolve(compression, output.filePath());
+      final ReportSink sink =
+          new ReportSink(
+              output, formatter, outputCompression, writeCompressionIndex, bufferSize, accounting);
+      sink.start();
+      sinks.add(sink);
+    }
+    logger.info("Writing formatted data to {} report file(s)", sinks.size());
+  }
+
+  /**
+   * Writes one iteration to every output opened by {@link #startReport()}.
+   *
+   * @param iteration iteration to write
+   * @throws InterruptedException if interrupted while an output buffer is full
+   */
+  public void writeIteration(final Iteration iteration) throws InterruptedException {
+    for (final ReportSink sink : sinks) {
+      sink.accept(iteration);
+    }
+  }
+
+  /**
+   * Completes every output opened by {@link #startReport()} and waits for the files.
+   *
+   * <p>Failures are logged per output, so the remaining outputs are still completed.
+   *
+   * @return true if every output was written, false if any failed
+   */
+  public boolean finishReport() {
+    boolean written = true;
+    for (final ReportSink sink : sinks) {
+      written &= finishSink(sink);
+    }
+    sinks = null;
+    if (formattingPool != ForkJoinPool.commonPool()) {
+      formattingPool.shutdown();
+    }
+    formattingPool = null;
+    return written;
+  }
+
+  /** Creates the formatting pool, or uses the common pool if no thread count is configured. */
+  private ForkJoinPool createFormattingPool() {
+    final int threads = config.getParallelFormattingThreads();
+    if (!config.isParallelFormattingEnabled() || threads <= 0) {
+      return ForkJoinPool.commonPool();
+    }
+    return new ForkJoinPool(threads);
+  }
+
+  private boolean finishSink(final ReportSink sink) {
+    final String filePath = sink.getOutput().filePath();
+    try {
+      sink.finish();
+      logger.info("Formatted data successfully written to {}", filePath);
+      return true;
     } catch (IOException e) {
-      logger.error("Failed to write formatted content to output file: {}", outputFilePath, e);
+      logger.error("Failed to write formatted content to output file: {}", filePath, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.error("Interrupted while finishing output file: {}", filePath, e);
     }
+    return false;
   }
 }
@@ -1,13 +1,36 @@
 package pc.ado;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pc.ado.checkpoint.CheckpointJournal;
 import pc.ado.dto.Iteration;
 import pc.ado.dto.TeamMemberAllocation;
 import pc.ado.dto.TeamMemberCapacity;
+import pc.ado.dto.WorkItem;
+import pc.ado.gateway.AccountingAdoGateway;
+import pc.ado.gateway.AdoGateway;
+import pc.ado.gateway.RecordingAdoGateway;
+import pc.ado.gateway.ReplayAdoGateway;
+import pc.ado.jfr.JfrRecording;
+import pc.ado.metrics.HttpMetrics;
+import pc.ado.metrics.MetricsServerMode;
+import pc.ado.metrics.OpenMetricsServer;
+import pc.ado.metrics.Phase;
+import pc.ado.metrics.ResourceAccounting;
+import pc.ado.pipeline.IterationPipeline;
+import pc.ado.service.AdoJsonParserService;
+import pc.ado.storage.OffHeapStore;
+import pc.ado.storage.OffHeapWorkItemList;
 import pc.jvm.monitor.MemoryMonitorThread;
+import pc.jvm.monitor.MemoryPressureAlarm;
 
 /**
  * Main entry point for Azure DevOps reporting tool.
@@ -20,6 +43,66 @@ public class AdoTool {
 
   private static final Logger logger = LoggerFactory.getLogger(AdoTool.class);
 
+  private final AdoConfig config;
+  private final boolean resume;
+  private final HttpMetrics httpMetrics = new HttpMetrics();
+  private final ResourceAccounting resourceAccounting;
+  private final AtomicInteger teamsProcessed = new AtomicInteger();
+
+  /** Creates a tool that starts from scratch with the configuration from config.properties. */
+  public AdoTool() {
+    this(false);
+  }
+
+  /**
+   * Creates a tool with the configuration from config.properties.
+   *
+   * @param resume whether to reuse the checkpoint journal of an interrupted run
+   */
+  public AdoTool(boolean resume) {
+    this(AdoConfig.getInstance(), resume);
+  }
+
+  /**
+   * Creates a tool.
+   *
+   * @param config configuration to run with
+   * @param resume whether to reuse the checkpoint journal of an interrupted run
+   */
+  public AdoTool(AdoConfig config, boolean resume) {
+    this.config = config;
+    this.resume = resume;
+    this.resourceAccounting = new ResourceAccounting(config.isResourceAccountingEnabled());
+  }
+
+  /**
+   * Gets the HTTP metrics of this tool's runs, for callers that want more than the end-of-run
+   * summary.
+   *
+   * @return per-endpoint HTTP metrics, empty when replaying a recording
+   */
+  public HttpMetrics getHttpMetrics() {
+    return httpMetrics;
+  }
+
+  /**
+   * Gets the CPU time, allocations and API calls of this tool's runs by phase and team/iteration.
+   *
+   * @return resource accounting, disabled if turned off in the configuration
+   */
+  public ResourceAccounting getResourceAccounting() {
+    return resourceAccounting;
+  }
+
+  /**
+   * Gets the number of teams whose sprints the fetch stage has listed.
+   *
+   * @return teams processed so far
+   */
+  public int getTeamsProcessed() {
+    return teamsProcessed.get();
+  }
+
   // private static final String TAB = "\t";
   public static void main(String[] args) {
     long startTime = System.currentTimeMillis();
@@ -31,24 +114,48 @@ public class AdoTool {
 
     if (config.isExecutionTrackingEnabled()) {
       logger.info("Execution tracking is enabled - starting memory monitor");
-      memoryMonitor = new MemoryMonitorThread(30_000); // 30 seconds interval
+      String metricsLogFile = config.getExecutionTrackingMetricsLogFile();
+      memoryMonitor =
+          new MemoryMonitorThread(
+              config.getExecutionTrackingIntervalMs(),
+              config.getExecutionTrackingSampleIntervalMs(),
+              config.getExecutionTrackingExpensiveIntervalMs(),
+              metricsLogFile.isEmpty() ? null : Path.of(metricsLogFile));
       memoryMonitor.start();
     }
 
+    OpenMetricsServer metricsServer = null;
+    MemoryPressureAlarm memoryAlarm = null;
+    boolean daemon = false;
     try {
-      AdoTool tool = new AdoTool();
+      AdoTool tool = new AdoTool(Arrays.asList(args).contains("--resume"));
+      metricsServer = startMetricsServer(config, tool, memoryMonitor);
+      memoryAlarm = startMemoryAlarm(config, tool);
       tool.run();
+      daemon = metricsServer != null && config.getMetricsServerMode() == MetricsServerMode.DAEMON;
     } finally {
-      // Request final memory stats before shutdown if monitoring is active
-      if (memoryMonitor != null) {
-        memoryMonitor.requestFinalLog();
-        try {
-          // Give the monitor thread time to log final stats
-          memoryMonitor.join(5000); // Wait up to 5 seconds
-        } catch (InterruptedException e) {
-          logger.warn("Interrupted while waiting for memory monitor to complete");
-          Thread.currentThread().interrupt();
-        }
+      if (daemon) {
+        // The server's dispatcher thread keeps the JVM alive; stop everything when it is killed
+        MemoryMonitorThread monitor = memoryMonitor;
+        OpenMetricsServer server = metricsServer;
+        MemoryPressureAlarm alarm = memoryAlarm;
+        Runtime.getRuntime()
+            .addShutdownHook(
+                new Thread(
+                    () -> {
+                      stopMemoryMonitor(monitor, config);
+                      closeQuietly(alarm, "memory alarm");
+                      server.close();
+                    },
+                    "AdoToolShutdown"));
+        logger.info(
+            "Run finished; serving metrics at {} until the process is stopped",
+            metricsServer.getUrl());
+      } else {
+        // Request final memory stats before shutdown if monitoring is active
+        stopMemoryMonitor(memoryMonitor, config);
+        closeQuietly(memoryAlarm, "memory alarm");
+        closeQuietly(metricsServer, "metrics server");
       }
     }
     long endTime = System.currentTimeMillis();
@@ -59,92 +166,302 @@ public class AdoTool {
     }
   }
 
-  /** Runs the Azure DevOps reporting workflow. */
+  /** Starts the OpenMetrics endpoint if configured; the run goes on without it if it fails. */
+  private static OpenMetricsServer startMetricsServer(
+      AdoConfig config, AdoTool tool, MemoryMonitorThread memoryMonitor) {
+    if (!config.isMetricsServerEnabled()) {
+      return null;
+    }
+    try {
+      return OpenMetricsServer.start(
+          config.getMetricsServerPort(),
+          tool.getHttpMetrics(),
+          tool.getResourceAccounting(),
+          memoryMonitor);
+    } catch (IOException e) {
+      logger.warn("Failed to start metrics server on port {}", config.getMetricsServerPort(), e);
+      return null;
+    }
+  }
+
+  /** Arms the memory pressure alarm if configured, describing the work in progress per thread. */
+  private static MemoryPressureAlarm startMemoryAlarm(AdoConfig config, AdoTool tool) {
+    if (!config.isMemoryAlertEnabled()) {
+      return null;
+    }
+    String heapDumpDirectory = config.getMemoryAlertHeapDumpDirectory();
+    MemoryPressureAlarm alarm =
+        new MemoryPressureAlarm(
+            config.getMemoryAlertThresholdPercent(),
+            tool.getResourceAccounting()::describeActiveScopes,
+            heapDumpDirectory.isEmpty() ? null : Path.of(heapDumpDirectory),
+            config.isMemoryAlertClassHistogram());
+    alarm.start();
+    return alarm;
+  }
+
+  /** Stops the memory monitor after its final log and exports its time series. */
+  private static void stopMemoryMonitor(MemoryMonitorThread memoryMonitor, AdoConfig config) {
+    if (memoryMonitor == null) {
+      return;
+    }
+    memoryMonitor.requestFinalLog();
+    try {
+      // Give the monitor thread time to log final stats
+      memoryMonitor.join(5000); // Wait up to 5 seconds
+    } catch (InterruptedException e) {
+      logger.warn("Interrupted while waiting for memory monitor to complete");
+      Thread.currentThread().interrupt();
+    }
+    exportTimeSeries(memoryMonitor, config.getExecutionTrackingTimeSeriesFile());
+  }
+
+  /** Writes the memory monitor time series to a CSV file, if one is configured. */
+  private static void exportTimeSeries(MemoryMonitorThread memoryMonitor, String file) {
+    if (file.isEmpty()) {
+      return;
+    }
+    try (Writer writer = Files.newBufferedWriter(Path.of(file))) {
+      memoryMonitor.getTimeSeries().writeCsv(writer);
+      logger.info("Memory time series written to {}", file);
+    } catch (IOException e) {
+      logger.warn("Failed to write memory time series to {}", file, e);
+    }
+  }
+
+  /**
+   * Runs the Azure DevOps reporting workflow.
+   *
+   * <p>Iterations stream through an {@link IterationPipeline}: sprints are listed team by team,
+   * hydrated with capacities and work items, and written to the report outputs as they complete, so
+   * memory use is bounded by the pipeline buffers rather than by the size of the organization.
+   */
   public void run() {
+    try {
+      execute();
+    } catch (Exception e) {
+      logger.error("Error occurred during report generation", e);
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Runs the reporting workflow like {@link #run()}, but reports failures to the caller instead of
+   * exiting the JVM.
+   *
+   * @throws Exception if the report cannot be generated
+   */
+  public void execute() throws Exception {
     long runStartTime = System.currentTimeMillis();
-    AdoConfig config = AdoConfig.getInstance();
-    AdoHttpClient httpClient = new AdoHttpClient(config.getPatToken());
+    AdoGateway gateway = null;
+    OffHeapStore workItemStore = null;
+    CheckpointJournal journal = null;
+    JfrRecording recording = null;
     try {
-      AdoApiClient apiClient = new AdoApiClient(config, httpClient);
-      List<Iteration> projectTeamIterations = new ArrayList<>();
+      if (config.isJfrEnabled()) {
+        recording = JfrRecording.start(Path.of(config.getJfrFile()), config.getJfrSettings());
+      }
+      gateway = new AccountingAdoGateway(createGateway(config), resourceAccounting);
+      // Resuming keeps journaling, so a run that dies again can be resumed once more
+      if (config.isCheckpointEnabled() || resume) {
+        journal = CheckpointJournal.open(Path.of(config.getCheckpointFilePath()), resume);
+      }
+      workItemStore =
+          OffHeapStore.create(
+              config.getStorageMode(),
+              Path.of(config.getStorageDirectory()),
+              config.getStorageSegmentSize());
+      AdoApiClient apiClient =
+          new AdoApiClient(config, gateway, new AdoJsonParserService(), resourceAccounting);
       String project = config.getProject();
-      int totalTeamsProcessed = 0;
-      int totalIterationsCollected = 0;
 
       // Read iteration filter from config, or null to fetch all sprints
       List<String> includeOnlyIterationWithNames = config.getIncludeOnlyIterationWithNames();
       logger.trace("Iterations to filter count: {}", includeOnlyIterationWithNames.size());
 
-      for (String team : config.getTeams()) {
-        long teamStartTime = System.currentTimeMillis();
-        logger.info("Processing team: {}", team);
-
-        List<Iteration> projectTeamItr =
-            getTeamSprints(project, team, apiClient, includeOnlyIterationWithNames);
-
-        if (config.isFetchCapacities()) {
-          populateTeamCapacitiesForIterations(project, team, apiClient, projectTeamItr);
-        }
-        if (config.isFetchWorkItemDetails()) {
-          populateIterationWorkItemDetails(project, team, apiClient, projectTeamItr);
-        }
-
-        // Write details to file using configured formatter
-        projectTeamIterations.addAll(projectTeamItr);
-        totalTeamsProcessed++;
-        totalIterationsCollected += projectTeamItr.size();
-
-        long teamDuration = System.currentTimeMillis() - teamStartTime;
+      IterationPipeline pipeline =
+          new IterationPipeline(
+              config.getPipelineQueueSize(),
+              config.getPipelineHydrateThreads(),
+              config.getPipelineMaxBufferedIterations(),
+              Path.of(config.getStorageDirectory()),
+              config.getStorageSegmentSize());
+      AdoReportFormatter formatter = new AdoReportFormatter(config, resourceAccounting);
+      OffHeapStore store = workItemStore;
+      CheckpointJournal checkpoints = journal;
+      formatter.startReport();
+      boolean reportWritten;
+      try {
+        pipeline.run(
+            emitter -> {
+              for (String team : config.getTeams()) {
+                listTeamSprints(
+                    project, team, apiClient, includeOnlyIterationWithNames, store, emitter);
+                teamsProcessed.incrementAndGet();
+              }
+            },
+            iteration -> hydrateIteration(config, project, apiClient, checkpoints, iteration),
+            formatter::writeIteration);
+      } finally {
+        reportWritten = formatter.finishReport();
+      }
+      if (journal != null) {
         logger.info(
-            "Collected data for project '{}' team '{}' with {} Iterations in {} ms",
-            project,
-            team,
-            projectTeamItr.size(),
-            teamDuration);
+            "Resumed from checkpoint: {} iterations, {} work items",
+            journal.getResumedIterations(),
+            journal.getResumedWorkItems());
+        if (reportWritten) {
+          // Nothing left to resume
+          journal.delete();
+        } else {
+          logger.warn(
+              "Not every output was written, keeping checkpoint {} for a run with --resume",
+              config.getCheckpointFilePath());
+        }
       }
 
-      AdoReportFormatter formatter = new AdoReportFormatter(config);
-      formatter.writeSprintCapacitiesToFormattedFile(projectTeamIterations);
-
       long runEndTime = System.currentTimeMillis();
       long totalDuration = runEndTime - runStartTime;
       logger.info("Report generation completed successfully.");
       logger.info("=== Execution Statistics ===");
-      logger.info("Total Teams Processed: {}", totalTeamsProcessed);
-      logger.info("Total Iterations Collected: {}", totalIterationsCollected);
+      logger.info("Total Teams Processed: {}", teamsProcessed.get());
+      logger.info("Total Iterations Collected: {}", pipeline.getIterationCount());
+      logger.info("Iterations Spilled to Disk: {}", pipeline.getSpilledCount());
+      logger.info("String Pool: {}", apiClient.getStringPool());
+      if (workItemStore != null) {
+        logger.info(
+            "Work Item Store: {} ({} items, {} bytes in {} segments)",
+            config.getStorageMode().getValue(),
+            workItemStore.getRecordCount(),
+            workItemStore.getStoredBytes(),
+            workItemStore.getSegmentCount());
+      }
       logger.info(
           "Total Execution Time: {} ms ({} seconds)", totalDuration, totalDuration / 1000.0);
       logger.info("============================");
-    } catch (Exception e) {
-      logger.error("Error occurred during report generation", e);
-      System.exit(1);
+      if (resourceAccounting.isEnabled()) {
+        logger.info(
+            "=== Resource Usage (exclusive per phase) ===\n{}",
+            resourceAccounting.summary(logger.isDebugEnabled()));
+      }
     } finally {
-      httpClient.close();
+      if (!httpMetrics.snapshot().isEmpty()) {
+        logger.info("=== HTTP Metrics ===\n{}", httpMetrics.summary());
+      }
+      closeQuietly(journal, "checkpoint journal");
+      closeQuietly(workItemStore, "work item store");
+      if (gateway != null) {
+        gateway.close();
+      }
+      closeQuietly(recording, "JFR recording");
+    }
+  }
+
+  /** Creates the live, recording or replaying gateway selected by the configuration. */
+  private AdoGateway createGateway(AdoConfig config) throws IOException {
+    Path archive = Path.of(config.getGatewayArchivePath());
+    switch (config.getGatewayMode()) {
+      case RECORD:
+        return new RecordingAdoGateway(
+            new AdoHttpClient(config.getPatToken(), httpMetrics), archive);
+      case REPLAY:
+        return new ReplayAdoGateway(archive, Duration.ofMillis(config.getGatewayReplayLatencyMs()));
+      case LIVE:
+      default:
+        return new AdoHttpClient(config.getPatToken(), httpMetrics);
     }
   }
 
-  private void populateIterationWorkItemDetails(
-      String project, String team, AdoApiClient apiClient, List<Iteration> iterations)
+  /** Fetch stage: lists a team's sprints and hands them to the pipeline. */
+  private void listTeamSprints(
+      String project,
+      String team,
+      AdoApiClient apiClient,
+      List<String> sprintNames,
+      OffHeapStore workItemStore,
+      IterationPipeline.Emitter emitter)
       throws Exception {
-    int totalIterations = iterations.size();
-    int currentIteration = 0;
+    long teamStartTime = System.currentTimeMillis();
+    logger.info("Processing team: {}", team);
+    List<Iteration> iterations =
+        resourceAccounting.measure(
+            Phase.FETCH_ITERATIONS,
+            team,
+            null,
+            () -> getTeamSprints(project, team, apiClient, sprintNames));
     for (Iteration iteration : iterations) {
-      currentIteration++;
+      if (workItemStore != null) {
+        iteration.moveWorkItemsTo(new OffHeapWorkItemList(workItemStore));
+      }
+      emitter.emit(iteration);
+    }
+    logger.info(
+        "Listed {} Iterations for project '{}' team '{}' in {} ms",
+        iterations.size(),
+        project,
+        team,
+        System.currentTimeMillis() - teamStartTime);
+  }
+
+  /**
+   * Hydrate stage: loads capacities and work items for one iteration, taking what a previous run
+   * already fetched from the checkpoint journal.
+   */
+  private void hydrateIteration(
+      AdoConfig config,
+      String project,
+      AdoApiClient apiClient,
+      CheckpointJournal journal,
+      Iteration iteration)
+      throws Exception {
+    String team = iteration.getTeamName();
+    Iteration completed = journal == null ? null : journal.getIteration(iteration);
+    if (completed != null) {
+      logger.debug("Resuming '{}' : '{}' from checkpoint", team, iteration.getName());
+      completed.getAllocations().forEach(iteration::addAllocation);
+      completed.getWorkItems().forEach(iteration::addWorkItem);
+      completed.getPullRequests().forEach(iteration::addPullRequest);
+      return;
+    }
+    FetchStatus status = new FetchStatus();
+    if (config.isFetchCapacities()) {
       logger.debug(
-          "Fetching Workitems for '{}' : '{}' : '{}' ({} of {})",
-          project,
+          "Fetching Capacities for '{}' : '{}' : '{}'", project, team, iteration.getName());
+      resourceAccounting.measure(
+          Phase.CAPACITIES,
           team,
           iteration.getName(),
-          currentIteration,
-          totalIterations);
+          () -> {
+            populateIterationTeamCapacity(project, team, apiClient, iteration, status);
+          });
+    }
+    if (config.isFetchWorkItemDetails()) {
+      logger.debug("Fetching Workitems for '{}' : '{}' : '{}'", project, team, iteration.getName());
       // Retrieve and process work items for the specified sprint
-      apiClient.getSprintWorkItems(project, team, iteration);
+      resourceAccounting.measure(
+          Phase.WORK_ITEMS,
+          team,
+          iteration.getName(),
+          () -> {
+            if (journal == null) {
+              apiClient.getSprintWorkItems(project, team, iteration);
+            } else {
+              populateCheckpointedWorkItems(project, team, apiClient, journal, iteration, status);
+            }
+          });
+    }
+    if (journal != null) {
+      if (status.isComplete()) {
+        journal.recordIteration(iteration);
+      } else {
+        logger.warn(
+            "'{}' : '{}' is incomplete ({} failed fetches), not checkpointed so a resumed run"
+                + " fetches it again",
+            team,
+            iteration.getName(),
+            status.getFailures());
+      }
     }
-    logger.info(
-        "Fetching iteration work items completed successfully for project '{}' team '{}' for {} iterations",
-        project,
-        team,
-        totalIterations);
     /* TODO: Fetch the below details for each work item
     Impl details present(Y/N) - fields.(Custom.ImplementationDetails)
     Dependancy
@@ -158,7 +475,48 @@ public class AdoTool {
         Dependancy
             successorOf []
             predecessorOf []               */
+  }
 
+  /**
+   * Fetches the work items of a sprint one by one, journaling each complete one and reusing
+   * journaled ones. A work item with pull requests left out makes the iteration incomplete.
+   */
+  private void populateCheckpointedWorkItems(
+      String project,
+      String team,
+      AdoApiClient apiClient,
+      CheckpointJournal journal,
+      Iteration iteration,
+      FetchStatus status)
+      throws Exception {
+    for (String link : apiClient.getSprintWorkItemLinks(project, team, iteration)) {
+      WorkItem workItem;
+      if (journal.hasWorkItem(link)) {
+        workItem = journal.getWorkItem(link);
+      } else {
+        FetchStatus workItemStatus = new FetchStatus();
+        workItem = apiClient.fetchWorkItem(project, link, workItemStatus);
+        if (workItemStatus.isComplete()) {
+          journal.recordWorkItem(link, workItem);
+        } else {
+          status.recordFailure();
+        }
+      }
+      if (workItem != null) {
+        iteration.addWorkItem(workItem);
+      }
+    }
+  }
+
+  private static void closeQuietly(AutoCloseable resource, String name) {
+    if (resource == null) {
+      return;
+    }
+    try {
+      resource.close();
+    } catch (Exception e) {
+      logger.warn("Failed to close {}", name, e);
+    }
   }
 
   /** Retrieves all team sprints for a given project and team. */
@@ -171,32 +529,16 @@ public class AdoTool {
     return iterations;
   }
 
-  /** Processes team sprints to retrieve their capacity details. */
-  private void populateTeamCapacitiesForIterations(
-      String project, String team, AdoApiClient apiClient, List<Iteration> iterations) {
-    int totalIterations = iterations.size();
-    int currentIteration = 0;
-    for (Iteration iteration : iterations) {
-      currentIteration++;
-      logger.debug(
-          "Fetching Capacities for '{}' : '{}' : '{}' ({} of {})",
-          project,
-          team,
-          iteration.getName(),
-          currentIteration,
-          totalIterations);
-      populateIterationTeamCapacity(project, team, apiClient, iteration);
-    }
-    logger.info(
-        "Fetching capacities completed successfully for project '{}' team '{}' for {} iterations",
-        project,
-        team,
-        totalIterations);
-  }
-
-  /** Retrieves formatted team members with capacity for a specific iteration. */
+  /**
+   * Retrieves formatted team members with capacity for a specific iteration. Errors are logged and
+   * recorded in the status, so the rest of the iteration is still reported.
+   */
   private void populateIterationTeamCapacity(
-      String project, String team, AdoApiClient apiClient, Iteration iteration) {
+      String project,
+      String team,
+      AdoApiClient apiClient,
+      Iteration iteration,
+      FetchStatus status) {
     try {
       logger.debug("Fetching capacities for iteration '{}'", iteration.getName());
       List<TeamMemberCapacity> capacities =
@@ -223,6 +565,7 @@ public class AdoTool {
       }
     } catch (Exception e) {
       logger.error("Error occurred while fetching sprint capacities: {}", iteration.getName(), e);
+      status.recordFailure();
     }
   }
 }
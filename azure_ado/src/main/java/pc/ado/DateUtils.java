@@ -91,6 +91,32 @@ public final class DateUtils {
     return dateTime.toLocalDate();
   }
 
+  /**
+   * Parses a date in any of the formats produced by the tool: dd-MMM-yyyy (iteration dates), ISO
+   * offset date-time (work item and pull request dates) or ISO local date.
+   *
+   * @param date the date string
+   * @return parsed LocalDate, or null if the value is blank or cannot be parsed
+   */
+  public static LocalDate parseLocalDate(final String date) {
+    if (date == null || date.isBlank()) {
+      return null;
+    }
+    final String value = date.trim();
+    try {
+      if (value.indexOf('T') > 0) {
+        return formatISODateToLocalDate(value);
+      }
+      if (Character.isDigit(value.charAt(0)) && value.indexOf('-') == 4) {
+        return LocalDate.parse(value);
+      }
+      return formatStringToLocalDate(value);
+    } catch (Exception e) {
+      logger.trace("Unable to parse date: {}", value);
+      return null;
+    }
+  }
+
   /**
    * Calculates days between two ISO date strings.
    *
@@ -0,0 +1,33 @@
+package pc.ado;
+
+/**
+ * Tracks whether everything belonging to one unit of work, such as an iteration or a work item, was
+ * fetched.
+ *
+ * <p>The fetch helpers log and skip data they cannot get (a capacity call, a pull request) so the
+ * report still covers the rest; they also record the failure here, so partial data is not
+ * checkpointed as complete and a resumed run fetches it again. Not thread-safe: use one status per
+ * unit, on the thread fetching it.
+ */
+public class FetchStatus {
+
+  private int failures;
+
+  /** Records data that could not be fetched and was left out. */
+  public void recordFailure() {
+    failures++;
+  }
+
+  /**
+   * Checks whether nothing was left out.
+   *
+   * @return true if no failure was recorded
+   */
+  public boolean isComplete() {
+    return failures == 0;
+  }
+
+  public int getFailures() {
+    return failures;
+  }
+}
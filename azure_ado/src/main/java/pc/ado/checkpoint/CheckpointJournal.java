@@ -0,0 +1,304 @@
+package pc.ado.checkpoint;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.WorkItem;
+
+/**
+ * Append-only journal of the units a run has completed, so an interrupted run can resume.
+ *
+ * <p>Every fetched work item and every fully hydrated iteration is appended as a record:
+ *
+ * <pre>
+ * byte   type      'W' work item, 'S' skipped work item (ignored state, no fields), 'I' iteration
+ * UTF    key       work item URL, or team + NUL + iteration id
+ * int    length    payload length
+ * byte[] payload   WorkItem / Iteration binary form (empty for 'S')
+ * </pre>
+ *
+ * <p>Work item records are handed to the OS as they are written, so they survive the process dying;
+ * iteration records are also forced to disk, so completed iterations survive a host reboot. When a
+ * journal is opened for resume its records are indexed (only keys and offsets are kept in memory)
+ * and a record cut short by a crash is truncated away. Payloads are read back on demand.
+ */
+public class CheckpointJournal implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(CheckpointJournal.class);
+
+  private static final byte WORK_ITEM = 'W';
+  private static final byte SKIPPED_WORK_ITEM = 'S';
+  private static final byte ITERATION = 'I';
+
+  private final Path file;
+  private final FileChannel channel;
+  private final Map<String, Long> workItems = new HashMap<>();
+  private final Map<String, Long> iterations = new HashMap<>();
+  private long resumedWorkItems;
+  private long resumedIterations;
+
+  private CheckpointJournal(Path file, FileChannel channel) {
+    this.file = file;
+    this.channel = channel;
+  }
+
+  /**
+   * Opens a journal.
+   *
+   * @param file journal file
+   * @param resume whether to keep and index the records of a previous run; otherwise the file is
+   *     cleared
+   * @return the journal
+   * @throws IOException if the file cannot be opened or read
+   */
+  public static CheckpointJournal open(Path file, boolean resume) throws IOException {
+    FileChannel channel =
+        FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    CheckpointJournal journal = new CheckpointJournal(file, channel);
+    if (resume) {
+      journal.index();
+    } else {
+      channel.truncate(0);
+    }
+    channel.position(channel.size());
+    return journal;
+  }
+
+  /** Indexes the existing records and truncates a partially written last record. */
+  private void index() throws IOException {
+    long valid = 0;
+    CountingInputStream counter =
+        new CountingInputStream(
+            new BufferedInputStream(Channels.newInputStream(channel.position(0))));
+    DataInputStream in = new DataInputStream(counter);
+    try {
+      while (true) {
+        long offset = counter.count;
+        int type = in.read();
+        if (type < 0) {
+          break;
+        }
+        String key = in.readUTF();
+        int length = in.readInt();
+        in.skipNBytes(length);
+        switch (type) {
+          case WORK_ITEM, SKIPPED_WORK_ITEM -> workItems.put(key, offset);
+          case ITERATION -> iterations.put(key, offset);
+          default -> throw new IOException("Unknown record type " + type + " at " + offset);
+        }
+        valid = counter.count;
+      }
+    } catch (EOFException e) {
+      logger.warn("Checkpoint journal {} ends in a partial record, truncating", file);
+    }
+    channel.truncate(valid);
+    logger.info(
+        "Resuming from {}: {} iterations and {} work items already fetched",
+        file,
+        iterations.size(),
+        workItems.size());
+  }
+
+  /**
+   * Records a fetched work item.
+   *
+   * @param link work item URL
+   * @param workItem the work item, or null if it was skipped
+   * @throws IOException if the record cannot be written
+   */
+  public void recordWorkItem(String link, WorkItem workItem) throws IOException {
+    ByteArrayOutputStream payload = new ByteArrayOutputStream();
+    if (workItem != null) {
+      workItem.writeTo(new DataOutputStream(payload));
+    }
+    append(workItem == null ? SKIPPED_WORK_ITEM : WORK_ITEM, link, payload, workItems, false);
+  }
+
+  /**
+   * Records a fully hydrated iteration and forces the journal to disk.
+   *
+   * @param iteration the iteration with its allocations and work items
+   * @throws IOException if the record cannot be written
+   */
+  public void recordIteration(Iteration iteration) throws IOException {
+    ByteArrayOutputStream payload = new ByteArrayOutputStream();
+    iteration.writeTo(new DataOutputStream(payload));
+    append(ITERATION, key(iteration), payload, iterations, true);
+  }
+
+  /**
+   * Checks whether a work item was fetched by a previous run.
+   *
+   * @param link work item URL
+   * @return true if {@link #getWorkItem(String)} can answer from the journal
+   */
+  public synchronized boolean hasWorkItem(String link) {
+    return workItems.containsKey(link);
+  }
+
+  /**
+   * Reads back a journaled work item.
+   *
+   * @param link work item URL
+   * @return the work item, or null if it was skipped or is not journaled
+   * @throws IOException if the record cannot be read
+   */
+  public WorkItem getWorkItem(String link) throws IOException {
+    Long offset;
+    synchronized (this) {
+      offset = workItems.get(link);
+      if (offset != null) {
+        resumedWorkItems++;
+      }
+    }
+    DataInputStream payload = offset == null ? null : read(offset);
+    return payload == null ? null : WorkItem.readFrom(payload);
+  }
+
+  /**
+   * Reads back a journaled iteration with the same team and id.
+   *
+   * @param iteration iteration to look up
+   * @return the journaled iteration, or null if it was not completed
+   * @throws IOException if the record cannot be read
+   */
+  public Iteration getIteration(Iteration iteration) throws IOException {
+    Long offset;
+    synchronized (this) {
+      offset = iterations.get(key(iteration));
+      if (offset != null) {
+        resumedIterations++;
+      }
+    }
+    return offset == null ? null : Iteration.readFrom(read(offset));
+  }
+
+  public synchronized long getResumedWorkItems() {
+    return resumedWorkItems;
+  }
+
+  public synchronized long getResumedIterations() {
+    return resumedIterations;
+  }
+
+  private synchronized void append(
+      byte type, String key, ByteArrayOutputStream payload, Map<String, Long> index, boolean force)
+      throws IOException {
+    ByteArrayOutputStream record = new ByteArrayOutputStream(payload.size() + key.length() + 16);
+    DataOutputStream out = new DataOutputStream(record);
+    out.writeByte(type);
+    out.writeUTF(key);
+    out.writeInt(payload.size());
+    payload.writeTo(out);
+    long offset = channel.position();
+    ByteBuffer buffer = ByteBuffer.wrap(record.toByteArray());
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    if (force) {
+      channel.force(false);
+    }
+    index.put(key, offset);
+  }
+
+  /** Reads the payload of the record at an offset; returns null for an empty payload. */
+  private DataInputStream read(long offset) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(3);
+    readFully(header, offset);
+    int keyLength = header.getShort(1) & 0xffff;
+    ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+    long lengthOffset = offset + 3 + keyLength;
+    readFully(length, lengthOffset);
+    int payloadLength = length.getInt(0);
+    if (payloadLength == 0) {
+      return null;
+    }
+    ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+    readFully(payload, lengthOffset + Integer.BYTES);
+    return new DataInputStream(new ByteArrayInputStream(payload.array()));
+  }
+
+  private void readFully(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position + buffer.position());
+      if (read < 0) {
+        throw new EOFException("Checkpoint journal " + file + " is truncated");
+      }
+    }
+  }
+
+  private static String key(Iteration iteration) {
+    return iteration.getTeamName() + '\u0000' + iteration.getId();
+  }
+
+  /**
+   * Closes the journal and deletes it; used once a run has completed and nothing needs resuming.
+   *
+   * @throws IOException if the file cannot be deleted
+   */
+  public void delete() throws IOException {
+    close();
+    Files.deleteIfExists(file);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (channel.isOpen()) {
+      channel.force(false);
+      channel.close();
+    }
+  }
+
+  /** Tracks the read position while indexing. */
+  private static final class CountingInputStream extends FilterInputStream {
+    private long count;
+
+    private CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        count++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      int read = super.read(bytes, offset, length);
+      if (read > 0) {
+        count += read;
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = super.skip(n);
+      count += skipped;
+      return skipped;
+    }
+  }
+}
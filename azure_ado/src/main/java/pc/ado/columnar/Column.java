@@ -0,0 +1,79 @@
+package pc.ado.columnar;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Base class for a single growable column of values.
+ *
+ * <p>Columns are append-only while a table is being built and are serialized as one contiguous
+ * chunk in the columnar report file.
+ */
+public abstract class Column {
+
+  /** Chunk encoding where every value is written in row order. */
+  public static final byte ENCODING_PLAIN = 0;
+
+  /** Chunk encoding where distinct strings are written once followed by per-row codes. */
+  public static final byte ENCODING_DICTIONARY = 1;
+
+  protected static final int INITIAL_CAPACITY = 64;
+
+  private final String name;
+
+  protected Column(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the number of values appended so far.
+   *
+   * @return row count
+   */
+  public abstract int size();
+
+  public abstract ColumnType getType();
+
+  /**
+   * Returns the encoding that {@link #writeTo(DataOutputStream)} will use for this column.
+   *
+   * @return one of the {@code ENCODING_*} constants
+   */
+  public abstract byte getEncoding();
+
+  /**
+   * Serializes the column values as a single chunk.
+   *
+   * @param out destination stream
+   * @throws IOException if writing fails
+   */
+  public abstract void writeTo(DataOutputStream out) throws IOException;
+
+  /**
+   * Reads a column chunk previously written by {@link #writeTo(DataOutputStream)}.
+   *
+   * @param name column name
+   * @param type column type
+   * @param encoding chunk encoding
+   * @param in stream positioned at the start of the chunk
+   * @return the decoded column
+   * @throws IOException if reading fails
+   */
+  public static Column readFrom(String name, ColumnType type, byte encoding, DataInputStream in)
+      throws IOException {
+    return switch (type) {
+      case STRING -> StringColumn.read(name, encoding, in);
+      case INT -> IntColumn.read(name, in);
+      case DOUBLE -> DoubleColumn.read(name, in);
+    };
+  }
+
+  protected static int grow(int currentLength) {
+    return Math.max(INITIAL_CAPACITY, currentLength + (currentLength >> 1));
+  }
+}
@@ -0,0 +1,340 @@
+package pc.ado.columnar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoublePredicate;
+
+/**
+ * Filter / group-by / aggregate query over one table of an {@link IterationColumnStore}.
+ *
+ * <p>Filters narrow the selected rows of this query and return it, so calls can be chained:
+ *
+ * <pre>{@code
+ * Map<List<String>, Double> points =
+ *     store.query(IterationColumnStore.WORK_ITEMS)
+ *         .whereEquals("state", "Done")
+ *         .groupBy("assignedTo", "iterations.name")
+ *         .sum("storyPoints");
+ * }</pre>
+ *
+ * <p>Column names may be prefixed with an ancestor table ({@code iterations.name} from {@code
+ * workItems} or {@code tasks}); the value is then read through the parent index columns. String
+ * filters and group keys work on dictionary codes, so values are only decoded once per group.
+ * Missing numbers ({@code NaN} or {@link IntColumn#NULL}) never match a numeric filter and are
+ * skipped by {@code sum}.
+ */
+public class ColumnQuery {
+
+  private final IterationColumnStore store;
+  private final String tableName;
+  private final int rowCount;
+  private final BitSet selected;
+
+  ColumnQuery(IterationColumnStore store, String tableName) {
+    this.store = store;
+    this.tableName = tableName;
+    this.rowCount = store.getTable(tableName).getRowCount();
+    this.selected = new BitSet(rowCount);
+    selected.set(0, rowCount);
+  }
+
+  /**
+   * Keeps rows whose column equals the value. Works on string and int columns.
+   *
+   * @param column column name
+   * @param value value to match, {@code null} matches missing values
+   * @return this query
+   */
+  public ColumnQuery whereEquals(String column, String value) {
+    return whereIn(column, Arrays.asList(value));
+  }
+
+  /**
+   * Keeps rows whose column equals one of the values. Works on string and int columns.
+   *
+   * @param column column name
+   * @param values values to match
+   * @return this query
+   */
+  public ColumnQuery whereIn(String column, Collection<String> values) {
+    ResolvedColumn resolved = resolve(column);
+    // Sorted keys of the wanted values; values absent from a dictionary cannot match any row
+    int[] wanted =
+        values.stream()
+            .mapToInt(resolved::keyOf)
+            .filter(resolved::canMatch)
+            .sorted()
+            .distinct()
+            .toArray();
+    for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+      if (Arrays.binarySearch(wanted, resolved.key(row)) < 0) {
+        selected.clear(row);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Keeps rows whose numeric column matches the predicate. Missing values never match.
+   *
+   * @param column int or double column name
+   * @param predicate condition on the value
+   * @return this query
+   */
+  public ColumnQuery where(String column, DoublePredicate predicate) {
+    ResolvedColumn resolved = resolve(column);
+    for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+      double value = resolved.number(row);
+      if (Double.isNaN(value) || !predicate.test(value)) {
+        selected.clear(row);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Counts the selected rows.
+   *
+   * @return number of rows matching every filter
+   */
+  public long count() {
+    return selected.cardinality();
+  }
+
+  /**
+   * Sums a numeric column over the selected rows.
+   *
+   * @param column int or double column name
+   * @return sum of the non-missing values
+   */
+  public double sum(String column) {
+    ResolvedColumn resolved = resolve(column);
+    double sum = 0;
+    for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+      double value = resolved.number(row);
+      if (!Double.isNaN(value)) {
+        sum += value;
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Groups the selected rows by one or more string or int columns.
+   *
+   * @param columns group key columns
+   * @return grouped view supporting count and sum
+   */
+  public GroupedQuery groupBy(String... columns) {
+    ResolvedColumn[] keys = new ResolvedColumn[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      keys[i] = resolve(columns[i]);
+    }
+    return new GroupedQuery(keys);
+  }
+
+  private ResolvedColumn resolve(String name) {
+    int dot = name.indexOf('.');
+    String targetTable = dot < 0 ? tableName : name.substring(0, dot);
+    String columnName = dot < 0 ? name : name.substring(dot + 1);
+
+    List<IntColumn> hops = new ArrayList<>();
+    String current = tableName;
+    while (!current.equals(targetTable)) {
+      IterationColumnStore.ParentLink parent = store.getParent(current);
+      if (parent == null) {
+        throw new IllegalArgumentException(
+            "Table '" + targetTable + "' is not an ancestor of '" + tableName + "'");
+      }
+      hops.add((IntColumn) store.getTable(current).getColumn(parent.indexColumn()));
+      current = parent.table();
+    }
+    Column column = store.getTable(targetTable).getColumn(columnName);
+    if (column == null) {
+      throw new IllegalArgumentException("Unknown column: " + name);
+    }
+    return new ResolvedColumn(name, column, hops.toArray(new IntColumn[0]));
+  }
+
+  /** A column of this table or of an ancestor, reached through parent index columns. */
+  private static final class ResolvedColumn {
+    /** Key of a value that does not occur in a string column's dictionary. */
+    private static final int ABSENT = -2;
+
+    private final String name;
+    private final Column column;
+    private final IntColumn[] hops;
+
+    private ResolvedColumn(String name, Column column, IntColumn[] hops) {
+      this.name = name;
+      this.column = column;
+      this.hops = hops;
+    }
+
+    /** Maps a row of the queried table to the column's table, or -1 when a parent is missing. */
+    private int row(int row) {
+      for (IntColumn hop : hops) {
+        row = hop.get(row);
+        if (row < 0) {
+          return -1;
+        }
+      }
+      return row;
+    }
+
+    /** Integer group key of a row: the dictionary code of a string or the int value. */
+    private int key(int row) {
+      int target = row(row);
+      if (column instanceof StringColumn strings) {
+        return target < 0 ? StringColumn.NULL_CODE : strings.getCode(target);
+      }
+      if (column instanceof IntColumn ints) {
+        return target < 0 ? IntColumn.NULL : ints.get(target);
+      }
+      throw new IllegalArgumentException("Column '" + name + "' cannot be used as a key");
+    }
+
+    /** Key a value would have; values not present in a string column map to {@link #ABSENT}. */
+    private int keyOf(String value) {
+      if (column instanceof StringColumn strings) {
+        if (value == null) {
+          return StringColumn.NULL_CODE;
+        }
+        int code = strings.codeOf(value);
+        return code == StringColumn.NULL_CODE ? ABSENT : code;
+      }
+      return IntColumn.parse(value);
+    }
+
+    private boolean canMatch(int key) {
+      return !(column instanceof StringColumn) || key != ABSENT;
+    }
+
+    private String decode(int key) {
+      if (column instanceof StringColumn strings) {
+        return strings.decode(key);
+      }
+      return key == IntColumn.NULL ? null : Integer.toString(key);
+    }
+
+    private double number(int row) {
+      int target = row(row);
+      if (column instanceof DoubleColumn doubles) {
+        return target < 0 ? Double.NaN : doubles.get(target);
+      }
+      if (column instanceof IntColumn ints) {
+        int value = target < 0 ? IntColumn.NULL : ints.get(target);
+        return value == IntColumn.NULL ? Double.NaN : value;
+      }
+      throw new IllegalArgumentException("Column '" + name + "' is not numeric");
+    }
+  }
+
+  /** Selected rows grouped by key columns. Results keep the order groups were first seen in. */
+  public final class GroupedQuery {
+    private final ResolvedColumn[] keys;
+    private final Map<GroupKey, Integer> groups = new HashMap<>();
+    private final List<int[]> groupKeys = new ArrayList<>();
+    private int[] groupOfRow;
+
+    private GroupedQuery(ResolvedColumn[] keys) {
+      this.keys = keys;
+    }
+
+    /**
+     * Counts the rows of each group.
+     *
+     * @return row count per group key
+     */
+    public Map<List<String>, Long> count() {
+      assignGroups();
+      long[] counts = new long[groupKeys.size()];
+      for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+        counts[groupOfRow[row]]++;
+      }
+      Map<List<String>, Long> result = new LinkedHashMap<>();
+      for (int group = 0; group < counts.length; group++) {
+        result.put(decode(groupKeys.get(group)), counts[group]);
+      }
+      return result;
+    }
+
+    /**
+     * Sums a numeric column per group, skipping missing values.
+     *
+     * @param column int or double column name
+     * @return sum per group key
+     */
+    public Map<List<String>, Double> sum(String column) {
+      assignGroups();
+      ResolvedColumn resolved = resolve(column);
+      double[] sums = new double[groupKeys.size()];
+      for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+        double value = resolved.number(row);
+        if (!Double.isNaN(value)) {
+          sums[groupOfRow[row]] += value;
+        }
+      }
+      Map<List<String>, Double> result = new LinkedHashMap<>();
+      for (int group = 0; group < sums.length; group++) {
+        result.put(decode(groupKeys.get(group)), sums[group]);
+      }
+      return result;
+    }
+
+    private void assignGroups() {
+      if (groupOfRow != null) {
+        return;
+      }
+      groupOfRow = new int[rowCount];
+      for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+        int[] parts = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+          parts[i] = keys[i].key(row);
+        }
+        Integer group = groups.get(new GroupKey(parts));
+        if (group == null) {
+          group = groupKeys.size();
+          groups.put(new GroupKey(parts), group);
+          groupKeys.add(parts);
+        }
+        groupOfRow[row] = group;
+      }
+    }
+
+    private List<String> decode(int[] parts) {
+      List<String> values = new ArrayList<>(parts.length);
+      for (int i = 0; i < parts.length; i++) {
+        values.add(keys[i].decode(parts[i]));
+      }
+      return values;
+    }
+  }
+
+  /** Composite group key of dictionary codes / int values. */
+  private static final class GroupKey {
+    private final int[] parts;
+    private final int hash;
+
+    private GroupKey(int[] parts) {
+      this.parts = parts;
+      this.hash = Arrays.hashCode(parts);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof GroupKey key && Arrays.equals(parts, key.parts);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
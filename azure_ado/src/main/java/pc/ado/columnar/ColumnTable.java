@@ -0,0 +1,89 @@
+package pc.ado.columnar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Named group of columns that share a row count.
+ *
+ * <p>Rows are appended by adding one value to every column; callers are responsible for keeping the
+ * columns aligned, which {@link #getRowCount()} verifies.
+ */
+public class ColumnTable {
+
+  private final String name;
+  private final Map<String, Column> columns = new LinkedHashMap<>();
+
+  public ColumnTable(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public StringColumn stringColumn(String columnName) {
+    return addColumn(new StringColumn(columnName));
+  }
+
+  public IntColumn intColumn(String columnName) {
+    return addColumn(new IntColumn(columnName));
+  }
+
+  public DoubleColumn doubleColumn(String columnName) {
+    return addColumn(new DoubleColumn(columnName));
+  }
+
+  /**
+   * Adds a column to the table.
+   *
+   * @param column column to add
+   * @param <T> column type
+   * @return the added column
+   * @throws IllegalArgumentException if a column with the same name already exists
+   */
+  public <T extends Column> T addColumn(T column) {
+    if (columns.putIfAbsent(column.getName(), column) != null) {
+      throw new IllegalArgumentException(
+          "Duplicate column '" + column.getName() + "' in table '" + name + "'");
+    }
+    return column;
+  }
+
+  public Column getColumn(String columnName) {
+    return columns.get(columnName);
+  }
+
+  public List<Column> getColumns() {
+    return Collections.unmodifiableList(new ArrayList<>(columns.values()));
+  }
+
+  /**
+   * Returns the number of rows in the table.
+   *
+   * @return row count, 0 for a table without columns
+   * @throws IllegalStateException if the columns are not aligned
+   */
+  public int getRowCount() {
+    int rows = -1;
+    for (Column column : columns.values()) {
+      if (rows == -1) {
+        rows = column.size();
+      } else if (rows != column.size()) {
+        throw new IllegalStateException(
+            "Column '"
+                + column.getName()
+                + "' in table '"
+                + name
+                + "' has "
+                + column.size()
+                + " rows, expected "
+                + rows);
+      }
+    }
+    return Math.max(rows, 0);
+  }
+}
@@ -0,0 +1,27 @@
+package pc.ado.columnar;
+
+/** Physical value types supported by the columnar report layout. */
+public enum ColumnType {
+  STRING((byte) 1),
+  INT((byte) 2),
+  DOUBLE((byte) 3);
+
+  private final byte code;
+
+  ColumnType(byte code) {
+    this.code = code;
+  }
+
+  public byte getCode() {
+    return code;
+  }
+
+  public static ColumnType fromCode(byte code) {
+    for (ColumnType type : values()) {
+      if (type.code == code) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown column type code: " + code);
+  }
+}
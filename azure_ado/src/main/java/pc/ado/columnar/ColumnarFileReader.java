@@ -0,0 +1,174 @@
+package pc.ado.columnar;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a columnar report written by {@link ColumnarFileWriter}.
+ *
+ * <p>Only the footer index is read when the file is opened; column chunks are read on demand, so
+ * callers pay only for the columns they query.
+ */
+public class ColumnarFileReader implements Closeable {
+
+  private final FileChannel channel;
+  private final Map<String, TableInfo> tables = new LinkedHashMap<>();
+
+  /** Footer entry describing one column chunk. */
+  public record ColumnInfo(String name, ColumnType type, byte encoding, long offset, long length) {}
+
+  /** Footer entry describing one table. */
+  public record TableInfo(String name, int rowCount, List<ColumnInfo> columns) {}
+
+  /**
+   * Opens a columnar file and reads its footer index.
+   *
+   * @param path file to read
+   * @throws IOException if the file cannot be read or is not a columnar report
+   */
+  public ColumnarFileReader(Path path) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      readFooter();
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private void readFooter() throws IOException {
+    long fileSize = channel.size();
+    if (fileSize < ColumnarFileWriter.MAGIC.length + 1 + ColumnarFileWriter.TRAILER_LENGTH) {
+      throw new IOException("File too small to be a columnar report");
+    }
+    ByteBuffer trailer =
+        readBytes(fileSize - ColumnarFileWriter.TRAILER_LENGTH, ColumnarFileWriter.TRAILER_LENGTH);
+    int footerLength = trailer.getInt();
+    byte[] magic = new byte[ColumnarFileWriter.MAGIC.length];
+    trailer.get(magic);
+    ByteBuffer header = readBytes(0, ColumnarFileWriter.MAGIC.length + 1);
+    byte[] headerMagic = new byte[ColumnarFileWriter.MAGIC.length];
+    header.get(headerMagic);
+    if (!Arrays.equals(magic, ColumnarFileWriter.MAGIC)
+        || !Arrays.equals(headerMagic, ColumnarFileWriter.MAGIC)) {
+      throw new IOException("Not a columnar report: bad magic");
+    }
+    byte version = header.get();
+    if (version != ColumnarFileWriter.VERSION) {
+      throw new IOException("Unsupported columnar report version: " + version);
+    }
+
+    ByteBuffer footer =
+        readBytes(fileSize - ColumnarFileWriter.TRAILER_LENGTH - footerLength, footerLength);
+    DataInputStream in =
+        new DataInputStream(
+            new ByteArrayInputStream(footer.array(), footer.arrayOffset(), footerLength));
+    int tableCount = in.readInt();
+    for (int t = 0; t < tableCount; t++) {
+      String tableName = in.readUTF();
+      int rowCount = in.readInt();
+      int columnCount = in.readInt();
+      List<ColumnInfo> columns = new ArrayList<>(columnCount);
+      for (int c = 0; c < columnCount; c++) {
+        String columnName = in.readUTF();
+        ColumnType type = ColumnType.fromCode(in.readByte());
+        byte encoding = in.readByte();
+        long offset = in.readLong();
+        long length = in.readLong();
+        columns.add(new ColumnInfo(columnName, type, encoding, offset, length));
+      }
+      tables.put(
+          tableName, new TableInfo(tableName, rowCount, Collections.unmodifiableList(columns)));
+    }
+  }
+
+  public List<TableInfo> getTables() {
+    return List.copyOf(tables.values());
+  }
+
+  public TableInfo getTable(String tableName) {
+    return tables.get(tableName);
+  }
+
+  /**
+   * Reads a single column chunk.
+   *
+   * @param tableName table name
+   * @param columnName column name
+   * @return decoded column
+   * @throws IOException if reading fails
+   * @throws IllegalArgumentException if the table or column does not exist
+   */
+  public Column readColumn(String tableName, String columnName) throws IOException {
+    TableInfo table = tables.get(tableName);
+    if (table == null) {
+      throw new IllegalArgumentException("Unknown table: " + tableName);
+    }
+    for (ColumnInfo info : table.columns()) {
+      if (info.name().equals(columnName)) {
+        channel.position(info.offset());
+        DataInputStream in =
+            new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        return Column.readFrom(info.name(), info.type(), info.encoding(), in);
+      }
+    }
+    throw new IllegalArgumentException("Unknown column: " + tableName + "." + columnName);
+  }
+
+  /**
+   * Reads the requested columns of a table, or all columns when none are given.
+   *
+   * @param tableName table name
+   * @param columnNames columns to read
+   * @return table holding only the requested columns
+   * @throws IOException if reading fails
+   */
+  public ColumnTable readTable(String tableName, String... columnNames) throws IOException {
+    TableInfo info = tables.get(tableName);
+    if (info == null) {
+      throw new IllegalArgumentException("Unknown table: " + tableName);
+    }
+    ColumnTable table = new ColumnTable(tableName);
+    if (columnNames.length == 0) {
+      for (ColumnInfo column : info.columns()) {
+        table.addColumn(readColumn(tableName, column.name()));
+      }
+    } else {
+      for (String columnName : columnNames) {
+        table.addColumn(readColumn(tableName, columnName));
+      }
+    }
+    return table;
+  }
+
+  private ByteBuffer readBytes(long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position + buffer.position());
+      if (read < 0) {
+        throw new IOException("Unexpected end of columnar report");
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -0,0 +1,102 @@
+package pc.ado.columnar;
+
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes column tables in the columnar report layout.
+ *
+ * <p>File layout (all integers big-endian, as written by {@link DataOutputStream}):
+ *
+ * <pre>
+ * "ADOC" version:byte
+ * column chunk*                  one per column, tables in order
+ * footer:
+ *   tableCount:int
+ *   per table:  name:utf rowCount:int columnCount:int
+ *     per column: name:utf type:byte encoding:byte offset:long length:long
+ * footerLength:int "ADOC"
+ * </pre>
+ *
+ * <p>Readers locate the footer from the fixed-size trailer and then read only the chunks they need.
+ */
+public class ColumnarFileWriter {
+
+  static final byte[] MAGIC = {'A', 'D', 'O', 'C'};
+  static final byte VERSION = 1;
+  static final int TRAILER_LENGTH = Integer.BYTES + MAGIC.length;
+
+  private ColumnarFileWriter() {}
+
+  /**
+   * Writes the given tables to the stream. The stream is flushed but not closed.
+   *
+   * @param tables tables to write
+   * @param output destination stream
+   * @throws IOException if writing fails
+   */
+  public static void write(List<ColumnTable> tables, OutputStream output) throws IOException {
+    CountingOutputStream counter = new CountingOutputStream(output);
+    DataOutputStream out = new DataOutputStream(counter);
+    out.write(MAGIC);
+    out.writeByte(VERSION);
+
+    List<long[]> chunkPositions = new ArrayList<>();
+    for (ColumnTable table : tables) {
+      for (Column column : table.getColumns()) {
+        out.flush();
+        long start = counter.count;
+        column.writeTo(out);
+        out.flush();
+        chunkPositions.add(new long[] {start, counter.count - start});
+      }
+    }
+
+    long footerStart = counter.count;
+    out.writeInt(tables.size());
+    int chunk = 0;
+    for (ColumnTable table : tables) {
+      List<Column> columns = table.getColumns();
+      out.writeUTF(table.getName());
+      out.writeInt(table.getRowCount());
+      out.writeInt(columns.size());
+      for (Column column : columns) {
+        long[] position = chunkPositions.get(chunk++);
+        out.writeUTF(column.getName());
+        out.writeByte(column.getType().getCode());
+        out.writeByte(column.getEncoding());
+        out.writeLong(position[0]);
+        out.writeLong(position[1]);
+      }
+    }
+    out.flush();
+    out.writeInt((int) (counter.count - footerStart));
+    out.write(MAGIC);
+    out.flush();
+  }
+
+  /** Tracks the number of bytes written so chunk offsets can exceed 2 GB. */
+  private static final class CountingOutputStream extends FilterOutputStream {
+    private long count;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+  }
+}
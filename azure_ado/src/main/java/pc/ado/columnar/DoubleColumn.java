@@ -0,0 +1,99 @@
+package pc.ado.columnar;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Column of primitive {@code double} values.
+ *
+ * <p>Used for story points and hours. Missing values are stored as {@link Double#NaN}.
+ */
+public class DoubleColumn extends Column {
+
+  private double[] values = new double[INITIAL_CAPACITY];
+  private int size;
+
+  public DoubleColumn(String name) {
+    super(name);
+  }
+
+  public void add(double value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, grow(values.length));
+    }
+    values[size++] = value;
+  }
+
+  /**
+   * Parses and appends a numeric string, storing {@code NaN} when it is blank or not a number.
+   *
+   * @param value raw value
+   */
+  public void addParsed(String value) {
+    add(parse(value));
+  }
+
+  public double get(int row) {
+    if (row >= size) {
+      throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+    }
+    return values[row];
+  }
+
+  public boolean isNull(int row) {
+    return Double.isNaN(get(row));
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public ColumnType getType() {
+    return ColumnType.DOUBLE;
+  }
+
+  @Override
+  public byte getEncoding() {
+    return ENCODING_PLAIN;
+  }
+
+  @Override
+  public void writeTo(DataOutputStream out) throws IOException {
+    out.writeInt(size);
+    for (int i = 0; i < size; i++) {
+      out.writeDouble(values[i]);
+    }
+  }
+
+  static DoubleColumn read(String name, DataInputStream in) throws IOException {
+    DoubleColumn column = new DoubleColumn(name);
+    int rows = in.readInt();
+    column.values = new double[Math.max(rows, INITIAL_CAPACITY)];
+    for (int i = 0; i < rows; i++) {
+      column.values[i] = in.readDouble();
+    }
+    column.size = rows;
+    return column;
+  }
+
+  /**
+   * Parses a decimal number.
+   *
+   * @param value raw value
+   * @return parsed value or {@code NaN}
+   */
+  public static double parse(String value) {
+    if (value == null || value.isBlank()) {
+      return Double.NaN;
+    }
+    try {
+      return Double.parseDouble(value.trim());
+    } catch (NumberFormatException e) {
+      return Double.NaN;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package pc.ado.columnar;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Column of primitive {@code int} values.
+ *
+ * <p>Used for identifiers, counts, parent row indexes and dates (stored as epoch days). Missing
+ * values are stored as {@link #NULL}.
+ */
+public class IntColumn extends Column {
+
+  /** Sentinel for a missing value. */
+  public static final int NULL = Integer.MIN_VALUE;
+
+  private int[] values = new int[INITIAL_CAPACITY];
+  private int size;
+
+  public IntColumn(String name) {
+    super(name);
+  }
+
+  public void add(int value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, grow(values.length));
+    }
+    values[size++] = value;
+  }
+
+  /**
+   * Parses and appends a numeric string, storing {@link #NULL} when it is blank or not an integer.
+   *
+   * @param value raw value
+   */
+  public void addParsed(String value) {
+    add(parse(value));
+  }
+
+  public int get(int row) {
+    if (row >= size) {
+      throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+    }
+    return values[row];
+  }
+
+  public boolean isNull(int row) {
+    return get(row) == NULL;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public ColumnType getType() {
+    return ColumnType.INT;
+  }
+
+  @Override
+  public byte getEncoding() {
+    return ENCODING_PLAIN;
+  }
+
+  @Override
+  public void writeTo(DataOutputStream out) throws IOException {
+    out.writeInt(size);
+    for (int i = 0; i < size; i++) {
+      out.writeInt(values[i]);
+    }
+  }
+
+  static IntColumn read(String name, DataInputStream in) throws IOException {
+    IntColumn column = new IntColumn(name);
+    int rows = in.readInt();
+    column.values = new int[Math.max(rows, INITIAL_CAPACITY)];
+    for (int i = 0; i < rows; i++) {
+      column.values[i] = in.readInt();
+    }
+    column.size = rows;
+    return column;
+  }
+
+  /**
+   * Parses an integer, tolerating decimal notation such as {@code "2.0"}.
+   *
+   * @param value raw value
+   * @return parsed value or {@link #NULL}
+   */
+  public static int parse(String value) {
+    if (value == null || value.isBlank()) {
+      return NULL;
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      double parsed = DoubleColumn.parse(value);
+      return Double.isNaN(parsed) ? NULL : (int) parsed;
+    }
+  }
+}
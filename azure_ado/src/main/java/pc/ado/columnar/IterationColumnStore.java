@@ -0,0 +1,362 @@
+package pc.ado.columnar;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import pc.ado.DateUtils;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.PullRequest;
+import pc.ado.dto.PullRequestThread;
+import pc.ado.dto.TeamMemberAllocation;
+import pc.ado.dto.ThreadComment;
+import pc.ado.dto.WorkItem;
+
+/**
+ * In-memory struct-of-arrays store of iterations and their work items, tasks and pull requests.
+ *
+ * <p>Each entity gets its own {@link ColumnTable} of primitive and dictionary-encoded columns, and
+ * child tables reference their parent through an integer row index column:
+ *
+ * <ul>
+ *   <li>{@value #ITERATIONS}: project, team, id, name, startDate, finishDate
+ *   <li>{@value #ALLOCATIONS}: iterationIndex, member, capacityPerDay, daysOff, workedDays,
+ *       workedHours
+ *   <li>{@value #WORK_ITEMS}: iterationIndex, id, type, state, assignedTo, ... , tags,
+ *       hasImplementationDetails
+ *   <li>{@value #TASKS}: workItemIndex, taskId, activity, state, assignedTo, hour columns
+ *   <li>{@value #PULL_REQUESTS}: iterationIndex, workItemIndex (-1 when not linked), id, createdBy,
+ *       creationDate
+ *   <li>{@value #THREAD_COMMENTERS}: pullRequestIndex, threadId, status, commenter, commentCount,
+ *       first/last comment date (one row per commenter, or one row without commenter)
+ * </ul>
+ *
+ * <p>Points and hours are stored as doubles ({@code NaN} when missing) and dates as epoch days
+ * ({@link IntColumn#NULL} when missing). The store is filled from iterations with {@link
+ * #add(Iteration)} or loaded back from a columnar report file with {@link
+ * #read(ColumnarFileReader)}, and queried with {@link #query(String)}.
+ */
+public class IterationColumnStore {
+
+  public static final String ITERATIONS = "iterations";
+  public static final String ALLOCATIONS = "allocations";
+  public static final String WORK_ITEMS = "workItems";
+  public static final String TASKS = "tasks";
+  public static final String PULL_REQUESTS = "pullRequests";
+  public static final String THREAD_COMMENTERS = "threadCommenters";
+
+  /** Parent table and index column of each child table. */
+  private static final Map<String, ParentLink> PARENTS =
+      Map.of(
+          ALLOCATIONS, new ParentLink(ITERATIONS, "iterationIndex"),
+          WORK_ITEMS, new ParentLink(ITERATIONS, "iterationIndex"),
+          TASKS, new ParentLink(WORK_ITEMS, "workItemIndex"),
+          PULL_REQUESTS, new ParentLink(ITERATIONS, "iterationIndex"),
+          THREAD_COMMENTERS, new ParentLink(PULL_REQUESTS, "pullRequestIndex"));
+
+  /**
+   * Link from a child table to its parent.
+   *
+   * @param table parent table name
+   * @param indexColumn child column holding the parent row index
+   */
+  record ParentLink(String table, String indexColumn) {}
+
+  private final Map<String, ColumnTable> tables = new LinkedHashMap<>();
+  private IterationColumns iterations;
+  private WorkItemColumns workItems;
+  private PullRequestColumns pullRequests;
+
+  /** Creates an empty store to be filled with {@link #add(Iteration)}. */
+  public IterationColumnStore() {
+    this.iterations = new IterationColumns();
+    this.workItems = new WorkItemColumns();
+    this.pullRequests = new PullRequestColumns();
+    register(iterations.table);
+    register(iterations.allocations);
+    register(workItems.table);
+    register(workItems.tasks);
+    register(pullRequests.table);
+    register(pullRequests.commenters);
+  }
+
+  private IterationColumnStore(List<ColumnTable> loaded) {
+    for (ColumnTable table : loaded) {
+      register(table);
+    }
+  }
+
+  /**
+   * Builds a store holding the given iterations.
+   *
+   * @param iterations iterations to add
+   * @return the filled store
+   */
+  public static IterationColumnStore of(List<Iteration> iterations) {
+    IterationColumnStore store = new IterationColumnStore();
+    for (Iteration iteration : iterations) {
+      store.add(iteration);
+    }
+    return store;
+  }
+
+  /**
+   * Loads every table of a columnar report file into a read-only store, so earlier reports can be
+   * queried without crawling ADO again.
+   *
+   * @param reader open columnar file
+   * @return store holding the file's tables
+   * @throws IOException if the file cannot be read
+   */
+  public static IterationColumnStore read(ColumnarFileReader reader) throws IOException {
+    List<ColumnTable> loaded = new ArrayList<>();
+    for (ColumnarFileReader.TableInfo table : reader.getTables()) {
+      loaded.add(reader.readTable(table.name()));
+    }
+    return new IterationColumnStore(loaded);
+  }
+
+  private void register(ColumnTable table) {
+    tables.put(table.getName(), table);
+  }
+
+  /**
+   * Appends an iteration with its allocations, work items, tasks and pull requests.
+   *
+   * @param iteration iteration to add
+   * @throws IllegalStateException if the store was loaded from a file
+   */
+  public void add(Iteration iteration) {
+    if (iterations == null) {
+      throw new IllegalStateException("Store loaded from a file is read-only");
+    }
+    int i = iterations.add(iteration);
+
+    Map<PullRequest, Boolean> linkedPullRequests = new IdentityHashMap<>();
+    for (WorkItem workItem : iteration.getWorkItems()) {
+      int workItemIndex = workItems.add(i, workItem);
+      for (PullRequest pullRequest : workItem.getPullRequests()) {
+        linkedPullRequests.put(pullRequest, Boolean.TRUE);
+        pullRequests.add(i, workItemIndex, pullRequest);
+      }
+    }
+    // PRs attached directly to the iteration and not reachable through a work item
+    for (PullRequest pullRequest : iteration.getPullRequests()) {
+      if (!linkedPullRequests.containsKey(pullRequest)) {
+        pullRequests.add(i, -1, pullRequest);
+      }
+    }
+  }
+
+  /**
+   * Gets the tables in file order.
+   *
+   * @return unmodifiable list of tables
+   */
+  public List<ColumnTable> getTables() {
+    return Collections.unmodifiableList(new ArrayList<>(tables.values()));
+  }
+
+  /**
+   * Gets a table by name.
+   *
+   * @param tableName table name
+   * @return the table
+   * @throws IllegalArgumentException if the table does not exist
+   */
+  public ColumnTable getTable(String tableName) {
+    ColumnTable table = tables.get(tableName);
+    if (table == null) {
+      throw new IllegalArgumentException("Unknown table: " + tableName);
+    }
+    return table;
+  }
+
+  /**
+   * Starts a query over a table. Columns of ancestor tables can be referenced as {@code
+   * table.column}, e.g. {@code iterations.name} from {@value #TASKS}.
+   *
+   * @param tableName table to query
+   * @return query selecting every row of the table
+   */
+  public ColumnQuery query(String tableName) {
+    return new ColumnQuery(this, tableName);
+  }
+
+  ParentLink getParent(String tableName) {
+    return PARENTS.get(tableName);
+  }
+
+  private static int toEpochDay(String date) {
+    LocalDate parsed = DateUtils.parseLocalDate(date);
+    return parsed == null ? IntColumn.NULL : (int) parsed.toEpochDay();
+  }
+
+  /** Columns of the iteration and allocation tables. */
+  private static final class IterationColumns {
+    private final ColumnTable table = new ColumnTable(ITERATIONS);
+    private final StringColumn project = table.stringColumn("project");
+    private final StringColumn team = table.stringColumn("team");
+    private final StringColumn id = table.stringColumn("id");
+    private final StringColumn name = table.stringColumn("name");
+    private final IntColumn startDate = table.intColumn("startDate");
+    private final IntColumn finishDate = table.intColumn("finishDate");
+
+    private final ColumnTable allocations = new ColumnTable(ALLOCATIONS);
+    private final IntColumn iterationIndex = allocations.intColumn("iterationIndex");
+    private final StringColumn member = allocations.stringColumn("member");
+    private final DoubleColumn capacityPerDay = allocations.doubleColumn("capacityPerDay");
+    private final IntColumn daysOff = allocations.intColumn("daysOff");
+    private final IntColumn workedDays = allocations.intColumn("workedDays");
+    private final DoubleColumn workedHours = allocations.doubleColumn("workedHours");
+
+    private int add(Iteration iteration) {
+      int row = project.size();
+      project.add(iteration.getProjName());
+      team.add(iteration.getTeamName());
+      id.add(iteration.getId());
+      name.add(iteration.getName());
+      startDate.add(toEpochDay(iteration.getStartDate()));
+      finishDate.add(toEpochDay(iteration.getFinishDate()));
+
+      for (TeamMemberAllocation allocation : iteration.getAllocations()) {
+        iterationIndex.add(row);
+        member.add(allocation.getName());
+        capacityPerDay.add(allocation.getCapacity());
+        daysOff.add(allocation.getDaysOff());
+        workedDays.add(allocation.getWorkedDays());
+        workedHours.add(allocation.getWorkedHours());
+      }
+      return row;
+    }
+  }
+
+  /** Columns of the work item and task tables. */
+  private static final class WorkItemColumns {
+    private final ColumnTable table = new ColumnTable(WORK_ITEMS);
+    private final IntColumn iterationIndex = table.intColumn("iterationIndex");
+    private final IntColumn id = table.intColumn("id");
+    private final StringColumn type = table.stringColumn("type");
+    private final StringColumn state = table.stringColumn("state");
+    private final StringColumn assignedTo = table.stringColumn("assignedTo");
+    private final StringColumn plannedVersion = table.stringColumn("plannedVersion");
+    private final DoubleColumn storyPoints = table.doubleColumn("storyPoints");
+    private final DoubleColumn qaStoryPoints = table.doubleColumn("qaStoryPoints");
+    private final DoubleColumn originalStoryPoints = table.doubleColumn("originalStoryPoints");
+    private final IntColumn priority = table.intColumn("priority");
+    private final StringColumn severity = table.stringColumn("severity");
+    private final IntColumn createdDate = table.intColumn("createdDate");
+    private final StringColumn createdBy = table.stringColumn("createdBy");
+    private final IntColumn devEndDate = table.intColumn("devEndDate");
+    private final IntColumn qaReadyDate = table.intColumn("qaReadyDate");
+    private final IntColumn qaEndDate = table.intColumn("qaEndDate");
+    private final StringColumn tags = table.stringColumn("tags");
+    private final IntColumn hasImplementationDetails = table.intColumn("hasImplementationDetails");
+
+    private final ColumnTable tasks = new ColumnTable(TASKS);
+    private final IntColumn taskWorkItemIndex = tasks.intColumn("workItemIndex");
+    private final IntColumn taskId = tasks.intColumn("taskId");
+    private final StringColumn activity = tasks.stringColumn("activity");
+    private final StringColumn taskState = tasks.stringColumn("state");
+    private final StringColumn taskAssignedTo = tasks.stringColumn("assignedTo");
+    private final DoubleColumn originalEstimate = tasks.doubleColumn("originalEstimate");
+    private final DoubleColumn remainingWork = tasks.doubleColumn("remainingWork");
+    private final DoubleColumn completedWork = tasks.doubleColumn("completedWork");
+
+    private int add(int iteration, WorkItem workItem) {
+      int row = id.size();
+      iterationIndex.add(iteration);
+      id.add(workItem.getId());
+      type.add(workItem.getType());
+      state.add(workItem.getState());
+      assignedTo.add(workItem.getAssignedTo());
+      plannedVersion.add(workItem.getPlannedVersion());
+      storyPoints.add(workItem.getStoryPointsValue());
+      qaStoryPoints.add(workItem.getQaStoryPointsValue());
+      originalStoryPoints.add(workItem.getOriginalStoryPointsValue());
+      priority.add(workItem.getPriorityValue());
+      severity.add(workItem.getSeverity());
+      createdDate.add(workItem.getCreatedEpochDay());
+      createdBy.add(workItem.getCreatedBy());
+      devEndDate.add(workItem.getDevEndEpochDay());
+      qaReadyDate.add(workItem.getQaReadyEpochDay());
+      qaEndDate.add(workItem.getQaEndEpochDay());
+      tags.add(workItem.getTags());
+      hasImplementationDetails.add(workItem.isHasImplementationDetails() ? 1 : 0);
+
+      for (WorkItem.Task task : workItem.getTasks()) {
+        taskWorkItemIndex.add(row);
+        taskId.addParsed(task.getTaskId());
+        activity.add(task.getTaskType());
+        taskState.add(task.getState());
+        taskAssignedTo.add(task.getAssignedTo());
+        originalEstimate.add(task.getOriginalEstimateHours());
+        remainingWork.add(task.getRemainingWorkHours());
+        completedWork.add(task.getCompletedWorkHours());
+      }
+      return row;
+    }
+  }
+
+  /** Columns of the pull request and thread commenter tables. */
+  private static final class PullRequestColumns {
+    private final ColumnTable table = new ColumnTable(PULL_REQUESTS);
+    private final IntColumn iterationIndex = table.intColumn("iterationIndex");
+    private final IntColumn workItemIndex = table.intColumn("workItemIndex");
+    private final IntColumn pullRequestId = table.intColumn("pullRequestId");
+    private final StringColumn createdBy = table.stringColumn("createdBy");
+    private final IntColumn creationDate = table.intColumn("creationDate");
+
+    private final ColumnTable commenters = new ColumnTable(THREAD_COMMENTERS);
+    private final IntColumn pullRequestIndex = commenters.intColumn("pullRequestIndex");
+    private final IntColumn threadId = commenters.intColumn("threadId");
+    private final StringColumn status = commenters.stringColumn("status");
+    private final StringColumn commenter = commenters.stringColumn("commenter");
+    private final IntColumn commentCount = commenters.intColumn("commentCount");
+    private final IntColumn firstCommentDate = commenters.intColumn("firstCommentDate");
+    private final IntColumn lastCommentDate = commenters.intColumn("lastCommentDate");
+
+    private void add(int iteration, int workItem, PullRequest pullRequest) {
+      int row = pullRequestId.size();
+      iterationIndex.add(iteration);
+      workItemIndex.add(workItem);
+      pullRequestId.addParsed(pullRequest.getPullRequestId());
+      createdBy.add(pullRequest.getCreatedBy());
+      creationDate.add(toEpochDay(pullRequest.getCreationDate()));
+
+      for (PullRequestThread thread : pullRequest.getThreads()) {
+        if (thread.getCommenters().isEmpty()) {
+          addCommenterRow(row, thread, null, List.of());
+        } else {
+          for (Map.Entry<String, List<ThreadComment>> entry : thread.getCommenters().entrySet()) {
+            addCommenterRow(row, thread, entry.getKey(), entry.getValue());
+          }
+        }
+      }
+    }
+
+    private void addCommenterRow(
+        int pullRequestRow, PullRequestThread thread, String name, List<ThreadComment> comments) {
+      int first = IntColumn.NULL;
+      int last = IntColumn.NULL;
+      for (ThreadComment comment : comments) {
+        int day = toEpochDay(comment.getCommentedDate());
+        if (day != IntColumn.NULL) {
+          first = first == IntColumn.NULL ? day : Math.min(first, day);
+          last = Math.max(last, day);
+        }
+      }
+      pullRequestIndex.add(pullRequestRow);
+      threadId.addParsed(thread.getThreadId());
+      status.add(thread.getStatus());
+      commenter.add(name);
+      commentCount.add(comments.size());
+      firstCommentDate.add(first);
+      lastCommentDate.add(last);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package pc.ado.columnar;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary-backed column of strings.
+ *
+ * <p>Each distinct value is stored once and rows hold an {@code int} code into the dictionary, so
+ * the repeated project, team, state and identity names in a report cost four bytes per row. The
+ * chunk is written dictionary-encoded while the cardinality is low; high-cardinality columns fall
+ * back to plain encoding. {@code null} values are stored as code {@link #NULL_CODE}.
+ */
+public class StringColumn extends Column {
+
+  /** Code used for a {@code null} value. */
+  public static final int NULL_CODE = -1;
+
+  private final List<String> dictionary = new ArrayList<>();
+  private final Map<String, Integer> codesByValue = new HashMap<>();
+  private int[] codes = new int[INITIAL_CAPACITY];
+  private int size;
+
+  public StringColumn(String name) {
+    super(name);
+  }
+
+  public void add(String value) {
+    if (size == codes.length) {
+      codes = Arrays.copyOf(codes, grow(codes.length));
+    }
+    codes[size++] = encode(value);
+  }
+
+  /**
+   * Returns the dictionary code for a value, registering it if it has not been seen before.
+   *
+   * @param value value to encode
+   * @return dictionary code, or {@link #NULL_CODE} for {@code null}
+   */
+  public int encode(String value) {
+    if (value == null) {
+      return NULL_CODE;
+    }
+    Integer code = codesByValue.get(value);
+    if (code == null) {
+      code = dictionary.size();
+      dictionary.add(value);
+      codesByValue.put(value, code);
+    }
+    return code;
+  }
+
+  /**
+   * Looks up the code of a value without registering it.
+   *
+   * @param value value to look up
+   * @return dictionary code, or {@link #NULL_CODE} if the value is absent
+   */
+  public int codeOf(String value) {
+    Integer code = value == null ? null : codesByValue.get(value);
+    return code == null ? NULL_CODE : code;
+  }
+
+  public String get(int row) {
+    return decode(getCode(row));
+  }
+
+  public int getCode(int row) {
+    if (row >= size) {
+      throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+    }
+    return codes[row];
+  }
+
+  public String decode(int code) {
+    return code == NULL_CODE ? null : dictionary.get(code);
+  }
+
+  public List<String> getDictionary() {
+    return Collections.unmodifiableList(dictionary);
+  }
+
+  public int getCardinality() {
+    return dictionary.size();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public ColumnType getType() {
+    return ColumnType.STRING;
+  }
+
+  @Override
+  public byte getEncoding() {
+    return dictionary.size() <= Math.max(1, size / 2) ? ENCODING_DICTIONARY : ENCODING_PLAIN;
+  }
+
+  @Override
+  public void writeTo(DataOutputStream out) throws IOException {
+    out.writeInt(size);
+    if (getEncoding() == ENCODING_DICTIONARY) {
+      out.writeInt(dictionary.size());
+      for (String value : dictionary) {
+        writeString(out, value);
+      }
+      for (int i = 0; i < size; i++) {
+        out.writeInt(codes[i]);
+      }
+    } else {
+      for (int i = 0; i < size; i++) {
+        writeString(out, decode(codes[i]));
+      }
+    }
+  }
+
+  static StringColumn read(String name, byte encoding, DataInputStream in) throws IOException {
+    StringColumn column = new StringColumn(name);
+    int rows = in.readInt();
+    if (encoding == ENCODING_DICTIONARY) {
+      int cardinality = in.readInt();
+      String[] values = new String[cardinality];
+      for (int i = 0; i < cardinality; i++) {
+        values[i] = readString(in);
+        column.encode(values[i]);
+      }
+      column.codes = new int[Math.max(rows, INITIAL_CAPACITY)];
+      for (int i = 0; i < rows; i++) {
+        column.codes[i] = in.readInt();
+      }
+      column.size = rows;
+    } else {
+      for (int i = 0; i < rows; i++) {
+        column.add(readString(in));
+      }
+    }
+    return column;
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,66 @@
+package pc.ado.dto;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import pc.ado.DateUtils;
+
+/**
+ * Conversions between the raw ADO field strings and the compact primitive form kept in DTOs.
+ *
+ * <p>Numbers are parsed to doubles (NaN when missing or not numeric) or ints.
+ */
+final class FieldCodec {
+
+  private FieldCodec() {
+    // Utility class - prevent instantiation
+  }
+
+  static double parseDouble(String value) {
+    if (value == null || value.isBlank()) {
+      return Double.NaN;
+    }
+    try {
+      return Double.parseDouble(value.trim());
+    } catch (NumberFormatException e) {
+      return Double.NaN;
+    }
+  }
+
+  static int parseInt(String value) {
+    double parsed = parseDouble(value);
+    return Double.isNaN(parsed) ? WorkItem.MISSING : (int) parsed;
+  }
+
+  static int parseEpochDay(String value) {
+    LocalDate date = DateUtils.parseLocalDate(value);
+    return date == null ? WorkItem.MISSING : (int) date.toEpochDay();
+  }
+
+  static String formatInt(int value) {
+    return value == WorkItem.MISSING ? "" : Integer.toString(value);
+  }
+
+  /** Writes a nullable string as its UTF-8 byte length (-1 for null) followed by the bytes. */
+  static void writeString(DataOutput out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -1,5 +1,8 @@
 package pc.ado.dto;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,7 +16,7 @@ public class Iteration {
   private final String startDate;
   private final String finishDate;
   private final List<TeamMemberAllocation> allocations;
-  private final List<WorkItem> workItems;
+  private List<WorkItem> workItems;
   private final List<PullRequest> pullRequests;
 
   public Iteration(
@@ -74,6 +77,17 @@ public class Iteration {
     workItems.add(workItem);
   }
 
+  /**
+   * Moves the work items into another list implementation, e.g. an off-heap store, and keeps adding
+   * to it from now on.
+   *
+   * @param storage empty list that takes over the work items
+   */
+  public void moveWorkItemsTo(final List<WorkItem> storage) {
+    storage.addAll(workItems);
+    workItems = storage;
+  }
+
   public List<PullRequest> getPullRequests() {
     return pullRequests;
   }
@@ -81,4 +95,56 @@ public class Iteration {
   public void addPullRequest(final PullRequest pullRequest) {
     pullRequests.add(pullRequest);
   }
+
+  /**
+   * Writes the iteration with its allocations, work items and pull requests in the binary form read
+   * by {@link #readFrom(DataInput)}.
+   *
+   * @param out destination
+   * @throws IOException if writing fails
+   */
+  public void writeTo(DataOutput out) throws IOException {
+    FieldCodec.writeString(out, projName);
+    FieldCodec.writeString(out, teamName);
+    FieldCodec.writeString(out, id);
+    FieldCodec.writeString(out, name);
+    FieldCodec.writeString(out, startDate);
+    FieldCodec.writeString(out, finishDate);
+    out.writeInt(allocations.size());
+    for (TeamMemberAllocation allocation : allocations) {
+      allocation.writeTo(out);
+    }
+    out.writeInt(workItems.size());
+    for (WorkItem workItem : workItems) {
+      workItem.writeTo(out);
+    }
+    out.writeInt(pullRequests.size());
+    for (PullRequest pullRequest : pullRequests) {
+      pullRequest.writeTo(out);
+    }
+  }
+
+  public static Iteration readFrom(DataInput in) throws IOException {
+    Iteration iteration =
+        new Iteration(
+            FieldCodec.readString(in),
+            FieldCodec.readString(in),
+            FieldCodec.readString(in),
+            FieldCodec.readString(in),
+            FieldCodec.readString(in),
+            FieldCodec.readString(in));
+    int allocationCount = in.readInt();
+    for (int i = 0; i < allocationCount; i++) {
+      iteration.addAllocation(TeamMemberAllocation.readFrom(in));
+    }
+    int workItemCount = in.readInt();
+    for (int i = 0; i < workItemCount; i++) {
+      iteration.addWorkItem(WorkItem.readFrom(in));
+    }
+    int pullRequestCount = in.readInt();
+    for (int i = 0; i < pullRequestCount; i++) {
+      iteration.addPullRequest(PullRequest.readFrom(in));
+    }
+    return iteration;
+  }
 }
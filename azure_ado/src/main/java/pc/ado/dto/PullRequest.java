@@ -1,5 +1,8 @@
 package pc.ado.dto;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -38,6 +41,34 @@ public class PullRequest {
     return threads;
   }
 
+  /**
+   * Writes the pull request and its threads in the binary form read by {@link
+   * #readFrom(DataInput)}.
+   *
+   * @param out destination
+   * @throws IOException if writing fails
+   */
+  public void writeTo(DataOutput out) throws IOException {
+    FieldCodec.writeString(out, pullRequestId);
+    FieldCodec.writeString(out, createdBy);
+    FieldCodec.writeString(out, creationDate);
+    out.writeInt(threads.size());
+    for (PullRequestThread thread : threads) {
+      thread.writeTo(out);
+    }
+  }
+
+  public static PullRequest readFrom(DataInput in) throws IOException {
+    PullRequest pullRequest =
+        new PullRequest(
+            FieldCodec.readString(in), FieldCodec.readString(in), FieldCodec.readString(in));
+    int threadCount = in.readInt();
+    for (int i = 0; i < threadCount; i++) {
+      pullRequest.addThread(PullRequestThread.readFrom(in));
+    }
+    return pullRequest;
+  }
+
   @Override
   public String toString() {
     return "PullRequest{"
@@ -1,5 +1,9 @@
 package pc.ado.dto;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +43,43 @@ public class PullRequestThread {
     this.commenters.put(author, comments);
   }
 
+  /**
+   * Writes the thread and its commenters in the binary form read by {@link #readFrom(DataInput)}.
+   *
+   * @param out destination
+   * @throws IOException if writing fails
+   */
+  public void writeTo(DataOutput out) throws IOException {
+    FieldCodec.writeString(out, threadId);
+    FieldCodec.writeString(out, status);
+    out.writeBoolean(isDeleted);
+    out.writeInt(commenters.size());
+    for (Map.Entry<String, List<ThreadComment>> commenter : commenters.entrySet()) {
+      FieldCodec.writeString(out, commenter.getKey());
+      out.writeInt(commenter.getValue().size());
+      for (ThreadComment comment : commenter.getValue()) {
+        comment.writeTo(out);
+      }
+    }
+  }
+
+  public static PullRequestThread readFrom(DataInput in) throws IOException {
+    PullRequestThread thread =
+        new PullRequestThread(
+            FieldCodec.readString(in), FieldCodec.readString(in), in.readBoolean());
+    int commenterCount = in.readInt();
+    for (int i = 0; i < commenterCount; i++) {
+      String author = FieldCodec.readString(in);
+      int commentCount = in.readInt();
+      List<ThreadComment> comments = new ArrayList<>(commentCount);
+      for (int j = 0; j < commentCount; j++) {
+        comments.add(ThreadComment.readFrom(in));
+      }
+      thread.addCommenter(author, comments);
+    }
+    return thread;
+  }
+
   @Override
   public String toString() {
     return "PullRequestThread{"
@@ -1,5 +1,9 @@
 package pc.ado.dto;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Data Transfer Object for team member allocation within an iteration.
  *
@@ -45,4 +49,17 @@ public class TeamMemberAllocation {
   public double getWorkedHours() {
     return workedHours;
   }
+
+  public void writeTo(DataOutput out) throws IOException {
+    FieldCodec.writeString(out, name);
+    out.writeDouble(capacity);
+    out.writeInt(daysOff);
+    out.writeInt(workedDays);
+    out.writeDouble(workedHours);
+  }
+
+  public static TeamMemberAllocation readFrom(DataInput in) throws IOException {
+    return new TeamMemberAllocation(
+        FieldCodec.readString(in), in.readDouble(), in.readInt(), in.readInt(), in.readDouble());
+  }
 }
@@ -1,5 +1,9 @@
 package pc.ado.dto;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /** Data Transfer Object for a thread comment containing the date and content. */
 public class ThreadComment {
 
@@ -19,6 +23,21 @@ public class ThreadComment {
     return commentContent;
   }
 
+  /**
+   * Writes the comment in the binary form read by {@link #readFrom(DataInput)}.
+   *
+   * @param out destination
+   * @throws IOException if writing fails
+   */
+  public void writeTo(DataOutput out) throws IOException {
+    FieldCodec.writeString(out, commentedDate);
+    FieldCodec.writeString(out, commentContent);
+  }
+
+  public static ThreadComment readFrom(DataInput in) throws IOException {
+    return new ThreadComment(FieldCodec.readString(in), FieldCodec.readString(in));
+  }
+
   @Override
   public String toString() {
     return "ThreadComment{"
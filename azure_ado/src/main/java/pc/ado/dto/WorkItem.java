@@ -1,8 +1,24 @@
 package pc.ado.dto;
 
-/** Data Transfer Object for work item information. */
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Data Transfer Object for work item information.
+ *
+ * <p>Priority is kept as an int; type, state and severity arrive interned by the parser's {@link
+ * pc.ado.service.StringPool}, so a crawl with tens of thousands of work items does not keep a dozen
+ * small strings per item alive. Points, hours and dates keep the text ADO reported ("5.0", time of
+ * day included), so reports print them unchanged; the numeric and epoch-day getters parse it when
+ * asked. The primitive getters return {@link Double#NaN} or {@link #MISSING} for fields that were
+ * not set or do not parse.
+ */
 public class WorkItem {
 
+  /** Value of integer fields and epoch days that were not set. */
+  public static final int MISSING = Integer.MIN_VALUE;
+
   private final int id;
   private final String title;
   private final String type;
@@ -12,7 +28,7 @@ public class WorkItem {
   private final String storyPoints;
   private final String qaStoryPoints;
   private final String originalStoryPoints;
-  private final String priority;
+  private final int priority;
   private final String severity;
   private final String createdDate;
   private final String createdBy;
@@ -52,7 +68,7 @@ public class WorkItem {
     this.storyPoints = storyPoints;
     this.qaStoryPoints = qaStoryPoints;
     this.originalStoryPoints = originalStoryPoints;
-    this.priority = priority;
+    this.priority = FieldCodec.parseInt(priority);
     this.severity = severity;
     this.createdDate = createdDate;
     this.createdBy = createdBy;
@@ -63,6 +79,28 @@ public class WorkItem {
     this.tags = tags;
   }
 
+  /** Restores a work item from its stored primitive form, see {@link #readFrom(DataInput)}. */
+  private WorkItem(DataInput in) throws IOException {
+    this.id = in.readInt();
+    this.title = FieldCodec.readString(in);
+    this.type = FieldCodec.readString(in);
+    this.state = FieldCodec.readString(in);
+    this.assignedTo = FieldCodec.readString(in);
+    this.plannedVersion = FieldCodec.readString(in);
+    this.storyPoints = FieldCodec.readString(in);
+    this.qaStoryPoints = FieldCodec.readString(in);
+    this.originalStoryPoints = FieldCodec.readString(in);
+    this.priority = in.readInt();
+    this.severity = FieldCodec.readString(in);
+    this.createdDate = FieldCodec.readString(in);
+    this.createdBy = FieldCodec.readString(in);
+    this.devEndDate = FieldCodec.readString(in);
+    this.qaReadyDate = FieldCodec.readString(in);
+    this.qaEndDate = FieldCodec.readString(in);
+    this.tags = FieldCodec.readString(in);
+    this.hasImplementationDetails = in.readBoolean();
+  }
+
   public int getId() {
     return id;
   }
@@ -107,15 +145,31 @@ public class WorkItem {
     return storyPoints;
   }
 
+  public double getStoryPointsValue() {
+    return FieldCodec.parseDouble(storyPoints);
+  }
+
   public String getQaStoryPoints() {
     return qaStoryPoints;
   }
 
+  public double getQaStoryPointsValue() {
+    return FieldCodec.parseDouble(qaStoryPoints);
+  }
+
   public String getOriginalStoryPoints() {
     return originalStoryPoints;
   }
 
+  public double getOriginalStoryPointsValue() {
+    return FieldCodec.parseDouble(originalStoryPoints);
+  }
+
   public String getPriority() {
+    return FieldCodec.formatInt(priority);
+  }
+
+  public int getPriorityValue() {
     return priority;
   }
 
@@ -127,6 +181,10 @@ public class WorkItem {
     return createdDate;
   }
 
+  public int getCreatedEpochDay() {
+    return FieldCodec.parseEpochDay(createdDate);
+  }
+
   public String getCreatedBy() {
     return createdBy;
   }
@@ -135,14 +193,26 @@ public class WorkItem {
     return devEndDate;
   }
 
+  public int getDevEndEpochDay() {
+    return FieldCodec.parseEpochDay(devEndDate);
+  }
+
   public String getQaReadyDate() {
     return qaReadyDate;
   }
 
+  public int getQaReadyEpochDay() {
+    return FieldCodec.parseEpochDay(qaReadyDate);
+  }
+
   public String getQaEndDate() {
     return qaEndDate;
   }
 
+  public int getQaEndEpochDay() {
+    return FieldCodec.parseEpochDay(qaEndDate);
+  }
+
   public boolean isHasImplementationDetails() {
     return hasImplementationDetails;
   }
@@ -151,6 +221,61 @@ public class WorkItem {
     return tags;
   }
 
+  /**
+   * Writes the work item with its tasks and pull requests in a compact binary form.
+   *
+   * @param out destination
+   * @throws IOException if writing fails
+   */
+  public void writeTo(DataOutput out) throws IOException {
+    out.writeInt(id);
+    FieldCodec.writeString(out, title);
+    FieldCodec.writeString(out, getType());
+    FieldCodec.writeString(out, getState());
+    FieldCodec.writeString(out, assignedTo);
+    FieldCodec.writeString(out, plannedVersion);
+    FieldCodec.writeString(out, storyPoints);
+    FieldCodec.writeString(out, qaStoryPoints);
+    FieldCodec.writeString(out, originalStoryPoints);
+    out.writeInt(priority);
+    FieldCodec.writeString(out, getSeverity());
+    FieldCodec.writeString(out, createdDate);
+    FieldCodec.writeString(out, createdBy);
+    FieldCodec.writeString(out, devEndDate);
+    FieldCodec.writeString(out, qaReadyDate);
+    FieldCodec.writeString(out, qaEndDate);
+    FieldCodec.writeString(out, tags);
+    out.writeBoolean(hasImplementationDetails);
+    out.writeInt(tasks.size());
+    for (Task task : tasks) {
+      task.writeTo(out);
+    }
+    out.writeInt(pullRequests.size());
+    for (PullRequest pullRequest : pullRequests) {
+      pullRequest.writeTo(out);
+    }
+  }
+
+  /**
+   * Reads a work item written by {@link #writeTo(DataOutput)}.
+   *
+   * @param in source
+   * @return the restored work item with its tasks and pull requests
+   * @throws IOException if reading fails
+   */
+  public static WorkItem readFrom(DataInput in) throws IOException {
+    WorkItem workItem = new WorkItem(in);
+    int taskCount = in.readInt();
+    for (int i = 0; i < taskCount; i++) {
+      workItem.addTask(Task.readFrom(in));
+    }
+    int pullRequestCount = in.readInt();
+    for (int i = 0; i < pullRequestCount; i++) {
+      workItem.addPullRequest(PullRequest.readFrom(in));
+    }
+    return workItem;
+  }
+
   /**
    * Creates a new Builder for constructing WorkItem instances.
    *
@@ -341,6 +466,30 @@ public class WorkItem {
       this.completedWork = completedWork;
     }
 
+    private Task(DataInput in) throws IOException {
+      this.taskId = FieldCodec.readString(in);
+      this.taskType = FieldCodec.readString(in);
+      this.state = FieldCodec.readString(in);
+      this.assignedTo = FieldCodec.readString(in);
+      this.originalEstimate = FieldCodec.readString(in);
+      this.remainingWork = FieldCodec.readString(in);
+      this.completedWork = FieldCodec.readString(in);
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+      FieldCodec.writeString(out, taskId);
+      FieldCodec.writeString(out, getTaskType());
+      FieldCodec.writeString(out, getState());
+      FieldCodec.writeString(out, assignedTo);
+      FieldCodec.writeString(out, originalEstimate);
+      FieldCodec.writeString(out, remainingWork);
+      FieldCodec.writeString(out, completedWork);
+    }
+
+    public static Task readFrom(DataInput in) throws IOException {
+      return new Task(in);
+    }
+
     public String getTaskId() {
       return taskId;
     }
@@ -361,18 +510,30 @@ public class WorkItem {
       return originalEstimate;
     }
 
+    public double getOriginalEstimateHours() {
+      return FieldCodec.parseDouble(originalEstimate);
+    }
+
     public String getRemainingWork() {
       return remainingWork;
     }
 
+    public double getRemainingWorkHours() {
+      return FieldCodec.parseDouble(remainingWork);
+    }
+
     public String getCompletedString() {
-      return completedWork;
+      return getCompletedWork();
     }
 
     public String getCompletedWork() {
       return completedWork;
     }
 
+    public double getCompletedWorkHours() {
+      return FieldCodec.parseDouble(completedWork);
+    }
+
     @Override
     public String toString() {
       return "Task{"
@@ -380,22 +541,22 @@ public class WorkItem {
           + taskId
           + '\''
           + ", taskType='"
-          + taskType
+          + getTaskType()
           + '\''
           + ", state='"
-          + state
+          + getState()
           + '\''
           + ", assignedTo='"
           + assignedTo
           + '\''
           + ", originalEstimate='"
-          + originalEstimate
+          + getOriginalEstimate()
           + '\''
           + ", remainingWork='"
-          + remainingWork
+          + getRemainingWork()
           + '\''
           + ", completedWork='"
-          + completedWork
+          + getCompletedWork()
           + '\''
           + '}';
     }
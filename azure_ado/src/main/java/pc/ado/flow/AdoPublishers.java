@@ -0,0 +1,122 @@
+package pc.ado.flow;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import pc.ado.AdoApiClient;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.WorkItem;
+import pc.ado.pipeline.IterationPipeline;
+
+/**
+ * Reactive views of the {@link AdoApiClient} fetch side, for embedding the tool in streaming jobs.
+ *
+ * <p>Nothing is fetched until a subscriber requests elements: listings happen on the first request
+ * and each requested element costs one fetch, with at most {@code maxConcurrency} fetches in
+ * flight. Every subscription fetches its own copy of the data.
+ *
+ * <pre>{@code
+ * AdoPublishers.workItems(apiClient, project, team, sprint, executor, 4)
+ *     .subscribe(subscriber); // subscriber.request(n) drives the HTTP calls
+ * }</pre>
+ */
+public final class AdoPublishers {
+
+  private AdoPublishers() {
+    // Utility class - prevent instantiation
+  }
+
+  /**
+   * Publishes the work items of a sprint, each fetched with its tasks and pull requests as
+   * configured. The iteration itself is not modified.
+   *
+   * @param apiClient API client
+   * @param project project name
+   * @param team team name
+   * @param iteration sprint whose work items to publish
+   * @param executor runs the fetches
+   * @param maxConcurrency maximum number of work items fetched at once
+   * @return publisher of the sprint's work items in sprint order
+   */
+  public static Flow.Publisher<WorkItem> workItems(
+      AdoApiClient apiClient,
+      String project,
+      String team,
+      Iteration iteration,
+      Executor executor,
+      int maxConcurrency) {
+    return new DemandPublisher<>(
+        () ->
+            new DemandPublisher.TaskSource<>() {
+              private Iterator<String> links;
+
+              @Override
+              public Callable<WorkItem> next() throws Exception {
+                if (links == null) {
+                  links = apiClient.getSprintWorkItemLinks(project, team, iteration).iterator();
+                }
+                if (!links.hasNext()) {
+                  return null;
+                }
+                String link = links.next();
+                return () -> apiClient.fetchWorkItem(project, link);
+              }
+            },
+        executor,
+        maxConcurrency);
+  }
+
+  /**
+   * Publishes the sprints of the given teams, each hydrated before it is delivered.
+   *
+   * <p>A team's sprints are listed when the subscriber's demand reaches them, so requesting a few
+   * sprints at a time never lists or hydrates the whole organization up front.
+   *
+   * @param apiClient API client
+   * @param project project name
+   * @param teams teams to publish the sprints of, in order
+   * @param sprintNames sprint names to include (empty = all)
+   * @param hydrator loads the sprint details, e.g. {@code sprint ->
+   *     apiClient.getSprintWorkItems(project, sprint.getTeamName(), sprint)}
+   * @param executor runs the listings and hydration
+   * @param maxConcurrency maximum number of sprints hydrated at once
+   * @return publisher of hydrated sprints in team and sprint order
+   */
+  public static Flow.Publisher<Iteration> iterations(
+      AdoApiClient apiClient,
+      String project,
+      List<String> teams,
+      List<String> sprintNames,
+      IterationPipeline.Stage hydrator,
+      Executor executor,
+      int maxConcurrency) {
+    return new DemandPublisher<>(
+        () ->
+            new DemandPublisher.TaskSource<>() {
+              private final Deque<String> remainingTeams = new ArrayDeque<>(teams);
+              private final Deque<Iteration> listed = new ArrayDeque<>();
+
+              @Override
+              public Callable<Iteration> next() throws Exception {
+                while (listed.isEmpty() && !remainingTeams.isEmpty()) {
+                  listed.addAll(
+                      apiClient.getTeamSprint(project, remainingTeams.removeFirst(), sprintNames));
+                }
+                Iteration iteration = listed.pollFirst();
+                if (iteration == null) {
+                  return null;
+                }
+                return () -> {
+                  hydrator.process(iteration);
+                  return iteration;
+                };
+              }
+            },
+        executor,
+        maxConcurrency);
+  }
+}
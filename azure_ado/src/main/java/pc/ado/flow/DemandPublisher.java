@@ -0,0 +1,235 @@
+package pc.ado.flow;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link Flow.Publisher} that runs one fetch task per element, only as fast as subscribers ask.
+ *
+ * <p>Each subscription pulls tasks from its own {@link TaskSource} and runs them on the executor.
+ * No more tasks are in flight than the subscriber's outstanding demand and never more than {@code
+ * maxConcurrency}, so {@code request(n)} directly throttles the number of concurrent ADO calls.
+ * Elements are delivered in task order; a task returning {@code null} is skipped and does not use
+ * up demand. The first failing task (or source) terminates the subscription with {@code onError}.
+ *
+ * @param <T> element type
+ */
+public class DemandPublisher<T> implements Flow.Publisher<T> {
+
+  private static final Logger logger = LoggerFactory.getLogger(DemandPublisher.class);
+
+  /** Supplies the fetch tasks of one subscription, in delivery order. */
+  @FunctionalInterface
+  public interface TaskSource<T> {
+    /**
+     * Returns the next task. Called serially, from executor threads.
+     *
+     * @return next task, or null once there are no more
+     * @throws Exception if the tasks cannot be listed
+     */
+    Callable<T> next() throws Exception;
+  }
+
+  private final Supplier<TaskSource<T>> sources;
+  private final Executor executor;
+  private final int maxConcurrency;
+
+  /**
+   * Creates a publisher.
+   *
+   * @param sources creates the task source of each new subscription
+   * @param executor runs the tasks and the signals to subscribers
+   * @param maxConcurrency maximum number of tasks in flight per subscription
+   */
+  public DemandPublisher(Supplier<TaskSource<T>> sources, Executor executor, int maxConcurrency) {
+    this.sources = sources;
+    this.executor = executor;
+    this.maxConcurrency = Math.max(1, maxConcurrency);
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super T> subscriber) {
+    DemandSubscription subscription = new DemandSubscription(subscriber, sources.get());
+    subscriber.onSubscribe(subscription);
+  }
+
+  /** Result holder of one task, completed by the executor. */
+  private static final class Slot<T> {
+    private boolean done;
+    private T value;
+    private Throwable failure;
+  }
+
+  private final class DemandSubscription implements Flow.Subscription {
+    private final Flow.Subscriber<? super T> subscriber;
+    private final TaskSource<T> source;
+    // Guarded by this
+    private final Deque<Slot<T>> inFlight = new ArrayDeque<>();
+    private long demand;
+    private boolean exhausted;
+    private boolean terminated;
+    private Throwable pendingFailure;
+    private boolean draining;
+    private boolean missed;
+
+    private DemandSubscription(Flow.Subscriber<? super T> subscriber, TaskSource<T> source) {
+      this.subscriber = subscriber;
+      this.source = source;
+    }
+
+    @Override
+    public void request(long n) {
+      synchronized (this) {
+        if (terminated) {
+          return;
+        }
+        if (n <= 0) {
+          pendingFailure = new IllegalArgumentException("Non-positive subscription request: " + n);
+        } else {
+          demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        }
+      }
+      executor.execute(this::drain);
+    }
+
+    @Override
+    public synchronized void cancel() {
+      terminated = true;
+      inFlight.clear();
+    }
+
+    /**
+     * Delivers completed elements and starts tasks while there is demand. Runs on one thread at a
+     * time; calls arriving while another thread drains are picked up by that thread's next loop.
+     */
+    private void drain() {
+      synchronized (this) {
+        if (draining) {
+          missed = true;
+          return;
+        }
+        draining = true;
+      }
+      while (true) {
+        try {
+          deliver();
+          launch();
+        } catch (Throwable t) {
+          terminate(t);
+        }
+        synchronized (this) {
+          if (!missed) {
+            draining = false;
+            return;
+          }
+          missed = false;
+        }
+      }
+    }
+
+    private void deliver() {
+      while (true) {
+        Slot<T> slot;
+        boolean complete = false;
+        synchronized (this) {
+          if (terminated) {
+            return;
+          }
+          if (pendingFailure != null) {
+            slot = new Slot<>();
+            slot.failure = pendingFailure;
+          } else {
+            slot = inFlight.peekFirst();
+            if (slot == null) {
+              if (!exhausted) {
+                return;
+              }
+              terminated = true;
+              complete = true;
+            } else if (!slot.done || (slot.value != null && demand == 0)) {
+              return;
+            } else {
+              inFlight.removeFirst();
+              if (slot.value != null) {
+                demand--;
+              }
+            }
+          }
+        }
+        if (complete) {
+          subscriber.onComplete();
+          return;
+        }
+        if (slot.failure != null) {
+          terminate(slot.failure);
+          return;
+        }
+        if (slot.value != null) {
+          subscriber.onNext(slot.value);
+        }
+      }
+    }
+
+    private void launch() throws Exception {
+      while (true) {
+        synchronized (this) {
+          if (terminated
+              || exhausted
+              || inFlight.size() >= maxConcurrency
+              || inFlight.size() >= demand) {
+            return;
+          }
+        }
+        // Only the draining thread launches, so the source is never called concurrently
+        Callable<T> task = source.next();
+        Slot<T> slot = new Slot<>();
+        synchronized (this) {
+          if (task == null) {
+            exhausted = true;
+            missed = true;
+            return;
+          }
+          if (terminated) {
+            return;
+          }
+          inFlight.addLast(slot);
+        }
+        executor.execute(() -> run(task, slot));
+      }
+    }
+
+    private void run(Callable<T> task, Slot<T> slot) {
+      T value = null;
+      Throwable failure = null;
+      try {
+        value = task.call();
+      } catch (Throwable t) {
+        failure = t;
+      }
+      synchronized (this) {
+        slot.value = value;
+        slot.failure = failure;
+        slot.done = true;
+      }
+      drain();
+    }
+
+    private void terminate(Throwable failure) {
+      synchronized (this) {
+        if (terminated) {
+          return;
+        }
+        terminated = true;
+        inFlight.clear();
+      }
+      logger.debug("Publisher subscription failed", failure);
+      subscriber.onError(failure);
+    }
+  }
+}
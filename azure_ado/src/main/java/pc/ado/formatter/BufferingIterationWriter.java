@@ -0,0 +1,33 @@
+package pc.ado.formatter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import pc.ado.dto.Iteration;
+
+/**
+ * Fallback writer for formats that need every iteration before they can write anything, such as the
+ * columnar format. Iterations are collected and written in one go when the writer is closed.
+ */
+class BufferingIterationWriter implements IterationWriter {
+
+  private final IterationFormatter formatter;
+  private final OutputStream out;
+  private final List<Iteration> iterations = new ArrayList<>();
+
+  BufferingIterationWriter(final IterationFormatter formatter, final OutputStream out) {
+    this.formatter = formatter;
+    this.out = out;
+  }
+
+  @Override
+  public void write(final Iteration iteration) {
+    iterations.add(iteration);
+  }
+
+  @Override
+  public void close() throws IOException {
+    formatter.write(iterations, out);
+  }
+}
@@ -0,0 +1,93 @@
+package pc.ado.formatter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.ado.columnar.ColumnTable;
+import pc.ado.columnar.ColumnarFileWriter;
+import pc.ado.columnar.IterationColumnStore;
+import pc.ado.dto.Iteration;
+
+/**
+ * Formats iterations data to a columnar binary file for analytics consumers.
+ *
+ * <p>Instead of exploding the hierarchy into repeated rows, each entity gets its own table and
+ * child tables reference their parent through an integer row index column. The tables are those of
+ * {@link IterationColumnStore}; see {@link ColumnarFileWriter} for the byte layout.
+ */
+public class ColumnarIterationFormatter implements IterationFormatter {
+
+  private static final Logger logger = LoggerFactory.getLogger(ColumnarIterationFormatter.class);
+
+  public static final String ITERATIONS = IterationColumnStore.ITERATIONS;
+  public static final String ALLOCATIONS = IterationColumnStore.ALLOCATIONS;
+  public static final String WORK_ITEMS = IterationColumnStore.WORK_ITEMS;
+  public static final String TASKS = IterationColumnStore.TASKS;
+  public static final String PULL_REQUESTS = IterationColumnStore.PULL_REQUESTS;
+  public static final String THREAD_COMMENTERS = IterationColumnStore.THREAD_COMMENTERS;
+
+  /**
+   * Returns the columnar file Base64 encoded, for callers that need a textual representation.
+   *
+   * @param iterations list of iterations to format
+   * @return Base64 encoded columnar file
+   * @throws UncheckedIOException if the tables cannot be serialized
+   */
+  @Override
+  public String format(List<Iteration> iterations) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      write(iterations, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to serialize columnar tables", e);
+    }
+    return Base64.getEncoder().encodeToString(out.toByteArray());
+  }
+
+  @Override
+  public void write(List<Iteration> iterations, OutputStream out) throws IOException {
+    writeTables(buildTables(iterations), out);
+  }
+
+  private void writeTables(List<ColumnTable> tables, OutputStream out) throws IOException {
+    ColumnarFileWriter.write(tables, out);
+    if (logger.isDebugEnabled()) {
+      for (ColumnTable table : tables) {
+        logger.debug(
+            "Columnar table '{}' written with {} rows", table.getName(), table.getRowCount());
+      }
+    }
+  }
+
+  /**
+   * Builds the column tables for the given iterations.
+   *
+   * @param iterations list of iterations
+   * @return tables in file order
+   */
+  public List<ColumnTable> buildTables(List<Iteration> iterations) {
+    return IterationColumnStore.of(iterations).getTables();
+  }
+
+  /** Streams iterations straight into the column store instead of collecting the objects. */
+  @Override
+  public IterationWriter openStream(OutputStream out) {
+    IterationColumnStore store = new IterationColumnStore();
+    return new IterationWriter() {
+      @Override
+      public void write(Iteration iteration) {
+        store.add(iteration);
+      }
+
+      @Override
+      public void close() throws IOException {
+        writeTables(store.getTables(), out);
+      }
+    };
+  }
+}
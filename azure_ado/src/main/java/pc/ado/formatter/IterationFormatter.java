@@ -1,5 +1,8 @@
 package pc.ado.formatter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import pc.ado.dto.Iteration;
 
@@ -13,4 +16,34 @@ public interface IterationFormatter {
    * @return formatted string
    */
   String format(List<Iteration> iterations);
+
+  /**
+   * Writes formatted iterations to a stream.
+   *
+   * <p>Text formats write the UTF-8 encoding of {@link #format(List)}; binary formats override this
+   * method to write their native layout. The stream is flushed but not closed.
+   *
+   * @param iterations list of iterations to format
+   * @param out destination stream
+   * @throws IOException if writing fails
+   */
+  default void write(List<Iteration> iterations, OutputStream out) throws IOException {
+    out.write(format(iterations).getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+
+  /**
+   * Opens an incremental writer on a stream.
+   *
+   * <p>Formats that can render one iteration at a time override this to avoid holding the whole
+   * report in memory. The default collects the iterations and writes them with {@link #write(List,
+   * OutputStream)} when the writer is closed.
+   *
+   * @param out destination stream
+   * @return writer that formats iterations as they arrive
+   * @throws IOException if the stream cannot be prepared
+   */
+  default IterationWriter openStream(OutputStream out) throws IOException {
+    return new BufferingIterationWriter(this, out);
+  }
 }
@@ -1,5 +1,6 @@
 package pc.ado.formatter;
 
+import java.util.concurrent.ForkJoinPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pc.ado.AdoConfig;
@@ -11,7 +12,9 @@ public class IterationFormatterFactory {
 
   public enum FormatterType {
     JSON("json"),
-    TSV("tsv");
+    TSV("tsv"),
+    COLUMNAR("columnar"),
+    SUMMARY("summary");
 
     private final String value;
 
@@ -48,6 +51,12 @@ public class IterationFormatterFactory {
       case TSV:
         logger.debug("Creating TSV formatter");
         return new TsvIterationFormatter();
+      case COLUMNAR:
+        logger.debug("Creating columnar formatter");
+        return new ColumnarIterationFormatter();
+      case SUMMARY:
+        logger.debug("Creating summary formatter");
+        return new SummaryIterationFormatter();
       case JSON:
       default:
         logger.debug("Creating JSON formatter");
@@ -58,11 +67,41 @@ public class IterationFormatterFactory {
   /**
    * Creates an appropriate formatter based on the specified type and config.
    *
+   * <p>Parallel formatting, if enabled, runs on the common fork-join pool.
+   *
    * @param formatterType the type of formatter to create
    * @param config configuration flags used by the formatter
    * @return the appropriate IterationFormatter implementation
    */
   public static IterationFormatter createFormatter(FormatterType formatterType, AdoConfig config) {
+    return createFormatter(formatterType, config, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates an appropriate formatter based on the specified type and config.
+   *
+   * @param formatterType the type of formatter to create
+   * @param config configuration flags used by the formatter
+   * @param pool pool for parallel formatting, if enabled; owned and shut down by the caller
+   * @return the appropriate IterationFormatter implementation
+   */
+  public static IterationFormatter createFormatter(
+      FormatterType formatterType, AdoConfig config, ForkJoinPool pool) {
+    final IterationFormatter formatter = createConfiguredFormatter(formatterType, config);
+    if (config.isParallelFormattingEnabled()
+        && formatter instanceof SegmentedIterationFormatter segmented) {
+      logger.debug(
+          "Formatting {} in parallel on {} threads",
+          formatterType.getValue(),
+          pool.getParallelism());
+      return new ParallelIterationFormatter(
+          segmented, pool, config.getParallelFormattingChunkSize());
+    }
+    return formatter;
+  }
+
+  private static IterationFormatter createConfiguredFormatter(
+      FormatterType formatterType, AdoConfig config) {
     switch (formatterType) {
       case TSV:
         logger.debug("Creating TSV formatter with config");
@@ -70,6 +109,12 @@ public class IterationFormatterFactory {
             config.isFetchCapacities(),
             config.isFetchWorkItemDetails(),
             config.isFetchWorkItemPullRequests());
+      case COLUMNAR:
+        logger.debug("Creating columnar formatter");
+        return new ColumnarIterationFormatter();
+      case SUMMARY:
+        logger.debug("Creating summary formatter with config");
+        return new SummaryIterationFormatter(config.getSummaryDoneStates());
       case JSON:
       default:
         logger.debug("Creating JSON formatter");
@@ -80,7 +125,7 @@ public class IterationFormatterFactory {
   /**
    * Creates an appropriate formatter based on the specified type string.
    *
-   * @param formatterType string representation of formatter type (json, tsv)
+   * @param formatterType string representation of formatter type (json, tsv, columnar, summary)
    * @return the appropriate IterationFormatter implementation
    */
   public static IterationFormatter createFormatter(String formatterType) {
@@ -90,11 +135,24 @@ public class IterationFormatterFactory {
   /**
    * Creates an appropriate formatter based on the specified type string and config.
    *
-   * @param formatterType string representation of formatter type (json, tsv)
+   * @param formatterType string representation of formatter type (json, tsv, columnar, summary)
    * @param config configuration flags used by the formatter
    * @return the appropriate IterationFormatter implementation
    */
   public static IterationFormatter createFormatter(String formatterType, AdoConfig config) {
     return createFormatter(FormatterType.fromString(formatterType), config);
   }
+
+  /**
+   * Creates an appropriate formatter based on the specified type string and config.
+   *
+   * @param formatterType string representation of formatter type (json, tsv, columnar, summary)
+   * @param config configuration flags used by the formatter
+   * @param pool pool for parallel formatting, if enabled; owned and shut down by the caller
+   * @return the appropriate IterationFormatter implementation
+   */
+  public static IterationFormatter createFormatter(
+      String formatterType, AdoConfig config, ForkJoinPool pool) {
+    return createFormatter(FormatterType.fromString(formatterType), config, pool);
+  }
 }
@@ -0,0 +1,23 @@
+package pc.ado.formatter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import pc.ado.dto.Iteration;
+
+/**
+ * Incremental writer that formats iterations one at a time.
+ *
+ * <p>Obtained from {@link IterationFormatter#openStream(java.io.OutputStream)}. Closing the writer
+ * completes the document (for example the closing bracket of a JSON array) and flushes it, but
+ * leaves the underlying stream open.
+ */
+public interface IterationWriter extends Closeable {
+
+  /**
+   * Formats and writes a single iteration.
+   *
+   * @param iteration iteration to write
+   * @throws IOException if writing fails
+   */
+  void write(Iteration iteration) throws IOException;
+}
@@ -1,5 +1,12 @@
 package pc.ado.formatter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import org.json.JSONArray;
@@ -14,9 +21,10 @@ import pc.ado.dto.ThreadComment;
 import pc.ado.dto.WorkItem;
 
 /** Formats iterations data to JSON output. */
-public class JsonIterationFormatter implements IterationFormatter {
+public class JsonIterationFormatter implements SegmentedIterationFormatter {
 
   private static final Logger logger = LoggerFactory.getLogger(JsonIterationFormatter.class);
+  private static final int INDENT = 2;
 
   @Override
   public String format(List<Iteration> iterations) {
@@ -24,122 +32,219 @@ public class JsonIterationFormatter implements IterationFormatter {
       JSONArray jsonArray = new JSONArray();
 
       for (Iteration iteration : iterations) {
-        JSONObject iterationJson = new JSONObject();
-        iterationJson.put("projectName", iteration.getProjName());
-        iterationJson.put("teamName", iteration.getTeamName());
-        iterationJson.put("name", iteration.getName());
-        iterationJson.put("startDate", iteration.getStartDate());
-        iterationJson.put("finishDate", iteration.getFinishDate());
-
-        JSONArray allocationsArray = new JSONArray();
-        for (TeamMemberAllocation allocation : iteration.getAllocations()) {
-          JSONObject allocationJson = new JSONObject();
-          allocationJson.put("name", allocation.getName());
-          allocationJson.put("capacity", allocation.getCapacity());
-          allocationJson.put("daysOff", allocation.getDaysOff());
-          allocationJson.put("workedDays", allocation.getWorkedDays());
-          allocationJson.put("workedHours", allocation.getWorkedHours());
-          allocationsArray.put(allocationJson);
+        jsonArray.put(toJson(iteration));
+      }
+
+      return jsonArray.toString(INDENT);
+    } catch (Exception e) {
+      logger.error("Error occurred while formatting iterations to JSON", e);
+      return "{}";
+    }
+  }
+
+  @Override
+  public IterationWriter openStream(OutputStream out) {
+    return new JsonIterationWriter(out);
+  }
+
+  @Override
+  public String header() {
+    return "[";
+  }
+
+  @Override
+  public String formatSegment(List<Iteration> segment, boolean first) {
+    StringWriter writer = new StringWriter();
+    try {
+      for (int i = 0; i < segment.size(); i++) {
+        if (!first || i > 0) {
+          writer.write(',');
         }
-        iterationJson.put("allocations", allocationsArray);
-
-        JSONArray workItemsArray = new JSONArray();
-        for (WorkItem workItem : iteration.getWorkItems()) {
-          JSONObject workItemJson = new JSONObject();
-          workItemJson.put("id", workItem.getId());
-          workItemJson.put("type", workItem.getType());
-          workItemJson.put("state", workItem.getState());
-          workItemJson.put("assignedTo", workItem.getAssignedTo());
-
-          JSONArray tasksArray = new JSONArray();
-          for (WorkItem.Task task : workItem.getTasks()) {
-            JSONObject taskJson = new JSONObject();
-            taskJson.put("taskType", task.getTaskType());
-            taskJson.put("state", task.getState());
-            taskJson.put("assignedTo", task.getAssignedTo());
-            taskJson.put("originalEstimate", task.getOriginalEstimate());
-            taskJson.put("remainingWork", task.getRemainingWork());
-            tasksArray.put(taskJson);
-          }
-          workItemJson.put("tasks", tasksArray);
-
-          JSONArray wiPullRequestsArray = new JSONArray();
-          for (PullRequest prFromWi : workItem.getPullRequests()) {
-            JSONObject prJson = new JSONObject();
-            prJson.put("pullRequestId", prFromWi.getPullRequestId());
-            prJson.put("createdBy", prFromWi.getCreatedBy());
-            prJson.put("creationDate", prFromWi.getCreationDate());
-
-            JSONArray threadsArray = new JSONArray();
-            for (PullRequestThread thread : prFromWi.getThreads()) {
-              JSONObject threadJson = new JSONObject();
-              threadJson.put("threadId", thread.getThreadId());
-              threadJson.put("status", thread.getStatus());
-              JSONObject commentersJson = new JSONObject();
-              for (Map.Entry<String, List<ThreadComment>> commenter :
-                  thread.getCommenters().entrySet()) {
-                JSONArray commentsArray = new JSONArray();
-                for (ThreadComment comment : commenter.getValue()) {
-                  JSONObject commentJson = new JSONObject();
-                  commentJson.put("commentedDate", comment.getCommentedDate());
-                  commentJson.put("commentContent", comment.getCommentContent());
-                  commentsArray.put(commentJson);
-                }
-                commentersJson.put(commenter.getKey(), commentsArray);
-              }
-              threadJson.put("commenters", commentersJson);
-              threadsArray.put(threadJson);
+        writeElement(writer, toJson(segment.get(i)));
+      }
+    } catch (IOException e) {
+      // StringWriter does not throw
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  @Override
+  public String footer() {
+    return "\n]";
+  }
+
+  /**
+   * Writes an array element the way {@link JSONArray#toString(int)} lays out arrays of more than
+   * one element.
+   */
+  private static void writeElement(Writer writer, JSONObject element) throws IOException {
+    writer.write('\n');
+    writer.write(" ".repeat(INDENT));
+    element.write(writer, INDENT, INDENT);
+  }
+
+  /**
+   * Converts a single iteration, including its allocations, work items and pull requests, to JSON.
+   *
+   * @param iteration iteration to convert
+   * @return JSON representation of the iteration
+   */
+  private JSONObject toJson(Iteration iteration) {
+    JSONObject iterationJson = new JSONObject();
+    iterationJson.put("projectName", iteration.getProjName());
+    iterationJson.put("teamName", iteration.getTeamName());
+    iterationJson.put("name", iteration.getName());
+    iterationJson.put("startDate", iteration.getStartDate());
+    iterationJson.put("finishDate", iteration.getFinishDate());
+
+    JSONArray allocationsArray = new JSONArray();
+    for (TeamMemberAllocation allocation : iteration.getAllocations()) {
+      JSONObject allocationJson = new JSONObject();
+      allocationJson.put("name", allocation.getName());
+      allocationJson.put("capacity", allocation.getCapacity());
+      allocationJson.put("daysOff", allocation.getDaysOff());
+      allocationJson.put("workedDays", allocation.getWorkedDays());
+      allocationJson.put("workedHours", allocation.getWorkedHours());
+      allocationsArray.put(allocationJson);
+    }
+    iterationJson.put("allocations", allocationsArray);
+
+    JSONArray workItemsArray = new JSONArray();
+    for (WorkItem workItem : iteration.getWorkItems()) {
+      JSONObject workItemJson = new JSONObject();
+      workItemJson.put("id", workItem.getId());
+      workItemJson.put("type", workItem.getType());
+      workItemJson.put("state", workItem.getState());
+      workItemJson.put("assignedTo", workItem.getAssignedTo());
+
+      JSONArray tasksArray = new JSONArray();
+      for (WorkItem.Task task : workItem.getTasks()) {
+        JSONObject taskJson = new JSONObject();
+        taskJson.put("taskType", task.getTaskType());
+        taskJson.put("state", task.getState());
+        taskJson.put("assignedTo", task.getAssignedTo());
+        taskJson.put("originalEstimate", task.getOriginalEstimate());
+        taskJson.put("remainingWork", task.getRemainingWork());
+        tasksArray.put(taskJson);
+      }
+      workItemJson.put("tasks", tasksArray);
+
+      JSONArray wiPullRequestsArray = new JSONArray();
+      for (PullRequest prFromWi : workItem.getPullRequests()) {
+        JSONObject prJson = new JSONObject();
+        prJson.put("pullRequestId", prFromWi.getPullRequestId());
+        prJson.put("createdBy", prFromWi.getCreatedBy());
+        prJson.put("creationDate", prFromWi.getCreationDate());
+
+        JSONArray threadsArray = new JSONArray();
+        for (PullRequestThread thread : prFromWi.getThreads()) {
+          JSONObject threadJson = new JSONObject();
+          threadJson.put("threadId", thread.getThreadId());
+          threadJson.put("status", thread.getStatus());
+          JSONObject commentersJson = new JSONObject();
+          for (Map.Entry<String, List<ThreadComment>> commenter :
+              thread.getCommenters().entrySet()) {
+            JSONArray commentsArray = new JSONArray();
+            for (ThreadComment comment : commenter.getValue()) {
+              JSONObject commentJson = new JSONObject();
+              commentJson.put("commentedDate", comment.getCommentedDate());
+              commentJson.put("commentContent", comment.getCommentContent());
+              commentsArray.put(commentJson);
             }
-            prJson.put("threads", threadsArray);
-            wiPullRequestsArray.put(prJson);
+            commentersJson.put(commenter.getKey(), commentsArray);
           }
-          workItemJson.put("pullRequests", wiPullRequestsArray);
-
-          workItemsArray.put(workItemJson);
+          threadJson.put("commenters", commentersJson);
+          threadsArray.put(threadJson);
         }
-        iterationJson.put("workItems", workItemsArray);
-
-        JSONArray pullRequestsArray = new JSONArray();
-        for (PullRequest pullRequest : iteration.getPullRequests()) {
-          JSONObject prJson = new JSONObject();
-          prJson.put("pullRequestId", pullRequest.getPullRequestId());
-          prJson.put("createdBy", pullRequest.getCreatedBy());
-          prJson.put("creationDate", pullRequest.getCreationDate());
-
-          JSONArray threadsArray = new JSONArray();
-          for (PullRequestThread thread : pullRequest.getThreads()) {
-            JSONObject threadJson = new JSONObject();
-            threadJson.put("threadId", thread.getThreadId());
-            threadJson.put("status", thread.getStatus());
-            threadJson.put("isDeleted", thread.isDeleted());
-
-            JSONObject commentersJson = new JSONObject();
-            for (Map.Entry<String, List<ThreadComment>> commenter :
-                thread.getCommenters().entrySet()) {
-              JSONArray commentsArray = new JSONArray();
-              for (ThreadComment comment : commenter.getValue()) {
-                JSONObject commentJson = new JSONObject();
-                commentJson.put("commentedDate", comment.getCommentedDate());
-                commentJson.put("commentContent", comment.getCommentContent());
-                commentsArray.put(commentJson);
-              }
-              commentersJson.put(commenter.getKey(), commentsArray);
-            }
-            threadJson.put("commenters", commentersJson);
-            threadsArray.put(threadJson);
+        prJson.put("threads", threadsArray);
+        wiPullRequestsArray.put(prJson);
+      }
+      workItemJson.put("pullRequests", wiPullRequestsArray);
+
+      workItemsArray.put(workItemJson);
+    }
+    iterationJson.put("workItems", workItemsArray);
+
+    JSONArray pullRequestsArray = new JSONArray();
+    for (PullRequest pullRequest : iteration.getPullRequests()) {
+      JSONObject prJson = new JSONObject();
+      prJson.put("pullRequestId", pullRequest.getPullRequestId());
+      prJson.put("createdBy", pullRequest.getCreatedBy());
+      prJson.put("creationDate", pullRequest.getCreationDate());
+
+      JSONArray threadsArray = new JSONArray();
+      for (PullRequestThread thread : pullRequest.getThreads()) {
+        JSONObject threadJson = new JSONObject();
+        threadJson.put("threadId", thread.getThreadId());
+        threadJson.put("status", thread.getStatus());
+        threadJson.put("isDeleted", thread.isDeleted());
+
+        JSONObject commentersJson = new JSONObject();
+        for (Map.Entry<String, List<ThreadComment>> commenter : thread.getCommenters().entrySet()) {
+          JSONArray commentsArray = new JSONArray();
+          for (ThreadComment comment : commenter.getValue()) {
+            JSONObject commentJson = new JSONObject();
+            commentJson.put("commentedDate", comment.getCommentedDate());
+            commentJson.put("commentContent", comment.getCommentContent());
+            commentsArray.put(commentJson);
           }
-          prJson.put("threads", threadsArray);
-          pullRequestsArray.put(prJson);
+          commentersJson.put(commenter.getKey(), commentsArray);
         }
-        iterationJson.put("pullRequests", pullRequestsArray);
+        threadJson.put("commenters", commentersJson);
+        threadsArray.put(threadJson);
+      }
+      prJson.put("threads", threadsArray);
+      pullRequestsArray.put(prJson);
+    }
+    iterationJson.put("pullRequests", pullRequestsArray);
+
+    return iterationJson;
+  }
 
-        jsonArray.put(iterationJson);
+  /**
+   * Streams iterations as elements of a JSON array, producing the same text as {@link
+   * #format(List)} without holding the whole array in memory.
+   */
+  private final class JsonIterationWriter implements IterationWriter {
+    private final Writer writer;
+    // JSONArray renders a single element inline, so the first one is held back until we know
+    private JSONObject pendingFirst;
+    private int count;
+
+    private JsonIterationWriter(OutputStream out) {
+      this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void write(Iteration iteration) throws IOException {
+      JSONObject iterationJson = toJson(iteration);
+      if (count == 0) {
+        pendingFirst = iterationJson;
+      } else {
+        if (count == 1) {
+          writer.write('[');
+          writeElement(writer, pendingFirst);
+          pendingFirst = null;
+        }
+        writer.write(',');
+        writeElement(writer, iterationJson);
       }
+      count++;
+    }
 
-      return jsonArray.toString(2);
-    } catch (Exception e) {
-      logger.error("Error occurred while formatting iterations to JSON", e);
-      return "{}";
+    @Override
+    public void close() throws IOException {
+      if (count == 0) {
+        writer.write("[]");
+      } else if (count == 1) {
+        writer.write('[');
+        pendingFirst.write(writer, INDENT, 0);
+        writer.write(']');
+      } else {
+        writer.write(footer());
+      }
+      writer.flush();
     }
   }
 }
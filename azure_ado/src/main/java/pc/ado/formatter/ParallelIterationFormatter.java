@@ -0,0 +1,162 @@
+package pc.ado.formatter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.ado.dto.Iteration;
+
+/**
+ * Renders iterations on a fork-join pool and merges the result in the original order.
+ *
+ * <p>The input is cut into chunks of {@code chunkSize} iterations. Each chunk is formatted and
+ * encoded into its own buffer by a pool thread, and the buffers are written out in chunk order, so
+ * the output is identical to the sequential formatter. Inputs that fit in a single chunk are
+ * formatted sequentially.
+ */
+public class ParallelIterationFormatter implements IterationFormatter {
+
+  private static final Logger logger = LoggerFactory.getLogger(ParallelIterationFormatter.class);
+
+  private final SegmentedIterationFormatter delegate;
+  private final ForkJoinPool pool;
+  private final int chunkSize;
+
+  /**
+   * Creates a parallel formatter.
+   *
+   * @param delegate formatter used to render each chunk
+   * @param pool pool the chunks are rendered on
+   * @param chunkSize number of iterations per chunk
+   */
+  public ParallelIterationFormatter(
+      SegmentedIterationFormatter delegate, ForkJoinPool pool, int chunkSize) {
+    this.delegate = delegate;
+    this.pool = pool;
+    this.chunkSize = Math.max(1, chunkSize);
+  }
+
+  @Override
+  public String format(List<Iteration> iterations) {
+    if (iterations.size() <= chunkSize) {
+      return delegate.format(iterations);
+    }
+    try {
+      StringBuilder sb = new StringBuilder(delegate.header());
+      for (Future<String> chunk : submitChunks(iterations)) {
+        sb.append(chunk.get());
+      }
+      return sb.append(delegate.footer()).toString();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while formatting iterations", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to format iterations", e.getCause());
+    }
+  }
+
+  @Override
+  public void write(List<Iteration> iterations, OutputStream out) throws IOException {
+    try (IterationWriter writer = openStream(out)) {
+      for (Iteration iteration : iterations) {
+        writer.write(iteration);
+      }
+    }
+  }
+
+  @Override
+  public IterationWriter openStream(OutputStream out) {
+    return new ParallelIterationWriter(out);
+  }
+
+  private List<Future<String>> submitChunks(List<Iteration> iterations) {
+    List<Future<String>> chunks = new ArrayList<>();
+    for (int from = 0; from < iterations.size(); from += chunkSize) {
+      List<Iteration> chunk =
+          iterations.subList(from, Math.min(from + chunkSize, iterations.size()));
+      boolean first = from == 0;
+      chunks.add(pool.submit(() -> delegate.formatSegment(chunk, first)));
+    }
+    logger.debug("Formatting {} iterations in {} chunks", iterations.size(), chunks.size());
+    return chunks;
+  }
+
+  /**
+   * Streaming variant: iterations are collected into chunks and each full chunk is submitted to the
+   * pool. Finished chunks are written in submission order, and at most twice the pool parallelism
+   * chunks are in flight so memory stays bounded.
+   */
+  private final class ParallelIterationWriter implements IterationWriter {
+    private final OutputStream out;
+    private final Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+    private final int maxInFlight = Math.max(2, pool.getParallelism() * 2);
+    private List<Iteration> chunk = new ArrayList<>();
+    private boolean started;
+
+    private ParallelIterationWriter(OutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(Iteration iteration) throws IOException {
+      chunk.add(iteration);
+      // Hold the first chunk back until a second one starts, so single-chunk input stays sequential
+      if (chunk.size() > chunkSize) {
+        Iteration overflow = chunk.remove(chunk.size() - 1);
+        submit();
+        chunk.add(overflow);
+      }
+    }
+
+    private void submit() throws IOException {
+      if (!started) {
+        out.write(delegate.header().getBytes(StandardCharsets.UTF_8));
+      }
+      List<Iteration> segment = chunk;
+      boolean first = !started;
+      inFlight.add(
+          pool.submit(
+              () -> delegate.formatSegment(segment, first).getBytes(StandardCharsets.UTF_8)));
+      chunk = new ArrayList<>();
+      started = true;
+      while (inFlight.size() >= maxInFlight) {
+        writeNext();
+      }
+    }
+
+    private void writeNext() throws IOException {
+      try {
+        out.write(inFlight.removeFirst().get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while formatting iterations", e);
+      } catch (ExecutionException e) {
+        throw new IOException("Failed to format iterations", e.getCause());
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!started) {
+        delegate.write(chunk, out);
+        return;
+      }
+      if (!chunk.isEmpty()) {
+        submit();
+      }
+      while (!inFlight.isEmpty()) {
+        writeNext();
+      }
+      out.write(delegate.footer().getBytes(StandardCharsets.UTF_8));
+      out.flush();
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package pc.ado.formatter;
+
+import java.util.List;
+import pc.ado.dto.Iteration;
+
+/**
+ * Formatter whose output can be rendered in independent segments and concatenated.
+ *
+ * <p>For input of more than one iteration, {@code header() + formatSegment(s1, true) +
+ * formatSegment(s2, false) + ... + footer()} must produce the same text as {@link #format(List)}
+ * for the concatenated segments. This lets {@link ParallelIterationFormatter} render segments on
+ * several threads and merge them in order.
+ */
+public interface SegmentedIterationFormatter extends IterationFormatter {
+
+  /**
+   * Gets the text written before the first segment.
+   *
+   * @return header text, possibly empty
+   */
+  String header();
+
+  /**
+   * Formats a contiguous run of iterations.
+   *
+   * @param segment iterations to format
+   * @param first whether this is the first segment of the output
+   * @return formatted segment
+   */
+  String formatSegment(List<Iteration> segment, boolean first);
+
+  /**
+   * Gets the text written after the last segment.
+   *
+   * @return footer text, possibly empty
+   */
+  String footer();
+}
@@ -0,0 +1,70 @@
+package pc.ado.formatter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.ado.dto.Iteration;
+import pc.ado.summary.SprintMetricsAggregator;
+
+/**
+ * Formats a compact JSON summary of sprint metrics instead of the raw rows.
+ *
+ * <p>Usually configured as an additional output next to the TSV or JSON report, so the aggregates
+ * are computed in the same pass over the iterations. See {@link SprintMetricsAggregator} for the
+ * metrics produced.
+ */
+public class SummaryIterationFormatter implements IterationFormatter {
+
+  private static final Logger logger = LoggerFactory.getLogger(SummaryIterationFormatter.class);
+
+  /** States counted as done when none are configured. */
+  public static final List<String> DEFAULT_DONE_STATES = List.of("Done", "Closed", "Resolved");
+
+  private final List<String> doneStates;
+
+  public SummaryIterationFormatter() {
+    this(DEFAULT_DONE_STATES);
+  }
+
+  public SummaryIterationFormatter(List<String> doneStates) {
+    this.doneStates = doneStates;
+  }
+
+  @Override
+  public String format(List<Iteration> iterations) {
+    try {
+      SprintMetricsAggregator aggregator = new SprintMetricsAggregator(doneStates);
+      for (Iteration iteration : iterations) {
+        aggregator.accept(iteration);
+      }
+      return aggregator.toJson().toString(2);
+    } catch (Exception e) {
+      logger.error("Error occurred while summarizing iterations", e);
+      return "{}";
+    }
+  }
+
+  @Override
+  public IterationWriter openStream(OutputStream out) {
+    SprintMetricsAggregator aggregator = new SprintMetricsAggregator(doneStates);
+    return new IterationWriter() {
+      @Override
+      public void write(Iteration iteration) {
+        aggregator.accept(iteration);
+      }
+
+      @Override
+      public void close() throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        aggregator.toJson().write(writer, 2, 0);
+        writer.flush();
+        logger.debug("Summarized {} iterations", aggregator.getIterationCount());
+      }
+    };
+  }
+}
@@ -1,5 +1,10 @@
 package pc.ado.formatter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -16,7 +21,7 @@ import pc.ado.dto.WorkItem;
  * Formats iterations data to tab-separated values output. Explodes hierarchy into individual row
  * items with parent fields repeated for each child.
  */
-public class TsvIterationFormatter implements IterationFormatter {
+public class TsvIterationFormatter implements SegmentedIterationFormatter {
 
   private static final Logger logger = LoggerFactory.getLogger(TsvIterationFormatter.class);
   private static final String TAB = "\t";
@@ -46,120 +51,196 @@ public class TsvIterationFormatter implements IterationFormatter {
       appendHeader(sb);
 
       for (Iteration iteration : iterations) {
-        String projectName = iteration.getProjName();
-        String teamName = iteration.getTeamName();
-        String iterationName = iteration.getName();
-        String startDate = iteration.getStartDate();
-        String finishDate = iteration.getFinishDate();
-
-        boolean hasAllocations = !iteration.getAllocations().isEmpty();
-        boolean hasWorkItems = !iteration.getWorkItems().isEmpty();
-        boolean hasPullRequests = !iteration.getPullRequests().isEmpty();
-
-        // Write allocation data
-        if (includeCapacities) {
-          for (TeamMemberAllocation allocation : iteration.getAllocations()) {
+        appendIteration(sb, iteration);
+      }
+
+      return sb.toString();
+    } catch (Exception e) {
+      logger.error("Error occurred while formatting iterations to TSV", e);
+      return "";
+    }
+  }
+
+  @Override
+  public IterationWriter openStream(OutputStream out) throws IOException {
+    return new TsvIterationWriter(out);
+  }
+
+  @Override
+  public String header() {
+    StringBuilder sb = new StringBuilder();
+    appendHeader(sb);
+    return sb.toString();
+  }
+
+  @Override
+  public String formatSegment(List<Iteration> segment, boolean first) {
+    StringBuilder sb = new StringBuilder();
+    for (Iteration iteration : segment) {
+      appendIteration(sb, iteration);
+    }
+    return sb.toString();
+  }
+
+  @Override
+  public String footer() {
+    return "";
+  }
+
+  /**
+   * Appends the rows of a single iteration.
+   *
+   * @param sb destination buffer
+   * @param iteration iteration to format
+   */
+  private void appendIteration(StringBuilder sb, Iteration iteration) {
+    String projectName = iteration.getProjName();
+    String teamName = iteration.getTeamName();
+    String iterationName = iteration.getName();
+    String startDate = iteration.getStartDate();
+    String finishDate = iteration.getFinishDate();
+
+    boolean hasAllocations = !iteration.getAllocations().isEmpty();
+    boolean hasWorkItems = !iteration.getWorkItems().isEmpty();
+    boolean hasPullRequests = !iteration.getPullRequests().isEmpty();
+
+    // Write allocation data
+    if (includeCapacities) {
+      for (TeamMemberAllocation allocation : iteration.getAllocations()) {
+        List<String> row = new ArrayList<>();
+        addBaseColumns(row, projectName, teamName, iterationName, startDate, finishDate);
+        addCapacityColumnsForAllocation(row, allocation);
+        addWorkItemBlanks(row);
+        addPullRequestBlanks(row);
+        addTaskBlanks(row);
+        appendRow(sb, row);
+      }
+    }
+
+    // Write work item data with their associated PRs
+    if (includeWorkItems) {
+      for (WorkItem workItem : iteration.getWorkItems()) {
+        String workItemId = String.valueOf(workItem.getId());
+        String workItemTitle = workItem.getTitle();
+        String workItemType = workItem.getType();
+        String workItemState = workItem.getState();
+        String assignedTo = workItem.getAssignedTo();
+        String plannedVersion = workItem.getPlannedVersion();
+        String storyPoints = workItem.getStoryPoints();
+        String qaStoryPoints = workItem.getQaStoryPoints();
+        String originalStoryPoints = workItem.getOriginalStoryPoints();
+        String priority = workItem.getPriority();
+        String severity = workItem.getSeverity();
+        String createdDate = workItem.getCreatedDate();
+        String createdBy = workItem.getCreatedBy();
+        String devEndDate = workItem.getDevEndDate();
+        String qaReadyDate = workItem.getQaReadyDate();
+        String qaEndDate = workItem.getQaEndDate();
+        boolean hasImplDetails = workItem.isHasImplementationDetails();
+        String tags = workItem.getTags();
+        boolean hasTasks = !workItem.getTasks().isEmpty();
+
+        if (hasTasks) {
+          for (WorkItem.Task task : workItem.getTasks()) {
             List<String> row = new ArrayList<>();
             addBaseColumns(row, projectName, teamName, iterationName, startDate, finishDate);
-            addCapacityColumnsForAllocation(row, allocation);
-            addWorkItemBlanks(row);
+            addCapacityColumnsForWorkItem(row, plannedVersion);
+            addWorkItemColumns(
+                row,
+                workItemId,
+                workItemTitle,
+                workItemType,
+                workItemState,
+                assignedTo,
+                storyPoints,
+                qaStoryPoints,
+                originalStoryPoints,
+                priority,
+                severity,
+                createdDate,
+                createdBy,
+                devEndDate,
+                qaReadyDate,
+                qaEndDate,
+                tags,
+                hasImplDetails);
             addPullRequestBlanks(row);
-            addTaskBlanks(row);
+            addTaskColumns(row, task);
             appendRow(sb, row);
           }
         }
 
-        // Write work item data with their associated PRs
-        if (includeWorkItems) {
-          for (WorkItem workItem : iteration.getWorkItems()) {
-            String workItemId = String.valueOf(workItem.getId());
-            String workItemTitle = workItem.getTitle();
-            String workItemType = workItem.getType();
-            String workItemState = workItem.getState();
-            String assignedTo = workItem.getAssignedTo();
-            String plannedVersion = workItem.getPlannedVersion();
-            String storyPoints = workItem.getStoryPoints();
-            String qaStoryPoints = workItem.getQaStoryPoints();
-            String originalStoryPoints = workItem.getOriginalStoryPoints();
-            String priority = workItem.getPriority();
-            String severity = workItem.getSeverity();
-            String createdDate = workItem.getCreatedDate();
-            String createdBy = workItem.getCreatedBy();
-            String devEndDate = workItem.getDevEndDate();
-            String qaReadyDate = workItem.getQaReadyDate();
-            String qaEndDate = workItem.getQaEndDate();
-            boolean hasImplDetails = workItem.isHasImplementationDetails();
-            String tags = workItem.getTags();
-            boolean hasTasks = !workItem.getTasks().isEmpty();
-
-            if (hasTasks) {
-              for (WorkItem.Task task : workItem.getTasks()) {
-                List<String> row = new ArrayList<>();
-                addBaseColumns(row, projectName, teamName, iterationName, startDate, finishDate);
-                addCapacityColumnsForWorkItem(row, plannedVersion);
-                addWorkItemColumns(
-                    row,
-                    workItemId,
-                    workItemTitle,
-                    workItemType,
-                    workItemState,
-                    assignedTo,
-                    storyPoints,
-                    qaStoryPoints,
-                    originalStoryPoints,
-                    priority,
-                    severity,
-                    createdDate,
-                    createdBy,
-                    devEndDate,
-                    qaReadyDate,
-                    qaEndDate,
-                    tags,
-                    hasImplDetails);
-                addPullRequestBlanks(row);
-                addTaskColumns(row, task);
-                appendRow(sb, row);
-              }
-            }
+        if (!includePullRequests || workItem.getPullRequests().isEmpty()) {
+          if (!hasTasks) {
+            // Print work item row without PRs
+            List<String> row = new ArrayList<>();
+            addBaseColumns(row, projectName, teamName, iterationName, startDate, finishDate);
+            addCapacityColumnsForWorkItem(row, plannedVersion);
+            addWorkItemColumns(
+                row,
+                workItemId,
+                workItemTitle,
+                workItemType,
+                workItemState,
+                assignedTo,
+                storyPoints,
+                qaStoryPoints,
+                originalStoryPoints,
+                priority,
+                severity,
+                createdDate,
+                createdBy,
+                devEndDate,
+                qaReadyDate,
+                qaEndDate,
+                tags,
+                hasImplDetails);
+            addPullRequestBlanks(row);
+            addTaskBlanks(row);
+            appendRow(sb, row);
+          }
+        } else {
+          // Print work item with each of its PRs
+          for (PullRequest pr : workItem.getPullRequests()) {
+            String prId = pr.getPullRequestId();
+            String prCreatedBy = pr.getCreatedBy();
+            String prCreationDate = pr.getCreationDate();
 
-            if (!includePullRequests || workItem.getPullRequests().isEmpty()) {
-              if (!hasTasks) {
-                // Print work item row without PRs
-                List<String> row = new ArrayList<>();
-                addBaseColumns(row, projectName, teamName, iterationName, startDate, finishDate);
-                addCapacityColumnsForWorkItem(row, plannedVersion);
-                addWorkItemColumns(
-                    row,
-                    workItemId,
-                    workItemTitle,
-                    workItemType,
-                    workItemState,
-                    assignedTo,
-                    storyPoints,
-                    qaStoryPoints,
-                    originalStoryPoints,
-                    priority,
-                    severity,
-                    createdDate,
-                    createdBy,
-                    devEndDate,
-                    qaReadyDate,
-                    qaEndDate,
-                    tags,
-                    hasImplDetails);
-                addPullRequestBlanks(row);
-                addTaskBlanks(row);
-                appendRow(sb, row);
-              }
+            if (pr.getThreads().isEmpty()) {
+              // PR with no threads
+              List<String> row = new ArrayList<>();
+              addBaseColumns(row, projectName, teamName, iterationName, startDate, finishDate);
+              addCapacityColumnsForWorkItem(row, plannedVersion);
+              addWorkItemColumns(
+                  row,
+                  workItemId,
+                  workItemTitle,
+                  workItemType,
+                  workItemState,
+                  assignedTo,
+                  storyPoints,
+                  qaStoryPoints,
+                  originalStoryPoints,
+                  priority,
+                  severity,
+                  createdDate,
+                  createdBy,
+                  devEndDate,
+                  qaReadyDate,
+                  qaEndDate,
+                  tags,
+                  hasImplDetails);
+              addPullRequestColumns(row, prId, prCreatedBy, prCreationDate, "", "", "", "", "");
+              addTaskBlanks(row);
+              appendRow(sb, row);
             } else {
-              // Print work item with each of its PRs
-              for (PullRequest pr : workItem.getPullRequests()) {
-                String prId = pr.getPullRequestId();
-                String prCreatedBy = pr.getCreatedBy();
-                String prCreationDate = pr.getCreationDate();
-
-                if (pr.getThreads().isEmpty()) {
-                  // PR with no threads
+              // PR with threads
+              for (PullRequestThread thread : pr.getThreads()) {
+                String threadId = thread.getThreadId();
+                String threadStatus = thread.getStatus();
+
+                if (thread.getCommenters().isEmpty()) {
+                  // Thread with no commenters
                   List<String> row = new ArrayList<>();
                   addBaseColumns(row, projectName, teamName, iterationName, startDate, finishDate);
                   addCapacityColumnsForWorkItem(row, plannedVersion);
@@ -182,159 +263,6 @@ public class TsvIterationFormatter implements IterationFormatter {
                       qaEndDate,
                       tags,
                       hasImplDetails);
-                  addPullRequestColumns(row, prId, prCreatedBy, prCreationDate, "", "", "", "", "");
-                  addTaskBlanks(row);
-                  appendRow(sb, row);
-                } else {
-                  // PR with threads
-                  for (PullRequestThread thread : pr.getThreads()) {
-                    String threadId = thread.getThreadId();
-                    String threadStatus = thread.getStatus();
-
-                    if (thread.getCommenters().isEmpty()) {
-                      // Thread with no commenters
-                      List<String> row = new ArrayList<>();
-                      addBaseColumns(
-                          row, projectName, teamName, iterationName, startDate, finishDate);
-                      addCapacityColumnsForWorkItem(row, plannedVersion);
-                      addWorkItemColumns(
-                          row,
-                          workItemId,
-                          workItemTitle,
-                          workItemType,
-                          workItemState,
-                          assignedTo,
-                          storyPoints,
-                          qaStoryPoints,
-                          originalStoryPoints,
-                          priority,
-                          severity,
-                          createdDate,
-                          createdBy,
-                          devEndDate,
-                          qaReadyDate,
-                          qaEndDate,
-                          tags,
-                          hasImplDetails);
-                      addPullRequestColumns(
-                          row,
-                          prId,
-                          prCreatedBy,
-                          prCreationDate,
-                          threadId,
-                          threadStatus,
-                          "",
-                          "",
-                          "");
-                      addTaskBlanks(row);
-                      appendRow(sb, row);
-                    } else {
-                      // Thread with commenters
-                      for (Map.Entry<String, List<ThreadComment>> commenter :
-                          thread.getCommenters().entrySet()) {
-                        String commenterName = commenter.getKey();
-                        List<ThreadComment> comments = commenter.getValue();
-                        int commentCount = comments.size();
-
-                        // Format comments: enclose each in quotes and join with " - "
-                        StringBuilder commentsBuilder = new StringBuilder();
-                        for (int i = 0; i < comments.size(); i++) {
-                          if (i > 0) {
-                            commentsBuilder.append(" - ");
-                          }
-                          commentsBuilder
-                              .append("\"")
-                              .append(comments.get(i).getCommentContent())
-                              .append("\"");
-                        }
-                        String formattedComments = commentsBuilder.toString();
-
-                        List<String> row = new ArrayList<>();
-                        addBaseColumns(
-                            row, projectName, teamName, iterationName, startDate, finishDate);
-                        addCapacityColumnsForWorkItem(row, plannedVersion);
-                        addWorkItemColumns(
-                            row,
-                            workItemId,
-                            workItemTitle,
-                            workItemType,
-                            workItemState,
-                            assignedTo,
-                            storyPoints,
-                            qaStoryPoints,
-                            originalStoryPoints,
-                            priority,
-                            severity,
-                            createdDate,
-                            createdBy,
-                            devEndDate,
-                            qaReadyDate,
-                            qaEndDate,
-                            tags,
-                            hasImplDetails);
-                        addPullRequestColumns(
-                            row,
-                            prId,
-                            prCreatedBy,
-                            prCreationDate,
-                            threadId,
-                            threadStatus,
-                            commenterName,
-                            String.valueOf(commentCount),
-                            formattedComments);
-                        addTaskBlanks(row);
-                        appendRow(sb, row);
-                      }
-                    }
-                  }
-                }
-              }
-            }
-          }
-        }
-
-        // Write any PRs that are not associated with work items (at iteration level)
-        // NOTE: Since we now collect PRs from work items and add them to iteration,
-        // this section handles orphaned PRs only (if any exist at iteration level)
-        if (includePullRequests) {
-          for (PullRequest pr : iteration.getPullRequests()) {
-            // Skip PRs that are already processed from work items
-            boolean isProcessed = false;
-            for (WorkItem wi : iteration.getWorkItems()) {
-              if (wi.getPullRequests().contains(pr)) {
-                isProcessed = true;
-                break;
-              }
-            }
-            if (isProcessed) {
-              continue;
-            }
-
-            String prId = pr.getPullRequestId();
-            String prCreatedBy = pr.getCreatedBy();
-            String prCreationDate = pr.getCreationDate();
-
-            if (pr.getThreads().isEmpty()) {
-              // PR with no threads
-              List<String> row = new ArrayList<>();
-              addBaseColumns(row, projectName, teamName, iterationName, startDate, finishDate);
-              addCapacityBlanks(row);
-              addWorkItemBlanks(row);
-              addPullRequestColumns(row, prId, prCreatedBy, prCreationDate, "", "", "", "", "");
-              addTaskBlanks(row);
-              appendRow(sb, row);
-            } else {
-              // PR with threads
-              for (PullRequestThread thread : pr.getThreads()) {
-                String threadId = thread.getThreadId();
-                String threadStatus = thread.getStatus();
-
-                if (thread.getCommenters().isEmpty()) {
-                  // Thread with no commenters
-                  List<String> row = new ArrayList<>();
-                  addBaseColumns(row, projectName, teamName, iterationName, startDate, finishDate);
-                  addCapacityBlanks(row);
-                  addWorkItemBlanks(row);
                   addPullRequestColumns(
                       row, prId, prCreatedBy, prCreationDate, threadId, threadStatus, "", "", "");
                   addTaskBlanks(row);
@@ -363,8 +291,26 @@ public class TsvIterationFormatter implements IterationFormatter {
                     List<String> row = new ArrayList<>();
                     addBaseColumns(
                         row, projectName, teamName, iterationName, startDate, finishDate);
-                    addCapacityBlanks(row);
-                    addWorkItemBlanks(row);
+                    addCapacityColumnsForWorkItem(row, plannedVersion);
+                    addWorkItemColumns(
+                        row,
+                        workItemId,
+                        workItemTitle,
+                        workItemType,
+                        workItemState,
+                        assignedTo,
+                        storyPoints,
+                        qaStoryPoints,
+                        originalStoryPoints,
+                        priority,
+                        severity,
+                        createdDate,
+                        createdBy,
+                        devEndDate,
+                        qaReadyDate,
+                        qaEndDate,
+                        tags,
+                        hasImplDetails);
                     addPullRequestColumns(
                         row,
                         prId,
@@ -383,17 +329,102 @@ public class TsvIterationFormatter implements IterationFormatter {
             }
           }
         }
+      }
+    }
+
+    // Write any PRs that are not associated with work items (at iteration level)
+    // NOTE: Since we now collect PRs from work items and add them to iteration,
+    // this section handles orphaned PRs only (if any exist at iteration level)
+    if (includePullRequests) {
+      for (PullRequest pr : iteration.getPullRequests()) {
+        // Skip PRs that are already processed from work items
+        boolean isProcessed = false;
+        for (WorkItem wi : iteration.getWorkItems()) {
+          if (wi.getPullRequests().contains(pr)) {
+            isProcessed = true;
+            break;
+          }
+        }
+        if (isProcessed) {
+          continue;
+        }
+
+        String prId = pr.getPullRequestId();
+        String prCreatedBy = pr.getCreatedBy();
+        String prCreationDate = pr.getCreationDate();
+
+        if (pr.getThreads().isEmpty()) {
+          // PR with no threads
+          List<String> row = new ArrayList<>();
+          addBaseColumns(row, projectName, teamName, iterationName, startDate, finishDate);
+          addCapacityBlanks(row);
+          addWorkItemBlanks(row);
+          addPullRequestColumns(row, prId, prCreatedBy, prCreationDate, "", "", "", "", "");
+          addTaskBlanks(row);
+          appendRow(sb, row);
+        } else {
+          // PR with threads
+          for (PullRequestThread thread : pr.getThreads()) {
+            String threadId = thread.getThreadId();
+            String threadStatus = thread.getStatus();
+
+            if (thread.getCommenters().isEmpty()) {
+              // Thread with no commenters
+              List<String> row = new ArrayList<>();
+              addBaseColumns(row, projectName, teamName, iterationName, startDate, finishDate);
+              addCapacityBlanks(row);
+              addWorkItemBlanks(row);
+              addPullRequestColumns(
+                  row, prId, prCreatedBy, prCreationDate, threadId, threadStatus, "", "", "");
+              addTaskBlanks(row);
+              appendRow(sb, row);
+            } else {
+              // Thread with commenters
+              for (Map.Entry<String, List<ThreadComment>> commenter :
+                  thread.getCommenters().entrySet()) {
+                String commenterName = commenter.getKey();
+                List<ThreadComment> comments = commenter.getValue();
+                int commentCount = comments.size();
+
+                // Format comments: enclose each in quotes and join with " - "
+                StringBuilder commentsBuilder = new StringBuilder();
+                for (int i = 0; i < comments.size(); i++) {
+                  if (i > 0) {
+                    commentsBuilder.append(" - ");
+                  }
+                  commentsBuilder
+                      .append("\"")
+                      .append(comments.get(i).getCommentContent())
+                      .append("\"");
+                }
+                String formattedComments = commentsBuilder.toString();
 
-        // Skip iteration if it has no children (allocations, work items, or pull requests)
-        if (!hasAllocations && !hasWorkItems && !hasPullRequests) {
-          // Skip empty iterations
+                List<String> row = new ArrayList<>();
+                addBaseColumns(row, projectName, teamName, iterationName, startDate, finishDate);
+                addCapacityBlanks(row);
+                addWorkItemBlanks(row);
+                addPullRequestColumns(
+                    row,
+                    prId,
+                    prCreatedBy,
+                    prCreationDate,
+                    threadId,
+                    threadStatus,
+                    commenterName,
+                    String.valueOf(commentCount),
+                    formattedComments);
+                addTaskBlanks(row);
+                appendRow(sb, row);
+              }
+            }
+          }
         }
       }
+    }
 
-      return sb.toString();
-    } catch (Exception e) {
-      logger.error("Error occurred while formatting iterations to TSV", e);
-      return "";
+    // Skip iteration if it has no children (allocations, work items, or pull requests)
+    if (!hasAllocations && !hasWorkItems && !hasPullRequests) {
+      // Skip empty iterations
     }
   }
 
@@ -639,4 +670,32 @@ public class TsvIterationFormatter implements IterationFormatter {
     columns.add("");
     columns.add("");
   }
+
+  /** Streams the header once and then the rows of each iteration as it arrives. */
+  private final class TsvIterationWriter implements IterationWriter {
+    private final Writer writer;
+    private final StringBuilder sb = new StringBuilder();
+
+    private TsvIterationWriter(OutputStream out) throws IOException {
+      this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+      appendHeader(sb);
+      drain();
+    }
+
+    @Override
+    public void write(Iteration iteration) throws IOException {
+      appendIteration(sb, iteration);
+      drain();
+    }
+
+    private void drain() throws IOException {
+      writer.append(sb);
+      sb.setLength(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.flush();
+    }
+  }
 }
@@ -0,0 +1,48 @@
+package pc.ado.gateway;
+
+import pc.ado.exception.AdoException;
+import pc.ado.metrics.ResourceAccounting;
+
+/**
+ * Gateway decorator that counts every call against the caller's open {@link ResourceAccounting}
+ * scope, so API calls show up next to CPU time and allocations in the phase breakdown. Calls are
+ * passed through to the delegate unchanged; failed calls are counted too.
+ */
+public class AccountingAdoGateway implements AdoGateway {
+
+  private final AdoGateway delegate;
+  private final ResourceAccounting accounting;
+
+  /**
+   * Creates a counting gateway.
+   *
+   * @param delegate gateway that makes the actual calls
+   * @param accounting accounting to count calls in
+   */
+  public AccountingAdoGateway(AdoGateway delegate, ResourceAccounting accounting) {
+    this.delegate = delegate;
+    this.accounting = accounting;
+  }
+
+  @Override
+  public String get(String url) throws AdoException {
+    accounting.countRequest();
+    return delegate.get(url);
+  }
+
+  @Override
+  public String getWithRetry(String url, int maxRetries) throws AdoException {
+    accounting.countRequest();
+    return delegate.getWithRetry(url, maxRetries);
+  }
+
+  @Override
+  public boolean isHealthy() {
+    return delegate.isHealthy();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
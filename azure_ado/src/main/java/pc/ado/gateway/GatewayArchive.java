@@ -0,0 +1,63 @@
+package pc.ado.gateway;
+
+import org.json.JSONObject;
+import pc.ado.constants.AdoConstants;
+import pc.ado.exception.AdoApiException;
+import pc.ado.exception.AdoAuthenticationException;
+import pc.ado.exception.AdoException;
+import pc.ado.exception.ErrorCode;
+
+/**
+ * Layout shared by {@link RecordingAdoGateway} and {@link ReplayAdoGateway}.
+ *
+ * <p>The archive is a zip file. Each recorded call is one entry holding the raw response body (or
+ * error body), and {@value #INDEX_ENTRY} lists the calls in order as JSON objects with the URL, the
+ * entry name, the HTTP status, and for failures the error code and message. Calls that failed
+ * without a status (network errors) have status -1.
+ */
+final class GatewayArchive {
+
+  static final String INDEX_ENTRY = "index.json";
+  static final String URL = "url";
+  static final String ENTRY = "entry";
+  static final String STATUS = "status";
+  static final String ERROR_CODE = "errorCode";
+  static final String MESSAGE = "message";
+
+  static final int STATUS_NONE = -1;
+
+  private GatewayArchive() {
+    // Utility class - prevent instantiation
+  }
+
+  static String entryName(int sequence) {
+    return String.format("responses/%06d", sequence);
+  }
+
+  /** Describes a failed call so replay can throw an equivalent exception. */
+  static JSONObject describeFailure(JSONObject call, AdoException failure) {
+    int status = STATUS_NONE;
+    if (failure instanceof AdoApiException apiException) {
+      status = apiException.getStatusCode();
+    } else if (failure instanceof AdoAuthenticationException) {
+      status = AdoConstants.Http.HTTP_UNAUTHORIZED;
+    }
+    return call.put(STATUS, status)
+        .put(ERROR_CODE, failure.getErrorCode().name())
+        .put(MESSAGE, failure.getMessage());
+  }
+
+  /** Rebuilds the exception of a recorded failure. */
+  static AdoException toFailure(JSONObject call, String body) {
+    int status = call.getInt(STATUS);
+    String message = call.optString(MESSAGE, "Recorded failure");
+    if (status == AdoConstants.Http.HTTP_UNAUTHORIZED) {
+      return new AdoAuthenticationException(message);
+    }
+    if (status != STATUS_NONE) {
+      return new AdoApiException(message, status, body);
+    }
+    return new AdoApiException(
+        message, null, ErrorCode.valueOf(call.optString(ERROR_CODE, ErrorCode.GEN_001.name())));
+  }
+}
@@ -0,0 +1,40 @@
+package pc.ado.gateway;
+
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** How the tool talks to Azure DevOps. */
+public enum GatewayMode {
+  /** Live HTTP calls. */
+  LIVE("live"),
+  /** Live HTTP calls, with every response captured into an archive. */
+  RECORD("record"),
+  /** No network access; responses are served from a recorded archive. */
+  REPLAY("replay");
+
+  private static final Logger logger = LoggerFactory.getLogger(GatewayMode.class);
+
+  private final String value;
+
+  GatewayMode(String value) {
+    this.value = value;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  public static GatewayMode fromString(String value) {
+    if (value == null || value.isBlank()) {
+      return LIVE;
+    }
+    for (GatewayMode mode : values()) {
+      if (mode.value.equals(value.trim().toLowerCase(Locale.ROOT))) {
+        return mode;
+      }
+    }
+    logger.warn("Unknown gateway mode '{}', defaulting to live", value);
+    return LIVE;
+  }
+}
@@ -0,0 +1,129 @@
+package pc.ado.gateway;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.ado.constants.AdoConstants;
+import pc.ado.exception.AdoApiException;
+import pc.ado.exception.AdoException;
+
+/**
+ * Gateway decorator that records every call into a compressed archive for {@link ReplayAdoGateway}.
+ *
+ * <p>Calls are passed through to the delegate unchanged. The response body, or for a failed call
+ * the status and error body, is appended to the archive as it arrives; the index is written when
+ * the gateway is closed. The gateway interface only exposes bodies, so response headers are not
+ * recorded. Safe for concurrent use.
+ */
+public class RecordingAdoGateway implements AdoGateway {
+
+  private static final Logger logger = LoggerFactory.getLogger(RecordingAdoGateway.class);
+
+  private final AdoGateway delegate;
+  private final Path archive;
+  private final ZipOutputStream zip;
+  private final JSONArray index = new JSONArray();
+  private boolean closed;
+
+  /**
+   * Creates a recording gateway, replacing any existing archive.
+   *
+   * @param delegate gateway that makes the actual calls
+   * @param archive archive file to write
+   * @throws IOException if the archive cannot be created
+   */
+  public RecordingAdoGateway(AdoGateway delegate, Path archive) throws IOException {
+    this.delegate = delegate;
+    this.archive = archive;
+    OutputStream out = new BufferedOutputStream(Files.newOutputStream(archive));
+    this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+    logger.info("Recording ADO responses to {}", archive);
+  }
+
+  @Override
+  public String get(String url) throws AdoException {
+    try {
+      return record(url, delegate.get(url));
+    } catch (AdoException e) {
+      throw recordFailure(url, e);
+    }
+  }
+
+  @Override
+  public String getWithRetry(String url, int maxRetries) throws AdoException {
+    try {
+      return record(url, delegate.getWithRetry(url, maxRetries));
+    } catch (AdoException e) {
+      throw recordFailure(url, e);
+    }
+  }
+
+  private String record(String url, String body) {
+    append(
+        new JSONObject()
+            .put(GatewayArchive.URL, url)
+            .put(GatewayArchive.STATUS, AdoConstants.Http.HTTP_OK),
+        body);
+    return body;
+  }
+
+  private AdoException recordFailure(String url, AdoException failure) {
+    String body = failure instanceof AdoApiException api ? api.getResponseBody() : null;
+    append(
+        GatewayArchive.describeFailure(new JSONObject().put(GatewayArchive.URL, url), failure),
+        body);
+    return failure;
+  }
+
+  private synchronized void append(JSONObject call, String body) {
+    if (closed) {
+      return;
+    }
+    String entry = GatewayArchive.entryName(index.length());
+    try {
+      zip.putNextEntry(new ZipEntry(entry));
+      if (body != null) {
+        zip.write(body.getBytes(StandardCharsets.UTF_8));
+      }
+      zip.closeEntry();
+      index.put(call.put(GatewayArchive.ENTRY, entry));
+    } catch (IOException e) {
+      // Recording is best effort; the run itself must not fail because of it
+      logger.error(
+          "Failed to record response for {} to {}", call.opt(GatewayArchive.URL), archive, e);
+    }
+  }
+
+  @Override
+  public boolean isHealthy() {
+    return delegate.isHealthy();
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (!closed) {
+        closed = true;
+        try {
+          zip.putNextEntry(new ZipEntry(GatewayArchive.INDEX_ENTRY));
+          zip.write(index.toString().getBytes(StandardCharsets.UTF_8));
+          zip.closeEntry();
+          zip.close();
+          logger.info("Recorded {} ADO responses to {}", index.length(), archive);
+        } catch (IOException e) {
+          logger.error("Failed to finish recording archive {}", archive, e);
+        }
+      }
+    }
+    delegate.close();
+  }
+}
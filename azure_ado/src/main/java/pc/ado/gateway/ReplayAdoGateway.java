@@ -0,0 +1,134 @@
+package pc.ado.gateway;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.ado.constants.AdoConstants;
+import pc.ado.exception.AdoApiException;
+import pc.ado.exception.AdoException;
+import pc.ado.exception.ErrorCode;
+
+/**
+ * Gateway that serves responses from an archive written by {@link RecordingAdoGateway}, without any
+ * network access.
+ *
+ * <p>When a URL was called several times during recording, the recorded responses are served in the
+ * same order and the last one is repeated after that, so recorded failures followed by a successful
+ * retry replay the same way. URLs that were never recorded fail with HTTP 404. An optional latency
+ * is added to every call to approximate the live service in benchmarks. Safe for concurrent use.
+ */
+public class ReplayAdoGateway implements AdoGateway {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReplayAdoGateway.class);
+
+  private final ZipFile zip;
+  private final Duration latency;
+  private final Map<String, List<JSONObject>> calls = new HashMap<>();
+  private final Map<String, Integer> served = new HashMap<>();
+
+  /**
+   * Opens an archive for replay.
+   *
+   * @param archive archive written by {@link RecordingAdoGateway}
+   * @param latency delay added to every call, {@link Duration#ZERO} for none
+   * @throws IOException if the archive cannot be read
+   */
+  public ReplayAdoGateway(Path archive, Duration latency) throws IOException {
+    this.zip = new ZipFile(archive.toFile(), StandardCharsets.UTF_8);
+    this.latency = latency;
+    ZipEntry indexEntry = zip.getEntry(GatewayArchive.INDEX_ENTRY);
+    if (indexEntry == null) {
+      zip.close();
+      throw new IOException("Not a complete recording (no index): " + archive);
+    }
+    JSONArray index = new JSONArray(read(indexEntry));
+    for (int i = 0; i < index.length(); i++) {
+      JSONObject call = index.getJSONObject(i);
+      calls.computeIfAbsent(call.getString(GatewayArchive.URL), url -> new ArrayList<>()).add(call);
+    }
+    logger.info(
+        "Replaying {} recorded responses for {} URLs from {}",
+        index.length(),
+        calls.size(),
+        archive);
+  }
+
+  @Override
+  public String get(String url) throws AdoException {
+    delay();
+    JSONObject call = next(url);
+    if (call == null) {
+      throw new AdoApiException(
+          "No recorded response for URL: " + url, AdoConstants.Http.HTTP_NOT_FOUND, null);
+    }
+    String body;
+    try {
+      body = read(zip.getEntry(call.getString(GatewayArchive.ENTRY)));
+    } catch (IOException e) {
+      throw new AdoApiException(
+          "Failed to read recorded response for " + url, e, ErrorCode.API_003);
+    }
+    if (call.getInt(GatewayArchive.STATUS) != AdoConstants.Http.HTTP_OK) {
+      throw GatewayArchive.toFailure(call, body.isEmpty() ? null : body);
+    }
+    return body;
+  }
+
+  @Override
+  public String getWithRetry(String url, int maxRetries) throws AdoException {
+    return get(url);
+  }
+
+  private synchronized JSONObject next(String url) {
+    List<JSONObject> recorded = calls.get(url);
+    if (recorded == null) {
+      return null;
+    }
+    int position = served.merge(url, 1, Integer::sum) - 1;
+    return recorded.get(Math.min(position, recorded.size() - 1));
+  }
+
+  private void delay() throws AdoException {
+    if (latency.isZero()) {
+      return;
+    }
+    try {
+      Thread.sleep(latency);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AdoApiException("Request interrupted", e, ErrorCode.API_004);
+    }
+  }
+
+  private String read(ZipEntry entry) throws IOException {
+    try (InputStream in = zip.getInputStream(entry)) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  @Override
+  public boolean isHealthy() {
+    return true;
+  }
+
+  @Override
+  public void close() {
+    try {
+      zip.close();
+    } catch (IOException e) {
+      logger.warn("Failed to close replay archive", e);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package pc.ado.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Rendering of one iteration into a report output. */
+@Name("pc.ado.Format")
+@Label("ADO Report Format")
+@Category({"Azure DevOps", "Report"})
+@Description("One iteration rendered into a report output")
+@StackTrace(false)
+public class FormatEvent extends jdk.jfr.Event {
+
+  @Label("Format")
+  public String format;
+
+  @Label("Team")
+  public String team;
+
+  @Label("Iteration")
+  public String iteration;
+
+  @Label("Work Items")
+  public int workItems;
+
+  @Label("Tasks")
+  public int tasks;
+
+  @Label("Pull Requests")
+  public int pullRequests;
+}
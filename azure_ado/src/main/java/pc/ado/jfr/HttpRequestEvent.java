@@ -0,0 +1,32 @@
+package pc.ado.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One HTTP request to Azure DevOps, from sending it to receiving the full body. */
+@Name("pc.ado.HttpRequest")
+@Label("ADO HTTP Request")
+@Category({"Azure DevOps", "HTTP"})
+@Description("GET request to the Azure DevOps REST API")
+@StackTrace(false)
+public class HttpRequestEvent extends jdk.jfr.Event {
+
+  @Label("Endpoint")
+  @Description("URL template, see pc.ado.metrics.Endpoint")
+  public String endpoint;
+
+  @Label("URL")
+  public String url;
+
+  @Label("Status Code")
+  @Description("HTTP status code, or 0 if no response was received")
+  public int statusCode;
+
+  @Label("Bytes Received")
+  @DataAmount
+  public long bytes;
+}
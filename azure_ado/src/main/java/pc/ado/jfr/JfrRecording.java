@@ -0,0 +1,77 @@
+package pc.ado.jfr;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A JFR recording covering one run of the tool, dumped to a file when closed.
+ *
+ * <p>The recording uses one of the JDK's predefined settings ({@code default} or {@code profile})
+ * with the tool's own events enabled on top, so API calls, response parsing and report writing can
+ * be lined up against GC, allocation and thread activity in JDK Mission Control.
+ */
+public class JfrRecording implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(JfrRecording.class);
+
+  private final Recording recording;
+  private final Path file;
+
+  private JfrRecording(Recording recording, Path file) {
+    this.recording = recording;
+    this.file = file;
+  }
+
+  /**
+   * Starts a recording.
+   *
+   * @param file file the recording is dumped to on {@link #close()}
+   * @param settings name of a predefined JFR configuration, e.g. {@code default} or {@code profile}
+   * @return the started recording
+   * @throws IOException if the settings cannot be read
+   */
+  public static JfrRecording start(Path file, String settings) throws IOException {
+    Configuration configuration;
+    try {
+      configuration = Configuration.getConfiguration(settings);
+    } catch (ParseException e) {
+      throw new IOException("Invalid JFR settings: " + settings, e);
+    }
+    Recording recording = new Recording(configuration);
+    recording.setName("ado-tool");
+    recording.setToDisk(true);
+    recording.enable(HttpRequestEvent.class);
+    recording.enable(ParseEvent.class);
+    recording.enable(FormatEvent.class);
+    recording.enable(WriteEvent.class);
+    recording.start();
+    logger.info("JFR recording started with '{}' settings, dumping to {}", settings, file);
+    return new JfrRecording(recording, file);
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Stops the recording and writes it to the file.
+   *
+   * @throws IOException if the recording cannot be written
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      recording.stop();
+      recording.dump(file);
+      logger.info("JFR recording written to {}", file);
+    } finally {
+      recording.close();
+    }
+  }
+}
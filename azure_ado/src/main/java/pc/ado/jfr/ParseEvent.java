@@ -0,0 +1,30 @@
+package pc.ado.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Parsing of one API response into JSON and DTOs. */
+@Name("pc.ado.Parse")
+@Label("ADO Response Parse")
+@Category({"Azure DevOps", "Parsing"})
+@Description("Parsing of an Azure DevOps API response")
+@StackTrace(false)
+public class ParseEvent extends jdk.jfr.Event {
+
+  @Label("Payload Type")
+  @Description("Endpoint the response came from, see pc.ado.metrics.Endpoint")
+  public String payloadType;
+
+  @Label("Payload Size")
+  @Description("Response size in UTF-8 bytes")
+  @DataAmount
+  public long payloadSize;
+
+  @Label("Records")
+  @Description("Entries in the response (iterations, members, relations, threads)")
+  public int records;
+}
@@ -0,0 +1,35 @@
+package pc.ado.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Opening or completing a report file. */
+@Name("pc.ado.Write")
+@Label("ADO Report Write")
+@Category({"Azure DevOps", "Report"})
+@Description("Report file opened, or flushed and closed with footers and compression trailers")
+@StackTrace(false)
+public class WriteEvent extends jdk.jfr.Event {
+
+  @Label("Format")
+  public String format;
+
+  @Label("Path")
+  public String path;
+
+  @Label("Operation")
+  @Description("open or close")
+  public String operation;
+
+  @Label("Iterations")
+  @Description("Iterations written to the file so far")
+  public int iterations;
+
+  @Label("File Size")
+  @DataAmount
+  public long fileSize;
+}
@@ -0,0 +1,69 @@
+package pc.ado.metrics;
+
+import java.util.Locale;
+
+/**
+ * Azure DevOps endpoint templates the tool calls, used to group HTTP metrics.
+ *
+ * <p>Classification works on the URL path so ids, team names and query strings collapse into one
+ * template. Work item URLs with {@code $expand=relations} count as {@link #RELATIONS}; plain work
+ * item URLs (stories and their tasks) count as {@link #WORK_ITEM}.
+ */
+public enum Endpoint {
+  ITERATIONS("iterations"),
+  CAPACITIES("capacities"),
+  TEAM_DAYS_OFF("teamDaysOff"),
+  WORK_ITEMS("workitems"),
+  WORK_ITEM("workItem"),
+  RELATIONS("relations"),
+  PULL_REQUEST("pullRequest"),
+  PR_THREADS("PRThreads"),
+  OTHER("other");
+
+  private final String value;
+
+  Endpoint(String value) {
+    this.value = value;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  /**
+   * Classifies a request URL.
+   *
+   * @param url absolute request URL
+   * @return endpoint template, {@link #OTHER} if not recognized
+   */
+  public static Endpoint classify(String url) {
+    if (url == null) {
+      return OTHER;
+    }
+    String lower = url.toLowerCase(Locale.ROOT);
+    int query = lower.indexOf('?');
+    String path = query < 0 ? lower : lower.substring(0, query);
+
+    if (path.contains("/pullrequests/")) {
+      return path.endsWith("/threads") ? PR_THREADS : PULL_REQUEST;
+    }
+    if (path.contains("/_apis/wit/workitems/")) {
+      return query >= 0 && lower.indexOf("$expand=relations", query) >= 0 ? RELATIONS : WORK_ITEM;
+    }
+    if (path.endsWith("/teamsettings/iterations")) {
+      return ITERATIONS;
+    }
+    if (path.contains("/teamsettings/iterations/")) {
+      if (path.endsWith("/capacities")) {
+        return CAPACITIES;
+      }
+      if (path.endsWith("/teamdaysoff")) {
+        return TEAM_DAYS_OFF;
+      }
+      if (path.endsWith("/workitems")) {
+        return WORK_ITEMS;
+      }
+    }
+    return OTHER;
+  }
+}
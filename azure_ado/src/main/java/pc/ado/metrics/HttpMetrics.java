@@ -0,0 +1,152 @@
+package pc.ado.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint HTTP metrics: request and failure counts, status code distribution, bytes received
+ * and a latency histogram.
+ *
+ * <p>All recording methods are lock-free and safe to call from any thread. {@link #snapshot()}
+ * gives a consistent-enough copy for reporting while requests are still running, and {@link
+ * #summary()} renders it as a table for the end-of-run log.
+ */
+public class HttpMetrics {
+
+  private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+
+  public HttpMetrics() {
+    for (Endpoint endpoint : Endpoint.values()) {
+      recorders.put(endpoint, new Recorder());
+    }
+  }
+
+  /**
+   * Records a completed HTTP exchange, successful or not.
+   *
+   * @param url request URL
+   * @param statusCode HTTP status code
+   * @param bytes response body size in bytes
+   * @param nanos time from sending the request to receiving the full body
+   */
+  public void recordResponse(String url, int statusCode, long bytes, long nanos) {
+    Recorder recorder = recorders.get(Endpoint.classify(url));
+    recorder.requests.increment();
+    recorder.bytes.add(bytes);
+    recorder.statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+    recorder.latency.record(nanos);
+  }
+
+  /**
+   * Records a request that failed without an HTTP response (network error, timeout, interrupt).
+   *
+   * @param url request URL
+   * @param nanos time until the failure
+   */
+  public void recordFailure(String url, long nanos) {
+    Recorder recorder = recorders.get(Endpoint.classify(url));
+    recorder.requests.increment();
+    recorder.failures.increment();
+    recorder.latency.record(nanos);
+  }
+
+  /**
+   * Copies the current values of every endpoint that saw at least one request.
+   *
+   * @return snapshots by endpoint, in endpoint order
+   */
+  public Map<Endpoint, EndpointSnapshot> snapshot() {
+    Map<Endpoint, EndpointSnapshot> snapshots = new EnumMap<>(Endpoint.class);
+    recorders.forEach(
+        (endpoint, recorder) -> {
+          if (recorder.requests.sum() > 0) {
+            snapshots.put(endpoint, recorder.snapshot(endpoint));
+          }
+        });
+    return Collections.unmodifiableMap(snapshots);
+  }
+
+  /**
+   * Renders the current snapshot as a fixed-width table, one line per endpoint.
+   *
+   * @return summary table, or a single line if no request was made
+   */
+  public String summary() {
+    Map<Endpoint, EndpointSnapshot> snapshots = snapshot();
+    if (snapshots.isEmpty()) {
+      return "No HTTP requests recorded";
+    }
+    StringBuilder sb = new StringBuilder();
+    sb.append(
+        String.format(
+            "%-12s %8s %7s %12s %9s %9s %9s %9s  %s%n",
+            "endpoint",
+            "requests",
+            "failed",
+            "bytes",
+            "p50 ms",
+            "p95 ms",
+            "p99 ms",
+            "max ms",
+            "status codes"));
+    for (EndpointSnapshot s : snapshots.values()) {
+      LatencyHistogram.Snapshot latency = s.latency();
+      sb.append(
+          String.format(
+              "%-12s %8d %7d %12d %9.1f %9.1f %9.1f %9.1f  %s%n",
+              s.endpoint().getValue(),
+              s.requests(),
+              s.failures(),
+              s.bytes(),
+              LatencyHistogram.Snapshot.toMillis(latency.getValueAtPercentile(50)),
+              LatencyHistogram.Snapshot.toMillis(latency.getValueAtPercentile(95)),
+              LatencyHistogram.Snapshot.toMillis(latency.getValueAtPercentile(99)),
+              LatencyHistogram.Snapshot.toMillis(latency.getMaxNanos()),
+              s.statusCodes()));
+    }
+    return sb.toString().stripTrailing();
+  }
+
+  /**
+   * Point-in-time metrics of one endpoint.
+   *
+   * @param endpoint endpoint template
+   * @param requests requests sent, including failed ones
+   * @param failures requests that got no HTTP response
+   * @param bytes response bytes received
+   * @param statusCodes response count by HTTP status code, sorted by code
+   * @param latency latency distribution
+   */
+  public record EndpointSnapshot(
+      Endpoint endpoint,
+      long requests,
+      long failures,
+      long bytes,
+      Map<Integer, Long> statusCodes,
+      LatencyHistogram.Snapshot latency) {}
+
+  /** Live counters of one endpoint. */
+  private static final class Recorder {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private EndpointSnapshot snapshot(Endpoint endpoint) {
+      Map<Integer, Long> codes = new TreeMap<>();
+      statusCodes.forEach((code, counter) -> codes.put(code, counter.sum()));
+      return new EndpointSnapshot(
+          endpoint,
+          requests.sum(),
+          failures.sum(),
+          bytes.sum(),
+          Collections.unmodifiableMap(codes),
+          latency.snapshot());
+    }
+  }
+}
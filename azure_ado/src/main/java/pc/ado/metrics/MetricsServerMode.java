@@ -0,0 +1,38 @@
+package pc.ado.metrics;
+
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** How long the metrics endpoint stays up. */
+public enum MetricsServerMode {
+  /** Served while the report runs; the process exits when it is done. */
+  ONE_SHOT("oneshot"),
+  /** Served until the process is stopped, so the final values of a run can still be scraped. */
+  DAEMON("daemon");
+
+  private static final Logger logger = LoggerFactory.getLogger(MetricsServerMode.class);
+
+  private final String value;
+
+  MetricsServerMode(String value) {
+    this.value = value;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  public static MetricsServerMode fromString(String value) {
+    if (value == null || value.isBlank()) {
+      return ONE_SHOT;
+    }
+    for (MetricsServerMode mode : values()) {
+      if (mode.value.equals(value.trim().toLowerCase(Locale.ROOT))) {
+        return mode;
+      }
+    }
+    logger.warn("Unknown metrics server mode '{}', defaulting to oneshot", value);
+    return ONE_SHOT;
+  }
+}
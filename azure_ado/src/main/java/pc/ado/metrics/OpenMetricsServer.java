@@ -0,0 +1,409 @@
+package pc.ado.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.jvm.dto.CollectionTierStats;
+import pc.jvm.dto.GcPauseStats;
+import pc.jvm.monitor.MemoryMonitorThread;
+
+/**
+ * Serves the tool's metrics in the OpenMetrics text format at {@code /metrics} on localhost, for a
+ * local Prometheus-compatible agent to scrape.
+ *
+ * <p>The exposition covers the HTTP metrics of the Azure DevOps client (requests, failures, bytes
+ * and status codes, with latency quantiles per endpoint), resource usage per phase when accounting
+ * is enabled, and, when a {@link MemoryMonitorThread} runs, the newest sample of its time series,
+ * its GC pause statistics and the cost of each collection tier. JVM values are read from what the
+ * monitor has already collected, so a scrape never walks threads or pools.
+ *
+ * <p>Scrapes are handled one at a time on a single thread and rendered into a reused buffer; the
+ * mapping from time series metrics to metric families is worked out once at startup.
+ */
+public class OpenMetricsServer implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(OpenMetricsServer.class);
+
+  /** Content type of an OpenMetrics text exposition. */
+  public static final String CONTENT_TYPE =
+      "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+  private static final String PATH = "/metrics";
+  private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+  private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+  private static final double NANOS_PER_SECOND = 1e9;
+  private static final String[] QUANTILE_LABELS = {"0.5", "0.95", "0.99"};
+  private static final double[] QUANTILE_PERCENTILES = {50, 95, 99};
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final HttpMetrics httpMetrics;
+  private final ResourceAccounting resourceAccounting;
+  private final MemoryMonitorThread memoryMonitor;
+  private final List<JvmFamily> jvmFamilies;
+  private final double[] jvmValues;
+  private final OpenMetricsWriter writer = new OpenMetricsWriter(INITIAL_BUFFER_SIZE);
+
+  private OpenMetricsServer(
+      HttpServer server,
+      HttpMetrics httpMetrics,
+      ResourceAccounting resourceAccounting,
+      MemoryMonitorThread memoryMonitor) {
+    this.server = server;
+    this.httpMetrics = httpMetrics;
+    this.resourceAccounting = resourceAccounting;
+    this.memoryMonitor = memoryMonitor;
+    List<String> metrics =
+        memoryMonitor != null ? memoryMonitor.getTimeSeries().getMetrics() : List.of();
+    this.jvmFamilies = describeJvmMetrics(metrics);
+    this.jvmValues = new double[metrics.size()];
+    this.executor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "OpenMetricsServer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    server.setExecutor(executor);
+    server.createContext(PATH, this::handle);
+  }
+
+  /**
+   * Starts serving on the loopback interface.
+   *
+   * @param port port to listen on, or 0 for any free port
+   * @param httpMetrics HTTP metrics of the Azure DevOps client
+   * @param resourceAccounting resource usage per phase, left out when disabled
+   * @param memoryMonitor source of JVM metrics, or null to serve only the client metrics
+   * @return running server
+   * @throws IOException if the port cannot be bound
+   */
+  public static OpenMetricsServer start(
+      int port,
+      HttpMetrics httpMetrics,
+      ResourceAccounting resourceAccounting,
+      MemoryMonitorThread memoryMonitor)
+      throws IOException {
+    HttpServer server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    OpenMetricsServer metricsServer =
+        new OpenMetricsServer(server, httpMetrics, resourceAccounting, memoryMonitor);
+    server.start();
+    logger.info("Serving metrics at {}", metricsServer.getUrl());
+    return metricsServer;
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Gets the address agents scrape.
+   *
+   * @return metrics URL on localhost
+   */
+  public String getUrl() {
+    return "http://" + server.getAddress().getHostString() + ":" + getPort() + PATH;
+  }
+
+  /** Stops serving; a scrape in progress is abandoned. */
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+    logger.info("Metrics server stopped");
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      String method = exchange.getRequestMethod();
+      if (!"GET".equals(method) && !"HEAD".equals(method)) {
+        exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+      if (!PATH.equals(exchange.getRequestURI().getPath())) {
+        exchange.sendResponseHeaders(404, -1);
+        return;
+      }
+      synchronized (writer) {
+        render();
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        if ("HEAD".equals(method)) {
+          exchange.sendResponseHeaders(200, -1);
+          return;
+        }
+        exchange.sendResponseHeaders(200, writer.size());
+        try (OutputStream body = exchange.getResponseBody()) {
+          writer.writeTo(body);
+        }
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Failed to serve metrics scrape", e);
+    }
+  }
+
+  /**
+   * Renders the current exposition.
+   *
+   * @return OpenMetrics text, ending with {@code # EOF}
+   */
+  String scrape() {
+    synchronized (writer) {
+      render();
+      return writer.toString();
+    }
+  }
+
+  private void render() {
+    writer.reset();
+    renderHttpMetrics();
+    if (resourceAccounting.isEnabled()) {
+      renderPhaseUsage();
+    }
+    if (memoryMonitor != null) {
+      renderJvmMetrics();
+      renderGcPauses();
+      renderCollectionOverhead();
+    }
+    writer.eof();
+  }
+
+  private void renderHttpMetrics() {
+    Map<Endpoint, HttpMetrics.EndpointSnapshot> endpoints = httpMetrics.snapshot();
+    writer.family("ado_http_requests", "counter", "Requests sent, including failed ones.");
+    for (HttpMetrics.EndpointSnapshot snapshot : endpoints.values()) {
+      endpointSample("ado_http_requests_total", snapshot).value(snapshot.requests());
+    }
+    writer.family("ado_http_failures", "counter", "Requests that got no HTTP response.");
+    for (HttpMetrics.EndpointSnapshot snapshot : endpoints.values()) {
+      endpointSample("ado_http_failures_total", snapshot).value(snapshot.failures());
+    }
+    writer.family("ado_http_response_bytes", "counter", "Response bytes received.");
+    for (HttpMetrics.EndpointSnapshot snapshot : endpoints.values()) {
+      endpointSample("ado_http_response_bytes_total", snapshot).value(snapshot.bytes());
+    }
+    writer.family("ado_http_responses", "counter", "Responses by HTTP status code.");
+    for (HttpMetrics.EndpointSnapshot snapshot : endpoints.values()) {
+      for (Map.Entry<Integer, Long> code : snapshot.statusCodes().entrySet()) {
+        endpointSample("ado_http_responses_total", snapshot)
+            .label("code", code.getKey())
+            .value(code.getValue());
+      }
+    }
+    writer.family("ado_http_request_duration_seconds", "summary", "Request latency.");
+    for (HttpMetrics.EndpointSnapshot snapshot : endpoints.values()) {
+      LatencyHistogram.Snapshot latency = snapshot.latency();
+      for (int q = 0; q < QUANTILE_LABELS.length; q++) {
+        endpointSample("ado_http_request_duration_seconds", snapshot)
+            .label("quantile", QUANTILE_LABELS[q])
+            .value(latency.getValueAtPercentile(QUANTILE_PERCENTILES[q]) / NANOS_PER_SECOND);
+      }
+      endpointSample("ado_http_request_duration_seconds_sum", snapshot)
+          .value(latency.getSumNanos() / NANOS_PER_SECOND);
+      endpointSample("ado_http_request_duration_seconds_count", snapshot).value(latency.getCount());
+    }
+  }
+
+  private OpenMetricsWriter endpointSample(String name, HttpMetrics.EndpointSnapshot snapshot) {
+    return writer.sample(name).label("endpoint", snapshot.endpoint().getValue());
+  }
+
+  private void renderPhaseUsage() {
+    Map<Phase, ResourceAccounting.Usage> phases = resourceAccounting.getPhaseUsage();
+    writer.family("ado_phase_scopes", "counter", "Units of work completed per run phase.");
+    for (Map.Entry<Phase, ResourceAccounting.Usage> phase : phases.entrySet()) {
+      phaseSample("ado_phase_scopes_total", phase.getKey()).value(phase.getValue().scopes());
+    }
+    writer.family("ado_phase_wall_seconds", "counter", "Wall time spent per run phase.");
+    for (Map.Entry<Phase, ResourceAccounting.Usage> phase : phases.entrySet()) {
+      phaseSample("ado_phase_wall_seconds_total", phase.getKey())
+          .value(phase.getValue().wallNanos() / NANOS_PER_SECOND);
+    }
+    writer.family("ado_phase_cpu_seconds", "counter", "CPU time spent per run phase.");
+    for (Map.Entry<Phase, ResourceAccounting.Usage> phase : phases.entrySet()) {
+      phaseSample("ado_phase_cpu_seconds_total", phase.getKey())
+          .value(phase.getValue().cpuNanos() / NANOS_PER_SECOND);
+    }
+    writer.family("ado_phase_allocated_bytes", "counter", "Heap allocated per run phase.");
+    for (Map.Entry<Phase, ResourceAccounting.Usage> phase : phases.entrySet()) {
+      phaseSample("ado_phase_allocated_bytes_total", phase.getKey())
+          .value(phase.getValue().allocatedBytes());
+    }
+    writer.family("ado_phase_requests", "counter", "API calls made per run phase.");
+    for (Map.Entry<Phase, ResourceAccounting.Usage> phase : phases.entrySet()) {
+      phaseSample("ado_phase_requests_total", phase.getKey()).value(phase.getValue().requests());
+    }
+  }
+
+  private OpenMetricsWriter phaseSample(String name, Phase phase) {
+    return writer.sample(name).label("phase", phase.getValue());
+  }
+
+  private void renderJvmMetrics() {
+    if (memoryMonitor.getTimeSeries().latest(jvmValues) < 0) {
+      return;
+    }
+    for (JvmFamily family : jvmFamilies) {
+      writer.family(family.name(), family.type(), family.help());
+      String sampleName = family.sampleName();
+      for (JvmSeries series : family.series()) {
+        double value = jvmValues[series.index()];
+        if (value < 0) {
+          // Not reported on this platform
+          continue;
+        }
+        writer.sample(sampleName);
+        if (series.labelName() != null) {
+          writer.label(series.labelName(), series.labelValue());
+        }
+        writer.value(value * series.scale());
+      }
+    }
+  }
+
+  private void renderGcPauses() {
+    GcPauseStats stats = memoryMonitor.getGcPauseRecorder().getStats();
+    writer.family(
+        "jvm_gc_pause_seconds",
+        "summary",
+        "Stop-the-world GC pauses; quantiles cover the most recent pauses.");
+    if (stats.recordedPauses > 0) {
+      writer.sample("jvm_gc_pause_seconds").label("quantile", "0.5").value(stats.p50PauseMs / 1e3);
+      writer.sample("jvm_gc_pause_seconds").label("quantile", "0.9").value(stats.p90PauseMs / 1e3);
+      writer.sample("jvm_gc_pause_seconds").label("quantile", "0.99").value(stats.p99PauseMs / 1e3);
+    }
+    writer.sample("jvm_gc_pause_seconds_sum").value(stats.totalPauseMs / 1e3);
+    writer.sample("jvm_gc_pause_seconds_count").value(stats.pauseCount);
+    writer.family("jvm_gc_pause_max_seconds", "gauge", "Longest GC pause seen.");
+    writer.sample("jvm_gc_pause_max_seconds").value(stats.maxPauseMs / 1e3);
+    writer.family(
+        "jvm_gc_concurrent_cycles", "counter", "GC cycles that ran alongside the application.");
+    writer.sample("jvm_gc_concurrent_cycles_total").value(stats.concurrentCycleCount);
+  }
+
+  private void renderCollectionOverhead() {
+    List<CollectionTierStats> tiers = memoryMonitor.getCollectionOverhead().snapshot();
+    writer.family(
+        "jvm_monitor_collections", "counter", "Statistics collections per memory monitor tier.");
+    for (CollectionTierStats tier : tiers) {
+      writer
+          .sample("jvm_monitor_collections_total")
+          .label("tier", tier.name)
+          .value(tier.collections);
+    }
+    writer.family(
+        "jvm_monitor_collection_seconds", "counter", "Wall time spent collecting per tier.");
+    for (CollectionTierStats tier : tiers) {
+      writer
+          .sample("jvm_monitor_collection_seconds_total")
+          .label("tier", tier.name)
+          .value(tier.totalTimeUs / 1e6);
+    }
+    writer.family(
+        "jvm_monitor_collection_cpu_seconds", "counter", "CPU time spent collecting per tier.");
+    for (CollectionTierStats tier : tiers) {
+      writer
+          .sample("jvm_monitor_collection_cpu_seconds_total")
+          .label("tier", tier.name)
+          .value(tier.totalCpuTimeUs / 1e6);
+    }
+  }
+
+  /**
+   * Maps the memory monitor's time series metrics to metric families in base units. Metrics without
+   * a mapping are left out.
+   */
+  private static List<JvmFamily> describeJvmMetrics(List<String> metrics) {
+    Map<String, JvmFamily> families = new LinkedHashMap<>();
+    for (int i = 0; i < metrics.size(); i++) {
+      String metric = metrics.get(i);
+      if (metric.startsWith("pool.") && metric.endsWith(".usedMB")) {
+        String pool = metric.substring("pool.".length(), metric.length() - ".usedMB".length());
+        add(families, "jvm_memory_pool_used_bytes", "gauge", "Used heap pool memory.")
+            .add(new JvmSeries(i, "pool", pool, BYTES_PER_MB));
+      } else if (metric.startsWith("pool.") && metric.endsWith(".committedMB")) {
+        String pool = metric.substring("pool.".length(), metric.length() - ".committedMB".length());
+        add(families, "jvm_memory_pool_committed_bytes", "gauge", "Committed heap pool memory.")
+            .add(new JvmSeries(i, "pool", pool, BYTES_PER_MB));
+      } else {
+        switch (metric) {
+          case "heap.usedMB" ->
+              add(families, "jvm_memory_used_bytes", "gauge", "Used memory.")
+                  .add(new JvmSeries(i, "area", "heap", BYTES_PER_MB));
+          case "nonHeap.usedMB" ->
+              add(families, "jvm_memory_used_bytes", "gauge", "Used memory.")
+                  .add(new JvmSeries(i, "area", "nonheap", BYTES_PER_MB));
+          case "heap.committedMB" ->
+              add(families, "jvm_memory_committed_bytes", "gauge", "Committed memory.")
+                  .add(new JvmSeries(i, "area", "heap", BYTES_PER_MB));
+          case "gc.count" ->
+              add(families, "jvm_gc_collections", "counter", "GC runs.")
+                  .add(new JvmSeries(i, null, null, 1));
+          case "gc.timeMs" ->
+              add(families, "jvm_gc_collection_seconds", "counter", "Time spent in GC.")
+                  .add(new JvmSeries(i, null, null, 1e-3));
+          case "threads.current" ->
+              add(families, "jvm_threads_current", "gauge", "Live threads.")
+                  .add(new JvmSeries(i, null, null, 1));
+          case "threads.daemon" ->
+              add(families, "jvm_threads_daemon", "gauge", "Live daemon threads.")
+                  .add(new JvmSeries(i, null, null, 1));
+          case "cpu.processPercent" ->
+              add(families, "process_cpu_usage_ratio", "gauge", "CPU load of the JVM.")
+                  .add(new JvmSeries(i, null, null, 0.01));
+          case "cpu.systemPercent" ->
+              add(families, "system_cpu_usage_ratio", "gauge", "CPU load of the host.")
+                  .add(new JvmSeries(i, null, null, 0.01));
+          default -> logger.debug("No OpenMetrics mapping for time series metric {}", metric);
+        }
+      }
+    }
+    return List.copyOf(families.values());
+  }
+
+  /** Gets the series list of a family, creating the family on first use. */
+  private static List<JvmSeries> add(
+      Map<String, JvmFamily> families, String name, String type, String help) {
+    return families
+        .computeIfAbsent(name, key -> new JvmFamily(name, type, help, new ArrayList<>()))
+        .series();
+  }
+
+  /**
+   * A metric family and the time series metrics that make up its samples.
+   *
+   * @param name family name; samples of counters add {@code _total}
+   * @param type counter or gauge
+   * @param help description
+   * @param series samples of the family
+   */
+  private record JvmFamily(String name, String type, String help, List<JvmSeries> series) {
+
+    String sampleName() {
+      return type.equals("counter") ? name + "_total" : name;
+    }
+  }
+
+  /**
+   * One sample of a family, read from a time series metric and scaled to base units.
+   *
+   * @param index position of the metric in the time series
+   * @param labelName label telling the samples of the family apart, or null
+   * @param labelValue value of the label
+   * @param scale factor from the time series unit to the base unit
+   */
+  private record JvmSeries(int index, String labelName, String labelValue, double scale) {}
+}
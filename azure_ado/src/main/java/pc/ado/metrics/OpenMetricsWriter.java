@@ -0,0 +1,226 @@
+package pc.ado.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Renders the OpenMetrics text format into a byte buffer that is reused between scrapes.
+ *
+ * <p>Samples are written in one pass: {@code sample(name)}, any number of {@code label(...)} calls
+ * and one {@code value(...)}. Names, labels and integral values are encoded straight into the
+ * buffer, so a scrape allocates nothing once the buffer has grown to the size of the output.
+ *
+ * <p>Not thread-safe; callers render one scrape at a time.
+ */
+final class OpenMetricsWriter {
+
+  private byte[] buffer;
+  private int size;
+  private boolean labelsOpen;
+  // Digits of a long, written backwards
+  private final byte[] digits = new byte[20];
+
+  OpenMetricsWriter(int initialCapacity) {
+    this.buffer = new byte[initialCapacity];
+  }
+
+  /** Discards the previous scrape, keeping the buffer. */
+  void reset() {
+    size = 0;
+    labelsOpen = false;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Writes the {@code # TYPE} and {@code # HELP} lines of a metric family. Samples of the family
+   * must follow before the next family starts.
+   *
+   * @param name family name; counters omit the {@code _total} suffix of their samples
+   * @param type counter, gauge or summary
+   * @param help description
+   * @return this writer
+   */
+  OpenMetricsWriter family(String name, String type, String help) {
+    append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    append("# HELP ").append(name).append(' ');
+    for (int i = 0; i < help.length(); i++) {
+      char c = help.charAt(i);
+      if (c == '\\') {
+        append("\\\\");
+      } else if (c == '\n') {
+        append("\\n");
+      } else {
+        append(c);
+      }
+    }
+    return append('\n');
+  }
+
+  /**
+   * Starts a sample line.
+   *
+   * @param name sample name, e.g. {@code ado_http_requests_total}
+   * @return this writer
+   */
+  OpenMetricsWriter sample(String name) {
+    labelsOpen = false;
+    return append(name);
+  }
+
+  /**
+   * Adds a label to the current sample, escaping the value.
+   *
+   * @param name label name
+   * @param value label value
+   * @return this writer
+   */
+  OpenMetricsWriter label(String name, String value) {
+    openLabel(name);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' || c == '"') {
+        append('\\').append(c);
+      } else if (c == '\n') {
+        append("\\n");
+      } else {
+        append(c);
+      }
+    }
+    return append('"');
+  }
+
+  /**
+   * Adds a label with an integral value to the current sample.
+   *
+   * @param name label name
+   * @param value label value
+   * @return this writer
+   */
+  OpenMetricsWriter label(String name, long value) {
+    openLabel(name);
+    appendLong(value);
+    return append('"');
+  }
+
+  /**
+   * Ends the current sample with its value.
+   *
+   * @param value sample value
+   */
+  void value(long value) {
+    closeLabels();
+    appendLong(value);
+    append('\n');
+  }
+
+  /**
+   * Ends the current sample with its value.
+   *
+   * @param value sample value; whole numbers are written without a fraction
+   */
+  void value(double value) {
+    closeLabels();
+    if (Double.isNaN(value)) {
+      append("NaN");
+    } else if (Double.isInfinite(value)) {
+      append(value > 0 ? "+Inf" : "-Inf");
+    } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      appendLong((long) value);
+    } else {
+      append(Double.toString(value));
+    }
+    append('\n');
+  }
+
+  /** Writes the {@code # EOF} marker that ends an exposition. */
+  void eof() {
+    append("# EOF\n");
+  }
+
+  /**
+   * Copies the rendered exposition to a stream.
+   *
+   * @param out destination
+   * @throws IOException if writing fails
+   */
+  void writeTo(OutputStream out) throws IOException {
+    out.write(buffer, 0, size);
+  }
+
+  @Override
+  public String toString() {
+    return new String(buffer, 0, size, StandardCharsets.UTF_8);
+  }
+
+  private void openLabel(String name) {
+    append(labelsOpen ? ',' : '{');
+    labelsOpen = true;
+    append(name).append("=\"");
+  }
+
+  private void closeLabels() {
+    if (labelsOpen) {
+      append('}');
+      labelsOpen = false;
+    }
+    append(' ');
+  }
+
+  private OpenMetricsWriter append(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      append(text.charAt(i));
+    }
+    return this;
+  }
+
+  private OpenMetricsWriter append(char c) {
+    if (c < 0x80) {
+      ensureCapacity(1);
+      buffer[size++] = (byte) c;
+    } else if (c < 0x800) {
+      ensureCapacity(2);
+      buffer[size++] = (byte) (0xC0 | (c >> 6));
+      buffer[size++] = (byte) (0x80 | (c & 0x3F));
+    } else if (Character.isSurrogate(c)) {
+      // Only reached through names and labels, which are never outside the BMP in practice
+      append('?');
+    } else {
+      ensureCapacity(3);
+      buffer[size++] = (byte) (0xE0 | (c >> 12));
+      buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+      buffer[size++] = (byte) (0x80 | (c & 0x3F));
+    }
+    return this;
+  }
+
+  private void appendLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      append(Long.toString(value));
+      return;
+    }
+    if (value < 0) {
+      append('-');
+      value = -value;
+    }
+    int count = 0;
+    do {
+      digits[count++] = (byte) ('0' + value % 10);
+      value /= 10;
+    } while (value > 0);
+    ensureCapacity(count);
+    while (count > 0) {
+      buffer[size++] = digits[--count];
+    }
+  }
+
+  private void ensureCapacity(int extra) {
+    if (size + extra > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package pc.ado.metrics;
+
+/** Stages of a report run that {@link ResourceAccounting} attributes resources to. */
+public enum Phase {
+  FETCH_ITERATIONS("fetchIterations"),
+  CAPACITIES("capacities"),
+  WORK_ITEMS("workItems"),
+  TASKS("tasks"),
+  PULL_REQUESTS("pullRequests"),
+  FORMAT("format"),
+  WRITE("write");
+
+  private final String value;
+
+  Phase(String value) {
+    this.value = value;
+  }
+
+  public String getValue() {
+    return value;
+  }
+}
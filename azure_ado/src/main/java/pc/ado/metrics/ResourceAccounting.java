@@ -0,0 +1,419 @@
+package pc.ado.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Attributes CPU time, allocated bytes, wall time and API calls to run phases and to each
+ * team/iteration.
+ *
+ * <p>Work is wrapped in scopes opened on the thread doing it:
+ *
+ * <pre>{@code
+ * accounting.measure(Phase.CAPACITIES, team, sprint, () -> {
+ *   ...
+ * });
+ * }</pre>
+ *
+ * <p>Measurements come from the per-thread counters of {@code com.sun.management.ThreadMXBean}, so
+ * they stay correct when several hydrate threads run at once. Scopes nest per thread: opening a
+ * scope pauses the enclosing one, so every phase is charged only for its own work (a work item
+ * scope does not include the tasks and pull requests fetched inside it). A nested scope without
+ * team or iteration inherits them from the enclosing scope. API calls are counted with {@link
+ * #countRequest()} against the innermost open scope of the calling thread.
+ */
+public class ResourceAccounting {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResourceAccounting.class);
+
+  private static final String NONE = "(none)";
+  private static final Scope NO_OP_SCOPE = () -> {};
+
+  private final boolean enabled;
+  private final com.sun.management.ThreadMXBean threadBean;
+  private final boolean allocationSupported;
+  private final ThreadLocal<Deque<ActiveScope>> scopes = ThreadLocal.withInitial(ArrayDeque::new);
+  private final Map<Phase, Totals> phases = new EnumMap<>(Phase.class);
+  private final Map<String, Map<String, Totals>> teams = new ConcurrentHashMap<>();
+  private final Map<Thread, ActiveScope> innermost = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an accounting facility.
+   *
+   * @param enabled whether to measure; when false scopes are no-ops
+   */
+  public ResourceAccounting(boolean enabled) {
+    com.sun.management.ThreadMXBean bean = null;
+    if (enabled
+        && ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean sunBean
+        && sunBean.isCurrentThreadCpuTimeSupported()) {
+      bean = sunBean;
+      if (!bean.isThreadCpuTimeEnabled()) {
+        bean.setThreadCpuTimeEnabled(true);
+      }
+      if (bean.isThreadAllocatedMemorySupported() && !bean.isThreadAllocatedMemoryEnabled()) {
+        bean.setThreadAllocatedMemoryEnabled(true);
+      }
+    } else if (enabled) {
+      logger.warn("Per-thread CPU time is not supported by this JVM, resource accounting disabled");
+    }
+    this.threadBean = bean;
+    this.enabled = bean != null;
+    this.allocationSupported = bean != null && bean.isThreadAllocatedMemoryEnabled();
+    for (Phase phase : Phase.values()) {
+      phases.put(phase, new Totals());
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Opens a scope on the current thread. Close it on the same thread.
+   *
+   * @param phase phase the work belongs to
+   * @param team team name, or null to inherit from the enclosing scope
+   * @param iteration iteration name, or null to inherit from the enclosing scope
+   * @return scope to close when the work is done
+   */
+  public Scope open(Phase phase, String team, String iteration) {
+    if (!enabled) {
+      return NO_OP_SCOPE;
+    }
+    Deque<ActiveScope> stack = scopes.get();
+    Sample now = sample();
+    ActiveScope parent = stack.peek();
+    if (parent != null) {
+      parent.charge(now);
+      team = team == null ? parent.team : team;
+      iteration = iteration == null ? parent.iteration : iteration;
+    }
+    ActiveScope scope =
+        new ActiveScope(
+            phase, team == null ? NONE : team, iteration == null ? NONE : iteration, now, stack);
+    stack.push(scope);
+    innermost.put(Thread.currentThread(), scope);
+    return scope;
+  }
+
+  /**
+   * Runs work in a scope on the current thread.
+   *
+   * @param <E> exception thrown by the work
+   * @param phase phase the work belongs to
+   * @param team team name, or null to inherit from the enclosing scope
+   * @param iteration iteration name, or null to inherit from the enclosing scope
+   * @param work work to measure
+   * @throws E if the work fails; the scope is closed either way
+   */
+  public <E extends Exception> void measure(
+      Phase phase, String team, String iteration, Work<E> work) throws E {
+    Scope scope = open(phase, team, iteration);
+    try {
+      work.run();
+    } finally {
+      scope.close();
+    }
+  }
+
+  /**
+   * Runs work that produces a result in a scope on the current thread.
+   *
+   * @param <T> result type
+   * @param <E> exception thrown by the work
+   * @param phase phase the work belongs to
+   * @param team team name, or null to inherit from the enclosing scope
+   * @param iteration iteration name, or null to inherit from the enclosing scope
+   * @param work work to measure
+   * @return result of the work
+   * @throws E if the work fails; the scope is closed either way
+   */
+  public <T, E extends Exception> T measure(
+      Phase phase, String team, String iteration, ResultWork<T, E> work) throws E {
+    Scope scope = open(phase, team, iteration);
+    try {
+      return work.call();
+    } finally {
+      scope.close();
+    }
+  }
+
+  /** Counts one API call against the innermost open scope of the current thread. */
+  public void countRequest() {
+    if (enabled) {
+      ActiveScope scope = scopes.get().peek();
+      if (scope != null) {
+        scope.requests++;
+      }
+    }
+  }
+
+  /**
+   * Describes the work in progress, for diagnostics raised on another thread such as a memory
+   * alert.
+   *
+   * @return innermost open scope of each thread, e.g. {@code workItems (team 'A', iteration 'S1')
+   *     on hydrate-1}, or "none" if nothing is open or accounting is disabled
+   */
+  public String describeActiveScopes() {
+    List<String> active = new ArrayList<>();
+    innermost.forEach(
+        (thread, scope) ->
+            active.add(
+                String.format(
+                    "%s (team '%s', iteration '%s') on %s",
+                    scope.phase.getValue(), scope.team, scope.iteration, thread.getName())));
+    if (active.isEmpty()) {
+      return "none";
+    }
+    Collections.sort(active);
+    return String.join("; ", active);
+  }
+
+  private Sample sample() {
+    return new Sample(
+        System.nanoTime(),
+        threadBean.getCurrentThreadCpuTime(),
+        allocationSupported ? threadBean.getCurrentThreadAllocatedBytes() : 0);
+  }
+
+  private Totals teamTotals(String team, String iteration) {
+    return teams
+        .computeIfAbsent(team, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(iteration, key -> new Totals());
+  }
+
+  /**
+   * Gets the totals per phase.
+   *
+   * @return usage by phase, in phase order
+   */
+  public Map<Phase, Usage> getPhaseUsage() {
+    Map<Phase, Usage> usage = new EnumMap<>(Phase.class);
+    phases.forEach((phase, totals) -> usage.put(phase, totals.usage()));
+    return Collections.unmodifiableMap(usage);
+  }
+
+  /**
+   * Gets the totals per team and iteration. Work outside any iteration, such as listing a team's
+   * sprints, is reported under iteration {@code "(none)"}.
+   *
+   * @return usage by team, then by iteration, both sorted by name
+   */
+  public Map<String, Map<String, Usage>> getIterationUsage() {
+    Map<String, Map<String, Usage>> usage = new TreeMap<>();
+    teams.forEach(
+        (team, iterations) -> {
+          Map<String, Usage> byIteration = new TreeMap<>();
+          iterations.forEach((iteration, totals) -> byIteration.put(iteration, totals.usage()));
+          usage.put(team, Collections.unmodifiableMap(byIteration));
+        });
+    return Collections.unmodifiableMap(usage);
+  }
+
+  /**
+   * Gets the totals per team, summed over its iterations.
+   *
+   * @return usage by team, sorted by name
+   */
+  public Map<String, Usage> getTeamUsage() {
+    Map<String, Usage> usage = new LinkedHashMap<>();
+    getIterationUsage()
+        .forEach(
+            (team, iterations) ->
+                usage.put(team, iterations.values().stream().reduce(Usage.ZERO, Usage::plus)));
+    return Collections.unmodifiableMap(usage);
+  }
+
+  /**
+   * Renders the phase and team breakdowns as fixed-width tables.
+   *
+   * @param includeIterations whether to add one line per team/iteration
+   * @return breakdown tables
+   */
+  public String summary(boolean includeIterations) {
+    StringBuilder sb = new StringBuilder();
+    appendHeader(sb, "phase");
+    getPhaseUsage()
+        .forEach(
+            (phase, usage) -> {
+              if (usage.scopes() > 0) {
+                appendRow(sb, phase.getValue(), usage);
+              }
+            });
+    sb.append(System.lineSeparator());
+    appendHeader(sb, "team");
+    getTeamUsage().forEach((team, usage) -> appendRow(sb, team, usage));
+    if (includeIterations) {
+      sb.append(System.lineSeparator());
+      appendHeader(sb, "team / iteration");
+      getIterationUsage()
+          .forEach(
+              (team, iterations) ->
+                  iterations.forEach(
+                      (iteration, usage) -> appendRow(sb, team + " / " + iteration, usage)));
+    }
+    return sb.toString().stripTrailing();
+  }
+
+  private static void appendHeader(StringBuilder sb, String name) {
+    sb.append(
+        String.format(
+            "%-32s %8s %10s %10s %12s %9s%n",
+            name, "scopes", "wall ms", "cpu ms", "alloc MB", "api calls"));
+  }
+
+  private static void appendRow(StringBuilder sb, String name, Usage usage) {
+    sb.append(
+        String.format(
+            "%-32s %8d %10d %10d %12.1f %9d%n",
+            name,
+            usage.scopes(),
+            TimeUnit.NANOSECONDS.toMillis(usage.wallNanos()),
+            TimeUnit.NANOSECONDS.toMillis(usage.cpuNanos()),
+            usage.allocatedBytes() / (1024.0 * 1024.0),
+            usage.requests()));
+  }
+
+  /** An open accounting scope. */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  /**
+   * Work run by {@link #measure(Phase, String, String, Work)}.
+   *
+   * @param <E> exception thrown by the work
+   */
+  @FunctionalInterface
+  public interface Work<E extends Exception> {
+    void run() throws E;
+  }
+
+  /**
+   * Work with a result run by {@link #measure(Phase, String, String, ResultWork)}.
+   *
+   * @param <T> result type
+   * @param <E> exception thrown by the work
+   */
+  @FunctionalInterface
+  public interface ResultWork<T, E extends Exception> {
+    T call() throws E;
+  }
+
+  /**
+   * Resources used by a phase, team or iteration. Times are exclusive of nested scopes.
+   *
+   * @param scopes number of scopes closed
+   * @param wallNanos wall clock time
+   * @param cpuNanos thread CPU time
+   * @param allocatedBytes bytes allocated on the heap
+   * @param requests API calls made
+   */
+  public record Usage(
+      long scopes, long wallNanos, long cpuNanos, long allocatedBytes, long requests) {
+
+    public static final Usage ZERO = new Usage(0, 0, 0, 0, 0);
+
+    public Usage plus(Usage other) {
+      return new Usage(
+          scopes + other.scopes,
+          wallNanos + other.wallNanos,
+          cpuNanos + other.cpuNanos,
+          allocatedBytes + other.allocatedBytes,
+          requests + other.requests);
+    }
+  }
+
+  private record Sample(long wallNanos, long cpuNanos, long allocatedBytes) {}
+
+  /** Running totals, updated concurrently by closing scopes. */
+  private static final class Totals {
+    private final LongAdder scopes = new LongAdder();
+    private final LongAdder wallNanos = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+
+    private void add(long wall, long cpu, long allocated) {
+      wallNanos.add(wall);
+      cpuNanos.add(cpu);
+      allocatedBytes.add(allocated);
+    }
+
+    private Usage usage() {
+      return new Usage(
+          scopes.sum(), wallNanos.sum(), cpuNanos.sum(), allocatedBytes.sum(), requests.sum());
+    }
+  }
+
+  /** Scope on a thread's stack; charges its exclusive usage whenever it is paused or closed. */
+  private final class ActiveScope implements Scope {
+    private final Phase phase;
+    private final String team;
+    private final String iteration;
+    private final Deque<ActiveScope> stack;
+    private Sample start;
+    private long requests;
+
+    private ActiveScope(
+        Phase phase, String team, String iteration, Sample start, Deque<ActiveScope> stack) {
+      this.phase = phase;
+      this.team = team;
+      this.iteration = iteration;
+      this.start = start;
+      this.stack = stack;
+    }
+
+    /** Charges usage since the last start and restarts the measurement at {@code now}. */
+    private void charge(Sample now) {
+      long wall = now.wallNanos() - start.wallNanos();
+      long cpu = now.cpuNanos() - start.cpuNanos();
+      long allocated = now.allocatedBytes() - start.allocatedBytes();
+      phases.get(phase).add(wall, cpu, allocated);
+      teamTotals(team, iteration).add(wall, cpu, allocated);
+      start = now;
+    }
+
+    @Override
+    public void close() {
+      if (stack.peek() != this) {
+        logger.warn("Resource scope {} closed out of order, ignoring", phase.getValue());
+        return;
+      }
+      Sample now = sample();
+      charge(now);
+      Totals phaseTotals = phases.get(phase);
+      Totals iterationTotals = teamTotals(team, iteration);
+      phaseTotals.scopes.increment();
+      iterationTotals.scopes.increment();
+      phaseTotals.requests.add(requests);
+      iterationTotals.requests.add(requests);
+      stack.pop();
+      ActiveScope parent = stack.peek();
+      if (parent != null) {
+        // Resume the enclosing scope after this one
+        parent.start = now;
+        innermost.put(Thread.currentThread(), parent);
+      } else {
+        innermost.remove(Thread.currentThread());
+      }
+    }
+  }
+}
@@ -0,0 +1,256 @@
+package pc.ado.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Output stream that writes the BGZF (blocked gzip) format.
+ *
+ * <p>Data is cut into blocks of at most {@value #MAX_BLOCK_INPUT} bytes and each block is written
+ * as a complete gzip member whose header carries its compressed size in a {@code BC} extra field.
+ * The result is a valid multi-member gzip file, so standard tools can read it, while readers that
+ * understand BGZF can jump from block to block without inflating and decompress blocks in parallel.
+ * The stream ends with the standard empty EOF block.
+ *
+ * <p>The offsets of every block are kept and can be written as a {@code .gzi} index via {@link
+ * #writeIndex(OutputStream)}.
+ */
+public class BlockGzipOutputStream extends OutputStream {
+
+  /** Largest uncompressed block that is guaranteed to fit a 64 KB compressed block. */
+  public static final int MAX_BLOCK_INPUT = 0xff00;
+
+  private static final int MAX_BLOCK_SIZE = 0x10000;
+  private static final int HEADER_LENGTH = 18;
+  private static final int FOOTER_LENGTH = 8;
+  private static final byte[] EOF_BLOCK = {
+    0x1f,
+    (byte) 0x8b,
+    0x08,
+    0x04,
+    0x00,
+    0x00,
+    0x00,
+    0x00,
+    0x00,
+    (byte) 0xff,
+    0x06,
+    0x00,
+    0x42,
+    0x43,
+    0x02,
+    0x00,
+    0x1b,
+    0x00,
+    0x03,
+    0x00,
+    0x00,
+    0x00,
+    0x00,
+    0x00,
+    0x00,
+    0x00,
+    0x00,
+    0x00
+  };
+
+  private final OutputStream out;
+  private final Deflater deflater;
+  private final int level;
+  private final CRC32 crc = new CRC32();
+  private final byte[] input = new byte[MAX_BLOCK_INPUT];
+  private final byte[] compressed = new byte[MAX_BLOCK_SIZE];
+  private final byte[] block = new byte[MAX_BLOCK_SIZE];
+  private final List<long[]> blockOffsets = new ArrayList<>();
+  private int inputLength;
+  private long compressedOffset;
+  private long uncompressedOffset;
+  private boolean closed;
+
+  public BlockGzipOutputStream(OutputStream out) {
+    this(out, Deflater.DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * Creates a BGZF stream with the given deflate level.
+   *
+   * @param out destination stream
+   * @param level deflate level (0-9, or -1 for the default)
+   */
+  public BlockGzipOutputStream(OutputStream out, int level) {
+    this.out = out;
+    this.level = level;
+    this.deflater = new Deflater(level, true);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    ensureOpen();
+    input[inputLength++] = (byte) b;
+    if (inputLength == MAX_BLOCK_INPUT) {
+      writeBlock();
+    }
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    ensureOpen();
+    while (len > 0) {
+      int chunk = Math.min(len, MAX_BLOCK_INPUT - inputLength);
+      System.arraycopy(b, off, input, inputLength, chunk);
+      inputLength += chunk;
+      off += chunk;
+      len -= chunk;
+      if (inputLength == MAX_BLOCK_INPUT) {
+        writeBlock();
+      }
+    }
+  }
+
+  /**
+   * Flushes the underlying stream.
+   *
+   * <p>Like {@link java.util.zip.GZIPOutputStream} without sync flush, a partially filled block is
+   * kept until it is full or the stream is closed, so frequent flushes do not fragment the file.
+   */
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+    out.flush();
+  }
+
+  private void writeBlock() throws IOException {
+    int compressedLength = deflate(input, inputLength);
+    if (compressedLength < 0) {
+      // Incompressible data expanded past the block limit; store it instead
+      deflater.setLevel(Deflater.NO_COMPRESSION);
+      compressedLength = deflate(input, inputLength);
+      deflater.setLevel(level);
+    }
+    crc.reset();
+    crc.update(input, 0, inputLength);
+
+    int blockSize = HEADER_LENGTH + compressedLength + FOOTER_LENGTH;
+    int pos = 0;
+    block[pos++] = 0x1f;
+    block[pos++] = (byte) 0x8b;
+    block[pos++] = 8; // CM = deflate
+    block[pos++] = 4; // FLG = FEXTRA
+    pos = putInt(block, pos, 0); // MTIME
+    block[pos++] = 0; // XFL
+    block[pos++] = (byte) 0xff; // OS = unknown
+    pos = putShort(block, pos, 6); // XLEN
+    block[pos++] = 'B';
+    block[pos++] = 'C';
+    pos = putShort(block, pos, 2); // SLEN
+    pos = putShort(block, pos, blockSize - 1); // BSIZE
+    System.arraycopy(compressed, 0, block, pos, compressedLength);
+    pos += compressedLength;
+    pos = putInt(block, pos, (int) crc.getValue());
+    pos = putInt(block, pos, inputLength);
+    out.write(block, 0, pos);
+
+    blockOffsets.add(new long[] {compressedOffset, uncompressedOffset});
+    compressedOffset += blockSize;
+    uncompressedOffset += inputLength;
+    inputLength = 0;
+  }
+
+  /**
+   * Deflates the data into {@link #compressed}.
+   *
+   * @return compressed length, or -1 if it does not fit in a block
+   */
+  private int deflate(byte[] data, int length) {
+    int limit = MAX_BLOCK_SIZE - HEADER_LENGTH - FOOTER_LENGTH;
+    deflater.reset();
+    deflater.setInput(data, 0, length);
+    deflater.finish();
+    int total = 0;
+    while (!deflater.finished()) {
+      if (total == limit) {
+        return -1;
+      }
+      total += deflater.deflate(compressed, total, limit - total);
+    }
+    return total;
+  }
+
+  private static int putShort(byte[] buffer, int pos, int value) {
+    buffer[pos] = (byte) value;
+    buffer[pos + 1] = (byte) (value >>> 8);
+    return pos + 2;
+  }
+
+  private static int putInt(byte[] buffer, int pos, int value) {
+    buffer[pos] = (byte) value;
+    buffer[pos + 1] = (byte) (value >>> 8);
+    buffer[pos + 2] = (byte) (value >>> 16);
+    buffer[pos + 3] = (byte) (value >>> 24);
+    return pos + 4;
+  }
+
+  /**
+   * Returns the (compressed offset, uncompressed offset) pair of every block written so far.
+   *
+   * @return block offsets in file order
+   */
+  public List<long[]> getBlockOffsets() {
+    return List.copyOf(blockOffsets);
+  }
+
+  /**
+   * Writes the block index in the bgzip {@code .gzi} layout: the number of entries followed by
+   * (compressed offset, uncompressed offset) pairs for every block after the first, all as
+   * little-endian unsigned 64-bit integers.
+   *
+   * @param indexOut destination stream
+   * @throws IOException if writing fails
+   */
+  public void writeIndex(OutputStream indexOut) throws IOException {
+    int entries = Math.max(0, blockOffsets.size() - 1);
+    byte[] buffer = new byte[Long.BYTES];
+    writeLong(indexOut, buffer, entries);
+    for (int i = 1; i < blockOffsets.size(); i++) {
+      writeLong(indexOut, buffer, blockOffsets.get(i)[0]);
+      writeLong(indexOut, buffer, blockOffsets.get(i)[1]);
+    }
+    indexOut.flush();
+  }
+
+  private static void writeLong(OutputStream target, byte[] buffer, long value) throws IOException {
+    for (int i = 0; i < Long.BYTES; i++) {
+      buffer[i] = (byte) (value >>> (8 * i));
+    }
+    target.write(buffer);
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  /** Writes any pending block and the EOF marker, then closes the underlying stream. */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      if (inputLength > 0) {
+        writeBlock();
+      }
+      out.write(EOF_BLOCK);
+      out.flush();
+    } finally {
+      closed = true;
+      deflater.end();
+      out.close();
+    }
+  }
+}
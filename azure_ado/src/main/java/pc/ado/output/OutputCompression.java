@@ -0,0 +1,71 @@
+package pc.ado.output;
+
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Compression applied to report files while they are written. */
+public enum OutputCompression {
+  /** Plain, uncompressed output. */
+  NONE("none"),
+  /** A single gzip stream. Smallest output, but must be decompressed sequentially. */
+  GZIP("gzip"),
+  /**
+   * Blocked gzip (BGZF): independent gzip members of at most 64 KB each. Readable by any gzip tool,
+   * and seekable / parallel-decompressible using the block sizes or the {@code .gzi} index.
+   */
+  BGZF("bgzf");
+
+  private static final Logger logger = LoggerFactory.getLogger(OutputCompression.class);
+
+  private final String value;
+
+  OutputCompression(String value) {
+    this.value = value;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  /**
+   * Resolves the compression from a config value, falling back to the file extension when the value
+   * is empty or {@code auto}.
+   *
+   * @param value configured compression (none, gzip, bgzf, auto)
+   * @param filePath output file path used for extension detection
+   * @return the resolved compression
+   */
+  public static OutputCompression resolve(String value, String filePath) {
+    if (value != null && !value.isBlank() && !value.trim().equalsIgnoreCase("auto")) {
+      for (OutputCompression compression : values()) {
+        if (compression.value.equalsIgnoreCase(value.trim())) {
+          return compression;
+        }
+      }
+      logger.warn("Unknown output compression '{}', detecting from file extension", value);
+    }
+    return fromExtension(filePath);
+  }
+
+  /**
+   * Detects the compression from the file extension: {@code .bgz}/{@code .bgzf} select BGZF, {@code
+   * .gz} selects gzip and anything else is uncompressed.
+   *
+   * @param filePath output file path
+   * @return the detected compression
+   */
+  public static OutputCompression fromExtension(String filePath) {
+    if (filePath == null) {
+      return NONE;
+    }
+    String lower = filePath.toLowerCase(Locale.ROOT);
+    if (lower.endsWith(".bgz") || lower.endsWith(".bgzf")) {
+      return BGZF;
+    }
+    if (lower.endsWith(".gz")) {
+      return GZIP;
+    }
+    return NONE;
+  }
+}
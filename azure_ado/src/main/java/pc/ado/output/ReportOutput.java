@@ -0,0 +1,44 @@
+package pc.ado.output;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single report destination: the formatter type to render with and the file to write to.
+ *
+ * @param formatterType formatter type (json, tsv, columnar, ...)
+ * @param filePath report file path
+ */
+public record ReportOutput(String formatterType, String filePath) {
+
+  /**
+   * Parses a comma separated list of {@code format:path} entries, e.g. {@code
+   * tsv:results.tsv,json:results.json}. The format is split at the first colon so Windows paths
+   * such as {@code json:C:\reports\results.json} are kept intact.
+   *
+   * @param value configured outputs list
+   * @return parsed outputs, empty when the value is blank
+   * @throws IllegalArgumentException if an entry has no format or no path
+   */
+  public static List<ReportOutput> parseList(String value) {
+    List<ReportOutput> outputs = new ArrayList<>();
+    if (value == null || value.isBlank()) {
+      return outputs;
+    }
+    for (String entry : value.split(",")) {
+      String trimmed = entry.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      int separator = trimmed.indexOf(':');
+      if (separator <= 0 || separator == trimmed.length() - 1) {
+        throw new IllegalArgumentException(
+            "Invalid output '" + trimmed + "', expected format:path (e.g. tsv:results.tsv)");
+      }
+      outputs.add(
+          new ReportOutput(
+              trimmed.substring(0, separator).trim(), trimmed.substring(separator + 1).trim()));
+    }
+    return outputs;
+  }
+}
@@ -0,0 +1,82 @@
+package pc.ado.output;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Opens report output files, applying the configured compression on the fly. */
+public final class ReportOutputStreams {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReportOutputStreams.class);
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /** Suffix of the BGZF block index written next to the report. */
+  public static final String INDEX_SUFFIX = ".gzi";
+
+  private ReportOutputStreams() {
+    // Utility class - prevent instantiation
+  }
+
+  /**
+   * Opens a report file for writing, truncating any existing content.
+   *
+   * @param filePath report file path
+   * @param compression compression to apply
+   * @param writeIndex whether to write a {@code .gzi} block index next to BGZF output
+   * @return stream that compresses while writing; closing it finishes the compressed file
+   * @throws IOException if the file cannot be opened
+   */
+  public static OutputStream open(
+      String filePath, OutputCompression compression, boolean writeIndex) throws IOException {
+    OutputStream file = new BufferedOutputStream(new FileOutputStream(filePath), BUFFER_SIZE);
+    try {
+      switch (compression) {
+        case GZIP:
+          logger.debug("Writing gzip compressed report to {}", filePath);
+          return new GZIPOutputStream(file, BUFFER_SIZE);
+        case BGZF:
+          logger.debug("Writing BGZF compressed report to {}", filePath);
+          BlockGzipOutputStream blocks = new BlockGzipOutputStream(file);
+          return writeIndex ? new IndexingOutputStream(blocks, filePath + INDEX_SUFFIX) : blocks;
+        case NONE:
+        default:
+          return file;
+      }
+    } catch (IOException e) {
+      file.close();
+      throw e;
+    }
+  }
+
+  /** Writes the BGZF block index once the compressed stream has been closed. */
+  private static final class IndexingOutputStream extends FilterOutputStream {
+    private final BlockGzipOutputStream blocks;
+    private final String indexPath;
+
+    IndexingOutputStream(BlockGzipOutputStream blocks, String indexPath) {
+      super(blocks);
+      this.blocks = blocks;
+      this.indexPath = indexPath;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      super.close();
+      try (OutputStream index = new BufferedOutputStream(new FileOutputStream(indexPath))) {
+        blocks.writeIndex(index);
+      }
+      logger.debug(
+          "Wrote BGZF index with {} blocks to {}", blocks.getBlockOffsets().size(), indexPath);
+    }
+  }
+}
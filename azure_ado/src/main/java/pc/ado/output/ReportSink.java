@@ -0,0 +1,229 @@
+package pc.ado.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.WorkItem;
+import pc.ado.formatter.IterationFormatter;
+import pc.ado.formatter.IterationWriter;
+import pc.ado.jfr.FormatEvent;
+import pc.ado.jfr.WriteEvent;
+import pc.ado.metrics.Phase;
+import pc.ado.metrics.ResourceAccounting;
+
+/**
+ * Writes one report output on its own thread.
+ *
+ * <p>Iterations handed to {@link #accept(Iteration)} are queued in a bounded buffer and formatted
+ * by the sink thread, so several outputs can be produced from a single walk over the iterations and
+ * a slow format (or a slow disk) only holds back the producer once its buffer is full.
+ */
+public class ReportSink {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReportSink.class);
+
+  // Marks the end of the input; compared by identity
+  private static final Iteration END_OF_INPUT = new Iteration(null, null, null, null, null, null);
+
+  private final ReportOutput output;
+  private final IterationFormatter formatter;
+  private final OutputCompression compression;
+  private final boolean writeCompressionIndex;
+  private final BlockingQueue<Iteration> queue;
+  private final Thread thread;
+  private final ResourceAccounting accounting;
+  private volatile Exception failure;
+  private int written;
+
+  /**
+   * Creates a sink; call {@link #start()} before feeding it.
+   *
+   * @param output destination format and file
+   * @param formatter formatter for the output format
+   * @param compression compression applied to the file
+   * @param writeCompressionIndex whether to write a block index for BGZF output
+   * @param bufferSize number of iterations that may be queued before the producer blocks
+   */
+  public ReportSink(
+      ReportOutput output,
+      IterationFormatter formatter,
+      OutputCompression compression,
+      boolean writeCompressionIndex,
+      int bufferSize) {
+    this(
+        output,
+        formatter,
+        compression,
+        writeCompressionIndex,
+        bufferSize,
+        new ResourceAccounting(false));
+  }
+
+  /**
+   * Creates a sink that accounts formatting per iteration and opening/closing the file as writing.
+   *
+   * @param output destination format and file
+   * @param formatter formatter for the output format
+   * @param compression compression applied to the file
+   * @param writeCompressionIndex whether to write a block index for BGZF output
+   * @param bufferSize number of iterations that may be queued before the producer blocks
+   * @param accounting resource accounting for the format and write phases
+   */
+  public ReportSink(
+      ReportOutput output,
+      IterationFormatter formatter,
+      OutputCompression compression,
+      boolean writeCompressionIndex,
+      int bufferSize,
+      ResourceAccounting accounting) {
+    this.output = output;
+    this.accounting = accounting;
+    this.formatter = formatter;
+    this.compression = compression;
+    this.writeCompressionIndex = writeCompressionIndex;
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+    this.thread = new Thread(this::run, "report-sink-" + output.formatterType());
+  }
+
+  public ReportOutput getOutput() {
+    return output;
+  }
+
+  /** Starts the sink thread. */
+  public void start() {
+    thread.start();
+  }
+
+  /**
+   * Queues an iteration for writing, blocking while the buffer is full. Iterations are dropped once
+   * the sink has failed so one broken output does not stall the others.
+   *
+   * @param iteration iteration to write
+   * @throws InterruptedException if interrupted while waiting for buffer space
+   */
+  public void accept(Iteration iteration) throws InterruptedException {
+    if (failure != null) {
+      return;
+    }
+    queue.put(iteration);
+  }
+
+  /**
+   * Signals the end of the input and waits for the sink to finish writing.
+   *
+   * @throws IOException if the output could not be written
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void finish() throws IOException, InterruptedException {
+    // The sink may fail while we wait for space, in which case it no longer takes from the queue
+    while (failure == null && !queue.offer(END_OF_INPUT, 100, TimeUnit.MILLISECONDS)) {
+      logger.debug("Waiting for {} to drain", output.filePath());
+    }
+    thread.join();
+    if (failure instanceof IOException ioException) {
+      throw ioException;
+    }
+    if (failure != null) {
+      throw new IOException("Failed to write " + output.filePath(), failure);
+    }
+  }
+
+  private void run() {
+    OutputStream out = null;
+    IterationWriter writer = null;
+    try {
+      WriteEvent opening = new WriteEvent();
+      opening.begin();
+      ResourceAccounting.Scope scope = accounting.open(Phase.WRITE, null, null);
+      try {
+        out = ReportOutputStreams.open(output.filePath(), compression, writeCompressionIndex);
+        writer = formatter.openStream(out);
+      } finally {
+        scope.close();
+      }
+      commit(opening, "open");
+      Iteration iteration;
+      while ((iteration = queue.take()) != END_OF_INPUT) {
+        format(writer, iteration);
+        written++;
+      }
+      // Buffering formats render everything on close, so closing is accounted as writing
+      IterationWriter finishedWriter = writer;
+      OutputStream finishedOut = out;
+      writer = null;
+      out = null;
+      WriteEvent closing = new WriteEvent();
+      closing.begin();
+      accounting.measure(Phase.WRITE, null, null, () -> close(finishedWriter, finishedOut));
+      commit(closing, "close");
+    } catch (Exception e) {
+      try {
+        close(writer, out);
+      } catch (Exception suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      failure = e;
+      // Unblock a producer waiting on a full buffer
+      queue.clear();
+      return;
+    }
+    logger.info("Wrote {} iterations to {}", written, output.filePath());
+  }
+
+  /** Formats one iteration, accounted and recorded as a JFR event. */
+  private void format(IterationWriter writer, Iteration iteration) throws IOException {
+    FormatEvent event = new FormatEvent();
+    event.begin();
+    accounting.measure(
+        Phase.FORMAT, iteration.getTeamName(), iteration.getName(), () -> writer.write(iteration));
+    event.end();
+    if (event.shouldCommit()) {
+      commit(event, iteration);
+    }
+  }
+
+  private void commit(FormatEvent event, Iteration iteration) {
+    event.format = output.formatterType();
+    event.team = iteration.getTeamName();
+    event.iteration = iteration.getName();
+    // Only counted when recording, as off-heap work items are decoded to be walked
+    for (WorkItem workItem : iteration.getWorkItems()) {
+      event.workItems++;
+      event.tasks += workItem.getTasks().size();
+      event.pullRequests += workItem.getPullRequests().size();
+    }
+    event.pullRequests += iteration.getPullRequests().size();
+    event.commit();
+  }
+
+  private void commit(WriteEvent event, String operation) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.format = output.formatterType();
+      event.path = output.filePath();
+      event.operation = operation;
+      event.iterations = written;
+      try {
+        event.fileSize = Files.size(Path.of(output.filePath()));
+      } catch (IOException | RuntimeException e) {
+        event.fileSize = -1;
+      }
+      event.commit();
+    }
+  }
+
+  /** Closes the writer, then the stream; null arguments are skipped. */
+  private static void close(IterationWriter writer, OutputStream out) throws IOException {
+    try (out;
+        writer) {
+      // Resources close in reverse order
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package pc.ado.pipeline;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.ado.dto.Iteration;
+
+/**
+ * Runs a report as a staged pipeline with bounded memory.
+ *
+ * <p>The stages are connected by bounded buffers, so each one blocks when the next falls behind:
+ *
+ * <ol>
+ *   <li>fetch: one thread lists the iterations to report (the iteration shells, without work items)
+ *       and queues them;
+ *   <li>hydrate: {@code hydrateThreads} workers load capacities and work items for each iteration;
+ *   <li>order: completed iterations are put back into fetch order by a {@link
+ *       SpillingReorderBuffer}, which spills early arrivals to disk beyond {@code
+ *       maxBufferedIterations};
+ *   <li>format: the calling thread hands iterations to the output stage in order.
+ * </ol>
+ *
+ * <p>At most {@code queueSize} iteration shells, {@code hydrateThreads} iterations being hydrated
+ * and {@code maxBufferedIterations} completed iterations are held at once, regardless of how many
+ * teams and sprints the run covers. The first failure in any stage stops the others and is rethrown
+ * from {@link #run(Source, Stage, Stage)}.
+ */
+public class IterationPipeline {
+
+  private static final Logger logger = LoggerFactory.getLogger(IterationPipeline.class);
+
+  /** Fetch stage: emits the iterations to report, in output order. */
+  @FunctionalInterface
+  public interface Source {
+    void produce(Emitter emitter) throws Exception;
+  }
+
+  /** Receives iterations from a {@link Source}, blocking while the pipeline is full. */
+  @FunctionalInterface
+  public interface Emitter {
+    void emit(Iteration iteration) throws InterruptedException;
+  }
+
+  /** Hydrate or format stage: processes one iteration. */
+  @FunctionalInterface
+  public interface Stage {
+    void process(Iteration iteration) throws Exception;
+  }
+
+  private record Sequenced(long sequence, Iteration iteration) {}
+
+  // Marks the end of the fetch output for one hydrate worker; compared by identity
+  private static final Sequenced END_OF_INPUT = new Sequenced(-1, null);
+
+  private final int queueSize;
+  private final int hydrateThreads;
+  private final int maxBufferedIterations;
+  private final Path spillDirectory;
+  private final int spillSegmentSize;
+  private long iterationCount;
+  private long spilledCount;
+
+  /**
+   * Creates a pipeline.
+   *
+   * @param queueSize iterations queued between the fetch and hydrate stages
+   * @param hydrateThreads number of hydrate workers
+   * @param maxBufferedIterations completed iterations kept in memory while waiting for their turn
+   * @param spillDirectory directory for the temporary spill file
+   * @param spillSegmentSize size of each spill file segment in bytes
+   */
+  public IterationPipeline(
+      int queueSize,
+      int hydrateThreads,
+      int maxBufferedIterations,
+      Path spillDirectory,
+      int spillSegmentSize) {
+    this.queueSize = Math.max(1, queueSize);
+    this.hydrateThreads = Math.max(1, hydrateThreads);
+    this.maxBufferedIterations = maxBufferedIterations;
+    this.spillDirectory = spillDirectory;
+    this.spillSegmentSize = spillSegmentSize;
+  }
+
+  /**
+   * Runs the pipeline to completion.
+   *
+   * @param source fetch stage
+   * @param hydrator hydrate stage, called concurrently from the hydrate workers
+   * @param formatter format stage, called on the calling thread in fetch order
+   * @throws Exception the first failure of any stage
+   */
+  public void run(Source source, Stage hydrator, Stage formatter) throws Exception {
+    BlockingQueue<Sequenced> hydrateQueue = new ArrayBlockingQueue<>(queueSize);
+    try (SpillingReorderBuffer buffer =
+        new SpillingReorderBuffer(maxBufferedIterations, spillDirectory, spillSegmentSize)) {
+      List<Thread> threads = new ArrayList<>();
+      threads.add(start("pipeline-fetch", () -> fetch(source, hydrateQueue, buffer)));
+      for (int i = 0; i < hydrateThreads; i++) {
+        threads.add(start("pipeline-hydrate-" + i, () -> hydrate(hydrator, hydrateQueue, buffer)));
+      }
+
+      boolean completed = false;
+      try {
+        Iteration iteration;
+        while ((iteration = buffer.next()) != null) {
+          formatter.process(iteration);
+          iterationCount++;
+        }
+        completed = true;
+      } catch (Exception e) {
+        buffer.fail(e);
+        throw e;
+      } finally {
+        for (Thread thread : threads) {
+          if (!completed) {
+            thread.interrupt();
+          }
+          thread.join();
+        }
+        spilledCount = buffer.getSpilledCount();
+      }
+    }
+    logger.debug(
+        "Pipeline completed: {} iterations, {} spilled to disk", iterationCount, spilledCount);
+  }
+
+  private void fetch(
+      Source source, BlockingQueue<Sequenced> hydrateQueue, SpillingReorderBuffer buffer) {
+    long[] sequence = {0};
+    try {
+      source.produce(iteration -> hydrateQueue.put(new Sequenced(sequence[0]++, iteration)));
+      buffer.setTotal(sequence[0]);
+      for (int i = 0; i < hydrateThreads; i++) {
+        hydrateQueue.put(END_OF_INPUT);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      buffer.fail(e);
+    }
+  }
+
+  private void hydrate(
+      Stage hydrator, BlockingQueue<Sequenced> hydrateQueue, SpillingReorderBuffer buffer) {
+    try {
+      Sequenced item;
+      while ((item = hydrateQueue.take()) != END_OF_INPUT) {
+        hydrator.process(item.iteration());
+        buffer.complete(item.sequence(), item.iteration());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      buffer.fail(e);
+    }
+  }
+
+  private static Thread start(String name, Runnable task) {
+    Thread thread = new Thread(task, name);
+    thread.start();
+    return thread;
+  }
+
+  /**
+   * Gets the number of iterations passed to the format stage by the last run.
+   *
+   * @return iteration count
+   */
+  public long getIterationCount() {
+    return iterationCount;
+  }
+
+  /**
+   * Gets the number of iterations that were spilled to disk by the last run.
+   *
+   * @return spilled iteration count
+   */
+  public long getSpilledCount() {
+    return spilledCount;
+  }
+}
@@ -0,0 +1,129 @@
+package pc.ado.pipeline;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.ado.dto.Iteration;
+import pc.ado.storage.OffHeapStore;
+
+/**
+ * Restores the original order of iterations completed out of order by parallel stages.
+ *
+ * <p>Iterations are handed in with their sequence number and taken out strictly in sequence. At
+ * most {@code maxInMemory} early arrivals are kept as objects; further ones are serialized to a
+ * temporary file and decoded again when their turn comes, so a slow iteration at the head of the
+ * line does not pull the rest of the run onto the heap.
+ */
+class SpillingReorderBuffer implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(SpillingReorderBuffer.class);
+
+  private final int maxInMemory;
+  private final Path spillDirectory;
+  private final int spillSegmentSize;
+  private final Map<Long, Iteration> inMemory = new HashMap<>();
+  private final Map<Long, Long> spilled = new HashMap<>();
+  private OffHeapStore spillStore;
+  private long next;
+  private long total = -1;
+  private long spilledCount;
+  private Exception failure;
+
+  SpillingReorderBuffer(int maxInMemory, Path spillDirectory, int spillSegmentSize) {
+    this.maxInMemory = Math.max(0, maxInMemory);
+    this.spillDirectory = spillDirectory;
+    this.spillSegmentSize = spillSegmentSize;
+  }
+
+  /**
+   * Adds a completed iteration.
+   *
+   * @param sequence position of the iteration in the output
+   * @param iteration the iteration
+   * @throws IOException if the iteration has to be spilled and the spill file cannot be created
+   */
+  synchronized void complete(long sequence, Iteration iteration) throws IOException {
+    if (sequence == next || inMemory.size() < maxInMemory) {
+      inMemory.put(sequence, iteration);
+    } else {
+      if (spillStore == null) {
+        spillStore = OffHeapStore.mapped(spillDirectory, spillSegmentSize);
+        logger.info(
+            "More than {} iterations completed ahead of order, spilling to {}",
+            maxInMemory,
+            spillDirectory);
+      }
+      spilled.put(sequence, spillStore.appendIteration(iteration));
+      spilledCount++;
+    }
+    notifyAll();
+  }
+
+  /**
+   * Records how many iterations will be handed in in total.
+   *
+   * @param count number of iterations
+   */
+  synchronized void setTotal(long count) {
+    total = count;
+    notifyAll();
+  }
+
+  /**
+   * Aborts the buffer; waiting and later calls to {@link #next()} throw the failure.
+   *
+   * @param exception cause of the failure
+   */
+  synchronized void fail(Exception exception) {
+    if (failure == null) {
+      failure = exception;
+    }
+    notifyAll();
+  }
+
+  /**
+   * Waits for the next iteration in sequence.
+   *
+   * @return the iteration, or null once all iterations have been taken
+   * @throws Exception the failure passed to {@link #fail(Exception)}
+   */
+  synchronized Iteration next() throws Exception {
+    while (true) {
+      if (failure != null) {
+        throw failure;
+      }
+      Iteration iteration = inMemory.remove(next);
+      if (iteration == null) {
+        Long handle = spilled.remove(next);
+        if (handle != null) {
+          iteration = spillStore.readIteration(handle);
+        }
+      }
+      if (iteration != null) {
+        next++;
+        return iteration;
+      }
+      if (next == total) {
+        return null;
+      }
+      wait();
+    }
+  }
+
+  synchronized long getSpilledCount() {
+    return spilledCount;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    inMemory.clear();
+    spilled.clear();
+    if (spillStore != null) {
+      spillStore.close();
+    }
+  }
+}
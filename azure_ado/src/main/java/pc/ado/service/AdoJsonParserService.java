@@ -36,6 +36,26 @@ public class AdoJsonParserService {
 
   private static final Logger logger = LoggerFactory.getLogger(AdoJsonParserService.class);
 
+  private final StringPool stringPool;
+
+  /** Creates a parser service with its own string pool. */
+  public AdoJsonParserService() {
+    this(new StringPool());
+  }
+
+  /**
+   * Creates a parser service that deduplicates parsed values through the given pool.
+   *
+   * @param stringPool run-scoped pool shared by all parsers of the run
+   */
+  public AdoJsonParserService(StringPool stringPool) {
+    this.stringPool = stringPool;
+  }
+
+  public StringPool getStringPool() {
+    return stringPool;
+  }
+
   /**
    * Parses iteration data from JSON response.
    *
@@ -80,7 +100,8 @@ public class AdoJsonParserService {
       JSONObject teamMemberJson, JSONArray teamDaysOff) throws AdoParsingException {
     try {
       JSONObject teamMember = teamMemberJson.getJSONObject(AdoConstants.JsonFields.TEAM_MEMBER);
-      String displayName = teamMember.getString(AdoConstants.JsonFields.DISPLAY_NAME);
+      String displayName =
+          stringPool.intern(teamMember.getString(AdoConstants.JsonFields.DISPLAY_NAME));
       JSONArray activities = teamMemberJson.getJSONArray(AdoConstants.JsonFields.ACTIVITIES);
 
       // Collect all unique days off (team + member)
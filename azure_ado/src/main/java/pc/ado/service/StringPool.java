@@ -0,0 +1,72 @@
+package pc.ado.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe pool that deduplicates repeated strings parsed from ADO responses.
+ *
+ * <p>Display names, states, tags and similar values repeat across thousands of work items, tasks,
+ * pull requests and comments. Passing them through {@link #intern(String)} keeps a single instance
+ * of each value alive instead of one per parsed response. Unlike {@link String#intern()} the pool
+ * is scoped to a run and is released with it.
+ */
+public class StringPool {
+
+  private final ConcurrentMap<String, String> pool = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Returns the pooled instance equal to the given value, adding the value if it is new.
+   *
+   * @param value value to deduplicate, may be null
+   * @return the canonical instance, or null when the value is null
+   */
+  public String intern(String value) {
+    if (value == null) {
+      return null;
+    }
+    if (value.isEmpty()) {
+      return "";
+    }
+    String pooled = pool.putIfAbsent(value, value);
+    if (pooled == null) {
+      misses.increment();
+      return value;
+    }
+    hits.increment();
+    return pooled;
+  }
+
+  public int size() {
+    return pool.size();
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Gets the share of lookups that returned an already pooled instance.
+   *
+   * @return hit rate between 0 and 1
+   */
+  public double getHitRate() {
+    long hitCount = getHits();
+    long total = hitCount + getMisses();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "StringPool{entries=%d, hits=%d, misses=%d, hitRate=%.1f%%}",
+        size(), getHits(), getMisses(), getHitRate() * 100);
+  }
+}
@@ -0,0 +1,278 @@
+package pc.ado.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.WorkItem;
+
+/**
+ * Append-only store of serialized records outside the Java heap.
+ *
+ * <p>Records are written into fixed-size segments, either direct {@link ByteBuffer}s or regions of
+ * a temporary memory-mapped file, and addressed by a {@code long} handle (segment index in the high
+ * 32 bits, offset in the low 32 bits). The heap only holds the handles, so its size no longer grows
+ * with the amount of data crawled and the GC has nothing to trace for stored records.
+ *
+ * <p>This bounds heap use only, not total memory. Records are kept until the store is closed, even
+ * after their iteration has been written, because an output may still hold the iteration (a
+ * parallel formatter keeps whole chunks until they are rendered). With direct segments, {@code
+ * -XX:MaxDirectMemorySize} has to fit the whole run, and after {@link #close()} the memory is
+ * returned only when the GC collects the buffers. Mapped segments live in a file the OS can page
+ * out, and the file is deleted on close.
+ *
+ * <p>The Java 21 FFM API ({@code Arena}/{@code MemorySegment}) is still a preview feature, so the
+ * store uses the NIO buffer equivalents. Appends are synchronized; reads work on independent buffer
+ * views and may run concurrently with appends.
+ */
+public class OffHeapStore implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(OffHeapStore.class);
+  private static final int LENGTH_PREFIX = Integer.BYTES;
+
+  private final int segmentSize;
+  private final FileChannel channel;
+  private final Path file;
+  private final List<ByteBuffer> segments = new ArrayList<>();
+  private final ByteArrayOutputStream scratch = new ByteArrayOutputStream(4096);
+  private long mappedBytes;
+  private int position;
+  private long recordCount;
+  private long storedBytes;
+
+  private OffHeapStore(int segmentSize, FileChannel channel, Path file) {
+    this.segmentSize = segmentSize;
+    this.channel = channel;
+    this.file = file;
+  }
+
+  /**
+   * Creates a store backed by direct buffers.
+   *
+   * @param segmentSize size of each buffer in bytes
+   * @return the store
+   */
+  public static OffHeapStore direct(int segmentSize) {
+    return new OffHeapStore(segmentSize, null, null);
+  }
+
+  /**
+   * Creates a store backed by a temporary memory-mapped file, deleted when the store is closed.
+   *
+   * @param directory directory for the temporary file
+   * @param segmentSize size of each mapped region in bytes
+   * @return the store
+   * @throws IOException if the file cannot be created
+   */
+  public static OffHeapStore mapped(Path directory, int segmentSize) throws IOException {
+    Path file = Files.createTempFile(directory, "ado-store-", ".bin");
+    FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE);
+    logger.debug("Memory-mapped store at {}", file);
+    return new OffHeapStore(segmentSize, channel, file);
+  }
+
+  /**
+   * Creates the store for a storage mode.
+   *
+   * @param mode storage mode
+   * @param directory directory for memory-mapped files
+   * @param segmentSize segment size in bytes
+   * @return the store, or null for {@link StorageMode#HEAP}
+   * @throws IOException if a mapped file cannot be created
+   */
+  public static OffHeapStore create(StorageMode mode, Path directory, int segmentSize)
+      throws IOException {
+    switch (mode) {
+      case OFFHEAP:
+        return direct(segmentSize);
+      case MMAP:
+        return mapped(directory, segmentSize);
+      case HEAP:
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Serializes a work item, including its tasks and pull requests, into the store.
+   *
+   * @param workItem work item to store
+   * @return handle to read it back with {@link #readWorkItem(long)}
+   */
+  public long appendWorkItem(WorkItem workItem) {
+    return append(workItem::writeTo);
+  }
+
+  /**
+   * Reads back a stored work item. Every call decodes a new, independent instance.
+   *
+   * @param handle handle returned by {@link #appendWorkItem(WorkItem)}
+   * @return the work item
+   */
+  public WorkItem readWorkItem(long handle) {
+    return read(handle, WorkItem::readFrom);
+  }
+
+  /**
+   * Serializes an iteration with its allocations, work items and pull requests into the store.
+   *
+   * @param iteration iteration to store
+   * @return handle to read it back with {@link #readIteration(long)}
+   */
+  public long appendIteration(Iteration iteration) {
+    return append(iteration::writeTo);
+  }
+
+  /**
+   * Reads back a stored iteration. Every call decodes a new, independent instance.
+   *
+   * @param handle handle returned by {@link #appendIteration(Iteration)}
+   * @return the iteration
+   */
+  public Iteration readIteration(long handle) {
+    return read(handle, Iteration::readFrom);
+  }
+
+  private synchronized long append(RecordWriter writer) {
+    scratch.reset();
+    try {
+      writer.writeTo(new DataOutputStream(scratch));
+    } catch (IOException e) {
+      // ByteArrayOutputStream does not throw
+      throw new UncheckedIOException(e);
+    }
+    return append(scratch.toByteArray());
+  }
+
+  private <T> T read(long handle, RecordReader<T> reader) {
+    try {
+      return reader.readFrom(open(handle));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Corrupt record " + handle, e);
+    }
+  }
+
+  private long append(byte[] record) {
+    int needed = LENGTH_PREFIX + record.length;
+    if (segments.isEmpty() || position + needed > segments.get(segments.size() - 1).capacity()) {
+      segments.add(allocate(Math.max(segmentSize, needed)));
+      position = 0;
+    }
+    int segmentIndex = segments.size() - 1;
+    ByteBuffer segment = segments.get(segmentIndex);
+    segment.putInt(position, record.length);
+    segment.put(position + LENGTH_PREFIX, record);
+    long handle = ((long) segmentIndex << 32) | position;
+    position += needed;
+    recordCount++;
+    storedBytes += needed;
+    return handle;
+  }
+
+  private DataInput open(long handle) {
+    ByteBuffer segment;
+    synchronized (this) {
+      segment = segments.get((int) (handle >>> 32));
+    }
+    int offset = (int) handle;
+    int length = segment.getInt(offset);
+    return new DataInputStream(
+        new BufferInputStream(segment.slice(offset + LENGTH_PREFIX, length)));
+  }
+
+  private ByteBuffer allocate(int size) {
+    if (channel == null) {
+      return ByteBuffer.allocateDirect(size);
+    }
+    try {
+      MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, mappedBytes, size);
+      mappedBytes += size;
+      return mapped;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to map store " + file, e);
+    }
+  }
+
+  public synchronized long getRecordCount() {
+    return recordCount;
+  }
+
+  public synchronized long getStoredBytes() {
+    return storedBytes;
+  }
+
+  public synchronized int getSegmentCount() {
+    return segments.size();
+  }
+
+  /**
+   * Drops the segments and deletes the mapped file, if any. Direct buffers are freed by the GC.
+   *
+   * @throws IOException if the mapped file cannot be closed
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    logger.debug(
+        "Closing store: {} records, {} bytes in {} segments",
+        recordCount,
+        storedBytes,
+        segments.size());
+    segments.clear();
+    if (channel != null) {
+      channel.close();
+    }
+  }
+
+  private interface RecordWriter {
+    void writeTo(DataOutput out) throws IOException;
+  }
+
+  private interface RecordReader<T> {
+    T readFrom(DataInput in) throws IOException;
+  }
+
+  /** Sequential reader over a buffer view. */
+  private static final class BufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    private BufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package pc.ado.storage;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import pc.ado.dto.WorkItem;
+
+/**
+ * Work item list whose elements live in an {@link OffHeapStore}.
+ *
+ * <p>Only one {@code long} handle per work item stays on the heap. {@link #get(int)} decodes a
+ * fresh copy each time, so changes made to a returned work item are not written back; work items
+ * are complete (tasks and pull requests attached) by the time they are added to an iteration.
+ */
+public class OffHeapWorkItemList extends AbstractList<WorkItem> {
+
+  private final OffHeapStore store;
+  private long[] handles = new long[16];
+  private int size;
+
+  public OffHeapWorkItemList(OffHeapStore store) {
+    this.store = store;
+  }
+
+  @Override
+  public boolean add(WorkItem workItem) {
+    if (size == handles.length) {
+      handles = Arrays.copyOf(handles, size * 2);
+    }
+    handles[size++] = store.appendWorkItem(workItem);
+    modCount++;
+    return true;
+  }
+
+  @Override
+  public WorkItem get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+    }
+    return store.readWorkItem(handles[index]);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+}
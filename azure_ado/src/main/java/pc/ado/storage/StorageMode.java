@@ -0,0 +1,40 @@
+package pc.ado.storage;
+
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Where hydrated work items are kept while a run is in progress. */
+public enum StorageMode {
+  /** Plain objects on the Java heap. */
+  HEAP("heap"),
+  /** Serialized into direct (off-heap) buffers; bounded by {@code -XX:MaxDirectMemorySize}. */
+  OFFHEAP("offheap"),
+  /** Serialized into a temporary memory-mapped file; paged in and out by the OS. */
+  MMAP("mmap");
+
+  private static final Logger logger = LoggerFactory.getLogger(StorageMode.class);
+
+  private final String value;
+
+  StorageMode(String value) {
+    this.value = value;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  public static StorageMode fromString(String value) {
+    if (value == null || value.isBlank()) {
+      return HEAP;
+    }
+    for (StorageMode mode : values()) {
+      if (mode.value.equals(value.trim().toLowerCase(Locale.ROOT))) {
+        return mode;
+      }
+    }
+    logger.warn("Unknown storage mode '{}', defaulting to heap", value);
+    return HEAP;
+  }
+}
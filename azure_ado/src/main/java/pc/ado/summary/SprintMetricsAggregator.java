@@ -0,0 +1,301 @@
+package pc.ado.summary;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.PullRequest;
+import pc.ado.dto.PullRequestThread;
+import pc.ado.dto.TeamMemberAllocation;
+import pc.ado.dto.ThreadComment;
+import pc.ado.dto.WorkItem;
+
+/**
+ * Computes the sprint aggregates most report consumers derive from the raw output, in one pass over
+ * the iterations.
+ *
+ * <p>Iterations are fed one at a time through {@link #accept(Iteration)} and only the running
+ * totals are kept, so the aggregator can sit next to a streaming report writer. Totals are kept per
+ * team/iteration, per team member within an iteration and per task activity within an iteration:
+ *
+ * <ul>
+ *   <li>story points committed (all work items) vs. done (work items in a done state)
+ *   <li>estimated, completed and remaining task hours per activity
+ *   <li>available capacity hours vs. completed task hours per team member
+ *   <li>pull request review turnaround: time from PR creation to the first comment by someone other
+ *       than the PR author
+ * </ul>
+ */
+public class SprintMetricsAggregator {
+
+  private static final String UNASSIGNED = "(unassigned)";
+  private static final double HOURS_PER_SECOND = 1.0 / 3600.0;
+
+  private final Set<String> doneStates;
+  private final Map<String, IterationMetrics> iterations = new LinkedHashMap<>();
+
+  /**
+   * Creates an aggregator.
+   *
+   * @param doneStates work item states counted as done (case insensitive)
+   */
+  public SprintMetricsAggregator(Collection<String> doneStates) {
+    this.doneStates =
+        doneStates.stream()
+            .map(state -> state.trim().toLowerCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+  }
+
+  /**
+   * Adds an iteration to the running totals.
+   *
+   * @param iteration iteration to aggregate
+   */
+  public void accept(Iteration iteration) {
+    IterationMetrics metrics =
+        iterations.computeIfAbsent(
+            iteration.getTeamName() + '\u0000' + iteration.getId(),
+            key -> new IterationMetrics(iteration));
+
+    for (TeamMemberAllocation allocation : iteration.getAllocations()) {
+      MemberMetrics member = metrics.member(allocation.getName());
+      member.capacityHours += allocation.getWorkedHours();
+      member.daysOff += allocation.getDaysOff();
+    }
+
+    for (WorkItem workItem : iteration.getWorkItems()) {
+      double points = valueOrZero(workItem.getStoryPointsValue());
+      boolean done = isDone(workItem.getState());
+      metrics.workItems++;
+      metrics.committedPoints += points;
+      MemberMetrics owner = metrics.member(workItem.getAssignedTo());
+      owner.committedPoints += points;
+      if (done) {
+        metrics.doneWorkItems++;
+        metrics.donePoints += points;
+        owner.donePoints += points;
+      }
+
+      for (WorkItem.Task task : workItem.getTasks()) {
+        double estimate = valueOrZero(task.getOriginalEstimateHours());
+        double completed = valueOrZero(task.getCompletedWorkHours());
+        double remaining = valueOrZero(task.getRemainingWorkHours());
+        ActivityMetrics activity = metrics.activity(task.getTaskType());
+        activity.tasks++;
+        activity.estimateHours += estimate;
+        activity.completedHours += completed;
+        activity.remainingHours += remaining;
+        MemberMetrics assignee = metrics.member(task.getAssignedTo());
+        assignee.completedHours += completed;
+        assignee.remainingHours += remaining;
+      }
+
+      for (PullRequest pullRequest : workItem.getPullRequests()) {
+        addPullRequest(metrics, pullRequest);
+      }
+    }
+
+    for (PullRequest pullRequest : iteration.getPullRequests()) {
+      addPullRequest(metrics, pullRequest);
+    }
+  }
+
+  private void addPullRequest(IterationMetrics metrics, PullRequest pullRequest) {
+    metrics.pullRequests++;
+    Instant created = parseInstant(pullRequest.getCreationDate());
+    Instant firstReview = null;
+    for (PullRequestThread thread : pullRequest.getThreads()) {
+      for (Map.Entry<String, List<ThreadComment>> commenter : thread.getCommenters().entrySet()) {
+        if (commenter.getKey().equals(pullRequest.getCreatedBy())) {
+          continue;
+        }
+        for (ThreadComment comment : commenter.getValue()) {
+          metrics.reviewComments++;
+          Instant commented = parseInstant(comment.getCommentedDate());
+          if (commented != null && (firstReview == null || commented.isBefore(firstReview))) {
+            firstReview = commented;
+          }
+        }
+      }
+    }
+    if (created != null && firstReview != null) {
+      double hours = Duration.between(created, firstReview).toSeconds() * HOURS_PER_SECOND;
+      metrics.reviewedPullRequests++;
+      metrics.reviewTurnaroundHours += hours;
+      metrics.maxReviewTurnaroundHours = Math.max(metrics.maxReviewTurnaroundHours, hours);
+    }
+  }
+
+  private boolean isDone(String state) {
+    return state != null && doneStates.contains(state.trim().toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * Gets the number of team/iteration groups aggregated so far.
+   *
+   * @return iteration count
+   */
+  public int getIterationCount() {
+    return iterations.size();
+  }
+
+  /**
+   * Builds the summary document: one entry per team/iteration with nested member and activity
+   * breakdowns.
+   *
+   * @return JSON summary
+   */
+  public JSONObject toJson() {
+    JSONArray iterationsJson = new JSONArray();
+    for (IterationMetrics metrics : iterations.values()) {
+      iterationsJson.put(metrics.toJson());
+    }
+    return new JSONObject().put("iterations", iterationsJson);
+  }
+
+  private static double valueOrZero(double value) {
+    return Double.isNaN(value) ? 0 : value;
+  }
+
+  private static Instant parseInstant(String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    try {
+      return Instant.parse(value.trim());
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  private static double round(double value) {
+    return Math.round(value * 100.0) / 100.0;
+  }
+
+  /** Running totals for one team/iteration. */
+  private static final class IterationMetrics {
+    private final String project;
+    private final String team;
+    private final String iteration;
+    private final String startDate;
+    private final String finishDate;
+    private final Map<String, MemberMetrics> members = new LinkedHashMap<>();
+    private final Map<String, ActivityMetrics> activities = new LinkedHashMap<>();
+
+    private int workItems;
+    private int doneWorkItems;
+    private double committedPoints;
+    private double donePoints;
+    private int pullRequests;
+    private int reviewedPullRequests;
+    private int reviewComments;
+    private double reviewTurnaroundHours;
+    private double maxReviewTurnaroundHours;
+
+    private IterationMetrics(Iteration iteration) {
+      this.project = iteration.getProjName();
+      this.team = iteration.getTeamName();
+      this.iteration = iteration.getName();
+      this.startDate = iteration.getStartDate();
+      this.finishDate = iteration.getFinishDate();
+    }
+
+    private MemberMetrics member(String name) {
+      return members.computeIfAbsent(
+          name == null || name.isBlank() ? UNASSIGNED : name, key -> new MemberMetrics());
+    }
+
+    private ActivityMetrics activity(String type) {
+      return activities.computeIfAbsent(
+          type == null || type.isBlank() ? UNASSIGNED : type, key -> new ActivityMetrics());
+    }
+
+    private JSONObject toJson() {
+      double capacityHours = 0;
+      double completedHours = 0;
+      for (MemberMetrics member : members.values()) {
+        capacityHours += member.capacityHours;
+        completedHours += member.completedHours;
+      }
+
+      JSONObject json = new JSONObject();
+      json.put("project", project);
+      json.put("team", team);
+      json.put("iteration", iteration);
+      json.put("startDate", startDate);
+      json.put("finishDate", finishDate);
+      json.put("workItems", workItems);
+      json.put("doneWorkItems", doneWorkItems);
+      json.put("committedPoints", round(committedPoints));
+      json.put("donePoints", round(donePoints));
+      json.put("capacityHours", round(capacityHours));
+      json.put("completedHours", round(completedHours));
+      json.put("pullRequests", pullRequests);
+      json.put("reviewedPullRequests", reviewedPullRequests);
+      json.put("reviewComments", reviewComments);
+      json.put(
+          "avgReviewTurnaroundHours",
+          reviewedPullRequests == 0 ? 0 : round(reviewTurnaroundHours / reviewedPullRequests));
+      json.put("maxReviewTurnaroundHours", round(maxReviewTurnaroundHours));
+
+      JSONArray membersJson = new JSONArray();
+      members.forEach((name, member) -> membersJson.put(member.toJson(name)));
+      json.put("members", membersJson);
+
+      JSONArray activitiesJson = new JSONArray();
+      activities.forEach((type, activity) -> activitiesJson.put(activity.toJson(type)));
+      json.put("activities", activitiesJson);
+      return json;
+    }
+  }
+
+  /** Running totals for one team member within an iteration. */
+  private static final class MemberMetrics {
+    private double capacityHours;
+    private int daysOff;
+    private double completedHours;
+    private double remainingHours;
+    private double committedPoints;
+    private double donePoints;
+
+    private JSONObject toJson(String name) {
+      JSONObject json = new JSONObject();
+      json.put("name", name);
+      json.put("capacityHours", round(capacityHours));
+      json.put("daysOff", daysOff);
+      json.put("completedHours", round(completedHours));
+      json.put("remainingHours", round(remainingHours));
+      json.put("utilization", capacityHours == 0 ? 0 : round(completedHours / capacityHours));
+      json.put("committedPoints", round(committedPoints));
+      json.put("donePoints", round(donePoints));
+      return json;
+    }
+  }
+
+  /** Running totals for one task activity (task type) within an iteration. */
+  private static final class ActivityMetrics {
+    private int tasks;
+    private double estimateHours;
+    private double completedHours;
+    private double remainingHours;
+
+    private JSONObject toJson(String type) {
+      JSONObject json = new JSONObject();
+      json.put("activity", type);
+      json.put("tasks", tasks);
+      json.put("estimateHours", round(estimateHours));
+      json.put("completedHours", round(completedHours));
+      json.put("remainingHours", round(remainingHours));
+      return json;
+    }
+  }
+}
@@ -5,8 +5,8 @@ import org.json.JSONObject;
 public class ClassLoadingStats {
 
   public int loadedClassCount;
-  public long totalLoadedClassCount;
-  public long unloadedClassCount;
+  @MonotonicCounter public long totalLoadedClassCount;
+  @MonotonicCounter public long unloadedClassCount;
 
   public JSONObject toJSON() {
     JSONObject json = new JSONObject();
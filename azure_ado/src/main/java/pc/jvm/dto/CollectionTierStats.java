@@ -0,0 +1,29 @@
+package pc.jvm.dto;
+
+import org.json.JSONObject;
+
+public class CollectionTierStats {
+
+  public String name;
+  @MonotonicCounter public long collections;
+  @MonotonicCounter public long totalTimeUs;
+  public long maxTimeUs;
+  @MonotonicCounter public long totalCpuTimeUs;
+
+  public JSONObject toJSON() {
+    JSONObject json = new JSONObject();
+    json.put("name", name);
+    json.put("collections", collections);
+    json.put("totalTimeUs", totalTimeUs);
+    json.put("maxTimeUs", maxTimeUs);
+    json.put("totalCpuTimeUs", totalCpuTimeUs);
+
+    if (collections > 0) {
+      json.put("avgTimeUs", totalTimeUs / collections);
+    } else {
+      json.put("avgTimeUs", "N/A");
+    }
+
+    return json;
+  }
+}
@@ -0,0 +1,48 @@
+package pc.jvm.dto;
+
+import org.json.JSONObject;
+
+public class ContainerStats {
+
+  public boolean cgroupV2;
+  public double memoryCurrentMB = -1;
+  public double memoryMaxMB = -1;
+  public double memoryUsagePercent = -1;
+  public double memoryAnonMB = -1;
+  public double memoryFileMB = -1;
+  public double workingSetMB = -1;
+  public double cpuLimitCores = -1;
+  @MonotonicCounter public long cpuUsageUs = -1;
+  @MonotonicCounter public long cpuPeriods = -1;
+  @MonotonicCounter public long cpuThrottledPeriods = -1;
+  @MonotonicCounter public long cpuThrottledUs = -1;
+  public double rssMB = -1;
+  public double peakRssMB = -1;
+  public int processThreads = -1;
+
+  public JSONObject toJSON() {
+    JSONObject json = new JSONObject();
+    json.put("cgroupV2", cgroupV2);
+    if (cgroupV2) {
+      json.put("memoryCurrentMB", format(memoryCurrentMB));
+      json.put("memoryMaxMB", memoryMaxMB >= 0 ? format(memoryMaxMB) : "Unlimited");
+      json.put("memoryUsagePercent", format(memoryUsagePercent));
+      json.put("memoryAnonMB", format(memoryAnonMB));
+      json.put("memoryFileMB", format(memoryFileMB));
+      json.put("workingSetMB", format(workingSetMB));
+      json.put("cpuLimitCores", cpuLimitCores >= 0 ? format(cpuLimitCores) : "Unlimited");
+      json.put("cpuUsageUs", cpuUsageUs);
+      json.put("cpuPeriods", cpuPeriods);
+      json.put("cpuThrottledPeriods", cpuThrottledPeriods);
+      json.put("cpuThrottledUs", cpuThrottledUs);
+    }
+    json.put("rssMB", format(rssMB));
+    json.put("peakRssMB", format(peakRssMB));
+    json.put("processThreads", processThreads >= 0 ? processThreads : "Not available");
+    return json;
+  }
+
+  private static Object format(double value) {
+    return value >= 0 ? String.format("%.2f", value) : "Not available";
+  }
+}
@@ -6,8 +6,8 @@ import org.json.JSONObject;
 public class GarbageCollectionStats {
 
   public List<GcCollectorStats> collectors;
-  public long totalCollectionCount;
-  public long totalCollectionTimeMs;
+  @MonotonicCounter public long totalCollectionCount;
+  @MonotonicCounter public long totalCollectionTimeMs;
 
   public JSONObject toJSON() {
     JSONObject json = new JSONObject();
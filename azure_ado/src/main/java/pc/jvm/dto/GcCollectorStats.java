@@ -5,8 +5,8 @@ import org.json.JSONObject;
 public class GcCollectorStats {
 
   public String name;
-  public long collectionCount;
-  public long collectionTimeMs;
+  @MonotonicCounter public long collectionCount;
+  @MonotonicCounter public long collectionTimeMs;
   public double avgCollectionTimeMs;
 
   public JSONObject toJSON() {
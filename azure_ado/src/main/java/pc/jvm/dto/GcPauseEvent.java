@@ -0,0 +1,33 @@
+package pc.jvm.dto;
+
+import java.util.List;
+import org.json.JSONObject;
+
+public class GcPauseEvent {
+
+  public long id;
+  public String collector;
+  public String action;
+  public String cause;
+  public long startTimeMs;
+  public long durationMs;
+  public boolean concurrent;
+  public List<GcPoolUsageChange> pools;
+
+  public JSONObject toJSON() {
+    JSONObject json = new JSONObject();
+    json.put("id", id);
+    json.put("collector", collector);
+    json.put("action", action);
+    json.put("cause", cause);
+    json.put("startTimeMs", startTimeMs);
+    json.put("durationMs", durationMs);
+    json.put("concurrent", concurrent);
+
+    if (pools != null) {
+      json.put("pools", pools.stream().map(GcPoolUsageChange::toJSON).toList());
+    }
+
+    return json;
+  }
+}
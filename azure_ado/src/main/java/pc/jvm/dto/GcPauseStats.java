@@ -0,0 +1,47 @@
+package pc.jvm.dto;
+
+import java.util.Map;
+import org.json.JSONObject;
+
+public class GcPauseStats {
+
+  @MonotonicCounter public long pauseCount;
+  @MonotonicCounter public long concurrentCycleCount;
+  @MonotonicCounter public long totalPauseMs;
+  public long maxPauseMs;
+  public int recordedPauses;
+  public long p50PauseMs;
+  public long p90PauseMs;
+  public long p99PauseMs;
+  public Map<String, Long> causes;
+  public GcPauseEvent longestPause;
+
+  public JSONObject toJSON() {
+    JSONObject json = new JSONObject();
+    json.put("pauseCount", pauseCount);
+    json.put("concurrentCycleCount", concurrentCycleCount);
+    json.put("totalPauseMs", totalPauseMs);
+    json.put("maxPauseMs", maxPauseMs);
+    json.put("recordedPauses", recordedPauses);
+
+    if (recordedPauses > 0) {
+      json.put("p50PauseMs", p50PauseMs);
+      json.put("p90PauseMs", p90PauseMs);
+      json.put("p99PauseMs", p99PauseMs);
+    } else {
+      json.put("p50PauseMs", "N/A");
+      json.put("p90PauseMs", "N/A");
+      json.put("p99PauseMs", "N/A");
+    }
+
+    if (causes != null) {
+      json.put("causes", causes);
+    }
+
+    if (longestPause != null) {
+      json.put("longestPause", longestPause.toJSON());
+    }
+
+    return json;
+  }
+}
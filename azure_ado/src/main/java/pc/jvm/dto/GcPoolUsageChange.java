@@ -0,0 +1,18 @@
+package pc.jvm.dto;
+
+import org.json.JSONObject;
+
+public class GcPoolUsageChange {
+
+  public String name;
+  public double beforeMB;
+  public double afterMB;
+
+  public JSONObject toJSON() {
+    JSONObject json = new JSONObject();
+    json.put("name", name);
+    json.put("beforeMB", String.format("%.2f", beforeMB));
+    json.put("afterMB", String.format("%.2f", afterMB));
+    return json;
+  }
+}
@@ -1,5 +1,6 @@
 package pc.jvm.dto;
 
+import java.util.List;
 import org.json.JSONObject;
 
 public class MemoryStatistics {
@@ -10,9 +11,11 @@ public class MemoryStatistics {
   public HeapMemoryStats heapMemory;
   public NonHeapMemoryStats nonHeapMemory;
   public GarbageCollectionStats garbageCollection;
+  public GcPauseStats gcPauses;
   public ThreadStatistics threads;
   public SystemStatistics system;
   public ClassLoadingStats classLoading;
+  public List<CollectionTierStats> collectionOverhead;
 
   public JSONObject toJSON() {
     JSONObject json = new JSONObject();
@@ -26,10 +29,21 @@ public class MemoryStatistics {
     json.put("heapMemory", heapMemory.toJSON());
     json.put("nonHeapMemory", nonHeapMemory.toJSON());
     json.put("garbageCollection", garbageCollection.toJSON());
+
+    if (gcPauses != null) {
+      json.put("gcPauses", gcPauses.toJSON());
+    }
+
     json.put("threads", threads.toJSON());
     json.put("system", system.toJSON());
     json.put("classLoading", classLoading.toJSON());
 
+    if (collectionOverhead != null) {
+      json.put(
+          "collectionOverhead",
+          collectionOverhead.stream().map(CollectionTierStats::toJSON).toList());
+    }
+
     return json;
   }
 }
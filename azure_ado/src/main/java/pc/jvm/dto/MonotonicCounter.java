@@ -0,0 +1,14 @@
+package pc.jvm.dto;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a DTO field that only grows while the JVM runs, such as a collection count. The binary
+ * metrics log stores such fields as the difference from the previous record.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface MonotonicCounter {}
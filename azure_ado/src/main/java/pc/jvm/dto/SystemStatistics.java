@@ -11,6 +11,7 @@ public class SystemStatistics {
   public CpuLoadStats cpuLoad;
   public double committedVirtualMemoryMB;
   public UptimeStats uptime;
+  public ContainerStats container;
 
   public JSONObject toJSON() {
     JSONObject json = new JSONObject();
@@ -39,6 +40,10 @@ public class SystemStatistics {
       json.put("uptime", uptime.toJSON());
     }
 
+    if (container != null) {
+      json.put("container", container.toJSON());
+    }
+
     return json;
   }
 }
@@ -6,7 +6,7 @@ public class ThreadCounts {
 
   public int current;
   public int peak;
-  public long totalStarted;
+  @MonotonicCounter public long totalStarted;
   public int daemon;
 
   public JSONObject toJSON() {
@@ -12,7 +12,9 @@ public class ThreadStatistics {
     JSONObject json = new JSONObject();
     json.put("counts", counts.toJSON());
     json.put("states", states.toJSON());
-    json.put("deadlockedThreadCount", deadlockedThreadCount);
+    json.put(
+        "deadlockedThreadCount",
+        deadlockedThreadCount >= 0 ? deadlockedThreadCount : "Not checked");
     return json;
   }
 }
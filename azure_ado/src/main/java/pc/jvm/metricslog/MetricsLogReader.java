@@ -0,0 +1,204 @@
+package pc.jvm.metricslog;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.json.JSONObject;
+
+/**
+ * Reads a log written by {@link MetricsLogWriter}, and dumps it as JSON lines or TSV.
+ *
+ * <p>Usage: {@code MetricsLogReader [--json|--tsv] [--deltas] <file>}. Counters are turned back
+ * into running totals unless {@code --deltas} is given.
+ */
+public class MetricsLogReader {
+
+  /** Receives the records of a log. */
+  @FunctionalInterface
+  public interface RecordConsumer {
+
+    /**
+     * Handles one record.
+     *
+     * @param index record number, from 0
+     * @param values one Long or Double per column, null where the snapshot lacked the field
+     * @throws IOException if the record cannot be written out
+     */
+    void accept(long index, Number[] values) throws IOException;
+  }
+
+  private final MetricsSchema schema;
+  private final ByteBuffer records;
+  private final long recordCount;
+
+  private MetricsLogReader(MetricsSchema schema, ByteBuffer records, long recordCount) {
+    this.schema = schema;
+    this.records = records;
+    this.recordCount = recordCount;
+  }
+
+  /**
+   * Opens a log and reads its header.
+   *
+   * @param file log file
+   * @return reader over the complete records
+   * @throws IOException if the file cannot be read or is not a metrics log
+   */
+  public static MetricsLogReader open(Path file) throws IOException {
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    byte[] magic = new byte[MetricsLogWriter.MAGIC.length];
+    if (buffer.remaining() < MetricsLogWriter.RECORD_COUNT_OFFSET + Long.BYTES) {
+      throw new IOException("Not a metrics log: " + file);
+    }
+    buffer.get(magic);
+    if (!Arrays.equals(magic, MetricsLogWriter.MAGIC)) {
+      throw new IOException("Not a metrics log: " + file);
+    }
+    int version = buffer.getInt();
+    if (version != MetricsLogWriter.VERSION) {
+      throw new IOException("Unsupported metrics log version " + version + ": " + file);
+    }
+    int columnCount = buffer.getInt();
+    int recordSize = buffer.getInt();
+    long recordCount = buffer.getLong();
+    List<MetricsSchema.Column> columns = new ArrayList<>(columnCount);
+    for (int c = 0; c < columnCount; c++) {
+      MetricsSchema.ColumnType type = MetricsSchema.ColumnType.values()[buffer.get()];
+      boolean delta = buffer.get() != 0;
+      byte[] name = new byte[buffer.getShort()];
+      buffer.get(name);
+      columns.add(new MetricsSchema.Column(new String(name, StandardCharsets.UTF_8), type, delta));
+    }
+    if (recordSize != columnCount * Long.BYTES) {
+      throw new IOException("Corrupt metrics log header: " + file);
+    }
+    // A log cut short while being written keeps the records that fully made it to disk
+    long available = buffer.remaining() / recordSize;
+    return new MetricsLogReader(
+        MetricsSchema.of(columns), buffer.slice(), Math.min(recordCount, available));
+  }
+
+  public List<MetricsSchema.Column> getColumns() {
+    return schema.getColumns();
+  }
+
+  public long getRecordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Reads every record in order.
+   *
+   * @param deltas whether to return counters as stored (increase per record) instead of totals
+   * @param consumer receives each record; the array is reused between calls
+   * @throws IOException if the consumer fails
+   */
+  public void read(boolean deltas, RecordConsumer consumer) throws IOException {
+    List<MetricsSchema.Column> columns = schema.getColumns();
+    long[] totals = new long[columns.size()];
+    Number[] values = new Number[columns.size()];
+    ByteBuffer buffer = records.duplicate();
+    for (long r = 0; r < recordCount; r++) {
+      for (int c = 0; c < values.length; c++) {
+        MetricsSchema.Column column = columns.get(c);
+        long raw = buffer.getLong();
+        if (column.type() == MetricsSchema.ColumnType.DOUBLE) {
+          double value = Double.longBitsToDouble(raw);
+          values[c] = Double.isNaN(value) ? null : value;
+        } else if (raw == MetricsSchema.MISSING) {
+          values[c] = null;
+        } else if (column.delta() && !deltas) {
+          totals[c] += raw;
+          values[c] = totals[c];
+        } else {
+          values[c] = raw;
+        }
+      }
+      consumer.accept(r, values);
+    }
+  }
+
+  /**
+   * Writes the log as one JSON object per line.
+   *
+   * @param deltas whether to write counters as stored instead of totals
+   * @param out destination
+   * @throws IOException if reading fails
+   */
+  public void writeJson(boolean deltas, PrintStream out) throws IOException {
+    List<MetricsSchema.Column> columns = schema.getColumns();
+    read(
+        deltas,
+        (index, values) -> {
+          StringBuilder line = new StringBuilder("{");
+          for (int c = 0; c < values.length; c++) {
+            if (c > 0) {
+              line.append(',');
+            }
+            line.append(JSONObject.quote(columns.get(c).name()))
+                .append(':')
+                .append(values[c] == null ? "null" : values[c].toString());
+          }
+          out.println(line.append('}'));
+        });
+  }
+
+  /**
+   * Writes the log as TSV with a header row of column names.
+   *
+   * @param deltas whether to write counters as stored instead of totals
+   * @param out destination
+   * @throws IOException if reading fails
+   */
+  public void writeTsv(boolean deltas, PrintStream out) throws IOException {
+    out.println(String.join("\t", getColumns().stream().map(MetricsSchema.Column::name).toList()));
+    read(
+        deltas,
+        (index, values) -> {
+          StringBuilder line = new StringBuilder();
+          for (int c = 0; c < values.length; c++) {
+            if (c > 0) {
+              line.append('\t');
+            }
+            if (values[c] != null) {
+              line.append(values[c]);
+            }
+          }
+          out.println(line);
+        });
+  }
+
+  public static void main(String[] args) throws IOException {
+    boolean tsv = false;
+    boolean deltas = false;
+    String file = null;
+    for (String arg : args) {
+      switch (arg) {
+        case "--json" -> tsv = false;
+        case "--tsv" -> tsv = true;
+        case "--deltas" -> deltas = true;
+        default -> file = arg;
+      }
+    }
+    if (file == null) {
+      System.err.println("Usage: MetricsLogReader [--json|--tsv] [--deltas] <file>");
+      System.exit(2);
+    }
+    MetricsLogReader reader = open(Path.of(file));
+    if (tsv) {
+      reader.writeTsv(deltas, System.out);
+    } else {
+      reader.writeJson(deltas, System.out);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package pc.jvm.metricslog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only binary log of statistics snapshots, written through memory-mapped regions.
+ *
+ * <p>The file starts with a header holding the magic {@code PCJVMMET}, the format version, the
+ * record size, the number of complete records and the schema (type, delta flag and name of each
+ * column). Records follow as fixed-width rows of 8-byte big-endian values. Columns marked as
+ * counters hold the increase since the previous record, so a row shows the activity of one
+ * interval; the first row holds the absolute value.
+ *
+ * <p>The record count is updated after each row, so a reader sees only complete rows even if the
+ * process dies; the unused tail of the last mapped region is cut off on {@link #close()}.
+ */
+public class MetricsLogWriter implements Closeable {
+
+  static final byte[] MAGIC = "PCJVMMET".getBytes(StandardCharsets.US_ASCII);
+  static final int VERSION = 1;
+  // Offset of the record count: magic, version, column count, record size
+  static final int RECORD_COUNT_OFFSET = MAGIC.length + 3 * Integer.BYTES;
+
+  private static final int REGION_SIZE = 1 << 20;
+
+  private final FileChannel channel;
+  private final MetricsSchema schema;
+  private final MappedByteBuffer header;
+  private final int recordSize;
+  private final long[] values;
+  private final long[] previous;
+  private MappedByteBuffer region;
+  private long position;
+  private long recordCount;
+
+  private MetricsLogWriter(FileChannel channel, MetricsSchema schema, byte[] headerBytes)
+      throws IOException {
+    this.channel = channel;
+    this.schema = schema;
+    int columns = schema.getColumns().size();
+    this.recordSize = columns * Long.BYTES;
+    this.values = new long[columns];
+    this.previous = new long[columns];
+    this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, headerBytes.length);
+    header.put(headerBytes);
+    this.position = headerBytes.length;
+    this.region = mapRegion(position);
+  }
+
+  /**
+   * Creates a log, replacing any existing file.
+   *
+   * @param file log file
+   * @param schema columns of every record
+   * @return writer positioned after the header
+   * @throws IOException if the file cannot be created
+   */
+  public static MetricsLogWriter create(Path file, MetricsSchema schema) throws IOException {
+    FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    try {
+      return new MetricsLogWriter(channel, schema, encodeHeader(schema.getColumns()));
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public long getRecordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Appends one snapshot.
+   *
+   * @param snapshot DTO of the class the schema was derived from
+   * @throws IOException if the file cannot be extended
+   */
+  public synchronized void append(Object snapshot) throws IOException {
+    schema.read(snapshot, values);
+    if (region.remaining() < recordSize) {
+      region = mapRegion(position);
+    }
+    List<MetricsSchema.Column> columns = schema.getColumns();
+    for (int c = 0; c < values.length; c++) {
+      long value = values[c];
+      if (columns.get(c).delta() && value != MetricsSchema.MISSING) {
+        long current = value;
+        value -= previous[c];
+        previous[c] = current;
+      }
+      region.putLong(value);
+    }
+    position += recordSize;
+    recordCount++;
+    header.putLong(RECORD_COUNT_OFFSET, recordCount);
+  }
+
+  /** Flushes the mapped regions and trims the file to the records written. */
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      region.force();
+      header.force();
+      channel.truncate(position);
+    } finally {
+      channel.close();
+    }
+  }
+
+  private MappedByteBuffer mapRegion(long start) throws IOException {
+    // Mapping past the end of the file grows it
+    return channel.map(
+        FileChannel.MapMode.READ_WRITE, start, Math.max(REGION_SIZE, (long) recordSize));
+  }
+
+  private static byte[] encodeHeader(List<MetricsSchema.Column> columns) {
+    int size = RECORD_COUNT_OFFSET + Long.BYTES;
+    byte[][] names = new byte[columns.size()][];
+    for (int c = 0; c < columns.size(); c++) {
+      names[c] = columns.get(c).name().getBytes(StandardCharsets.UTF_8);
+      size += 2 + Short.BYTES + names[c].length;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.put(MAGIC);
+    buffer.putInt(VERSION);
+    buffer.putInt(columns.size());
+    buffer.putInt(columns.size() * Long.BYTES);
+    buffer.putLong(0);
+    for (int c = 0; c < columns.size(); c++) {
+      buffer.put((byte) columns.get(c).type().ordinal());
+      buffer.put((byte) (columns.get(c).delta() ? 1 : 0));
+      buffer.putShort((short) names[c].length);
+      buffer.put(names[c]);
+    }
+    return buffer.array();
+  }
+}
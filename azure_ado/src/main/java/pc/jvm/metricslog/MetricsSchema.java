@@ -0,0 +1,193 @@
+package pc.jvm.metricslog;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import pc.jvm.dto.MonotonicCounter;
+
+/**
+ * Flat list of numeric columns derived from a statistics DTO, e.g. {@code heapMemory.pools[G1 Eden
+ * Space].usedMB}.
+ *
+ * <p>Public numeric and boolean fields become columns; fields of other {@code pc.jvm.dto} types are
+ * followed by class, so an object that is null in the first snapshot still gets its columns. Lists
+ * are expanded per element of the first snapshot, keyed by the element's {@code name} field, since
+ * the memory pools and collectors of a JVM do not change while it runs. Strings and maps have no
+ * fixed width and are left out.
+ */
+public final class MetricsSchema {
+
+  /** Storage of a column: 8 bytes either way. */
+  public enum ColumnType {
+    LONG,
+    DOUBLE
+  }
+
+  /**
+   * One column.
+   *
+   * @param name dotted path of the field
+   * @param type storage type
+   * @param delta whether values are stored as the difference from the previous record
+   */
+  public record Column(String name, ColumnType type, boolean delta) {}
+
+  /** Value stored for a LONG column that is absent from a snapshot. */
+  public static final long MISSING = Long.MIN_VALUE;
+
+  private static final String DTO_PACKAGE = MonotonicCounter.class.getPackageName();
+
+  private final List<Column> columns;
+  // Null for schemas read from a file, which can only describe columns
+  private final List<Step[]> paths;
+
+  private MetricsSchema(List<Column> columns, List<Step[]> paths) {
+    this.columns = List.copyOf(columns);
+    this.paths = paths;
+  }
+
+  /**
+   * Derives the schema of a DTO.
+   *
+   * @param sample first snapshot, used to name list elements
+   * @return schema with one column per numeric field
+   */
+  public static MetricsSchema derive(Object sample) {
+    List<Column> columns = new ArrayList<>();
+    List<Step[]> paths = new ArrayList<>();
+    collect(sample.getClass(), sample, "", new ArrayList<>(), columns, paths);
+    return new MetricsSchema(columns, paths);
+  }
+
+  /**
+   * Creates a schema that only describes columns, as read back from a file.
+   *
+   * @param columns columns in record order
+   * @return schema without field accessors
+   */
+  static MetricsSchema of(List<Column> columns) {
+    return new MetricsSchema(columns, null);
+  }
+
+  public List<Column> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Reads every column of a snapshot.
+   *
+   * @param root snapshot of the DTO the schema was derived from
+   * @param values receives one value per column: a long, or the raw bits of a double; {@link
+   *     #MISSING} or NaN where the snapshot lacks the field
+   */
+  void read(Object root, long[] values) {
+    for (int c = 0; c < columns.size(); c++) {
+      Object value = resolve(root, paths.get(c));
+      if (columns.get(c).type() == ColumnType.DOUBLE) {
+        double number = value instanceof Number n ? n.doubleValue() : Double.NaN;
+        values[c] = Double.doubleToRawLongBits(number);
+      } else if (value instanceof Boolean flag) {
+        values[c] = flag ? 1 : 0;
+      } else {
+        values[c] = value instanceof Number n ? n.longValue() : MISSING;
+      }
+    }
+  }
+
+  private static void collect(
+      Class<?> type,
+      Object sample,
+      String prefix,
+      List<Step> path,
+      List<Column> columns,
+      List<Step[]> paths) {
+    for (Field field : type.getFields()) {
+      if (Modifier.isStatic(field.getModifiers())) {
+        continue;
+      }
+      Class<?> fieldType = field.getType();
+      String name = prefix + field.getName();
+      List<Step> fieldPath = new ArrayList<>(path);
+      fieldPath.add(new Step(field, null));
+      if (fieldType == double.class || fieldType == float.class) {
+        columns.add(new Column(name, ColumnType.DOUBLE, false));
+        paths.add(fieldPath.toArray(new Step[0]));
+      } else if (fieldType == long.class
+          || fieldType == int.class
+          || fieldType == short.class
+          || fieldType == boolean.class) {
+        boolean delta = field.isAnnotationPresent(MonotonicCounter.class);
+        columns.add(new Column(name, ColumnType.LONG, delta));
+        paths.add(fieldPath.toArray(new Step[0]));
+      } else if (fieldType.getPackageName().equals(DTO_PACKAGE)) {
+        Object child = sample != null ? get(field, sample) : null;
+        collect(fieldType, child, name + ".", fieldPath, columns, paths);
+      } else if (List.class.isAssignableFrom(fieldType) && sample != null) {
+        Object list = get(field, sample);
+        if (list instanceof List<?> elements) {
+          for (int i = 0; i < elements.size(); i++) {
+            Object element = elements.get(i);
+            if (element == null) {
+              continue;
+            }
+            String key = elementKey(element, i);
+            List<Step> elementPath = new ArrayList<>(fieldPath);
+            elementPath.add(new Step(null, key));
+            collect(
+                element.getClass(), element, name + "[" + key + "].", elementPath, columns, paths);
+          }
+        }
+      }
+    }
+  }
+
+  private static Object resolve(Object root, Step[] path) {
+    Object current = root;
+    for (Step step : path) {
+      if (current == null) {
+        return null;
+      }
+      if (step.field() != null) {
+        current = get(step.field(), current);
+      } else {
+        current = findElement((List<?>) current, step.key());
+      }
+    }
+    return current;
+  }
+
+  private static Object findElement(List<?> elements, String key) {
+    for (int i = 0; i < elements.size(); i++) {
+      Object element = elements.get(i);
+      if (element != null && key.equals(elementKey(element, i))) {
+        return element;
+      }
+    }
+    return null;
+  }
+
+  /** Names a list element by its {@code name} field, falling back to its index. */
+  private static String elementKey(Object element, int index) {
+    try {
+      Object name = element.getClass().getField("name").get(element);
+      if (name != null) {
+        return name.toString();
+      }
+    } catch (ReflectiveOperationException e) {
+      // No name field
+    }
+    return Integer.toString(index);
+  }
+
+  private static Object get(Field field, Object target) {
+    try {
+      return field.get(target);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Cannot read " + field, e);
+    }
+  }
+
+  /** Either a field to read or the key of a list element to look up. */
+  private record Step(Field field, String key) {}
+}
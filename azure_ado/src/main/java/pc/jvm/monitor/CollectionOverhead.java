@@ -0,0 +1,88 @@
+package pc.jvm.monitor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import pc.jvm.dto.CollectionTierStats;
+
+/**
+ * Measures what collecting statistics costs, per {@link CollectionTier}: how often each tier ran,
+ * its wall time and the CPU time of the collecting thread.
+ *
+ * <p>Callers take {@link #wallTime()} and {@link #cpuTime()} before collecting and pass them to
+ * {@link #record}. CPU time is 0 where the JVM does not measure thread CPU time.
+ */
+public class CollectionOverhead {
+
+  private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+  private final boolean cpuTimeSupported = threadBean.isCurrentThreadCpuTimeSupported();
+  private final long[] collections = new long[CollectionTier.values().length];
+  private final long[] totalNanos = new long[CollectionTier.values().length];
+  private final long[] maxNanos = new long[CollectionTier.values().length];
+  private final long[] cpuNanos = new long[CollectionTier.values().length];
+
+  /**
+   * Gets the current wall-clock reading.
+   *
+   * @return nanoseconds from an arbitrary origin
+   */
+  public long wallTime() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Gets the CPU time used by the calling thread.
+   *
+   * @return nanoseconds, or 0 if not supported
+   */
+  public long cpuTime() {
+    return cpuTimeSupported ? threadBean.getCurrentThreadCpuTime() : 0;
+  }
+
+  /**
+   * Records one collection that started at the given readings and ends now, on this thread.
+   *
+   * @param tier tier that was collected
+   * @param wallStart {@link #wallTime()} before collecting
+   * @param cpuStart {@link #cpuTime()} before collecting
+   */
+  public synchronized void record(CollectionTier tier, long wallStart, long cpuStart) {
+    long elapsed = wallTime() - wallStart;
+    int t = tier.ordinal();
+    collections[t]++;
+    totalNanos[t] += elapsed;
+    maxNanos[t] = Math.max(maxNanos[t], elapsed);
+    cpuNanos[t] += Math.max(0, cpuTime() - cpuStart);
+  }
+
+  /**
+   * Gets the number of collections of a tier.
+   *
+   * @param tier collection tier
+   * @return collections recorded
+   */
+  public synchronized long getCollections(CollectionTier tier) {
+    return collections[tier.ordinal()];
+  }
+
+  /**
+   * Summarizes the overhead of every tier.
+   *
+   * @return one entry per tier, in tier order
+   */
+  public synchronized List<CollectionTierStats> snapshot() {
+    List<CollectionTierStats> stats = new ArrayList<>();
+    for (CollectionTier tier : CollectionTier.values()) {
+      int t = tier.ordinal();
+      CollectionTierStats tierStats = new CollectionTierStats();
+      tierStats.name = tier.getValue();
+      tierStats.collections = collections[t];
+      tierStats.totalTimeUs = totalNanos[t] / 1000;
+      tierStats.maxTimeUs = maxNanos[t] / 1000;
+      tierStats.totalCpuTimeUs = cpuNanos[t] / 1000;
+      stats.add(tierStats);
+    }
+    return stats;
+  }
+}
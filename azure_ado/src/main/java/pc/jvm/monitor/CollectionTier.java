@@ -0,0 +1,26 @@
+package pc.jvm.monitor;
+
+/**
+ * Cost classes of the statistics the memory monitor collects, each run at its own period.
+ *
+ * <ul>
+ *   <li>CHEAP: heap, GC counters, thread counts and CPU load for the time series
+ *   <li>MEDIUM: the full snapshot, with thread states from one batched thread info call
+ *   <li>EXPENSIVE: per-pool details and deadlock detection, at a longer period or on demand
+ * </ul>
+ */
+public enum CollectionTier {
+  CHEAP("cheap"),
+  MEDIUM("medium"),
+  EXPENSIVE("expensive");
+
+  private final String value;
+
+  CollectionTier(String value) {
+    this.value = value;
+  }
+
+  public String getValue() {
+    return value;
+  }
+}
@@ -0,0 +1,189 @@
+package pc.jvm.monitor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.jvm.dto.ContainerStats;
+
+/**
+ * Reads the container's view of memory and CPU from cgroup v2 and {@code /proc/self/status}.
+ *
+ * <p>The OS MXBean reports the host; in a container the limits that matter are the cgroup ones.
+ * From the process's cgroup this reads {@code memory.current}, {@code memory.max}, {@code
+ * memory.stat} (anon, file and the working set, which leaves out reclaimable inactive file pages
+ * like the kubelet does), {@code cpu.max} and the throttling counters of {@code cpu.stat}; from the
+ * process status it reads RSS, peak RSS and the thread count.
+ *
+ * <p>The process's cgroup comes from the unified ({@code 0::}) line of {@code /proc/self/cgroup},
+ * falling back to the mount root, which is where a container with its own cgroup namespace sees its
+ * files. cgroup v1 hierarchies are not read; only the process status is reported there.
+ */
+public class ContainerStatsCollector {
+
+  private static final Logger logger = LoggerFactory.getLogger(ContainerStatsCollector.class);
+
+  private static final double BYTES_TO_MB = 1024.0 * 1024.0;
+  private static final double KB_TO_MB = 1024.0;
+
+  private final Path cgroupRoot;
+  private final Path procSelf;
+  private Path cgroupDir;
+  private boolean resolved;
+
+  /** Creates a collector reading {@code /sys/fs/cgroup} and {@code /proc/self}. */
+  public ContainerStatsCollector() {
+    this(Path.of("/sys/fs/cgroup"), Path.of("/proc/self"));
+  }
+
+  /**
+   * Creates a collector reading other roots, e.g. a copied tree in tests.
+   *
+   * @param cgroupRoot mount point of the cgroup v2 hierarchy
+   * @param procSelf process directory holding {@code status} and {@code cgroup}
+   */
+  public ContainerStatsCollector(Path cgroupRoot, Path procSelf) {
+    this.cgroupRoot = cgroupRoot;
+    this.procSelf = procSelf;
+  }
+
+  /**
+   * Reads the current values.
+   *
+   * @return container statistics with -1 for values that could not be read, or null if neither a
+   *     cgroup v2 hierarchy nor the process status is available, e.g. outside Linux
+   */
+  public ContainerStats collect() {
+    Path cgroup = cgroupDir();
+    Map<String, String> status = readKeyValues(procSelf.resolve("status"), ':');
+    if (cgroup == null && status.isEmpty()) {
+      return null;
+    }
+
+    ContainerStats stats = new ContainerStats();
+    if (cgroup != null) {
+      stats.cgroupV2 = true;
+      long current = parseLong(readFirstLine(cgroup.resolve("memory.current")));
+      long max = parseLong(readFirstLine(cgroup.resolve("memory.max")));
+      if (current >= 0) {
+        stats.memoryCurrentMB = current / BYTES_TO_MB;
+      }
+      if (max > 0) {
+        stats.memoryMaxMB = max / BYTES_TO_MB;
+        if (current >= 0) {
+          stats.memoryUsagePercent = current * 100.0 / max;
+        }
+      }
+      Map<String, String> memoryStat = readKeyValues(cgroup.resolve("memory.stat"), ' ');
+      long anon = parseLong(memoryStat.get("anon"));
+      long file = parseLong(memoryStat.get("file"));
+      long inactiveFile = parseLong(memoryStat.get("inactive_file"));
+      if (anon >= 0) {
+        stats.memoryAnonMB = anon / BYTES_TO_MB;
+      }
+      if (file >= 0) {
+        stats.memoryFileMB = file / BYTES_TO_MB;
+      }
+      if (current >= 0 && inactiveFile >= 0) {
+        stats.workingSetMB = Math.max(0, current - inactiveFile) / BYTES_TO_MB;
+      }
+
+      String[] cpuMax = readFirstLine(cgroup.resolve("cpu.max")).split("\\s+");
+      long quota = parseLong(cpuMax[0]);
+      long period = cpuMax.length > 1 ? parseLong(cpuMax[1]) : -1;
+      if (quota > 0 && period > 0) {
+        stats.cpuLimitCores = (double) quota / period;
+      }
+      Map<String, String> cpuStat = readKeyValues(cgroup.resolve("cpu.stat"), ' ');
+      stats.cpuUsageUs = parseLong(cpuStat.get("usage_usec"));
+      stats.cpuPeriods = parseLong(cpuStat.get("nr_periods"));
+      stats.cpuThrottledPeriods = parseLong(cpuStat.get("nr_throttled"));
+      stats.cpuThrottledUs = parseLong(cpuStat.get("throttled_usec"));
+    }
+
+    long rssKb = parseLong(firstToken(status.get("VmRSS")));
+    long peakRssKb = parseLong(firstToken(status.get("VmHWM")));
+    if (rssKb >= 0) {
+      stats.rssMB = rssKb / KB_TO_MB;
+    }
+    if (peakRssKb >= 0) {
+      stats.peakRssMB = peakRssKb / KB_TO_MB;
+    }
+    stats.processThreads = (int) parseLong(status.get("Threads"));
+    return stats;
+  }
+
+  /** Finds the cgroup v2 directory of this process once; null if there is none. */
+  private synchronized Path cgroupDir() {
+    if (resolved) {
+      return cgroupDir;
+    }
+    resolved = true;
+    if (!Files.isRegularFile(cgroupRoot.resolve("cgroup.controllers"))) {
+      logger.debug("No cgroup v2 hierarchy at {}, container limits not collected", cgroupRoot);
+      return null;
+    }
+    cgroupDir = cgroupRoot;
+    for (String line : readLines(procSelf.resolve("cgroup"))) {
+      if (line.startsWith("0::/")) {
+        Path own = cgroupRoot.resolve(line.substring("0::/".length()));
+        if (Files.isRegularFile(own.resolve("memory.current"))) {
+          cgroupDir = own;
+        }
+        break;
+      }
+    }
+    logger.debug("Reading container limits from {}", cgroupDir);
+    return cgroupDir;
+  }
+
+  private static List<String> readLines(Path file) {
+    try {
+      return Files.readAllLines(file);
+    } catch (IOException e) {
+      return List.of();
+    }
+  }
+
+  private static String readFirstLine(Path file) {
+    List<String> lines = readLines(file);
+    return lines.isEmpty() ? "" : lines.get(0).trim();
+  }
+
+  /** Reads {@code key<separator>value} lines such as memory.stat or the process status. */
+  private static Map<String, String> readKeyValues(Path file, char separator) {
+    Map<String, String> values = new HashMap<>();
+    for (String line : readLines(file)) {
+      int split = line.indexOf(separator);
+      if (split > 0) {
+        values.put(line.substring(0, split), line.substring(split + 1).trim());
+      }
+    }
+    return values;
+  }
+
+  /** Gets the number of a status value such as {@code 524288 kB}. */
+  private static String firstToken(String value) {
+    if (value == null) {
+      return null;
+    }
+    int space = value.indexOf(' ');
+    return space < 0 ? value : value.substring(0, space);
+  }
+
+  /** Parses a counter or limit; -1 for missing values and for {@code max} (no limit). */
+  private static long parseLong(String value) {
+    if (value == null || value.isEmpty()) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package pc.jvm.monitor;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.jvm.dto.GcPauseEvent;
+import pc.jvm.dto.GcPauseStats;
+import pc.jvm.dto.GcPoolUsageChange;
+
+/**
+ * Records every garbage collection reported through GC notifications.
+ *
+ * <p>The cumulative counts and times sampled by {@link MemoryMonitorThread} hide individual pauses;
+ * this listener captures each one with its cause, duration and the memory pools it changed. The
+ * most recent events are kept in a bounded ring buffer, so percentiles cover that window while the
+ * pause count, total and maximum cover everything observed since {@link #start()}.
+ *
+ * <p>Collectors that report concurrent cycles (ZGC and Shenandoah "Cycles" beans) are counted
+ * separately: their duration is the length of the cycle, not time the application was stopped.
+ */
+public class GcPauseRecorder implements NotificationListener, AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(GcPauseRecorder.class);
+  private static final double BYTES_TO_MB = 1024.0 * 1024.0;
+
+  private final GcPauseEvent[] ring;
+  private final long longPauseThresholdMs;
+  private final List<NotificationEmitter> emitters = new ArrayList<>();
+  private final Map<String, Long> causes = new TreeMap<>();
+  private long observed;
+  private long pauseCount;
+  private long concurrentCycleCount;
+  private long totalPauseMs;
+  private GcPauseEvent longestPause;
+
+  /**
+   * Creates a recorder; call {@link #start()} to subscribe to the collectors.
+   *
+   * @param capacity number of most recent events to keep
+   * @param longPauseThresholdMs pauses at least this long are logged as they happen
+   */
+  public GcPauseRecorder(int capacity, long longPauseThresholdMs) {
+    this.ring = new GcPauseEvent[Math.max(1, capacity)];
+    this.longPauseThresholdMs = longPauseThresholdMs;
+  }
+
+  /** Subscribes to notifications from every garbage collector that emits them. */
+  public synchronized void start() {
+    for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (gcBean instanceof NotificationEmitter emitter) {
+        emitter.addNotificationListener(this, null, null);
+        emitters.add(emitter);
+      }
+    }
+    logger.debug("Listening for GC notifications from {} collectors", emitters.size());
+  }
+
+  /** Unsubscribes from the collectors; recorded events remain available. */
+  @Override
+  public synchronized void close() {
+    for (NotificationEmitter emitter : emitters) {
+      try {
+        emitter.removeNotificationListener(this);
+      } catch (ListenerNotFoundException e) {
+        logger.debug("GC listener already removed", e);
+      }
+    }
+    emitters.clear();
+  }
+
+  @Override
+  public void handleNotification(Notification notification, Object handback) {
+    if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(
+        notification.getType())) {
+      return;
+    }
+    GarbageCollectionNotificationInfo info =
+        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+    GcInfo gcInfo = info.getGcInfo();
+
+    GcPauseEvent event = new GcPauseEvent();
+    event.id = gcInfo.getId();
+    event.collector = info.getGcName();
+    event.action = info.getGcAction();
+    event.cause = info.getGcCause();
+    event.startTimeMs = gcInfo.getStartTime();
+    event.durationMs = gcInfo.getDuration();
+    event.concurrent = event.action != null && event.action.contains("cycle");
+    event.pools = collectPoolChanges(gcInfo);
+    record(event);
+
+    if (!event.concurrent && event.durationMs >= longPauseThresholdMs) {
+      logger.warn(
+          "Long GC pause: {} ms [{}] {} ({})",
+          event.durationMs,
+          event.collector,
+          event.action,
+          event.cause);
+    }
+  }
+
+  /** Lists the pools whose usage the collection changed. */
+  private List<GcPoolUsageChange> collectPoolChanges(GcInfo gcInfo) {
+    Map<String, MemoryUsage> before = gcInfo.getMemoryUsageBeforeGc();
+    Map<String, MemoryUsage> after = gcInfo.getMemoryUsageAfterGc();
+    List<GcPoolUsageChange> changes = new ArrayList<>();
+    for (Map.Entry<String, MemoryUsage> entry : before.entrySet()) {
+      MemoryUsage afterUsage = after.get(entry.getKey());
+      if (afterUsage == null || afterUsage.getUsed() == entry.getValue().getUsed()) {
+        continue;
+      }
+      GcPoolUsageChange change = new GcPoolUsageChange();
+      change.name = entry.getKey();
+      change.beforeMB = entry.getValue().getUsed() / BYTES_TO_MB;
+      change.afterMB = afterUsage.getUsed() / BYTES_TO_MB;
+      changes.add(change);
+    }
+    return changes;
+  }
+
+  /** Adds an event to the ring buffer and the running totals. */
+  synchronized void record(GcPauseEvent event) {
+    ring[(int) (observed % ring.length)] = event;
+    observed++;
+    causes.merge(event.cause, 1L, Long::sum);
+    if (event.concurrent) {
+      concurrentCycleCount++;
+      return;
+    }
+    pauseCount++;
+    totalPauseMs += event.durationMs;
+    if (longestPause == null || event.durationMs > longestPause.durationMs) {
+      longestPause = event;
+    }
+  }
+
+  /**
+   * Gets the events still in the ring buffer.
+   *
+   * @return recorded events, oldest first
+   */
+  public synchronized List<GcPauseEvent> getEvents() {
+    int size = (int) Math.min(observed, ring.length);
+    List<GcPauseEvent> events = new ArrayList<>(size);
+    for (long i = observed - size; i < observed; i++) {
+      events.add(ring[(int) (i % ring.length)]);
+    }
+    return events;
+  }
+
+  /**
+   * Summarizes the pauses recorded so far.
+   *
+   * @return pause counts, percentiles over the buffered pauses, maximum and causes
+   */
+  public synchronized GcPauseStats getStats() {
+    long[] durations =
+        getEvents().stream().filter(e -> !e.concurrent).mapToLong(e -> e.durationMs).toArray();
+    Arrays.sort(durations);
+
+    GcPauseStats stats = new GcPauseStats();
+    stats.pauseCount = pauseCount;
+    stats.concurrentCycleCount = concurrentCycleCount;
+    stats.totalPauseMs = totalPauseMs;
+    stats.maxPauseMs = longestPause != null ? longestPause.durationMs : 0;
+    stats.recordedPauses = durations.length;
+    stats.p50PauseMs = percentile(durations, 50);
+    stats.p90PauseMs = percentile(durations, 90);
+    stats.p99PauseMs = percentile(durations, 99);
+    stats.causes = new TreeMap<>(causes);
+    stats.longestPause = longestPause;
+    return stats;
+  }
+
+  /** Nearest-rank percentile of sorted values, 0 if there are none. */
+  static long percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+}
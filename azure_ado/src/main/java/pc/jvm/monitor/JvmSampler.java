@@ -0,0 +1,102 @@
+package pc.jvm.monitor;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the metrics kept in {@link MetricsTimeSeries} straight from the MXBeans.
+ *
+ * <p>Unlike a full {@link pc.jvm.dto.MemoryStatistics} snapshot this walks no threads, builds no
+ * DTOs and allocates only the sample array, so it is cheap enough to run every second.
+ */
+class JvmSampler {
+
+  private static final double BYTES_TO_MB = 1024.0 * 1024.0;
+
+  private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+  private final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+  private final List<GarbageCollectorMXBean> gcBeans =
+      ManagementFactory.getGarbageCollectorMXBeans();
+  private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+  private final OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+  private final List<String> metrics = new ArrayList<>();
+
+  JvmSampler() {
+    metrics.add("heap.usedMB");
+    metrics.add("heap.committedMB");
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        heapPools.add(pool);
+        metrics.add("pool." + pool.getName() + ".usedMB");
+        metrics.add("pool." + pool.getName() + ".committedMB");
+      }
+    }
+    metrics.add("nonHeap.usedMB");
+    metrics.add("gc.count");
+    metrics.add("gc.timeMs");
+    metrics.add("threads.current");
+    metrics.add("threads.daemon");
+    metrics.add("cpu.processPercent");
+    metrics.add("cpu.systemPercent");
+  }
+
+  /**
+   * Gets the metric names, in the order {@link #sample()} returns their values.
+   *
+   * @return metric names
+   */
+  List<String> getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Reads every metric.
+   *
+   * @return current values; CPU load is -1 where the platform does not report it
+   */
+  double[] sample() {
+    double[] values = new double[metrics.size()];
+    int i = 0;
+    MemoryUsage heap = memoryBean.getHeapMemoryUsage();
+    values[i++] = heap.getUsed() / BYTES_TO_MB;
+    values[i++] = heap.getCommitted() / BYTES_TO_MB;
+    for (MemoryPoolMXBean pool : heapPools) {
+      MemoryUsage usage = pool.getUsage();
+      values[i++] = usage != null ? usage.getUsed() / BYTES_TO_MB : 0;
+      values[i++] = usage != null ? usage.getCommitted() / BYTES_TO_MB : 0;
+    }
+    values[i++] = memoryBean.getNonHeapMemoryUsage().getUsed() / BYTES_TO_MB;
+
+    long gcCount = 0;
+    long gcTime = 0;
+    for (GarbageCollectorMXBean gcBean : gcBeans) {
+      gcCount += Math.max(0, gcBean.getCollectionCount());
+      gcTime += Math.max(0, gcBean.getCollectionTime());
+    }
+    values[i++] = gcCount;
+    values[i++] = gcTime;
+    values[i++] = threadBean.getThreadCount();
+    values[i++] = threadBean.getDaemonThreadCount();
+
+    if (osBean instanceof com.sun.management.OperatingSystemMXBean sunOsBean) {
+      values[i++] = percent(sunOsBean.getProcessCpuLoad());
+      values[i++] = percent(sunOsBean.getCpuLoad());
+    } else {
+      values[i++] = -1;
+      values[i++] = -1;
+    }
+    return values;
+  }
+
+  private static double percent(double load) {
+    return load >= 0 ? load * 100 : -1;
+  }
+}
@@ -1,5 +1,6 @@
 package pc.jvm.monitor;
 
+import java.io.IOException;
 import java.lang.management.ClassLoadingMXBean;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
@@ -10,9 +11,12 @@ import java.lang.management.OperatingSystemMXBean;
 import java.lang.management.RuntimeMXBean;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +36,8 @@ import pc.jvm.dto.ThreadCounts;
 import pc.jvm.dto.ThreadStates;
 import pc.jvm.dto.ThreadStatistics;
 import pc.jvm.dto.UptimeStats;
+import pc.jvm.metricslog.MetricsLogWriter;
+import pc.jvm.metricslog.MetricsSchema;
 
 /**
  * A daemon thread that periodically monitors and logs JVM memory and system statistics.
@@ -40,17 +46,45 @@ import pc.jvm.dto.UptimeStats;
  * Non-heap memory usage (Metaspace, Code Cache, etc.) - Garbage collection (collection counts and
  * times) - Thread count and states - System stats (CPU load, physical memory, swap space, - Memory
  * pool details
+ *
+ * <p>Individual GC pauses are captured as they happen by a {@link GcPauseRecorder} while the thread
+ * runs, and summarized with pause percentiles in each log.
+ *
+ * <p>Collection is tiered by cost (see {@link CollectionTier}): a small set of metrics is sampled
+ * into a {@link MetricsTimeSeries} at a short interval, full snapshots are taken at the logging
+ * interval, and per-pool details and deadlock detection, which stop the world for longer as the
+ * thread count grows, only at a longer interval or on {@link #requestExpensiveCollection()}. The
+ * time spent in each tier is measured and logged with every snapshot.
  */
 public class MemoryMonitorThread extends Thread {
 
   private static final Logger logger = LoggerFactory.getLogger(MemoryMonitorThread.class);
   private static final long DEFAULT_INTERVAL_MS = 30_000; // 30 seconds
   private static final double BYTES_TO_MB = 1024.0 * 1024.0;
+  private static final int GC_PAUSE_CAPACITY = 1024;
+  private static final long LONG_GC_PAUSE_MS = 200;
+  private static final int TIME_SERIES_CAPACITY = 900;
+  private static final int TIME_SERIES_FACTOR = 10;
+  private static final int TIME_SERIES_TIERS = 3;
+  private static final int TREND_WIDTH = 40;
 
   private final long intervalMs;
+  private final long sampleIntervalMs;
+  private final long expensiveIntervalMs;
+  private final AtomicBoolean expensiveRequested = new AtomicBoolean(false);
+  private final CollectionOverhead overhead = new CollectionOverhead();
   private final AtomicBoolean running = new AtomicBoolean(true);
   private final AtomicBoolean finalLogRequested = new AtomicBoolean(false);
   private final MemoryStatsLogger statsLogger = new MemoryStatsLogger();
+  private final GcPauseRecorder gcPauseRecorder =
+      new GcPauseRecorder(GC_PAUSE_CAPACITY, LONG_GC_PAUSE_MS);
+  private final JvmSampler sampler = new JvmSampler();
+  private final ContainerStatsCollector containerCollector = new ContainerStatsCollector();
+  private final MetricsTimeSeries timeSeries =
+      new MetricsTimeSeries(
+          sampler.getMetrics(), TIME_SERIES_CAPACITY, TIME_SERIES_FACTOR, TIME_SERIES_TIERS);
+  private Path metricsLogFile;
+  private MetricsLogWriter metricsLog;
 
   /** Creates a memory monitor thread with default 30-second interval. */
   public MemoryMonitorThread() {
@@ -63,59 +97,183 @@ public class MemoryMonitorThread extends Thread {
    * @param intervalMs Interval between memory stats logging in milliseconds
    */
   public MemoryMonitorThread(long intervalMs) {
+    this(intervalMs, intervalMs);
+  }
+
+  /**
+   * Creates a memory monitor thread that samples the time series more often than it logs.
+   *
+   * @param intervalMs Interval between memory stats logging in milliseconds
+   * @param sampleIntervalMs Interval between time series samples in milliseconds
+   */
+  public MemoryMonitorThread(long intervalMs, long sampleIntervalMs) {
+    this(intervalMs, sampleIntervalMs, null);
+  }
+
+  /**
+   * Creates a memory monitor thread that also writes every snapshot to a binary metrics log. With
+   * the log, periodic snapshots go only to the log; initial and final ones are logged in full too.
+   *
+   * @param intervalMs Interval between memory stats snapshots in milliseconds
+   * @param sampleIntervalMs Interval between time series samples in milliseconds
+   * @param metricsLogFile binary metrics log file, or null for text logging only
+   */
+  public MemoryMonitorThread(long intervalMs, long sampleIntervalMs, Path metricsLogFile) {
+    this(intervalMs, sampleIntervalMs, intervalMs, metricsLogFile);
+  }
+
+  /**
+   * Creates a memory monitor thread with a period per collection tier.
+   *
+   * @param intervalMs Interval between memory stats snapshots in milliseconds
+   * @param sampleIntervalMs Interval between time series samples in milliseconds
+   * @param expensiveIntervalMs Interval between per-pool details and deadlock detection in
+   *     milliseconds, rounded up to a whole number of snapshot intervals
+   * @param metricsLogFile binary metrics log file, or null for text logging only
+   */
+  public MemoryMonitorThread(
+      long intervalMs, long sampleIntervalMs, long expensiveIntervalMs, Path metricsLogFile) {
     super("MemoryMonitor");
     this.intervalMs = intervalMs;
+    this.sampleIntervalMs = Math.max(1, Math.min(sampleIntervalMs, intervalMs));
+    this.expensiveIntervalMs = Math.max(intervalMs, expensiveIntervalMs);
+    this.metricsLogFile = metricsLogFile;
     setDaemon(true); // Daemon thread won't prevent JVM shutdown
   }
 
   @Override
   public void run() {
     logger.info("Memory Monitor Thread started (logging every {} seconds)", intervalMs / 1000);
-    logMemoryStats("Initial");
+    gcPauseRecorder.start();
+    sample();
+    logMemoryStats("Initial", true);
 
+    long nextLogTime = System.currentTimeMillis() + intervalMs;
+    long nextExpensiveTime = System.currentTimeMillis() + expensiveIntervalMs;
     while (running.get()) {
-      try {
-        Thread.sleep(intervalMs);
-        if (running.get()) {
-          logMemoryStats("Periodic");
-        }
-      } catch (InterruptedException e) {
-        logger.debug("Memory Monitor Thread interrupted");
+      if (!awaitNextSample()) {
         break;
       }
+      sample();
+      long now = System.currentTimeMillis();
+      boolean expensive = expensiveRequested.getAndSet(false) || now >= nextExpensiveTime;
+      if (expensive || now >= nextLogTime) {
+        logMemoryStats("Periodic", expensive);
+        nextLogTime = now + intervalMs;
+        if (expensive) {
+          nextExpensiveTime = now + expensiveIntervalMs;
+        }
+      }
     }
 
+    // An interrupt from elsewhere would make the metrics log's file channel close itself
+    Thread.interrupted();
     if (finalLogRequested.get()) {
-      logMemoryStats("Final");
+      sample();
+      logMemoryStats("Final", true);
+      statsLogger.logTrends(timeSeries, TREND_WIDTH);
     }
+    gcPauseRecorder.close();
+    closeMetricsLog();
     logger.info("Memory Monitor Thread stopped");
   }
 
+  /**
+   * Gets the recorder capturing individual GC pauses while the thread runs.
+   *
+   * @return GC pause recorder
+   */
+  public GcPauseRecorder getGcPauseRecorder() {
+    return gcPauseRecorder;
+  }
+
+  /**
+   * Gets the sampled time series of heap, pool, GC, thread and CPU metrics.
+   *
+   * @return time series filled while the thread runs
+   */
+  public MetricsTimeSeries getTimeSeries() {
+    return timeSeries;
+  }
+
+  /**
+   * Gets the measured cost of each collection tier.
+   *
+   * @return collection overhead recorded while the thread runs
+   */
+  public CollectionOverhead getCollectionOverhead() {
+    return overhead;
+  }
+
+  /**
+   * Requests a snapshot with per-pool details and deadlock detection at the next sample.
+   *
+   * <p>The thread is not interrupted, as that would close the file channel of the binary metrics
+   * log if it is mid-write.
+   */
+  public void requestExpensiveCollection() {
+    expensiveRequested.set(true);
+  }
+
+  /** Adds one sample to the time series. */
+  private void sample() {
+    long wallStart = overhead.wallTime();
+    long cpuStart = overhead.cpuTime();
+    timeSeries.add(System.currentTimeMillis(), sampler.sample());
+    overhead.record(CollectionTier.CHEAP, wallStart, cpuStart);
+  }
+
+  /**
+   * Waits one sample interval, returning early when the thread is asked to stop.
+   *
+   * <p>Parks rather than sleeps so stopping needs no interrupt, which would close the file channel
+   * of the binary metrics log if it landed during a write.
+   *
+   * @return true if the next sample is due, false if the thread should stop
+   */
+  private boolean awaitNextSample() {
+    long wakeAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sampleIntervalMs);
+    while (running.get()) {
+      long remaining = wakeAt - System.nanoTime();
+      if (remaining <= 0) {
+        return true;
+      }
+      LockSupport.parkNanos(this, remaining);
+      if (Thread.interrupted()) {
+        logger.debug("Memory Monitor Thread interrupted");
+        return false;
+      }
+    }
+    return false;
+  }
+
   /** Requests the thread to stop and logs final statistics. */
   public void requestFinalLog() {
     finalLogRequested.set(true);
     running.set(false);
-    this.interrupt();
+    LockSupport.unpark(this);
   }
 
   /**
-   * Logs comprehensive memory and system statistics.
+   * Collects and logs comprehensive memory and system statistics. With a binary metrics log, the
+   * snapshot is also appended there, and periodic snapshots are only written there.
    *
    * @param logType Type of log (Initial, Periodic, Final)
+   * @param expensive whether to include per-pool details and deadlock detection
    */
-  private void logMemoryStats(String logType) {
-    logger.info("========== Memory Statistics [{}] ==========", logType);
-
-    // Collect all statistics into DTO
-    MemoryStatistics stats = new MemoryStatistics();
-    stats.logType = logType;
-    stats.timestamp = System.currentTimeMillis();
-
-    // 0. JVM Information
-    stats.jvmInfo = collectJvmInfo();
+  private void logMemoryStats(String logType, boolean expensive) {
+    MemoryStatistics stats = collectMemoryStats(logType, expensive);
+    appendToMetricsLog(stats);
+    if (metricsLog != null && "Periodic".equals(logType)) {
+      logger.debug(
+          "Memory Statistics [{}] written to {} (record {})",
+          logType,
+          metricsLogFile,
+          metricsLog.getRecordCount());
+      return;
+    }
 
-    // 1. Heap Memory Statistics (with pools)
-    stats.heapMemory = collectHeapMemoryStats();
+    logger.info("========== Memory Statistics [{}] ==========", logType);
     statsLogger.logMemoryUsage(
         "HEAP",
         stats.heapMemory.initMB,
@@ -123,9 +281,6 @@ public class MemoryMonitorThread extends Thread {
         stats.heapMemory.committedMB,
         stats.heapMemory.maxMB,
         stats.heapMemory.usagePercent);
-
-    // 2. Non-Heap Memory Statistics (with pools)
-    stats.nonHeapMemory = collectNonHeapMemoryStats();
     statsLogger.logMemoryUsage(
         "NON-HEAP",
         -1,
@@ -133,32 +288,106 @@ public class MemoryMonitorThread extends Thread {
         stats.nonHeapMemory.committedMB,
         stats.nonHeapMemory.maxMB,
         stats.nonHeapMemory.usagePercent);
-
-    // 3. Memory Pools (detailed breakdown)
     statsLogger.logMemoryPools(stats.heapMemory.pools);
     statsLogger.logMemoryPools(stats.nonHeapMemory.pools);
+    statsLogger.logGarbageCollection(stats.garbageCollection);
+    statsLogger.logGcPauses(stats.gcPauses);
+    statsLogger.logThreads(stats.threads);
+    statsLogger.logSystem(stats.system);
+    statsLogger.logClassLoading(stats.classLoading);
+    statsLogger.logCollectionOverhead(stats.collectionOverhead);
+    logger.info("================================================");
+
+    // Log JSON representation
+    JSONObject json = stats.toJSON();
+    logger.info("Memory Statistics JSON: \n{}", json.toString(2));
+  }
+
+  /**
+   * Collects all statistics into a DTO.
+   *
+   * @param logType Type of log (Initial, Periodic, Final)
+   * @param expensive whether to include per-pool details and deadlock detection; without them the
+   *     pool lists are null and the deadlocked thread count is -1
+   * @return snapshot of memory, GC, thread, system and class loading statistics
+   */
+  private MemoryStatistics collectMemoryStats(String logType, boolean expensive) {
+    long wallStart = overhead.wallTime();
+    long cpuStart = overhead.cpuTime();
+    MemoryStatistics stats = new MemoryStatistics();
+    stats.logType = logType;
+    stats.timestamp = System.currentTimeMillis();
+
+    // 0. JVM Information
+    stats.jvmInfo = collectJvmInfo();
+
+    // 1. Heap Memory Statistics (with pools)
+    stats.heapMemory = collectHeapMemoryStats();
+
+    // 2. Non-Heap Memory Statistics (with pools)
+    stats.nonHeapMemory = collectNonHeapMemoryStats();
 
-    // 4. Garbage Collection Statistics
+    // 3. Garbage Collection Statistics
     stats.garbageCollection = collectGarbageCollectionStats();
-    statsLogger.logGarbageCollection(stats.garbageCollection);
+    stats.gcPauses = gcPauseRecorder.getStats();
 
-    // 5. Thread Statistics
+    // 4. Thread Statistics
     stats.threads = collectThreadStats();
-    statsLogger.logThreads(stats.threads);
 
-    // 6. System Statistics
+    // 5. System Statistics
     stats.system = collectSystemStats();
-    statsLogger.logSystem(stats.system);
 
-    // 7. Class Loading Statistics
+    // 6. Class Loading Statistics
     stats.classLoading = collectClassLoadingStats();
-    statsLogger.logClassLoading(stats.classLoading);
+    overhead.record(CollectionTier.MEDIUM, wallStart, cpuStart);
+
+    // 7. Memory pools and deadlocks, which cost more with every pool and thread
+    stats.threads.deadlockedThreadCount = -1;
+    if (expensive) {
+      wallStart = overhead.wallTime();
+      cpuStart = overhead.cpuTime();
+      stats.heapMemory.pools = collectMemoryPoolsByType(java.lang.management.MemoryType.HEAP);
+      stats.nonHeapMemory.pools =
+          collectMemoryPoolsByType(java.lang.management.MemoryType.NON_HEAP);
+      stats.threads.deadlockedThreadCount = countDeadlockedThreads();
+      overhead.record(CollectionTier.EXPENSIVE, wallStart, cpuStart);
+    }
 
-    logger.info("================================================");
+    stats.collectionOverhead = overhead.snapshot();
+    return stats;
+  }
 
-    // Log JSON representation
-    JSONObject json = stats.toJSON();
-    logger.info("Memory Statistics JSON: \n{}", json.toString(2));
+  /**
+   * Appends a snapshot to the binary metrics log, creating it from the first snapshot's schema. The
+   * log is dropped after a write error so monitoring carries on with text logging.
+   */
+  private void appendToMetricsLog(MemoryStatistics stats) {
+    if (metricsLogFile == null) {
+      return;
+    }
+    try {
+      if (metricsLog == null) {
+        metricsLog = MetricsLogWriter.create(metricsLogFile, MetricsSchema.derive(stats));
+        logger.info("Writing binary metrics log to {}", metricsLogFile);
+      }
+      metricsLog.append(stats);
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Failed to write binary metrics log {}; disabling it", metricsLogFile, e);
+      metricsLogFile = null;
+      closeMetricsLog();
+    }
+  }
+
+  private void closeMetricsLog() {
+    if (metricsLog == null) {
+      return;
+    }
+    try {
+      metricsLog.close();
+    } catch (IOException e) {
+      logger.warn("Failed to close binary metrics log", e);
+    }
+    metricsLog = null;
   }
 
   // ================ Utility Methods ================
@@ -231,9 +460,6 @@ public class MemoryMonitorThread extends Thread {
     stats.maxMB = toMB(heapMax);
     stats.usagePercent = (heapUsed * 100.0) / heapMax;
 
-    // Collect heap pools
-    stats.pools = collectMemoryPoolsByType(java.lang.management.MemoryType.HEAP);
-
     return stats;
   }
 
@@ -266,9 +492,6 @@ public class MemoryMonitorThread extends Thread {
       stats.usagePercent = -1;
     }
 
-    // Collect non-heap pools
-    stats.pools = collectMemoryPoolsByType(java.lang.management.MemoryType.NON_HEAP);
-
     return stats;
   }
 
@@ -348,12 +571,11 @@ public class MemoryMonitorThread extends Thread {
     stats.counts.totalStarted = threadBean.getTotalStartedThreadCount();
     stats.counts.daemon = threadBean.getDaemonThreadCount();
 
-    // Thread states breakdown
+    // Thread states breakdown, from one batched call without stack traces
     long[] threadIds = threadBean.getAllThreadIds();
     stats.states = new ThreadStates();
 
-    for (long threadId : threadIds) {
-      ThreadInfo threadInfo = threadBean.getThreadInfo(threadId);
+    for (ThreadInfo threadInfo : threadBean.getThreadInfo(threadIds)) {
       if (threadInfo != null) {
         Thread.State state = threadInfo.getThreadState();
         switch (state) {
@@ -367,13 +589,14 @@ public class MemoryMonitorThread extends Thread {
       }
     }
 
-    // Deadlock detection
-    long[] deadlockedThreads = threadBean.findDeadlockedThreads();
-    stats.deadlockedThreadCount = (deadlockedThreads != null) ? deadlockedThreads.length : 0;
-
     return stats;
   }
 
+  private int countDeadlockedThreads() {
+    long[] deadlockedThreads = ManagementFactory.getThreadMXBean().findDeadlockedThreads();
+    return (deadlockedThreads != null) ? deadlockedThreads.length : 0;
+  }
+
   private SystemStatistics collectSystemStats() {
     OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
 
@@ -425,6 +648,9 @@ public class MemoryMonitorThread extends Thread {
     stats.uptime.uptimeSeconds = stats.uptime.uptimeMs / 1000;
     stats.uptime.uptimeMinutes = stats.uptime.uptimeSeconds / 60;
 
+    // Container limits and usage, which the OS bean reports for the host
+    stats.container = containerCollector.collect();
+
     return stats;
   }
 
@@ -0,0 +1,273 @@
+package pc.jvm.monitor;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.management.JMException;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Warns the moment the tenured heap stays above a percentage of its maximum after garbage
+ * collection, with a description of the work in progress.
+ *
+ * <p>Thresholds are set on every heap pool that supports them, which in practice is the old
+ * generation. A collection usage threshold, checked after each GC, raises the warning: memory that
+ * survives collection is live. The plain usage threshold is also set and logged at info level as an
+ * early sign, since usage before GC still counts garbage. The JVM notifies again only after usage
+ * has dropped below a threshold and crossed it anew.
+ *
+ * <p>On the first warning the alarm can log a class histogram and write a heap dump of live
+ * objects, once per run, on a separate thread so the notification thread is not held up. Both force
+ * a full GC.
+ */
+public class MemoryPressureAlarm implements NotificationListener, AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(MemoryPressureAlarm.class);
+
+  private static final double BYTES_TO_MB = 1024.0 * 1024.0;
+  private static final int HISTOGRAM_CLASSES = 20;
+  // Column header and separator line above the classes
+  private static final int HISTOGRAM_HEADER_LINES = 2;
+  private static final DateTimeFormatter DUMP_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+  private final double thresholdPercent;
+  private final Supplier<String> context;
+  private final Path heapDumpDirectory;
+  private final boolean classHistogram;
+  private final List<MemoryPoolMXBean> pools = new ArrayList<>();
+  private final AtomicLong alertCount = new AtomicLong();
+  private final AtomicBoolean diagnosticsTaken = new AtomicBoolean(false);
+  private volatile Thread diagnostics;
+
+  /**
+   * Creates an alarm; call {@link #start()} to arm it.
+   *
+   * @param thresholdPercent percentage of a pool's maximum that triggers the alarm
+   * @param context describes the work in progress for the warning, e.g. the team and iteration
+   * @param heapDumpDirectory directory for the heap dump taken on the first warning, or null for
+   *     none
+   * @param classHistogram whether to log the classes using the most heap on the first warning
+   */
+  public MemoryPressureAlarm(
+      double thresholdPercent,
+      Supplier<String> context,
+      Path heapDumpDirectory,
+      boolean classHistogram) {
+    this.thresholdPercent = thresholdPercent;
+    this.context = context;
+    this.heapDumpDirectory = heapDumpDirectory;
+    this.classHistogram = classHistogram;
+  }
+
+  /** Sets the thresholds and subscribes to memory notifications. */
+  public synchronized void start() {
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() != MemoryType.HEAP
+          || !pool.isUsageThresholdSupported()
+          || !pool.isCollectionUsageThresholdSupported()) {
+        continue;
+      }
+      long max = pool.getUsage().getMax();
+      if (max <= 0) {
+        logger.debug("Memory pool {} has no maximum, no alert threshold set", pool.getName());
+        continue;
+      }
+      // A threshold of 0 would disable the notification
+      long threshold = Math.max(1, (long) (max * thresholdPercent / 100));
+      pool.setUsageThreshold(threshold);
+      pool.setCollectionUsageThreshold(threshold);
+      pools.add(pool);
+      logger.info(
+          "Memory alert armed for {} at {}% ({} MB of {} MB)",
+          pool.getName(),
+          thresholdPercent,
+          String.format("%.1f", threshold / BYTES_TO_MB),
+          String.format("%.1f", max / BYTES_TO_MB));
+    }
+    if (pools.isEmpty()) {
+      logger.warn("No heap memory pool supports usage thresholds, memory alerts are disabled");
+      return;
+    }
+    ((NotificationEmitter) ManagementFactory.getMemoryMXBean())
+        .addNotificationListener(this, null, null);
+  }
+
+  /** Unsubscribes and clears the thresholds; a heap dump in progress carries on. */
+  @Override
+  public synchronized void close() {
+    if (pools.isEmpty()) {
+      return;
+    }
+    try {
+      ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(this);
+    } catch (ListenerNotFoundException e) {
+      // Not subscribed
+    }
+    for (MemoryPoolMXBean pool : pools) {
+      pool.setUsageThreshold(0);
+      pool.setCollectionUsageThreshold(0);
+    }
+    pools.clear();
+  }
+
+  /**
+   * Gets how often a pool stayed above the threshold after GC.
+   *
+   * @return warnings logged since start
+   */
+  public long getAlertCount() {
+    return alertCount.get();
+  }
+
+  @Override
+  public void handleNotification(Notification notification, Object handback) {
+    String type = notification.getType();
+    if (!MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(type)
+        && !MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(type)) {
+      return;
+    }
+    MemoryNotificationInfo info =
+        MemoryNotificationInfo.from((CompositeData) notification.getUserData());
+    onThresholdExceeded(
+        MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(type),
+        info.getPoolName(),
+        info.getUsage());
+  }
+
+  /**
+   * Logs a crossed threshold and, after GC, starts the one-off diagnostics.
+   *
+   * @param afterGc whether the collection usage threshold was crossed
+   * @param poolName memory pool
+   * @param usage pool usage when the threshold was crossed
+   */
+  void onThresholdExceeded(boolean afterGc, String poolName, MemoryUsage usage) {
+    double percent = usage.getMax() > 0 ? usage.getUsed() * 100.0 / usage.getMax() : -1;
+    if (!afterGc) {
+      logger.info(
+          "{} reached {} MB ({}%) before GC, above the {}% alert threshold. In progress: {}",
+          poolName,
+          String.format("%.1f", usage.getUsed() / BYTES_TO_MB),
+          String.format("%.1f", percent),
+          thresholdPercent,
+          describeContext());
+      return;
+    }
+    alertCount.incrementAndGet();
+    logger.warn(
+        "Memory pressure: {} holds {} MB ({}%) of {} MB after GC, above the {}% alert threshold."
+            + " In progress: {}",
+        poolName,
+        String.format("%.1f", usage.getUsed() / BYTES_TO_MB),
+        String.format("%.1f", percent),
+        String.format("%.1f", usage.getMax() / BYTES_TO_MB),
+        thresholdPercent,
+        describeContext());
+    if ((classHistogram || heapDumpDirectory != null)
+        && diagnosticsTaken.compareAndSet(false, true)) {
+      // Not a daemon, so the JVM does not exit halfway through the dump
+      Thread thread = new Thread(this::takeDiagnostics, "MemoryPressureDiagnostics");
+      diagnostics = thread;
+      thread.start();
+    }
+  }
+
+  /**
+   * Waits for the diagnostics of the first warning to finish.
+   *
+   * @param timeoutMs maximum wait in milliseconds
+   * @throws InterruptedException if interrupted while waiting
+   */
+  void awaitDiagnostics(long timeoutMs) throws InterruptedException {
+    Thread thread = diagnostics;
+    if (thread != null) {
+      thread.join(timeoutMs);
+    }
+  }
+
+  private String describeContext() {
+    try {
+      return context.get();
+    } catch (RuntimeException e) {
+      return "unknown (" + e + ")";
+    }
+  }
+
+  private void takeDiagnostics() {
+    if (classHistogram) {
+      logClassHistogram();
+    }
+    if (heapDumpDirectory != null) {
+      dumpHeap();
+    }
+  }
+
+  /** Logs the top of the live class histogram from the DiagnosticCommand MBean. */
+  private void logClassHistogram() {
+    try {
+      String histogram =
+          (String)
+              ManagementFactory.getPlatformMBeanServer()
+                  .invoke(
+                      new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                      "gcClassHistogram",
+                      new Object[] {new String[0]},
+                      new String[] {String[].class.getName()});
+      logger.warn(
+          "Class histogram (top {} classes):\n{}",
+          HISTOGRAM_CLASSES,
+          histogram
+              .lines()
+              .limit(HISTOGRAM_HEADER_LINES + HISTOGRAM_CLASSES)
+              .collect(Collectors.joining("\n")));
+    } catch (JMException | RuntimeException e) {
+      logger.warn("Failed to take class histogram", e);
+    }
+  }
+
+  private void dumpHeap() {
+    Path file =
+        heapDumpDirectory.resolve(
+            "ado-heap-"
+                + ProcessHandle.current().pid()
+                + "-"
+                + LocalDateTime.now().format(DUMP_TIMESTAMP)
+                + ".hprof");
+    try {
+      Files.createDirectories(heapDumpDirectory);
+      logger.warn("Writing heap dump to {}", file);
+      long start = System.currentTimeMillis();
+      ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class)
+          .dumpHeap(file.toString(), true);
+      logger.warn(
+          "Heap dump written to {} ({} MB) in {} ms",
+          file,
+          String.format("%.1f", Files.size(file) / BYTES_TO_MB),
+          System.currentTimeMillis() - start);
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Failed to write heap dump to {}", file, e);
+    }
+  }
+}
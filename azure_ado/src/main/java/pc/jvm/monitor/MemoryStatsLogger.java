@@ -4,8 +4,11 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pc.jvm.dto.ClassLoadingStats;
+import pc.jvm.dto.CollectionTierStats;
+import pc.jvm.dto.ContainerStats;
 import pc.jvm.dto.GarbageCollectionStats;
 import pc.jvm.dto.GcCollectorStats;
+import pc.jvm.dto.GcPauseStats;
 import pc.jvm.dto.MemoryPoolStats;
 import pc.jvm.dto.SystemStatistics;
 import pc.jvm.dto.ThreadStatistics;
@@ -17,6 +20,9 @@ import pc.jvm.dto.ThreadStatistics;
 public class MemoryStatsLogger {
 
   private static final Logger logger = LoggerFactory.getLogger(MemoryStatsLogger.class);
+  private static final String SPARKS = "\u2581\u2582\u2583\u2584\u2585\u2586\u2587\u2588";
+  private static final double CONTAINER_MEMORY_WARN_PERCENT = 90;
+  private static final double CONTAINER_THROTTLED_WARN_PERCENT = 10;
 
   /** Logs table header. */
   private void logTableHeader(String title) {
@@ -77,9 +83,12 @@ public class MemoryStatsLogger {
   /**
    * Logs detailed memory pool statistics from collected data.
    *
-   * @param pools List of memory pool statistics to log
+   * @param pools List of memory pool statistics to log, or null if not collected
    */
   public void logMemoryPools(List<MemoryPoolStats> pools) {
+    if (pools == null) {
+      return;
+    }
     for (MemoryPoolStats pool : pools) {
       logger.info("Pool({}) : [{}]", pool.type, pool.name);
       logMemoryUsage("", -1, pool.usedMB, pool.committedMB, pool.maxMB, pool.usagePercent);
@@ -115,6 +124,93 @@ public class MemoryStatsLogger {
     }
   }
 
+  /**
+   * Logs GC pause statistics from recorded GC notifications.
+   *
+   * @param pauseStats GC pause statistics to log
+   */
+  public void logGcPauses(GcPauseStats pauseStats) {
+    logTableHeader("GC Pauses");
+    logTableRow("Pauses", String.format("%d", pauseStats.pauseCount));
+    logTableRow("Total Time", String.format("%d ms", pauseStats.totalPauseMs));
+
+    if (pauseStats.recordedPauses > 0) {
+      logTableRow("p50", String.format("%d ms", pauseStats.p50PauseMs));
+      logTableRow("p90", String.format("%d ms", pauseStats.p90PauseMs));
+      logTableRow("p99", String.format("%d ms", pauseStats.p99PauseMs));
+      logTableRow("Max", String.format("%d ms", pauseStats.maxPauseMs));
+    }
+
+    if (pauseStats.concurrentCycleCount > 0) {
+      logTableRow("Conc. Cycles", String.format("%d", pauseStats.concurrentCycleCount));
+    }
+
+    logTableFooter();
+
+    if (pauseStats.longestPause != null) {
+      logger.info(
+          "Longest GC Pause: {} ms [{}] {} ({}) at {} ms uptime",
+          pauseStats.longestPause.durationMs,
+          pauseStats.longestPause.collector,
+          pauseStats.longestPause.action,
+          pauseStats.longestPause.cause,
+          pauseStats.longestPause.startTimeMs);
+    }
+  }
+
+  /**
+   * Logs the trend of every sampled metric as a one-line sparkline with its range.
+   *
+   * @param timeSeries sampled metrics
+   * @param width number of characters per sparkline
+   */
+  public void logTrends(MetricsTimeSeries timeSeries, int width) {
+    logger.info("Trends over {} samples:", timeSeries.getSampleCount());
+    for (String metric : timeSeries.getMetrics()) {
+      MetricsTimeSeries.Point summary = timeSeries.summarize(metric);
+      if (summary == null) {
+        continue;
+      }
+      List<MetricsTimeSeries.Point> points = timeSeries.resample(metric, width);
+      logger.info(
+          "{} {} min={} mean={} max={} last={}",
+          String.format("%-40s", metric),
+          sparkline(points, summary.min(), summary.max()),
+          String.format("%.2f", summary.min()),
+          String.format("%.2f", summary.mean()),
+          String.format("%.2f", summary.max()),
+          String.format("%.2f", points.get(points.size() - 1).mean()));
+    }
+  }
+
+  /** Renders point means as block characters scaled between min and max. */
+  private static String sparkline(List<MetricsTimeSeries.Point> points, double min, double max) {
+    StringBuilder line = new StringBuilder(points.size());
+    double range = max - min;
+    for (MetricsTimeSeries.Point point : points) {
+      int level = range > 0 ? (int) ((point.mean() - min) / range * (SPARKS.length() - 1)) : 0;
+      line.append(SPARKS.charAt(level));
+    }
+    return line.toString();
+  }
+
+  /**
+   * Logs what collecting statistics has cost so far, per collection tier.
+   *
+   * @param tiers overhead of each collection tier
+   */
+  public void logCollectionOverhead(List<CollectionTierStats> tiers) {
+    for (CollectionTierStats tier : tiers) {
+      logger.info(
+          "Collection Overhead [{}]: Runs={} | Avg={} us | Max={} us | CPU={} ms",
+          tier.name,
+          tier.collections,
+          tier.collections > 0 ? tier.totalTimeUs / tier.collections : 0,
+          tier.maxTimeUs,
+          String.format("%.2f", tier.totalCpuTimeUs / 1000.0));
+    }
+  }
+
   /**
    * Logs thread statistics from collected data.
    *
@@ -197,6 +293,68 @@ public class MemoryStatsLogger {
           sysStats.uptime.uptimeMinutes,
           sysStats.uptime.uptimeSeconds % 60);
     }
+
+    if (sysStats.container != null) {
+      logContainer(sysStats.container);
+    }
+  }
+
+  /**
+   * Logs container memory and CPU statistics, warning when memory nears the cgroup limit or CPU is
+   * throttled.
+   *
+   * @param container container statistics to log
+   */
+  public void logContainer(ContainerStats container) {
+    logger.info(
+        "Process: RSS={} MB | Peak RSS={} MB | Threads={}",
+        formatAvailable(container.rssMB),
+        formatAvailable(container.peakRssMB),
+        container.processThreads >= 0 ? container.processThreads : "Not available");
+    if (!container.cgroupV2) {
+      return;
+    }
+
+    String memory =
+        String.format(
+            "Container Memory: Current=%s MB | Limit=%s | Working Set=%s MB | Anon=%s MB | File=%s"
+                + " MB",
+            formatAvailable(container.memoryCurrentMB),
+            container.memoryMaxMB >= 0
+                ? String.format(
+                    "%.2f MB (%.2f %%)", container.memoryMaxMB, container.memoryUsagePercent)
+                : "Unlimited",
+            formatAvailable(container.workingSetMB),
+            formatAvailable(container.memoryAnonMB),
+            formatAvailable(container.memoryFileMB));
+    if (container.memoryUsagePercent >= CONTAINER_MEMORY_WARN_PERCENT) {
+      logger.warn("{} - near the container memory limit", memory);
+    } else {
+      logger.info("{}", memory);
+    }
+
+    double throttledPercent =
+        container.cpuPeriods > 0 ? container.cpuThrottledPeriods * 100.0 / container.cpuPeriods : 0;
+    String cpu =
+        String.format(
+            "Container CPU: Limit=%s | Throttled %d of %d periods (%.2f %%) for %d ms | Usage=%d ms",
+            container.cpuLimitCores >= 0
+                ? String.format("%.2f cores", container.cpuLimitCores)
+                : "Unlimited",
+            container.cpuThrottledPeriods,
+            container.cpuPeriods,
+            throttledPercent,
+            container.cpuThrottledUs / 1000,
+            container.cpuUsageUs / 1000);
+    if (throttledPercent >= CONTAINER_THROTTLED_WARN_PERCENT) {
+      logger.warn("{} - CPU is being throttled", cpu);
+    } else {
+      logger.info("{}", cpu);
+    }
+  }
+
+  private static String formatAvailable(double value) {
+    return value >= 0 ? String.format("%.2f", value) : "Not available";
   }
 
   /**
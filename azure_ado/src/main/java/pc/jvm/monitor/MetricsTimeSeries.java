@@ -0,0 +1,342 @@
+package pc.jvm.monitor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fixed-size, multi-resolution store of numeric JVM samples.
+ *
+ * <p>Samples of a fixed set of metrics are kept in primitive ring buffers, one per tier. Tier 0
+ * holds the most recent raw samples; every {@code factor} points of a tier are averaged into one
+ * point of the next tier, which also keeps their minimum and maximum so spikes survive
+ * downsampling. With a capacity of 900, a factor of 10 and 3 tiers, sampling once a second keeps 15
+ * minutes at full resolution, 2.5 hours at 10 s and 25 hours at 100 s in a few hundred KB, no
+ * matter how long the run.
+ *
+ * <p>Writes come from a single sampling thread; reads may come from any thread.
+ */
+public class MetricsTimeSeries {
+
+  /**
+   * One point of a series.
+   *
+   * @param timestampMs time of the first sample in the point
+   * @param endTimestampMs time of the last sample in the point
+   * @param samples number of raw samples aggregated into the point
+   * @param mean mean of the samples
+   * @param min smallest sample
+   * @param max largest sample
+   */
+  public record Point(
+      long timestampMs, long endTimestampMs, int samples, double mean, double min, double max) {}
+
+  private final String[] metrics;
+  private final Map<String, Integer> indexes = new HashMap<>();
+  private final int factor;
+  private final Tier[] tiers;
+
+  /**
+   * Creates an empty time series.
+   *
+   * @param metrics names of the metrics every sample carries, in sample order
+   * @param capacity points kept per tier, at least {@code factor}
+   * @param factor points of a tier aggregated into one point of the next
+   * @param tierCount number of tiers, at least 1
+   */
+  public MetricsTimeSeries(List<String> metrics, int capacity, int factor, int tierCount) {
+    if (factor < 2 || capacity < factor || tierCount < 1) {
+      throw new IllegalArgumentException(
+          "Invalid time series shape: capacity=" + capacity + ", factor=" + factor);
+    }
+    this.metrics = metrics.toArray(new String[0]);
+    for (int i = 0; i < this.metrics.length; i++) {
+      indexes.put(this.metrics[i], i);
+    }
+    this.factor = factor;
+    this.tiers = new Tier[tierCount];
+    int samplesPerPoint = 1;
+    for (int t = 0; t < tierCount; t++) {
+      tiers[t] = new Tier(this.metrics.length, capacity, samplesPerPoint);
+      samplesPerPoint *= factor;
+    }
+  }
+
+  public List<String> getMetrics() {
+    return List.of(metrics);
+  }
+
+  /**
+   * Adds one sample of every metric.
+   *
+   * @param timestampMs sample time in epoch milliseconds
+   * @param values one value per metric, in {@link #getMetrics()} order
+   */
+  public synchronized void add(long timestampMs, double[] values) {
+    if (values.length != metrics.length) {
+      throw new IllegalArgumentException(
+          "Expected " + metrics.length + " values but got " + values.length);
+    }
+    tiers[0].append(timestampMs, timestampMs, values, values, values);
+    for (int t = 1; t < tiers.length; t++) {
+      if (!tiers[t].accumulate(tiers[t - 1], factor)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Gets the number of raw samples added.
+   *
+   * @return samples added since creation
+   */
+  public synchronized long getSampleCount() {
+    return tiers[0].written;
+  }
+
+  /**
+   * Copies the newest sample of every metric, without allocating.
+   *
+   * @param values receives one value per metric, in {@link #getMetrics()} order
+   * @return time of the sample in epoch milliseconds, or -1 if nothing was sampled yet
+   */
+  public synchronized long latest(double[] values) {
+    if (values.length != metrics.length) {
+      throw new IllegalArgumentException(
+          "Expected room for " + metrics.length + " values but got " + values.length);
+    }
+    Tier raw = tiers[0];
+    if (raw.written == 0) {
+      return -1;
+    }
+    int slot = (int) ((raw.written - 1) % raw.timestamps.length);
+    for (int m = 0; m < values.length; m++) {
+      values[m] = raw.means[m][slot];
+    }
+    return raw.timestamps[slot];
+  }
+
+  /**
+   * Gets the retained history of a metric, oldest first, at the finest resolution available for
+   * each period: older periods come from coarser tiers.
+   *
+   * @param metric metric name
+   * @return points of the metric, empty if nothing was sampled
+   * @throws IllegalArgumentException if the metric is unknown
+   */
+  public synchronized List<Point> query(String metric) {
+    Integer index = indexes.get(metric);
+    if (index == null) {
+      throw new IllegalArgumentException("Unknown metric: " + metric);
+    }
+    // A coarser point is used only for the period before the finer tiers' oldest sample
+    long cutoff = Long.MAX_VALUE;
+    List<List<Point>> byTier = new ArrayList<>();
+    for (Tier tier : tiers) {
+      List<Point> tierPoints = new ArrayList<>();
+      for (long i = tier.oldest(); i < tier.written; i++) {
+        Point point = tier.point(index, (int) (i % tier.timestamps.length));
+        if (point.endTimestampMs() < cutoff) {
+          tierPoints.add(point);
+        }
+      }
+      byTier.add(tierPoints);
+      if (tier.written > 0) {
+        cutoff = Math.min(cutoff, tier.timestamps[(int) (tier.oldest() % tier.timestamps.length)]);
+      }
+    }
+    List<Point> points = new ArrayList<>();
+    for (int t = byTier.size() - 1; t >= 0; t--) {
+      points.addAll(byTier.get(t));
+    }
+    return points;
+  }
+
+  /**
+   * Summarizes the retained history of a metric.
+   *
+   * @param metric metric name
+   * @return a single point spanning the history, or null if nothing was sampled
+   */
+  public synchronized Point summarize(String metric) {
+    return merge(query(metric));
+  }
+
+  /**
+   * Downsamples the retained history of a metric to at most {@code buckets} points, e.g. for
+   * rendering a trend.
+   *
+   * @param metric metric name
+   * @param buckets maximum number of points
+   * @return points of the metric, oldest first
+   */
+  public synchronized List<Point> resample(String metric, int buckets) {
+    List<Point> points = query(metric);
+    if (points.size() <= buckets) {
+      return points;
+    }
+    List<Point> resampled = new ArrayList<>(buckets);
+    for (int b = 0; b < buckets; b++) {
+      int from = (int) ((long) b * points.size() / buckets);
+      int to = (int) ((long) (b + 1) * points.size() / buckets);
+      resampled.add(merge(points.subList(from, to)));
+    }
+    return resampled;
+  }
+
+  /**
+   * Writes the retained history of every metric as CSV with the header {@code
+   * metric,timestampMs,endTimestampMs,samples,mean,min,max}.
+   *
+   * @param out destination
+   * @throws IOException if writing fails
+   */
+  public synchronized void writeCsv(Appendable out) throws IOException {
+    out.append("metric,timestampMs,endTimestampMs,samples,mean,min,max\n");
+    for (String metric : metrics) {
+      for (Point point : query(metric)) {
+        out.append(metric)
+            .append(',')
+            .append(Long.toString(point.timestampMs()))
+            .append(',')
+            .append(Long.toString(point.endTimestampMs()))
+            .append(',')
+            .append(Integer.toString(point.samples()))
+            .append(',')
+            .append(format(point.mean()))
+            .append(',')
+            .append(format(point.min()))
+            .append(',')
+            .append(format(point.max()))
+            .append('\n');
+      }
+    }
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.ROOT, "%.3f", value);
+  }
+
+  /** Merges consecutive points into one, weighting means by sample count. */
+  private static Point merge(List<Point> points) {
+    if (points.isEmpty()) {
+      return null;
+    }
+    double sum = 0;
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    int samples = 0;
+    for (Point point : points) {
+      sum += point.mean() * point.samples();
+      min = Math.min(min, point.min());
+      max = Math.max(max, point.max());
+      samples += point.samples();
+    }
+    return new Point(
+        points.get(0).timestampMs(),
+        points.get(points.size() - 1).endTimestampMs(),
+        samples,
+        sum / samples,
+        min,
+        max);
+  }
+
+  /** One resolution: a ring of points plus the bucket being filled from the finer tier. */
+  private static final class Tier {
+
+    private final int samplesPerPoint;
+    private final long[] timestamps;
+    private final long[] endTimestamps;
+    private final double[][] means;
+    // Null for the raw tier, where min and max equal the sample
+    private final double[][] mins;
+    private final double[][] maxes;
+    private long written;
+
+    private int pending;
+    private final double[] pendingSum;
+    private final double[] pendingMin;
+    private final double[] pendingMax;
+    private long pendingStart;
+    private long pendingEnd;
+
+    Tier(int metricCount, int capacity, int samplesPerPoint) {
+      this.samplesPerPoint = samplesPerPoint;
+      this.timestamps = new long[capacity];
+      this.endTimestamps = new long[capacity];
+      this.means = new double[metricCount][capacity];
+      this.mins = samplesPerPoint == 1 ? null : new double[metricCount][capacity];
+      this.maxes = samplesPerPoint == 1 ? null : new double[metricCount][capacity];
+      this.pendingSum = new double[metricCount];
+      this.pendingMin = new double[metricCount];
+      this.pendingMax = new double[metricCount];
+    }
+
+    long oldest() {
+      return Math.max(0, written - timestamps.length);
+    }
+
+    void append(long start, long end, double[] mean, double[] min, double[] max) {
+      int slot = (int) (written % timestamps.length);
+      timestamps[slot] = start;
+      endTimestamps[slot] = end;
+      for (int m = 0; m < means.length; m++) {
+        means[m][slot] = mean[m];
+        if (mins != null) {
+          mins[m][slot] = min[m];
+          maxes[m][slot] = max[m];
+        }
+      }
+      written++;
+    }
+
+    /**
+     * Folds the newest point of the finer tier into the pending bucket.
+     *
+     * @return true if the bucket was completed and appended as a point of this tier
+     */
+    boolean accumulate(Tier finer, int factor) {
+      int slot = (int) ((finer.written - 1) % finer.timestamps.length);
+      if (pending == 0) {
+        pendingStart = finer.timestamps[slot];
+        Arrays.fill(pendingSum, 0);
+        Arrays.fill(pendingMin, Double.POSITIVE_INFINITY);
+        Arrays.fill(pendingMax, Double.NEGATIVE_INFINITY);
+      }
+      pendingEnd = finer.endTimestamps[slot];
+      for (int m = 0; m < pendingSum.length; m++) {
+        pendingSum[m] += finer.means[m][slot];
+        pendingMin[m] =
+            Math.min(
+                pendingMin[m], finer.mins == null ? finer.means[m][slot] : finer.mins[m][slot]);
+        pendingMax[m] =
+            Math.max(
+                pendingMax[m], finer.maxes == null ? finer.means[m][slot] : finer.maxes[m][slot]);
+      }
+      if (++pending < factor) {
+        return false;
+      }
+      for (int m = 0; m < pendingSum.length; m++) {
+        pendingSum[m] /= factor;
+      }
+      append(pendingStart, pendingEnd, pendingSum, pendingMin, pendingMax);
+      pending = 0;
+      return true;
+    }
+
+    Point point(int metric, int slot) {
+      double mean = means[metric][slot];
+      return new Point(
+          timestamps[slot],
+          endTimestamps[slot],
+          samplesPerPoint,
+          mean,
+          mins == null ? mean : mins[metric][slot],
+          maxes == null ? mean : maxes[metric][slot]);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package pc.ado;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.WorkItem;
+import pc.ado.mock.MockAdoConfig;
+import pc.ado.mock.SyntheticAdoData;
+import pc.ado.mock.SyntheticAdoGateway;
+import pc.ado.service.AdoJsonParserService;
+import pc.ado.service.StringPool;
+
+public class AdoApiClientTest {
+
+  private static final String BASE_URI = "https://dev.azure.com/";
+
+  @Test
+  public void testGetSprintWorkItems_InternsTypeStateSeverityAndActivity() throws Exception {
+    SyntheticAdoData data =
+        new SyntheticAdoData(7, new SyntheticAdoData.Sizes(1, 1, 6, 3, 0, 0, 0, 2));
+    String team = data.getTeamNames().get(0);
+    AdoApiClient apiClient =
+        new AdoApiClient(
+            AdoConfig.fromProperties(MockAdoConfig.properties(BASE_URI, data.getTeamNames())),
+            new SyntheticAdoGateway(data, BASE_URI),
+            new AdoJsonParserService());
+    Iteration iteration = apiClient.getTeamSprint("proj", team, List.of()).get(0);
+    apiClient.getSprintWorkItems("proj", team, iteration);
+
+    StringPool pool = apiClient.getStringPool();
+    List<WorkItem> workItems = iteration.getWorkItems();
+    assertEquals(6, workItems.size());
+    for (WorkItem workItem : workItems) {
+      assertSame(pool.intern(new String(workItem.getType())), workItem.getType());
+      assertSame(pool.intern(new String(workItem.getState())), workItem.getState());
+      assertSame(pool.intern(new String(workItem.getSeverity())), workItem.getSeverity());
+      assertFalse(workItem.getTasks().isEmpty());
+      for (WorkItem.Task task : workItem.getTasks()) {
+        assertSame(pool.intern(new String(task.getTaskType())), task.getTaskType());
+        assertSame(pool.intern(new String(task.getState())), task.getState());
+      }
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package pc.ado;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pc.ado.metrics.Endpoint;
+import pc.ado.metrics.HttpMetrics;
+import pc.ado.metrics.Phase;
+import pc.ado.metrics.ResourceAccounting;
+import pc.ado.mock.MockAdoConfig;
+import pc.ado.mock.MockAdoServer;
+import pc.ado.mock.SyntheticAdoData;
+
+public class AdoToolEndToEndTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(AdoToolEndToEndTest.class);
+
+  private static final SyntheticAdoData.Sizes SIZES =
+      new SyntheticAdoData.Sizes(2, 3, 5, 2, 2, 2, 3, 4);
+
+  private static AdoConfig config(MockAdoServer server, SyntheticAdoData data, Path dir) {
+    Properties properties = MockAdoConfig.properties(server.getBaseUri(), data.getTeamNames());
+    properties.setProperty(
+        "outputs", "tsv:" + dir.resolve("report.tsv") + ",summary:" + dir.resolve("summary.json"));
+    properties.setProperty("pipeline.hydrateThreads", "4");
+    properties.setProperty("storage.directory", dir.toString());
+    properties.setProperty("resourceAccounting.enabled", "true");
+    return AdoConfig.fromProperties(properties);
+  }
+
+  @Test
+  public void testExecute_AgainstMockServer_ReportsEverySyntheticEntity(@TempDir Path dir)
+      throws Exception {
+    SyntheticAdoData data = new SyntheticAdoData(42, SIZES);
+    try (MockAdoServer server = MockAdoServer.start(data).withLatency(1, 2)) {
+      long start = System.nanoTime();
+      AdoTool tool = new AdoTool(config(server, data, dir), false);
+      tool.execute();
+      Map<Endpoint, HttpMetrics.EndpointSnapshot> http = tool.getHttpMetrics().snapshot();
+      assertEquals(SIZES.teams(), tool.getTeamsProcessed());
+      assertEquals(SIZES.iterations(), http.get(Endpoint.WORK_ITEMS).requests());
+      assertEquals(
+          SIZES.workItems() * SIZES.pullRequestsPerItem(),
+          http.get(Endpoint.PR_THREADS).statusCodes().get(200));
+      Map<Phase, ResourceAccounting.Usage> phases = tool.getResourceAccounting().getPhaseUsage();
+      for (Phase phase : Phase.values()) {
+        assertTrue(phases.get(phase).scopes() > 0, phase.getValue());
+      }
+      assertEquals(
+          server.getRequestCount(),
+          phases.values().stream().mapToLong(ResourceAccounting.Usage::requests).sum());
+      long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+      logger.info(
+          "Mock run: {} requests in {} ms ({} requests/s)",
+          server.getRequestCount(),
+          elapsedMillis,
+          server.getRequestCount() * 1000 / elapsedMillis);
+    }
+
+    JSONArray iterations =
+        new JSONObject(Files.readString(dir.resolve("summary.json"))).getJSONArray("iterations");
+    assertEquals(SIZES.iterations(), iterations.length());
+    for (int i = 0; i < iterations.length(); i++) {
+      JSONObject iteration = iterations.getJSONObject(i);
+      int pullRequests = SIZES.itemsPerSprint() * SIZES.pullRequestsPerItem();
+      assertEquals(SIZES.itemsPerSprint(), iteration.getInt("workItems"));
+      assertEquals(pullRequests, iteration.getInt("pullRequests"));
+      assertEquals(
+          pullRequests * SIZES.threadsPerPullRequest() * SIZES.commentsPerThread(),
+          iteration.getInt("reviewComments"));
+      int tasks = 0;
+      JSONArray activities = iteration.getJSONArray("activities");
+      for (int a = 0; a < activities.length(); a++) {
+        tasks += activities.getJSONObject(a).getInt("tasks");
+      }
+      assertEquals(SIZES.itemsPerSprint() * SIZES.tasksPerItem(), tasks);
+    }
+    assertTrue(Files.size(dir.resolve("report.tsv")) > 0);
+  }
+
+  @Test
+  public void testExecute_OutputFails_KeepsCheckpoint(@TempDir Path dir) throws Exception {
+    SyntheticAdoData data = new SyntheticAdoData(3, SIZES);
+    Path journal = dir.resolve("run.journal");
+    try (MockAdoServer server = MockAdoServer.start(data)) {
+      Properties properties = MockAdoConfig.properties(server.getBaseUri(), data.getTeamNames());
+      // A directory cannot be opened as the report file
+      properties.setProperty("outputs", "tsv:" + dir);
+      properties.setProperty("storage.directory", dir.toString());
+      properties.setProperty("checkpoint.enabled", "true");
+      properties.setProperty("checkpoint.file", journal.toString());
+      new AdoTool(AdoConfig.fromProperties(properties), false).execute();
+    }
+
+    assertTrue(Files.size(journal) > 0, "fetched data is kept for --resume");
+  }
+
+  @Test
+  public void testResume_AfterCapacitiesFailed_RefetchesIncompleteIterations(@TempDir Path dir)
+      throws Exception {
+    SyntheticAdoData data = new SyntheticAdoData(5, SIZES);
+    Path journal = dir.resolve("run.journal");
+    try (MockAdoServer server = MockAdoServer.start(data).withFailures("/capacities")) {
+      Properties properties = MockAdoConfig.properties(server.getBaseUri(), data.getTeamNames());
+      // A directory cannot be opened as the report file, so the checkpoint is kept
+      properties.setProperty("outputs", "tsv:" + dir);
+      properties.setProperty("storage.directory", dir.toString());
+      properties.setProperty("checkpoint.enabled", "true");
+      properties.setProperty("checkpoint.file", journal.toString());
+      new AdoTool(AdoConfig.fromProperties(properties), false).execute();
+
+      server.withFailures(null);
+      properties.setProperty("outputs", "summary:" + dir.resolve("summary.json"));
+      new AdoTool(AdoConfig.fromProperties(properties), true).execute();
+    }
+
+    JSONArray iterations =
+        new JSONObject(Files.readString(dir.resolve("summary.json"))).getJSONArray("iterations");
+    assertEquals(SIZES.iterations(), iterations.length());
+    for (int i = 0; i < iterations.length(); i++) {
+      JSONObject iteration = iterations.getJSONObject(i);
+      assertTrue(iteration.getDouble("capacityHours") > 0, iteration.toString());
+      assertEquals(SIZES.itemsPerSprint(), iteration.getInt("workItems"));
+    }
+  }
+
+  @Test
+  public void testThrottling_AnswersTooManyRequestsWithRetryAfter() throws Exception {
+    try (MockAdoServer server =
+        MockAdoServer.start(new SyntheticAdoData(1, SIZES)).withThrottling(1.0)) {
+      HttpResponse<String> response =
+          HttpClient.newHttpClient()
+              .send(
+                  HttpRequest.newBuilder(
+                          URI.create(
+                              server.getBaseUri()
+                                  + "org/proj/Team%201/_apis/work/teamsettings/iterations"))
+                      .build(),
+                  HttpResponse.BodyHandlers.ofString());
+      assertEquals(429, response.statusCode());
+      assertEquals("1", response.headers().firstValue("Retry-After").orElse(null));
+      assertEquals(1, server.getThrottledCount());
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package pc.ado;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.time.LocalDate;
 import org.junit.jupiter.api.Test;
@@ -194,4 +195,21 @@ public class DateUtilsTest {
 
     assertEquals(1, result); // Only Monday counts
   }
+
+  // Test cases for parseLocalDate method
+  @Test
+  public void testParseLocalDate_SupportedFormats() {
+    LocalDate expected = LocalDate.of(2025, 1, 14);
+
+    assertEquals(expected, DateUtils.parseLocalDate("14-Jan-2025"));
+    assertEquals(expected, DateUtils.parseLocalDate("2025-01-14T10:00:00Z"));
+    assertEquals(expected, DateUtils.parseLocalDate("2025-01-14"));
+  }
+
+  @Test
+  public void testParseLocalDate_BlankOrInvalid() {
+    assertNull(DateUtils.parseLocalDate(""));
+    assertNull(DateUtils.parseLocalDate(null));
+    assertNull(DateUtils.parseLocalDate("N/A"));
+  }
 }
@@ -0,0 +1,94 @@
+package pc.ado.checkpoint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.TeamMemberAllocation;
+import pc.ado.dto.WorkItem;
+
+public class CheckpointJournalTest {
+
+  private static final String LINK_1 = "https://dev.azure.com/org/proj/_apis/wit/workItems/1";
+  private static final String LINK_2 = "https://dev.azure.com/org/proj/_apis/wit/workItems/2";
+
+  private static Iteration sprint(String id) {
+    return new Iteration("proj", "A Team", id, "Sprint " + id, "01-Jan-2025", "14-Jan-2025");
+  }
+
+  private static WorkItem story() {
+    WorkItem story =
+        WorkItem.builder().id(1).type("User Story").state("Done").storyPoints("5").build();
+    story.addTask(new WorkItem.Task("11", "Development", "Closed", "Alice", "8", "0", "7.5"));
+    return story;
+  }
+
+  @Test
+  public void testResume_ReadsBackCompletedUnits(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve("run.journal");
+    try (CheckpointJournal journal = CheckpointJournal.open(file, false)) {
+      journal.recordWorkItem(LINK_1, story());
+      journal.recordWorkItem(LINK_2, null);
+      Iteration sprint = sprint("it-1");
+      sprint.addAllocation(new TeamMemberAllocation("Alice", 6.0, 1, 9, 54.0));
+      sprint.addWorkItem(story());
+      journal.recordIteration(sprint);
+    }
+
+    try (CheckpointJournal journal = CheckpointJournal.open(file, true)) {
+      assertTrue(journal.hasWorkItem(LINK_1));
+      assertTrue(journal.hasWorkItem(LINK_2));
+      assertEquals(5.0, journal.getWorkItem(LINK_1).getStoryPointsValue());
+      assertEquals(7.5, journal.getWorkItem(LINK_1).getTasks().get(0).getCompletedWorkHours());
+      assertNull(journal.getWorkItem(LINK_2));
+
+      Iteration completed = journal.getIteration(sprint("it-1"));
+      assertEquals("Sprint it-1", completed.getName());
+      assertEquals("Alice", completed.getAllocations().get(0).getName());
+      assertEquals(1, completed.getWorkItems().get(0).getId());
+      assertNull(journal.getIteration(sprint("it-2")));
+      assertEquals(1, journal.getResumedIterations());
+    }
+  }
+
+  @Test
+  public void testResume_TruncatesPartialRecordAndKeepsAppending(@TempDir Path dir)
+      throws Exception {
+    Path file = dir.resolve("run.journal");
+    try (CheckpointJournal journal = CheckpointJournal.open(file, false)) {
+      journal.recordWorkItem(LINK_1, story());
+    }
+    long complete = Files.size(file);
+    // A record cut short by a crash: type, key, length but no payload
+    Files.write(file, new byte[] {'W', 0, 1, 'x', 0, 0, 0, 9, 1}, StandardOpenOption.APPEND);
+
+    try (CheckpointJournal journal = CheckpointJournal.open(file, true)) {
+      assertEquals(complete, Files.size(file));
+      journal.recordWorkItem(LINK_2, story());
+    }
+    try (CheckpointJournal journal = CheckpointJournal.open(file, true)) {
+      assertTrue(journal.hasWorkItem(LINK_1));
+      assertEquals(1, journal.getWorkItem(LINK_2).getId());
+    }
+  }
+
+  @Test
+  public void testOpen_WithoutResumeClearsJournal(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve("run.journal");
+    try (CheckpointJournal journal = CheckpointJournal.open(file, false)) {
+      journal.recordWorkItem(LINK_1, story());
+    }
+
+    CheckpointJournal journal = CheckpointJournal.open(file, false);
+    assertFalse(journal.hasWorkItem(LINK_1));
+    journal.delete();
+    assertFalse(Files.exists(file));
+  }
+}
@@ -0,0 +1,106 @@
+package pc.ado.columnar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.WorkItem;
+
+public class IterationColumnStoreTest {
+
+  @TempDir Path tempDir;
+
+  private static WorkItem workItem(int id, String state, String assignedTo, String points) {
+    return WorkItem.builder()
+        .id(id)
+        .type("User Story")
+        .state(state)
+        .assignedTo(assignedTo)
+        .storyPoints(points)
+        .build();
+  }
+
+  private static List<Iteration> sampleIterations() {
+    Iteration sprint1 =
+        new Iteration("proj", "A Team", "it-1", "Sprint 1", "01-Jan-2025", "14-Jan-2025");
+    WorkItem story = workItem(1, "Done", "Alice", "5");
+    story.addTask(new WorkItem.Task("11", "Development", "Closed", "Alice", "8", "0", "7.5"));
+    story.addTask(new WorkItem.Task("12", "Testing", "Closed", "Bob", "4", "0", "3"));
+    sprint1.addWorkItem(story);
+    sprint1.addWorkItem(workItem(2, "Done", "Alice", "3"));
+    sprint1.addWorkItem(workItem(3, "Active", "Bob", "2"));
+
+    Iteration sprint2 =
+        new Iteration("proj", "A Team", "it-2", "Sprint 2", "15-Jan-2025", "28-Jan-2025");
+    WorkItem bug = workItem(4, "Done", "Bob", "1");
+    bug.addTask(new WorkItem.Task("13", "Development", "Closed", "Bob", "2", "0", "2.5"));
+    sprint2.addWorkItem(bug);
+    sprint2.addWorkItem(workItem(5, "Done", "Alice", ""));
+    return List.of(sprint1, sprint2);
+  }
+
+  private static void assertPointsPerAssigneePerSprint(IterationColumnStore store) {
+    Map<List<String>, Double> points =
+        store
+            .query(IterationColumnStore.WORK_ITEMS)
+            .whereEquals("state", "Done")
+            .groupBy("assignedTo", "iterations.name")
+            .sum("storyPoints");
+
+    assertEquals(3, points.size());
+    assertEquals(8.0, points.get(List.of("Alice", "Sprint 1")));
+    assertEquals(1.0, points.get(List.of("Bob", "Sprint 2")));
+    assertEquals(0.0, points.get(List.of("Alice", "Sprint 2")));
+  }
+
+  @Test
+  public void testQuery_FiltersGroupsAndSumsAcrossParentTables() {
+    IterationColumnStore store = IterationColumnStore.of(sampleIterations());
+
+    assertPointsPerAssigneePerSprint(store);
+
+    Map<List<String>, Double> hours =
+        store
+            .query(IterationColumnStore.TASKS)
+            .groupBy("activity", "iterations.name")
+            .sum("completedWork");
+    assertEquals(7.5, hours.get(List.of("Development", "Sprint 1")));
+    assertEquals(2.5, hours.get(List.of("Development", "Sprint 2")));
+    assertEquals(3.0, hours.get(List.of("Testing", "Sprint 1")));
+
+    assertEquals(
+        2,
+        store
+            .query(IterationColumnStore.WORK_ITEMS)
+            .whereIn("assignedTo", Arrays.asList("Bob", "Nobody"))
+            .count());
+    assertEquals(
+        2, store.query(IterationColumnStore.WORK_ITEMS).where("storyPoints", p -> p >= 3).count());
+    assertEquals(
+        Map.of(List.of("Sprint 1"), 3L, List.of("Sprint 2"), 2L),
+        store.query(IterationColumnStore.WORK_ITEMS).groupBy("iterations.name").count());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> store.query(IterationColumnStore.ITERATIONS).groupBy("workItems.state"));
+  }
+
+  @Test
+  public void testRead_QueriesTablesLoadedFromColumnarFile() throws Exception {
+    Path file = tempDir.resolve("report.adoc");
+    try (OutputStream out = Files.newOutputStream(file)) {
+      ColumnarFileWriter.write(IterationColumnStore.of(sampleIterations()).getTables(), out);
+    }
+
+    try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+      assertPointsPerAssigneePerSprint(IterationColumnStore.read(reader));
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package pc.ado.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+public class WorkItemTest {
+
+  @Test
+  public void testWorkItem_KeepsNumberAndDateText() {
+    WorkItem workItem =
+        WorkItem.builder()
+            .id(7)
+            .type("Bug")
+            .state("Active")
+            .storyPoints("5.0")
+            .qaStoryPoints("1.5")
+            .priority("2")
+            .severity("3 - Medium")
+            .createdDate("2024-12-30T10:15:00.123Z")
+            .devEndDate("2025-01-03T00:00:00Z")
+            .build();
+
+    assertEquals(5.0, workItem.getStoryPointsValue());
+    assertEquals("5.0", workItem.getStoryPoints());
+    assertEquals("1.5", workItem.getQaStoryPoints());
+    assertEquals(2, workItem.getPriorityValue());
+    assertEquals("3 - Medium", workItem.getSeverity());
+    assertEquals(LocalDate.of(2024, 12, 30).toEpochDay(), workItem.getCreatedEpochDay());
+    assertEquals("2024-12-30T10:15:00.123Z", workItem.getCreatedDate());
+    assertEquals("2025-01-03T00:00:00Z", workItem.getDevEndDate());
+    assertEquals("Bug", workItem.getType());
+    assertEquals("Active", workItem.getState());
+  }
+
+  @Test
+  public void testWorkItem_MissingValuesMaterializeAsEmpty() {
+    WorkItem workItem = WorkItem.builder().id(8).build();
+
+    assertTrue(Double.isNaN(workItem.getOriginalStoryPointsValue()));
+    assertEquals("", workItem.getOriginalStoryPoints());
+    assertEquals(WorkItem.MISSING, workItem.getPriorityValue());
+    assertEquals("", workItem.getPriority());
+    assertEquals(WorkItem.MISSING, workItem.getQaEndEpochDay());
+    assertEquals("", workItem.getQaEndDate());
+
+    WorkItem.Task task = new WorkItem.Task("1", "Development", "Closed", "Alice", "8", "", "7.5");
+    assertEquals(8.0, task.getOriginalEstimateHours());
+    assertEquals("", task.getRemainingWork());
+    assertEquals("7.5", task.getCompletedWork());
+  }
+
+  @Test
+  public void testWorkItem_NonNumericTextIsKeptButHasNoValue() {
+    WorkItem workItem = WorkItem.builder().id(10).storyPoints("TBD").build();
+
+    assertEquals("TBD", workItem.getStoryPoints());
+    assertTrue(Double.isNaN(workItem.getStoryPointsValue()));
+  }
+}
@@ -0,0 +1,159 @@
+package pc.ado.flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class DemandPublisherTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(8);
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicInteger maxRunning = new AtomicInteger();
+  private final AtomicInteger started = new AtomicInteger();
+
+  @AfterEach
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /** Source of {@code count} tasks returning their index; odd indexes are skipped (null). */
+  private DemandPublisher.TaskSource<Integer> source(int count, int failAt) {
+    AtomicInteger next = new AtomicInteger();
+    return () -> {
+      int index = next.getAndIncrement();
+      if (index >= count) {
+        return null;
+      }
+      Callable<Integer> task =
+          () -> {
+            started.incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+              // Later tasks finish first, to check delivery order
+              Thread.sleep((count - index) % 5);
+              if (index == failAt) {
+                throw new IOException("task " + index);
+              }
+              return index % 2 == 0 ? index : null;
+            } finally {
+              running.decrementAndGet();
+            }
+          };
+      return task;
+    };
+  }
+
+  /** Requests a fixed batch on subscribe and another after each batch is consumed. */
+  private static final class BatchSubscriber implements Flow.Subscriber<Integer> {
+    private final int batch;
+    private final List<Integer> received = new CopyOnWriteArrayList<>();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile Throwable error;
+    private volatile boolean completed;
+    private Flow.Subscription subscription;
+    private int inBatch;
+
+    private BatchSubscriber(int batch) {
+      this.batch = batch;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(batch);
+    }
+
+    @Override
+    public void onNext(Integer item) {
+      received.add(item);
+      if (++inBatch == batch) {
+        inBatch = 0;
+        subscription.request(batch);
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+      done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+      done.countDown();
+    }
+  }
+
+  @Test
+  public void testSubscribe_DeliversInOrderWithinDemandAndConcurrency() throws Exception {
+    DemandPublisher<Integer> publisher = new DemandPublisher<>(() -> source(60, -1), executor, 4);
+    BatchSubscriber subscriber = new BatchSubscriber(3);
+
+    publisher.subscribe(subscriber);
+
+    assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+    assertTrue(subscriber.completed);
+    assertNull(subscriber.error);
+    assertEquals(30, subscriber.received.size());
+    for (int i = 0; i < subscriber.received.size(); i++) {
+      assertEquals(i * 2, subscriber.received.get(i));
+    }
+    assertTrue(maxRunning.get() <= 3, "at most the requested number of tasks run at once");
+  }
+
+  @Test
+  public void testSubscribe_StopsFetchingWithoutDemand() throws Exception {
+    DemandPublisher<Integer> publisher = new DemandPublisher<>(() -> source(100, -1), executor, 8);
+    CountDownLatch received = new CountDownLatch(2);
+    publisher.subscribe(
+        new Flow.Subscriber<>() {
+          @Override
+          public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(2);
+          }
+
+          @Override
+          public void onNext(Integer item) {
+            received.countDown();
+          }
+
+          @Override
+          public void onError(Throwable throwable) {}
+
+          @Override
+          public void onComplete() {}
+        });
+
+    assertTrue(received.await(10, TimeUnit.SECONDS));
+    Thread.sleep(50);
+    // Two elements plus the skipped odd indexes in between
+    assertTrue(started.get() <= 4, "fetched " + started.get() + " for a demand of 2");
+  }
+
+  @Test
+  public void testSubscribe_SignalsTaskFailure() throws Exception {
+    DemandPublisher<Integer> publisher = new DemandPublisher<>(() -> source(40, 8), executor, 4);
+    BatchSubscriber subscriber = new BatchSubscriber(5);
+
+    publisher.subscribe(subscriber);
+
+    assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+    assertSame(IOException.class, subscriber.error.getClass());
+    assertEquals(List.of(0, 2, 4, 6), subscriber.received);
+  }
+}
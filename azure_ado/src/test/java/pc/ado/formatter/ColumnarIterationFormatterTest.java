@@ -0,0 +1,119 @@
+package pc.ado.formatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pc.ado.columnar.Column;
+import pc.ado.columnar.ColumnarFileReader;
+import pc.ado.columnar.DoubleColumn;
+import pc.ado.columnar.IntColumn;
+import pc.ado.columnar.StringColumn;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.PullRequest;
+import pc.ado.dto.PullRequestThread;
+import pc.ado.dto.TeamMemberAllocation;
+import pc.ado.dto.ThreadComment;
+import pc.ado.dto.WorkItem;
+
+public class ColumnarIterationFormatterTest {
+
+  @TempDir Path tempDir;
+
+  private static List<Iteration> sampleIterations() {
+    Iteration sprint1 =
+        new Iteration("proj", "A Team", "it-1", "Sprint 1", "01-Jan-2025", "14-Jan-2025");
+    sprint1.addAllocation(new TeamMemberAllocation("Alice", 6.0, 1, 9, 54.0));
+    WorkItem story =
+        WorkItem.builder()
+            .id(101)
+            .type("User Story")
+            .state("Done")
+            .assignedTo("Alice")
+            .storyPoints("5")
+            .priority("2")
+            .createdDate("2024-12-30T10:15:00Z")
+            .build();
+    story.addTask(new WorkItem.Task("201", "Development", "Closed", "Alice", "8", "0", "7.5"));
+    PullRequest pr = new PullRequest("301", "Alice", "2025-01-05T08:00:00Z");
+    PullRequestThread thread = new PullRequestThread("1", "active", false);
+    thread.addCommenter(
+        "Bob",
+        List.of(
+            new ThreadComment("2025-01-06T08:00:00Z", ""),
+            new ThreadComment("2025-01-07T08:00:00Z", "")));
+    pr.addThread(thread);
+    story.addPullRequest(pr);
+    sprint1.addWorkItem(story);
+    sprint1.addWorkItem(WorkItem.builder().id(102).type("Bug").state("Done").build());
+
+    Iteration sprint2 =
+        new Iteration("proj", "A Team", "it-2", "Sprint 2", "15-Jan-2025", "28-Jan-2025");
+    sprint2.addWorkItem(WorkItem.builder().id(103).type("Bug").state("Active").build());
+    return List.of(sprint1, sprint2);
+  }
+
+  @Test
+  public void testWrite_RoundTripsTablesThroughReader() throws Exception {
+    Path file = tempDir.resolve("report.adoc");
+    try (OutputStream out = Files.newOutputStream(file)) {
+      new ColumnarIterationFormatter().write(sampleIterations(), out);
+    }
+
+    try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+      assertEquals(6, reader.getTables().size());
+      assertEquals(2, reader.getTable(ColumnarIterationFormatter.ITERATIONS).rowCount());
+      assertEquals(3, reader.getTable(ColumnarIterationFormatter.WORK_ITEMS).rowCount());
+
+      StringColumn projects =
+          (StringColumn) reader.readColumn(ColumnarIterationFormatter.ITERATIONS, "project");
+      assertEquals(Column.ENCODING_DICTIONARY, projects.getEncoding());
+      assertEquals("proj", projects.get(1));
+
+      IntColumn start =
+          (IntColumn) reader.readColumn(ColumnarIterationFormatter.ITERATIONS, "startDate");
+      assertEquals(LocalDate.of(2025, 1, 1).toEpochDay(), start.get(0));
+
+      StringColumn states =
+          (StringColumn) reader.readColumn(ColumnarIterationFormatter.WORK_ITEMS, "state");
+      assertEquals(2, states.getCardinality());
+      assertEquals("Active", states.get(2));
+
+      DoubleColumn points =
+          (DoubleColumn) reader.readColumn(ColumnarIterationFormatter.WORK_ITEMS, "storyPoints");
+      assertEquals(5.0, points.get(0));
+      assertTrue(points.isNull(1));
+
+      DoubleColumn completed =
+          (DoubleColumn) reader.readColumn(ColumnarIterationFormatter.TASKS, "completedWork");
+      assertEquals(7.5, completed.get(0));
+
+      IntColumn counts =
+          (IntColumn)
+              reader.readColumn(ColumnarIterationFormatter.THREAD_COMMENTERS, "commentCount");
+      assertEquals(2, counts.get(0));
+      IntColumn lastComment =
+          (IntColumn)
+              reader.readColumn(ColumnarIterationFormatter.THREAD_COMMENTERS, "lastCommentDate");
+      assertEquals(LocalDate.of(2025, 1, 7).toEpochDay(), lastComment.get(0));
+    }
+  }
+
+  @Test
+  public void testFormat_EmptyIterationsProducesReadableFile() throws Exception {
+    Path file = tempDir.resolve("empty.adoc");
+    try (OutputStream out = Files.newOutputStream(file)) {
+      new ColumnarIterationFormatter().write(List.of(), out);
+    }
+
+    try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+      assertEquals(0, reader.getTable(ColumnarIterationFormatter.TASKS).rowCount());
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package pc.ado.formatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.TeamMemberAllocation;
+import pc.ado.dto.WorkItem;
+
+public class ParallelIterationFormatterTest {
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  @AfterEach
+  public void shutdownPool() {
+    pool.shutdownNow();
+  }
+
+  private static List<Iteration> iterations(int count) {
+    List<Iteration> iterations = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      Iteration iteration =
+          new Iteration("proj", "Team " + (i % 3), "it-" + i, "Sprint " + i, "01-Jan-2025", null);
+      iteration.addAllocation(new TeamMemberAllocation("Alice", 6.0, 1, 9, 54.0));
+      iteration.addWorkItem(WorkItem.builder().id(100 + i).type("Bug").state("Done").build());
+      iterations.add(iteration);
+    }
+    return iterations;
+  }
+
+  private void assertSameOutput(SegmentedIterationFormatter sequential) throws Exception {
+    ParallelIterationFormatter parallel = new ParallelIterationFormatter(sequential, pool, 2);
+    for (int count : new int[] {0, 1, 2, 3, 7, 40}) {
+      List<Iteration> iterations = iterations(count);
+      String expected = sequential.format(iterations);
+      assertEquals(expected, parallel.format(iterations), "format() with " + count);
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      parallel.write(iterations, out);
+      assertEquals(expected, out.toString(StandardCharsets.UTF_8), "write() with " + count);
+    }
+  }
+
+  @Test
+  public void testParallelJson_MatchesSequentialOutput() throws Exception {
+    assertSameOutput(new JsonIterationFormatter());
+  }
+
+  @Test
+  public void testParallelTsv_MatchesSequentialOutput() throws Exception {
+    assertSameOutput(new TsvIterationFormatter());
+  }
+}
@@ -0,0 +1,94 @@
+package pc.ado.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pc.ado.exception.AdoApiException;
+import pc.ado.exception.AdoAuthenticationException;
+import pc.ado.exception.AdoException;
+
+public class RecordReplayGatewayTest {
+
+  private static final String ITERATIONS =
+      "https://ado/proj/team/_apis/work/teamsettings/iterations";
+  private static final String WORK_ITEM = "https://ado/proj/_apis/wit/workItems/1";
+  private static final String SECRET = "https://ado/proj/_apis/secret";
+
+  /** Serves fixed bodies; the work item is rate limited on its first call. */
+  private static final class FakeGateway implements AdoGateway {
+    private final Map<String, Integer> calls = new HashMap<>();
+
+    @Override
+    public String get(String url) throws AdoException {
+      int call = calls.merge(url, 1, Integer::sum);
+      if (url.equals(SECRET)) {
+        throw new AdoAuthenticationException("Authentication failed");
+      }
+      if (url.equals(WORK_ITEM) && call == 1) {
+        throw new AdoApiException("Rate limit exceeded", 429, "{\"message\":\"slow down\"}");
+      }
+      return "{\"url\":\"" + url + "\",\"value\":[\"é\"]}";
+    }
+
+    @Override
+    public String getWithRetry(String url, int maxRetries) throws AdoException {
+      return get(url);
+    }
+
+    @Override
+    public boolean isHealthy() {
+      return true;
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  @Test
+  public void testReplay_ServesRecordedResponsesAndFailuresInOrder(@TempDir Path dir)
+      throws Exception {
+    Path archive = dir.resolve("recording.zip");
+    RecordingAdoGateway recorder = new RecordingAdoGateway(new FakeGateway(), archive);
+    String iterations = recorder.get(ITERATIONS);
+    assertThrows(AdoApiException.class, () -> recorder.get(WORK_ITEM));
+    String workItem = recorder.get(WORK_ITEM);
+    assertThrows(AdoAuthenticationException.class, () -> recorder.get(SECRET));
+    recorder.close();
+
+    ReplayAdoGateway replay = new ReplayAdoGateway(archive, Duration.ZERO);
+    assertEquals(iterations, replay.get(ITERATIONS));
+    AdoApiException rateLimited = assertThrows(AdoApiException.class, () -> replay.get(WORK_ITEM));
+    assertEquals(429, rateLimited.getStatusCode());
+    assertEquals("{\"message\":\"slow down\"}", rateLimited.getResponseBody());
+    assertEquals(workItem, replay.get(WORK_ITEM));
+    // The last recorded response repeats
+    assertEquals(workItem, replay.get(WORK_ITEM));
+    assertThrows(AdoAuthenticationException.class, () -> replay.get(SECRET));
+    AdoApiException missing =
+        assertThrows(AdoApiException.class, () -> replay.get("https://ado/unknown"));
+    assertEquals(404, missing.getStatusCode());
+    replay.close();
+  }
+
+  @Test
+  public void testReplay_AddsLatency(@TempDir Path dir) throws Exception {
+    Path archive = dir.resolve("recording.zip");
+    RecordingAdoGateway recorder = new RecordingAdoGateway(new FakeGateway(), archive);
+    recorder.get(ITERATIONS);
+    recorder.close();
+
+    ReplayAdoGateway replay = new ReplayAdoGateway(archive, Duration.ofMillis(30));
+    long start = System.nanoTime();
+    replay.get(ITERATIONS);
+    replay.get(ITERATIONS);
+    assertTrue(System.nanoTime() - start >= Duration.ofMillis(60).toNanos());
+    replay.close();
+  }
+}
@@ -0,0 +1,73 @@
+package pc.ado.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pc.ado.AdoConfig;
+import pc.ado.AdoTool;
+import pc.ado.mock.MockAdoConfig;
+import pc.ado.mock.MockAdoServer;
+import pc.ado.mock.SyntheticAdoData;
+
+public class JfrRecordingTest {
+
+  private static final SyntheticAdoData.Sizes SIZES =
+      new SyntheticAdoData.Sizes(1, 2, 2, 1, 1, 1, 1, 2);
+
+  @Test
+  public void testExecute_JfrEnabled_RecordsRequestParseFormatAndWriteEvents(@TempDir Path dir)
+      throws Exception {
+    Path file = dir.resolve("run.jfr");
+    SyntheticAdoData data = new SyntheticAdoData(7, SIZES);
+    try (MockAdoServer server = MockAdoServer.start(data)) {
+      Properties properties = MockAdoConfig.properties(server.getBaseUri(), data.getTeamNames());
+      properties.setProperty("outputs", "tsv:" + dir.resolve("report.tsv"));
+      properties.setProperty("storage.directory", dir.toString());
+      properties.setProperty("jfr.enabled", "true");
+      properties.setProperty("jfr.file", file.toString());
+      new AdoTool(AdoConfig.fromProperties(properties), false).execute();
+    }
+
+    assertTrue(Files.size(file) > 0);
+    Map<String, List<RecordedEvent>> events =
+        RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().startsWith("pc.ado."))
+            .collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+
+    List<RecordedEvent> requests = events.get("pc.ado.HttpRequest");
+    assertTrue(requests.stream().allMatch(event -> event.getInt("statusCode") == 200));
+    assertTrue(
+        requests.stream().anyMatch(event -> "PRThreads".equals(event.getString("endpoint"))));
+    assertEquals(
+        requests.size(),
+        events.get("pc.ado.Parse").size(),
+        "every response is parsed exactly once");
+    assertEquals(
+        requests.stream().mapToLong(event -> event.getLong("bytes")).sum(),
+        events.get("pc.ado.Parse").stream().mapToLong(e -> e.getLong("payloadSize")).sum());
+
+    List<RecordedEvent> formats = events.get("pc.ado.Format");
+    assertEquals(SIZES.iterations(), formats.size());
+    assertEquals(
+        SIZES.workItems(), formats.stream().mapToInt(event -> event.getInt("workItems")).sum());
+    assertEquals(
+        SIZES.workItems() * SIZES.tasksPerItem(),
+        formats.stream().mapToInt(event -> event.getInt("tasks")).sum());
+
+    List<RecordedEvent> writes = events.get("pc.ado.Write");
+    assertEquals(
+        List.of("open", "close"), writes.stream().map(e -> e.getString("operation")).toList());
+    assertEquals(SIZES.iterations(), writes.get(1).getInt("iterations"));
+    assertTrue(writes.get(1).getLong("fileSize") > 0);
+  }
+}
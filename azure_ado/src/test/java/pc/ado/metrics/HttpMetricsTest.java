@@ -0,0 +1,62 @@
+package pc.ado.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class HttpMetricsTest {
+
+  private static final String TEAM = "https://dev.azure.com/org/proj/A%20Team//";
+  private static final String PROJECT = "https://dev.azure.com/org/proj//";
+
+  @Test
+  public void testClassify_MapsEveryApiTheToolCalls() {
+    assertEquals(
+        Endpoint.ITERATIONS,
+        Endpoint.classify(TEAM + "_apis/work/teamsettings/iterations?api-version=7.1"));
+    assertEquals(
+        Endpoint.CAPACITIES,
+        Endpoint.classify(TEAM + "/_apis/work/teamsettings/iterations/abc/capacities?x=1"));
+    assertEquals(
+        Endpoint.TEAM_DAYS_OFF,
+        Endpoint.classify(TEAM + "/_apis/work/teamsettings/iterations/abc/teamdaysoff"));
+    assertEquals(
+        Endpoint.WORK_ITEMS,
+        Endpoint.classify(TEAM + "/_apis/work/teamsettings/iterations/abc/workitems"));
+    assertEquals(
+        Endpoint.WORK_ITEM,
+        Endpoint.classify("https://dev.azure.com/org/123/_apis/wit/workItems/42"));
+    assertEquals(
+        Endpoint.RELATIONS,
+        Endpoint.classify(PROJECT + "/_apis/wit/workitems/42?$expand=relations&api-version=7.1"));
+    assertEquals(
+        Endpoint.PULL_REQUEST,
+        Endpoint.classify(PROJECT + "/_apis/git/repositories/r/pullRequests/7?api-version=7.1"));
+    assertEquals(
+        Endpoint.PR_THREADS,
+        Endpoint.classify(PROJECT + "/_apis/git/repositories/r/pullRequests/7/threads"));
+    assertEquals(Endpoint.OTHER, Endpoint.classify("https://dev.azure.com/org/_apis/projects"));
+  }
+
+  @Test
+  public void testSnapshot_GroupsByEndpoint() {
+    HttpMetrics metrics = new HttpMetrics();
+    String threads = PROJECT + "/_apis/git/repositories/r/pullRequests/7/threads";
+    metrics.recordResponse(threads, 200, 1000, 5_000_000);
+    metrics.recordResponse(threads, 429, 20, 1_000_000);
+    metrics.recordResponse(threads, 200, 1000, 7_000_000);
+    metrics.recordFailure(PROJECT + "/_apis/git/repositories/r/pullRequests/8", 9_000_000);
+
+    Map<Endpoint, HttpMetrics.EndpointSnapshot> snapshot = metrics.snapshot();
+    assertEquals(2, snapshot.size());
+    HttpMetrics.EndpointSnapshot prThreads = snapshot.get(Endpoint.PR_THREADS);
+    assertEquals(3, prThreads.requests());
+    assertEquals(2020, prThreads.bytes());
+    assertEquals(Map.of(200, 2L, 429, 1L), prThreads.statusCodes());
+    assertEquals(7_000_000, prThreads.latency().getMaxNanos());
+    assertEquals(1, snapshot.get(Endpoint.PULL_REQUEST).failures());
+    assertTrue(metrics.summary().contains("PRThreads"));
+  }
+}
@@ -0,0 +1,65 @@
+package pc.ado.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void testBuckets_AreContiguousAndCoverTheirValues() {
+    int previous = -1;
+    for (long value = 0; value < 100_000; value++) {
+      int bucket = LatencyHistogram.bucketOf(value);
+      assertTrue(bucket == previous || bucket == previous + 1, "gap at " + value);
+      assertTrue(LatencyHistogram.highestValueOf(bucket) >= value);
+      previous = bucket;
+    }
+  }
+
+  @Test
+  public void testPercentiles_WithinBucketPrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long millis = 1; millis <= 1000; millis++) {
+      histogram.record(millis * 1_000_000);
+    }
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+    assertEquals(1000, snapshot.getCount());
+    assertEquals(1_000_000_000L, snapshot.getMaxNanos());
+    assertEquals(500.5e6, snapshot.getMeanNanos(), 1);
+    assertWithin(500e6, snapshot.getValueAtPercentile(50));
+    assertWithin(950e6, snapshot.getValueAtPercentile(95));
+    assertWithin(990e6, snapshot.getValueAtPercentile(99));
+    assertEquals(1_000_000_000L, snapshot.getValueAtPercentile(100));
+    assertEquals(0, new LatencyHistogram().snapshot().getValueAtPercentile(99));
+  }
+
+  private static void assertWithin(double expected, long actual) {
+    double error = Math.abs(actual - expected) / expected;
+    assertTrue(error <= 1.0 / LatencyHistogram.SUB_BUCKETS, expected + " vs " + actual);
+  }
+
+  @Test
+  public void testConcurrentRecording_LosesNoValues() throws Exception {
+    LatencyHistogram histogram = new LatencyHistogram();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      threads.add(
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    for (int i = 0; i < 50_000; i++) {
+                      histogram.record(i);
+                    }
+                  }));
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(200_000, histogram.snapshot().getCount());
+  }
+}
@@ -0,0 +1,114 @@
+package pc.ado.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import pc.jvm.monitor.MemoryMonitorThread;
+
+public class OpenMetricsServerTest {
+
+  private static final String WORK_ITEM = "https://dev.azure.com/org/123/_apis/wit/workItems/42";
+
+  @Test
+  public void testScrape_ServesClientMetricsOverLoopback() throws Exception {
+    HttpMetrics httpMetrics = new HttpMetrics();
+    httpMetrics.recordResponse(WORK_ITEM, 200, 1000, TimeUnit.MILLISECONDS.toNanos(20));
+    httpMetrics.recordResponse(WORK_ITEM, 429, 10, TimeUnit.MILLISECONDS.toNanos(5));
+
+    try (OpenMetricsServer server =
+        OpenMetricsServer.start(0, httpMetrics, new ResourceAccounting(false), null)) {
+      HttpClient client = HttpClient.newHttpClient();
+      HttpResponse<String> response =
+          client.send(
+              HttpRequest.newBuilder(URI.create(server.getUrl())).build(),
+              HttpResponse.BodyHandlers.ofString());
+
+      assertEquals(200, response.statusCode());
+      assertEquals(
+          OpenMetricsServer.CONTENT_TYPE,
+          response.headers().firstValue("Content-Type").orElseThrow());
+      String body = response.body();
+      assertTrue(body.contains("# TYPE ado_http_requests counter\n"));
+      assertTrue(body.contains("ado_http_requests_total{endpoint=\"workItem\"} 2\n"));
+      assertTrue(body.contains("ado_http_responses_total{endpoint=\"workItem\",code=\"429\"} 1\n"));
+      assertTrue(body.contains("ado_http_response_bytes_total{endpoint=\"workItem\"} 1010\n"));
+      assertTrue(
+          body.contains(
+              "ado_http_request_duration_seconds{endpoint=\"workItem\",quantile=\"0.5\"}"));
+      assertTrue(
+          body.contains("ado_http_request_duration_seconds_sum{endpoint=\"workItem\"} 0.025"));
+      assertFalse(body.contains("jvm_"), "no JVM metrics without a memory monitor");
+      assertTrue(body.endsWith("# EOF\n"));
+
+      HttpResponse<String> post =
+          client.send(
+              HttpRequest.newBuilder(URI.create(server.getUrl()))
+                  .POST(HttpRequest.BodyPublishers.noBody())
+                  .build(),
+              HttpResponse.BodyHandlers.ofString());
+      assertEquals(405, post.statusCode());
+    }
+  }
+
+  @Test
+  public void testScrape_IncludesMemoryMonitorSamples() throws Exception {
+    MemoryMonitorThread monitor = new MemoryMonitorThread(60_000, 60_000);
+    monitor.start();
+    try (OpenMetricsServer server =
+        OpenMetricsServer.start(0, new HttpMetrics(), new ResourceAccounting(true), monitor)) {
+      long deadline = System.currentTimeMillis() + 5000;
+      while (monitor.getTimeSeries().getSampleCount() == 0
+          && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+
+      String body = server.scrape();
+      assertTrue(body.contains("jvm_memory_used_bytes{area=\"heap\"} "));
+      assertTrue(body.contains("jvm_memory_used_bytes{area=\"nonheap\"} "));
+      assertTrue(body.contains("jvm_memory_pool_used_bytes{pool=\""));
+      assertTrue(body.contains("# TYPE jvm_gc_collections counter\n"));
+      assertTrue(body.contains("\njvm_gc_collections_total "));
+      assertTrue(body.contains("jvm_gc_pause_seconds_count "));
+      assertTrue(body.contains("jvm_monitor_collections_total{tier=\""));
+      assertTrue(body.contains("ado_phase_cpu_seconds_total{phase=\"format\"} 0\n"));
+      // Every family is declared once, so the samples of a family stay together
+      long families =
+          body.lines().filter(l -> l.startsWith("# TYPE jvm_memory_used_bytes")).count();
+      assertEquals(1, families);
+      assertTrue(body.endsWith("# EOF\n"));
+    } finally {
+      monitor.requestFinalLog();
+      monitor.join(5000);
+    }
+  }
+
+  @Test
+  public void testWriter_EscapesLabelsAndFormatsValues() {
+    OpenMetricsWriter writer = new OpenMetricsWriter(8);
+    writer.family("demo", "gauge", "Line one\nline two");
+    writer.sample("demo").label("name", "a \"quoted\" \\ value").label("code", -42).value(1.5);
+    writer.sample("demo").value(3.0);
+    writer.sample("demo").value(Double.POSITIVE_INFINITY);
+    writer.eof();
+
+    assertEquals(
+        "# TYPE demo gauge\n"
+            + "# HELP demo Line one\\nline two\n"
+            + "demo{name=\"a \\\"quoted\\\" \\\\ value\",code=\"-42\"} 1.5\n"
+            + "demo 3\n"
+            + "demo +Inf\n"
+            + "# EOF\n",
+        writer.toString());
+
+    writer.reset();
+    writer.sample("x").value(Long.MAX_VALUE);
+    assertEquals("x 9223372036854775807\n", writer.toString());
+  }
+}
@@ -0,0 +1,120 @@
+package pc.ado.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ResourceAccountingTest {
+
+  private static final int MB = 1024 * 1024;
+
+  /** Keeps allocations from being optimized away. */
+  private static volatile Object sink;
+
+  private static void allocate(int bytes) {
+    sink = new byte[bytes];
+  }
+
+  @Test
+  public void testNestedScopes_ChargeExclusiveUsageAndInheritIteration() {
+    ResourceAccounting accounting = new ResourceAccounting(true);
+    accounting.measure(
+        Phase.WORK_ITEMS,
+        "A Team",
+        "Sprint 1",
+        () -> {
+          accounting.countRequest();
+          accounting.measure(
+              Phase.TASKS,
+              null,
+              null,
+              () -> {
+                allocate(8 * MB);
+                accounting.countRequest();
+                accounting.countRequest();
+              });
+        });
+
+    Map<Phase, ResourceAccounting.Usage> phases = accounting.getPhaseUsage();
+    ResourceAccounting.Usage tasks = phases.get(Phase.TASKS);
+    ResourceAccounting.Usage workItems = phases.get(Phase.WORK_ITEMS);
+    assertEquals(1, tasks.scopes());
+    assertEquals(2, tasks.requests());
+    assertEquals(1, workItems.requests());
+    assertTrue(tasks.allocatedBytes() >= 8 * MB);
+    assertTrue(workItems.allocatedBytes() < 8 * MB);
+
+    ResourceAccounting.Usage sprint = accounting.getIterationUsage().get("A Team").get("Sprint 1");
+    assertEquals(2, sprint.scopes());
+    assertEquals(3, sprint.requests());
+    assertEquals(tasks.allocatedBytes() + workItems.allocatedBytes(), sprint.allocatedBytes());
+  }
+
+  @Test
+  public void testParallelThreads_AreAttributedToTheirOwnIterations() throws Exception {
+    ResourceAccounting accounting = new ResourceAccounting(true);
+    Thread small =
+        Thread.ofPlatform()
+            .start(
+                () -> {
+                  accounting.measure(Phase.CAPACITIES, "Small", "Sprint 1", () -> allocate(MB));
+                });
+    Thread large =
+        Thread.ofPlatform()
+            .start(
+                () -> {
+                  accounting.measure(
+                      Phase.CAPACITIES,
+                      "Large",
+                      "Sprint 1",
+                      () -> {
+                        for (int i = 0; i < 16; i++) {
+                          allocate(MB);
+                        }
+                      });
+                });
+    small.join();
+    large.join();
+
+    Map<String, ResourceAccounting.Usage> teams = accounting.getTeamUsage();
+    assertTrue(teams.get("Small").allocatedBytes() < 4 * MB);
+    assertTrue(teams.get("Large").allocatedBytes() >= 16 * MB);
+    assertTrue(accounting.summary(true).contains("Large / Sprint 1"));
+  }
+
+  @Test
+  public void testDescribeActiveScopes_ShowsInnermostScopePerThread() {
+    ResourceAccounting accounting = new ResourceAccounting(true);
+    assertEquals("none", accounting.describeActiveScopes());
+    accounting.measure(
+        Phase.WORK_ITEMS,
+        "A Team",
+        "Sprint 1",
+        () -> {
+          accounting.measure(
+              Phase.TASKS,
+              null,
+              null,
+              () -> {
+                assertEquals(
+                    "tasks (team 'A Team', iteration 'Sprint 1') on "
+                        + Thread.currentThread().getName(),
+                    accounting.describeActiveScopes());
+              });
+          assertTrue(accounting.describeActiveScopes().startsWith("workItems (team 'A Team'"));
+        });
+    assertEquals("none", accounting.describeActiveScopes());
+  }
+
+  @Test
+  public void testDisabled_RecordsNothing() {
+    ResourceAccounting accounting = new ResourceAccounting(false);
+    accounting.measure(Phase.FORMAT, "A Team", "Sprint 1", () -> accounting.countRequest());
+    assertFalse(accounting.isEnabled());
+    assertTrue(accounting.getTeamUsage().isEmpty());
+    assertEquals(0, accounting.getPhaseUsage().get(Phase.FORMAT).scopes());
+  }
+}
@@ -0,0 +1,55 @@
+package pc.ado.mock;
+
+import java.util.List;
+import java.util.Properties;
+
+/** Configuration properties pointing the tool at a {@link MockAdoServer} or gateway. */
+public final class MockAdoConfig {
+
+  private MockAdoConfig() {
+    // Utility class - prevent instantiation
+  }
+
+  /**
+   * Builds the properties of a run that fetches everything the synthetic data provides.
+   *
+   * <p>API paths are those of {@code config sample.properties}. Callers add outputs and run
+   * settings before passing the result to {@code AdoConfig.fromProperties}.
+   *
+   * @param baseUri base URI of the server, ending with a slash
+   * @param teams team names to process
+   * @return mutable properties
+   */
+  public static Properties properties(String baseUri, List<String> teams) {
+    Properties properties = new Properties();
+    properties.setProperty("teams", String.join(",", teams));
+    properties.setProperty("organization", "org");
+    properties.setProperty("project", "proj");
+    properties.setProperty("patToken", "synthetic");
+    properties.setProperty("apiVersion", "7.1");
+    properties.setProperty("baseUri", baseUri);
+    properties.setProperty("iterationsApiPath", "_apis/work/teamsettings/iterations");
+    properties.setProperty(
+        "capacitiesApiPath", "_apis/work/teamsettings/iterations/{iterationId}/capacities");
+    properties.setProperty(
+        "iterationDayOffPath", "_apis/work/teamsettings/iterations/{iterationId}/teamdaysoff");
+    properties.setProperty(
+        "workitemsApiPath", "_apis/work/teamsettings/iterations/{iterationId}/workitems");
+    properties.setProperty(
+        "workItemRelationsAPIPath", "_apis/wit/workitems/{parentId}?$expand=relations");
+    properties.setProperty(
+        "pullRequestApiPath", "_apis/git/repositories/{repositoryId}/pullRequests/{pullRequestId}");
+    properties.setProperty(
+        "PRThreadApiPath",
+        "_apis/git/repositories/{repositoryId}/pullRequests/{pullRequestId}/threads");
+    properties.setProperty("fetchCapacities", "true");
+    properties.setProperty("fetchWorkItemDetails", "true");
+    properties.setProperty("fetchWorkItemDetails.tasks", "true");
+    properties.setProperty("fetchWorkItemDetails.pullRequests", "true");
+    properties.setProperty("ignoreIterationsEndedBefore", "01-Jan-2000");
+    properties.setProperty("ignoreSubmitterPRComments", "true");
+    properties.setProperty("ignoreSingleWordPRComment", "true");
+    properties.setProperty("ignoreCommentsWith", "Review completed");
+    return properties;
+  }
+}
@@ -0,0 +1,175 @@
+package pc.ado.mock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embedded Azure DevOps REST server backed by {@link SyntheticAdoData}.
+ *
+ * <p>Serves the endpoints the tool calls (team iterations, capacities, team days off, iteration
+ * work items, work items with relations, pull requests and pull request threads) on a loopback
+ * port, so full runs can be load tested without a real organization. Latency, jitter and HTTP 429
+ * throttling can be injected to exercise the retry and pipeline paths.
+ */
+public class MockAdoServer implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(MockAdoServer.class);
+
+  private final SyntheticAdoData data;
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong throttled = new AtomicLong();
+
+  private volatile long latencyMillis;
+  private volatile long jitterMillis;
+  private volatile double throttleRate;
+  private volatile String failingPath;
+
+  private MockAdoServer(SyntheticAdoData data) throws IOException {
+    this.data = data;
+    this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    this.executor = Executors.newCachedThreadPool();
+    server.setExecutor(executor);
+  }
+
+  /**
+   * Starts a server on an ephemeral loopback port.
+   *
+   * @param data data set to serve
+   * @return the running server
+   * @throws IOException if the server cannot bind
+   */
+  public static MockAdoServer start(SyntheticAdoData data) throws IOException {
+    MockAdoServer mock = new MockAdoServer(data);
+    mock.server.createContext("/", mock::handle);
+    mock.server.start();
+    logger.debug("Mock ADO server listening on {}", mock.getBaseUri());
+    return mock;
+  }
+
+  /**
+   * Adds a fixed delay plus up to {@code jitterMillis} of random delay to every response.
+   *
+   * @param latencyMillis fixed delay in milliseconds
+   * @param jitterMillis maximum extra random delay in milliseconds
+   * @return this server
+   */
+  public MockAdoServer withLatency(long latencyMillis, long jitterMillis) {
+    this.latencyMillis = latencyMillis;
+    this.jitterMillis = jitterMillis;
+    return this;
+  }
+
+  /**
+   * Answers a fraction of requests with HTTP 429 and a {@code Retry-After: 1} header.
+   *
+   * @param throttleRate fraction of requests to throttle, between 0 and 1
+   * @return this server
+   */
+  public MockAdoServer withThrottling(double throttleRate) {
+    this.throttleRate = throttleRate;
+    return this;
+  }
+
+  /**
+   * Answers every request whose path contains {@code pathFragment} with HTTP 500, e.g. {@code
+   * "/capacities"}; null serves everything again.
+   *
+   * @param pathFragment part of the request path to fail
+   * @return this server
+   */
+  public MockAdoServer withFailures(String pathFragment) {
+    this.failingPath = pathFragment;
+    return this;
+  }
+
+  /**
+   * Gets the base URI to configure as {@code baseUri}.
+   *
+   * @return base URI ending with a slash
+   */
+  public String getBaseUri() {
+    return "http://"
+        + server.getAddress().getAddress().getHostAddress()
+        + ":"
+        + server.getAddress().getPort()
+        + "/";
+  }
+
+  public long getRequestCount() {
+    return requests.get();
+  }
+
+  public long getThrottledCount() {
+    return throttled.get();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      requests.incrementAndGet();
+      delay();
+      if (throttleRate > 0 && ThreadLocalRandom.current().nextDouble() < throttleRate) {
+        throttled.incrementAndGet();
+        exchange.getResponseHeaders().add("Retry-After", "1");
+        send(exchange, 429, new JSONObject().put("message", "Too many requests"));
+        return;
+      }
+      String path = exchange.getRequestURI().getPath();
+      String failing = failingPath;
+      if (failing != null && path.contains(failing)) {
+        send(exchange, 500, new JSONObject().put("message", "Injected failure: " + path));
+        return;
+      }
+      JSONObject body = data.respond(path, getBaseUri());
+      if (body == null) {
+        send(exchange, 404, new JSONObject().put("message", "Not found: " + path));
+      } else {
+        send(exchange, 200, body);
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Mock ADO server failed on {}", exchange.getRequestURI(), e);
+    }
+  }
+
+  private void delay() {
+    long millis = latencyMillis;
+    if (jitterMillis > 0) {
+      millis += ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+    }
+    if (millis > 0) {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static void send(HttpExchange exchange, int status, JSONObject body) throws IOException {
+    byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,415 @@
+package pc.ado.mock;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Seeded generator of Azure DevOps payloads for {@link MockAdoServer}.
+ *
+ * <p>Nothing is stored: every response is derived from the seed and the ids in the request, so the
+ * same seed always serves the same data and the data set can be far larger than the heap. Work item
+ * ids encode their team, sprint and position; task and pull request ids encode their parent work
+ * item.
+ */
+public class SyntheticAdoData {
+
+  /** Data set dimensions. */
+  public record Sizes(
+      int teams,
+      int sprintsPerTeam,
+      int itemsPerSprint,
+      int tasksPerItem,
+      int pullRequestsPerItem,
+      int threadsPerPullRequest,
+      int commentsPerThread,
+      int membersPerTeam) {
+
+    public int iterations() {
+      return teams * sprintsPerTeam;
+    }
+
+    public int workItems() {
+      return iterations() * itemsPerSprint;
+    }
+  }
+
+  private static final String TEAM_API = "^/([^/]+)/([^/]+)/([^/]+)/_apis/work/teamsettings/";
+  private static final Pattern ITERATIONS = Pattern.compile(TEAM_API + "iterations$");
+  private static final Pattern CAPACITIES =
+      Pattern.compile(TEAM_API + "iterations/([^/]+)/capacities$");
+  private static final Pattern DAYS_OFF =
+      Pattern.compile(TEAM_API + "iterations/([^/]+)/teamdaysoff$");
+  private static final Pattern ITERATION_WORK_ITEMS =
+      Pattern.compile(TEAM_API + "iterations/([^/]+)/workitems$");
+  private static final Pattern WORK_ITEM =
+      Pattern.compile("^/([^/]+)/([^/]+)/_apis/wit/workitems/(\\d+)$", Pattern.CASE_INSENSITIVE);
+  private static final Pattern PULL_REQUEST =
+      Pattern.compile("^/([^/]+)/([^/]+)/_apis/git/repositories/[^/]+/pullRequests/(\\d+)$");
+  private static final Pattern PULL_REQUEST_THREADS =
+      Pattern.compile(
+          "^/([^/]+)/([^/]+)/_apis/git/repositories/[^/]+/pullRequests/(\\d+)/threads$");
+
+  private static final int TASK_ID_BASE = 500_000_000;
+  private static final LocalDate FIRST_SPRINT = LocalDate.of(2025, 1, 6);
+  private static final String[] TYPES = {"User Story", "Bug"};
+  private static final String[] STATES = {"New", "Active", "Resolved", "Closed", "Done"};
+  private static final String[] ACTIVITIES = {"Development", "Testing", "Design"};
+
+  private final long seed;
+  private final Sizes sizes;
+
+  public SyntheticAdoData(long seed, Sizes sizes) {
+    this.seed = seed;
+    this.sizes = sizes;
+  }
+
+  public Sizes getSizes() {
+    return sizes;
+  }
+
+  public List<String> getTeamNames() {
+    List<String> names = new ArrayList<>();
+    for (int team = 0; team < sizes.teams(); team++) {
+      names.add(teamName(team));
+    }
+    return names;
+  }
+
+  /**
+   * Answers a request path the way the Azure DevOps REST API would.
+   *
+   * @param path decoded request path, without query string
+   * @param baseUri base URI the payload links should point at, ending with a slash
+   * @return response body, or null if the path is not routed or the entity does not exist
+   */
+  public JSONObject respond(String path, String baseUri) {
+    // Team URIs are built with a trailing slash and joined with another one
+    String normalized = path.replaceAll("/{2,}", "/");
+    JSONObject body;
+    if ((body = match(ITERATIONS, normalized, m -> iterations(m.group(3)))) != null
+        || (body = match(CAPACITIES, normalized, m -> capacities(m.group(4)))) != null
+        || (body = match(DAYS_OFF, normalized, m -> teamDaysOff(m.group(4)))) != null
+        || (body =
+                match(
+                    ITERATION_WORK_ITEMS,
+                    normalized,
+                    m -> iterationWorkItems(m.group(4), apiBase(baseUri, m))))
+            != null
+        || (body =
+                match(
+                    WORK_ITEM,
+                    normalized,
+                    m -> workItem(Integer.parseInt(m.group(3)), apiBase(baseUri, m))))
+            != null
+        || (body = match(PULL_REQUEST, normalized, m -> pullRequest(Integer.parseInt(m.group(3)))))
+            != null
+        || (body =
+                match(
+                    PULL_REQUEST_THREADS,
+                    normalized,
+                    m -> pullRequestThreads(Integer.parseInt(m.group(3)))))
+            != null) {
+      return body;
+    }
+    return null;
+  }
+
+  private static JSONObject match(
+      Pattern pattern, String path, Function<Matcher, JSONObject> handler) {
+    Matcher matcher = pattern.matcher(path);
+    return matcher.matches() ? handler.apply(matcher) : null;
+  }
+
+  private static String apiBase(String baseUri, Matcher matcher) {
+    return baseUri + matcher.group(1) + "/" + matcher.group(2) + "/";
+  }
+
+  private static String teamName(int team) {
+    return "Team " + (team + 1);
+  }
+
+  private int teamIndex(String teamName) {
+    for (int team = 0; team < sizes.teams(); team++) {
+      if (teamName(team).equals(teamName)) {
+        return team;
+      }
+    }
+    return -1;
+  }
+
+  private Random random(long id, int salt) {
+    return new Random(seed * 1_000_003L + id * 31 + salt);
+  }
+
+  private String member(int team, int member) {
+    return "Member " + (team + 1) + "-" + (member % sizes.membersPerTeam() + 1);
+  }
+
+  /** Iterations of a team, or null for an unknown team. */
+  JSONObject iterations(String teamName) {
+    int team = teamIndex(teamName);
+    if (team < 0) {
+      return null;
+    }
+    JSONArray value = new JSONArray();
+    for (int sprint = 0; sprint < sizes.sprintsPerTeam(); sprint++) {
+      LocalDate start = FIRST_SPRINT.plusWeeks(2L * sprint);
+      value.put(
+          new JSONObject()
+              .put("id", iterationId(team, sprint))
+              .put("name", "Sprint " + (sprint + 1))
+              .put(
+                  "attributes",
+                  new JSONObject()
+                      .put("startDate", start + "T00:00:00Z")
+                      .put("finishDate", start.plusDays(11) + "T00:00:00Z")));
+    }
+    return new JSONObject().put("count", value.length()).put("value", value);
+  }
+
+  private static String iterationId(int team, int sprint) {
+    return "it-" + team + "-" + sprint;
+  }
+
+  /** Decodes an iteration id into team and sprint, or null if it is not one of ours. */
+  private int[] parseIterationId(String iterationId) {
+    String[] parts = iterationId.split("-");
+    if (parts.length != 3 || !parts[0].equals("it")) {
+      return null;
+    }
+    int team = Integer.parseInt(parts[1]);
+    int sprint = Integer.parseInt(parts[2]);
+    return team < sizes.teams() && sprint < sizes.sprintsPerTeam()
+        ? new int[] {team, sprint}
+        : null;
+  }
+
+  JSONObject teamDaysOff(String iterationId) {
+    int[] ids = parseIterationId(iterationId);
+    if (ids == null) {
+      return null;
+    }
+    // One team holiday on the first Friday of every other sprint
+    JSONArray daysOff = new JSONArray();
+    if (ids[1] % 2 == 0) {
+      String day = FIRST_SPRINT.plusWeeks(2L * ids[1]).plusDays(4) + "T00:00:00Z";
+      daysOff.put(new JSONObject().put("start", day).put("end", day));
+    }
+    return new JSONObject().put("daysOff", daysOff);
+  }
+
+  JSONObject capacities(String iterationId) {
+    int[] ids = parseIterationId(iterationId);
+    if (ids == null) {
+      return null;
+    }
+    Random random = random(ids[0] * 10_000L + ids[1], 1);
+    JSONArray members = new JSONArray();
+    for (int member = 0; member < sizes.membersPerTeam(); member++) {
+      JSONArray memberDaysOff = new JSONArray();
+      if (random.nextInt(4) == 0) {
+        String day = FIRST_SPRINT.plusWeeks(2L * ids[1]).plusDays(7) + "T00:00:00Z";
+        memberDaysOff.put(new JSONObject().put("start", day).put("end", day));
+      }
+      members.put(
+          new JSONObject()
+              .put("teamMember", new JSONObject().put("displayName", member(ids[0], member)))
+              .put(
+                  "activities",
+                  new JSONArray()
+                      .put(
+                          new JSONObject()
+                              .put("name", ACTIVITIES[member % ACTIVITIES.length])
+                              .put("capacityPerDay", 4 + random.nextInt(4))))
+              .put("daysOff", memberDaysOff));
+    }
+    return new JSONObject().put("teamMembers", members);
+  }
+
+  /** Work item links of a sprint, including the child links ADO returns alongside them. */
+  JSONObject iterationWorkItems(String iterationId, String apiBase) {
+    int[] ids = parseIterationId(iterationId);
+    if (ids == null) {
+      return null;
+    }
+    JSONArray relations = new JSONArray();
+    for (int item = 0; item < sizes.itemsPerSprint(); item++) {
+      int id = workItemId(ids[0], ids[1], item);
+      relations.put(
+          new JSONObject()
+              .put("rel", JSONObject.NULL)
+              .put("source", JSONObject.NULL)
+              .put("target", new JSONObject().put("id", id).put("url", workItemUrl(apiBase, id))));
+      for (int task = 0; task < sizes.tasksPerItem(); task++) {
+        int taskId = taskId(id, task);
+        relations.put(
+            new JSONObject()
+                .put("rel", "System.LinkTypes.Hierarchy-Forward")
+                .put("source", new JSONObject().put("id", id))
+                .put(
+                    "target",
+                    new JSONObject().put("id", taskId).put("url", workItemUrl(apiBase, taskId))));
+      }
+    }
+    return new JSONObject().put("workItemRelations", relations);
+  }
+
+  private int workItemId(int team, int sprint, int item) {
+    return 1 + (team * sizes.sprintsPerTeam() + sprint) * sizes.itemsPerSprint() + item;
+  }
+
+  private int taskId(int workItemId, int task) {
+    return TASK_ID_BASE + (workItemId - 1) * sizes.tasksPerItem() + task;
+  }
+
+  private static String workItemUrl(String apiBase, int id) {
+    return apiBase + "_apis/wit/workItems/" + id;
+  }
+
+  /** A work item (story, bug or task) with its relations, or null for an unknown id. */
+  JSONObject workItem(int id, String apiBase) {
+    if (id >= TASK_ID_BASE) {
+      return task(id);
+    }
+    if (id < 1 || id > sizes.workItems()) {
+      return null;
+    }
+    int index = id - 1;
+    int team = index / (sizes.sprintsPerTeam() * sizes.itemsPerSprint());
+    Random random = random(id, 2);
+    LocalDate sprintStart =
+        FIRST_SPRINT.plusWeeks(2L * ((index / sizes.itemsPerSprint()) % sizes.sprintsPerTeam()));
+    JSONObject fields =
+        new JSONObject()
+            .put("System.WorkItemType", TYPES[random.nextInt(TYPES.length)])
+            .put("System.State", STATES[random.nextInt(STATES.length)])
+            .put("System.Title", "Synthetic item " + id)
+            .put(
+                "System.AssignedTo",
+                new JSONObject().put("displayName", member(team, random.nextInt(100))))
+            .put(
+                "System.CreatedBy",
+                new JSONObject().put("displayName", member(team, random.nextInt(100))))
+            .put("System.CreatedDate", sprintStart.minusDays(3) + "T09:30:00Z")
+            .put("System.Tags", random.nextBoolean() ? "backend; api" : "")
+            .put("Microsoft.VSTS.Scheduling.StoryPoints", 1 + random.nextInt(8))
+            .put("Microsoft.VSTS.Common.Priority", 1 + random.nextInt(4))
+            .put("Custom.DevEndDate", sprintStart.plusDays(8) + "T17:00:00Z");
+
+    JSONArray relations = new JSONArray();
+    for (int task = 0; task < sizes.tasksPerItem(); task++) {
+      relations.put(
+          new JSONObject()
+              .put("rel", "System.LinkTypes.Hierarchy-Forward")
+              .put("url", workItemUrl(apiBase, taskId(id, task)))
+              .put("attributes", new JSONObject().put("name", "Child")));
+    }
+    for (int pr = 0; pr < sizes.pullRequestsPerItem(); pr++) {
+      relations.put(
+          new JSONObject()
+              .put("rel", "ArtifactLink")
+              .put(
+                  "url",
+                  "vstfs:///Git/PullRequestId/proj-id%2Frepo-"
+                      + team
+                      + "%2F"
+                      + pullRequestId(id, pr))
+              .put("attributes", new JSONObject().put("name", "Pull Request")));
+    }
+    return new JSONObject().put("id", id).put("fields", fields).put("relations", relations);
+  }
+
+  private JSONObject task(int id) {
+    int workItemId = (id - TASK_ID_BASE) / Math.max(1, sizes.tasksPerItem()) + 1;
+    if (workItemId > sizes.workItems()) {
+      return null;
+    }
+    int team = (workItemId - 1) / (sizes.sprintsPerTeam() * sizes.itemsPerSprint());
+    Random random = random(id, 3);
+    int estimate = 2 + random.nextInt(14);
+    int completed = random.nextInt(estimate + 1);
+    JSONObject fields =
+        new JSONObject()
+            .put("System.WorkItemType", "Task")
+            .put("System.State", completed == estimate ? "Closed" : "Active")
+            .put("Microsoft.VSTS.Common.Activity", ACTIVITIES[random.nextInt(ACTIVITIES.length)])
+            .put(
+                "System.AssignedTo",
+                new JSONObject().put("displayName", member(team, random.nextInt(100))))
+            .put("Microsoft.VSTS.Scheduling.OriginalEstimate", estimate)
+            .put("Microsoft.VSTS.Scheduling.CompletedWork", completed)
+            .put("Microsoft.VSTS.Scheduling.RemainingWork", estimate - completed)
+            .put("System.Tags", "");
+    return new JSONObject().put("id", id).put("fields", fields);
+  }
+
+  private int pullRequestId(int workItemId, int pr) {
+    return (workItemId - 1) * sizes.pullRequestsPerItem() + pr + 1;
+  }
+
+  private int pullRequestTeam(int pullRequestId) {
+    int workItemId = (pullRequestId - 1) / sizes.pullRequestsPerItem() + 1;
+    return (workItemId - 1) / (sizes.sprintsPerTeam() * sizes.itemsPerSprint());
+  }
+
+  private boolean isPullRequest(int pullRequestId) {
+    return pullRequestId >= 1 && pullRequestId <= sizes.workItems() * sizes.pullRequestsPerItem();
+  }
+
+  private int pullRequestAuthor(int pullRequestId) {
+    return random(pullRequestId, 4).nextInt(sizes.membersPerTeam());
+  }
+
+  JSONObject pullRequest(int pullRequestId) {
+    if (!isPullRequest(pullRequestId)) {
+      return null;
+    }
+    int team = pullRequestTeam(pullRequestId);
+    return new JSONObject()
+        .put("pullRequestId", pullRequestId)
+        .put("status", "completed")
+        .put(
+            "createdBy",
+            new JSONObject().put("displayName", member(team, pullRequestAuthor(pullRequestId))))
+        .put("creationDate", "2025-02-03T08:00:00Z");
+  }
+
+  /**
+   * Review threads; every comment is a multi-word text comment by someone other than the author.
+   */
+  JSONObject pullRequestThreads(int pullRequestId) {
+    if (!isPullRequest(pullRequestId)) {
+      return null;
+    }
+    int team = pullRequestTeam(pullRequestId);
+    int author = pullRequestAuthor(pullRequestId);
+    JSONArray threads = new JSONArray();
+    for (int thread = 0; thread < sizes.threadsPerPullRequest(); thread++) {
+      JSONArray comments = new JSONArray();
+      for (int comment = 0; comment < sizes.commentsPerThread(); comment++) {
+        int reviewer = author + 1 + (thread + comment) % (sizes.membersPerTeam() - 1);
+        comments.put(
+            new JSONObject()
+                .put("id", comment + 1)
+                .put("commentType", "text")
+                .put("publishedDate", "2025-02-03T1" + (comment % 10) + ":00:00Z")
+                .put("author", new JSONObject().put("displayName", member(team, reviewer)))
+                .put("content", "Please consider renaming this variable"));
+      }
+      threads.put(
+          new JSONObject()
+              .put("id", thread + 1)
+              .put("status", "active")
+              .put("isDeleted", false)
+              .put("comments", comments));
+    }
+    return new JSONObject().put("value", threads).put("count", threads.length());
+  }
+}
@@ -0,0 +1,64 @@
+package pc.ado.mock;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.json.JSONObject;
+import pc.ado.constants.AdoConstants;
+import pc.ado.exception.AdoApiException;
+import pc.ado.exception.AdoException;
+import pc.ado.gateway.AdoGateway;
+
+/**
+ * In-process gateway that answers from {@link SyntheticAdoData} without HTTP.
+ *
+ * <p>Response bodies are rendered once per URL and cached, so repeated calls measure only the
+ * client side parsing. Unknown URLs fail with HTTP 404 like the live service.
+ */
+public class SyntheticAdoGateway implements AdoGateway {
+
+  private final SyntheticAdoData data;
+  private final String baseUri;
+  private final Map<String, String> responses = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a gateway.
+   *
+   * @param data data set to serve
+   * @param baseUri base URI the client is configured with, ending with a slash
+   */
+  public SyntheticAdoGateway(SyntheticAdoData data, String baseUri) {
+    this.data = data;
+    this.baseUri = baseUri;
+  }
+
+  @Override
+  public String get(String url) throws AdoException {
+    String response = responses.computeIfAbsent(url, this::render);
+    if (response.isEmpty()) {
+      throw new AdoApiException(
+          "Resource not found", AdoConstants.Http.HTTP_NOT_FOUND, "Not found: " + url);
+    }
+    return response;
+  }
+
+  private String render(String url) {
+    JSONObject body = data.respond(URI.create(url.replace(" ", "%20")).getPath(), baseUri);
+    return body == null ? "" : body.toString();
+  }
+
+  @Override
+  public String getWithRetry(String url, int maxRetries) throws AdoException {
+    return get(url);
+  }
+
+  @Override
+  public boolean isHealthy() {
+    return true;
+  }
+
+  @Override
+  public void close() {
+    responses.clear();
+  }
+}
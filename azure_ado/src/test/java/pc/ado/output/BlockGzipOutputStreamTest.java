@@ -0,0 +1,92 @@
+package pc.ado.output;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+public class BlockGzipOutputStreamTest {
+
+  private static byte[] sampleReport(int rows) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < rows; i++) {
+      sb.append("projectX\tA Team\tSprint ").append(i % 26).append("\t").append(i).append('\n');
+    }
+    return sb.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] gunzip(byte[] data, int offset) throws IOException {
+    try (InputStream in =
+        new GZIPInputStream(new ByteArrayInputStream(data, offset, data.length - offset))) {
+      return in.readAllBytes();
+    }
+  }
+
+  @Test
+  public void testWrite_OutputIsReadableAsMultiMemberGzip() throws Exception {
+    byte[] report = sampleReport(20_000);
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (BlockGzipOutputStream out = new BlockGzipOutputStream(compressed)) {
+      out.write(report);
+    }
+
+    assertArrayEquals(report, gunzip(compressed.toByteArray(), 0));
+  }
+
+  @Test
+  public void testWrite_BlocksCanBeDecompressedIndependently() throws Exception {
+    byte[] report = sampleReport(20_000);
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    BlockGzipOutputStream out = new BlockGzipOutputStream(compressed);
+    out.write(report);
+    out.close();
+
+    List<long[]> blocks = out.getBlockOffsets();
+    int expectedBlocks =
+        (report.length + BlockGzipOutputStream.MAX_BLOCK_INPUT - 1)
+            / BlockGzipOutputStream.MAX_BLOCK_INPUT;
+    assertEquals(expectedBlocks, blocks.size());
+
+    // Seek straight to the last data block and inflate from there
+    byte[] data = compressed.toByteArray();
+    long[] last = blocks.get(blocks.size() - 1);
+    byte[] tail = gunzip(data, (int) last[0]);
+    assertArrayEquals(Arrays.copyOfRange(report, (int) last[1], report.length), tail);
+
+    // BSIZE in the header of the second block points at the third block
+    int second = (int) blocks.get(1)[0];
+    int blockSize = ((data[second + 16] & 0xff) | (data[second + 17] & 0xff) << 8) + 1;
+    assertEquals(blocks.get(2)[0], second + blockSize);
+  }
+
+  @Test
+  public void testWriteIndex_UsesGziLayout() throws Exception {
+    BlockGzipOutputStream out = new BlockGzipOutputStream(new ByteArrayOutputStream());
+    out.write(sampleReport(10_000));
+    out.close();
+
+    ByteArrayOutputStream index = new ByteArrayOutputStream();
+    out.writeIndex(index);
+    byte[] bytes = index.toByteArray();
+
+    int entries = out.getBlockOffsets().size() - 1;
+    assertEquals(Long.BYTES * (1 + 2 * entries), bytes.length);
+    assertEquals(entries, bytes[0]);
+  }
+
+  @Test
+  public void testResolve_FallsBackToExtension() {
+    assertEquals(OutputCompression.BGZF, OutputCompression.resolve("auto", "results.tsv.bgz"));
+    assertEquals(OutputCompression.GZIP, OutputCompression.resolve("", "results.tsv.gz"));
+    assertEquals(OutputCompression.NONE, OutputCompression.resolve(null, "results.txt"));
+    assertEquals(OutputCompression.GZIP, OutputCompression.resolve("gzip", "results.txt"));
+  }
+}
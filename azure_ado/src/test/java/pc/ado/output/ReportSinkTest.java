@@ -0,0 +1,95 @@
+package pc.ado.output;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.WorkItem;
+import pc.ado.formatter.IterationFormatter;
+import pc.ado.formatter.JsonIterationFormatter;
+import pc.ado.formatter.TsvIterationFormatter;
+
+public class ReportSinkTest {
+
+  @TempDir Path tempDir;
+
+  private static List<Iteration> iterations(int count) {
+    List<Iteration> iterations = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      Iteration iteration =
+          new Iteration("proj", "A Team", "it-" + i, "Sprint " + i, "01-Jan-2025", "14-Jan-2025");
+      iteration.addWorkItem(
+          WorkItem.builder().id(100 + i).type("Bug").state("Done").storyPoints("3").build());
+      iterations.add(iteration);
+    }
+    return iterations;
+  }
+
+  private String writeThroughSink(IterationFormatter formatter, List<Iteration> iterations)
+      throws Exception {
+    Path file = tempDir.resolve("report-" + iterations.size());
+    ReportSink sink =
+        new ReportSink(
+            new ReportOutput("test", file.toString()), formatter, OutputCompression.NONE, false, 1);
+    sink.start();
+    for (Iteration iteration : iterations) {
+      sink.accept(iteration);
+    }
+    sink.finish();
+    return Files.readString(file, StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testSink_StreamedJsonMatchesFormat() throws Exception {
+    JsonIterationFormatter formatter = new JsonIterationFormatter();
+    for (int count = 0; count <= 3; count++) {
+      List<Iteration> iterations = iterations(count);
+      assertEquals(formatter.format(iterations), writeThroughSink(formatter, iterations));
+    }
+  }
+
+  @Test
+  public void testSink_StreamedTsvMatchesFormat() throws Exception {
+    TsvIterationFormatter formatter = new TsvIterationFormatter();
+    List<Iteration> iterations = iterations(3);
+    assertEquals(formatter.format(iterations), writeThroughSink(formatter, iterations));
+  }
+
+  @Test
+  public void testSink_TsvPrintsNumbersAsReported() throws Exception {
+    Iteration iteration =
+        new Iteration("proj", "A Team", "it-1", "Sprint 1", "01-Jan-2025", "14-Jan-2025");
+    WorkItem workItem =
+        WorkItem.builder().id(101).type("Bug").state("Done").storyPoints("5.0").build();
+    workItem.addTask(new WorkItem.Task("1", "Development", "Closed", "Alice", "8.0", "0.5", "4"));
+    iteration.addWorkItem(workItem);
+
+    String tsv = writeThroughSink(new TsvIterationFormatter(), List.of(iteration));
+    String row = tsv.lines().filter(line -> line.contains("101")).findFirst().orElseThrow();
+    List<String> columns = List.of(row.split("\t", -1));
+    assertTrue(columns.contains("5.0"), row);
+    assertTrue(columns.contains("8.0"), row);
+    assertTrue(columns.contains("0.5"), row);
+  }
+
+  @Test
+  public void testParseList_SplitsFormatAtFirstColon() {
+    List<ReportOutput> outputs =
+        ReportOutput.parseList("tsv:results.tsv, json:C:\\reports\\results.json");
+    assertEquals(
+        List.of(
+            new ReportOutput("tsv", "results.tsv"),
+            new ReportOutput("json", "C:\\reports\\results.json")),
+        outputs);
+    assertEquals(List.of(), ReportOutput.parseList(" "));
+    assertThrows(IllegalArgumentException.class, () -> ReportOutput.parseList("results.tsv"));
+  }
+}
@@ -0,0 +1,86 @@
+package pc.ado.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.TeamMemberAllocation;
+import pc.ado.dto.WorkItem;
+
+public class IterationPipelineTest {
+
+  private static IterationPipeline.Source sprints(int count) {
+    return emitter -> {
+      for (int i = 0; i < count; i++) {
+        emitter.emit(
+            new Iteration("proj", "team", "it-" + i, "Sprint " + i, "01-Jan-2025", "14-Jan-2025"));
+      }
+    };
+  }
+
+  /** Hydrates with a delay that makes early sprints finish last. */
+  private static void hydrate(Iteration iteration) throws InterruptedException {
+    int index = Integer.parseInt(iteration.getId().substring(3));
+    Thread.sleep(index % 4 == 0 ? 40 : 1);
+    iteration.addAllocation(new TeamMemberAllocation("Alice", 6.0, 1, 9, 54.0));
+    iteration.addWorkItem(WorkItem.builder().id(index).state("Done").storyPoints("3").build());
+  }
+
+  @Test
+  public void testRun_KeepsFetchOrderAndSpillsEarlyArrivals(@TempDir Path dir) throws Exception {
+    IterationPipeline pipeline = new IterationPipeline(2, 4, 1, dir, 4096);
+    List<Iteration> written = new ArrayList<>();
+
+    pipeline.run(sprints(30), IterationPipelineTest::hydrate, written::add);
+
+    assertEquals(30, written.size());
+    assertEquals(30, pipeline.getIterationCount());
+    assertTrue(pipeline.getSpilledCount() > 0);
+    for (int i = 0; i < written.size(); i++) {
+      Iteration iteration = written.get(i);
+      assertEquals("Sprint " + i, iteration.getName());
+      assertEquals("Alice", iteration.getAllocations().get(0).getName());
+      assertEquals(i, iteration.getWorkItems().get(0).getId());
+      assertEquals(3.0, iteration.getWorkItems().get(0).getStoryPointsValue());
+    }
+  }
+
+  @Test
+  public void testRun_EmptySourceCompletes(@TempDir Path dir) throws Exception {
+    IterationPipeline pipeline = new IterationPipeline(2, 2, 4, dir, 4096);
+    List<Iteration> written = new ArrayList<>();
+
+    pipeline.run(sprints(0), iteration -> {}, written::add);
+
+    assertEquals(0, written.size());
+  }
+
+  @Test
+  public void testRun_RethrowsStageFailure(@TempDir Path dir) {
+    IterationPipeline pipeline = new IterationPipeline(2, 3, 4, dir, 4096);
+    IOException failure = new IOException("boom");
+
+    IOException thrown =
+        assertThrows(
+            IOException.class,
+            () ->
+                pipeline.run(
+                    sprints(100),
+                    iteration -> {
+                      if (iteration.getId().equals("it-5")) {
+                        throw failure;
+                      }
+                    },
+                    iteration -> {}));
+
+    assertSame(failure, thrown);
+  }
+}
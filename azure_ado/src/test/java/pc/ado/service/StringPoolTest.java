@@ -0,0 +1,27 @@
+package pc.ado.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+public class StringPoolTest {
+
+  @Test
+  public void testIntern_ReturnsFirstInstanceAndCountsHits() {
+    StringPool pool = new StringPool();
+    String first = new String("Alice Smith");
+    String second = new String("Alice Smith");
+
+    assertSame(first, pool.intern(first));
+    assertSame(first, pool.intern(second));
+    assertSame(first, pool.intern(new String("Alice Smith")));
+    assertNull(pool.intern(null));
+
+    assertEquals(1, pool.size());
+    assertEquals(2, pool.getHits());
+    assertEquals(1, pool.getMisses());
+    assertEquals(2.0 / 3, pool.getHitRate(), 1e-9);
+  }
+}
@@ -0,0 +1,114 @@
+package pc.ado.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.PullRequest;
+import pc.ado.dto.PullRequestThread;
+import pc.ado.dto.ThreadComment;
+import pc.ado.dto.WorkItem;
+
+public class OffHeapStoreTest {
+
+  private static WorkItem story(int id) {
+    WorkItem story =
+        WorkItem.builder()
+            .id(id)
+            .title("Story é " + id)
+            .type("User Story")
+            .state("Done")
+            .assignedTo("Alice")
+            .storyPoints("5")
+            .priority("2")
+            .createdDate("2025-01-02T10:00:00Z")
+            .tags("backend; api")
+            .hasImplementationDetails(true)
+            .build();
+    story.addTask(new WorkItem.Task("11", "Development", "Closed", "Alice", "8", "0", "7.5"));
+    PullRequest pr = new PullRequest("21", "Alice", "2025-01-05T08:00:00Z");
+    PullRequestThread thread = new PullRequestThread("1", "active", false);
+    thread.addCommenter(
+        "Bob",
+        List.of(
+            new ThreadComment("2025-01-05T14:00:00Z", "first"),
+            new ThreadComment("2025-01-05T20:00:00Z", null)));
+    pr.addThread(thread);
+    story.addPullRequest(pr);
+    return story;
+  }
+
+  private static void assertStory(int id, WorkItem item) {
+    assertEquals(id, item.getId());
+    assertEquals("Story é " + id, item.getTitle());
+    assertEquals("User Story", item.getType());
+    assertEquals("Done", item.getState());
+    assertEquals("Alice", item.getAssignedTo());
+    assertEquals(5.0, item.getStoryPointsValue());
+    assertTrue(Double.isNaN(item.getQaStoryPointsValue()));
+    assertEquals(2, item.getPriorityValue());
+    assertEquals("2025-01-02T10:00:00Z", item.getCreatedDate());
+    assertEquals("backend; api", item.getTags());
+    assertTrue(item.isHasImplementationDetails());
+
+    WorkItem.Task task = item.getTasks().get(0);
+    assertEquals("Development", task.getTaskType());
+    assertEquals(7.5, task.getCompletedWorkHours());
+    assertTrue(task.getRemainingWorkHours() == 0);
+
+    PullRequest pr = item.getPullRequests().get(0);
+    assertEquals("21", pr.getPullRequestId());
+    assertEquals("2025-01-05T08:00:00Z", pr.getCreationDate());
+    PullRequestThread thread = pr.getThreads().get(0);
+    assertEquals("active", thread.getStatus());
+    assertFalse(thread.isDeleted());
+    List<ThreadComment> comments = thread.getCommenters().get("Bob");
+    assertEquals(2, comments.size());
+    assertEquals("first", comments.get(0).getCommentContent());
+    assertEquals(null, comments.get(1).getCommentContent());
+  }
+
+  @Test
+  public void testDirectStore_RoundTripsWorkItemsAcrossSegments() throws Exception {
+    try (OffHeapStore store = OffHeapStore.direct(256)) {
+      OffHeapWorkItemList items = new OffHeapWorkItemList(store);
+      for (int id = 1; id <= 40; id++) {
+        items.add(story(id));
+      }
+
+      assertEquals(40, items.size());
+      assertEquals(40, store.getRecordCount());
+      assertTrue(store.getSegmentCount() > 1);
+      for (int i = 0; i < items.size(); i++) {
+        assertStory(i + 1, items.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testMappedStore_IterationKeepsItemsOffHeapAndDeletesFile(@TempDir Path dir)
+      throws Exception {
+    Iteration sprint =
+        new Iteration("proj", "A Team", "it-1", "Sprint 1", "01-Jan-2025", "14-Jan-2025");
+    sprint.addWorkItem(story(1));
+
+    try (OffHeapStore store = OffHeapStore.mapped(dir, 4096)) {
+      sprint.moveWorkItemsTo(new OffHeapWorkItemList(store));
+      sprint.addWorkItem(story(2));
+
+      assertTrue(sprint.getWorkItems() instanceof OffHeapWorkItemList);
+      assertEquals(2, sprint.getWorkItems().size());
+      assertStory(1, sprint.getWorkItems().get(0));
+      assertStory(2, sprint.getWorkItems().get(1));
+    }
+    try (var files = Files.list(dir)) {
+      assertEquals(0, files.count());
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package pc.ado.summary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import pc.ado.dto.Iteration;
+import pc.ado.dto.PullRequest;
+import pc.ado.dto.PullRequestThread;
+import pc.ado.dto.TeamMemberAllocation;
+import pc.ado.dto.ThreadComment;
+import pc.ado.dto.WorkItem;
+
+public class SprintMetricsAggregatorTest {
+
+  private static Iteration sprint() {
+    Iteration sprint =
+        new Iteration("proj", "A Team", "it-1", "Sprint 1", "01-Jan-2025", "14-Jan-2025");
+    sprint.addAllocation(new TeamMemberAllocation("Alice", 6.0, 1, 9, 54.0));
+    sprint.addAllocation(new TeamMemberAllocation("Bob", 4.0, 0, 10, 40.0));
+
+    WorkItem story =
+        WorkItem.builder()
+            .id(1)
+            .type("User Story")
+            .state("Done")
+            .assignedTo("Alice")
+            .storyPoints("5")
+            .build();
+    story.addTask(new WorkItem.Task("11", "Development", "Closed", "Alice", "8", "0", "7.5"));
+    story.addTask(new WorkItem.Task("12", "Testing", "Active", "Bob", "4", "2", "2"));
+
+    PullRequest pr = new PullRequest("21", "Alice", "2025-01-05T08:00:00Z");
+    PullRequestThread thread = new PullRequestThread("1", "active", false);
+    thread.addCommenter("Alice", List.of(new ThreadComment("2025-01-05T09:00:00Z", "self")));
+    thread.addCommenter(
+        "Bob",
+        List.of(
+            new ThreadComment("2025-01-05T14:00:00Z", "first"),
+            new ThreadComment("2025-01-05T20:00:00Z", "second")));
+    pr.addThread(thread);
+    story.addPullRequest(pr);
+    sprint.addWorkItem(story);
+
+    sprint.addWorkItem(
+        WorkItem.builder()
+            .id(2)
+            .type("Bug")
+            .state("Active")
+            .assignedTo("Bob")
+            .storyPoints("3")
+            .build());
+    return sprint;
+  }
+
+  @Test
+  public void testAccept_ComputesIterationMemberAndActivityTotals() {
+    SprintMetricsAggregator aggregator = new SprintMetricsAggregator(List.of("done"));
+    aggregator.accept(sprint());
+
+    JSONArray iterations = aggregator.toJson().getJSONArray("iterations");
+    assertEquals(1, iterations.length());
+    JSONObject sprint = iterations.getJSONObject(0);
+    assertEquals(2, sprint.getInt("workItems"));
+    assertEquals(1, sprint.getInt("doneWorkItems"));
+    assertEquals(8.0, sprint.getDouble("committedPoints"));
+    assertEquals(5.0, sprint.getDouble("donePoints"));
+    assertEquals(94.0, sprint.getDouble("capacityHours"));
+    assertEquals(9.5, sprint.getDouble("completedHours"));
+    assertEquals(1, sprint.getInt("reviewedPullRequests"));
+    assertEquals(2, sprint.getInt("reviewComments"));
+    assertEquals(6.0, sprint.getDouble("avgReviewTurnaroundHours"));
+
+    JSONObject alice = sprint.getJSONArray("members").getJSONObject(0);
+    assertEquals("Alice", alice.getString("name"));
+    assertEquals(7.5, alice.getDouble("completedHours"));
+    assertEquals(0.14, alice.getDouble("utilization"));
+
+    JSONObject testing = sprint.getJSONArray("activities").getJSONObject(1);
+    assertEquals("Testing", testing.getString("activity"));
+    assertEquals(4.0, testing.getDouble("estimateHours"));
+    assertEquals(2.0, testing.getDouble("remainingHours"));
+  }
+}
@@ -0,0 +1,118 @@
+package pc.jvm.metricslog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pc.jvm.dto.GarbageCollectionStats;
+import pc.jvm.dto.GcCollectorStats;
+import pc.jvm.dto.HeapMemoryStats;
+import pc.jvm.dto.MemoryPoolStats;
+import pc.jvm.dto.MemoryStatistics;
+
+public class MetricsLogTest {
+
+  private static MemoryStatistics snapshot(long timestamp, long youngCount, Long oldCount) {
+    MemoryStatistics stats = new MemoryStatistics();
+    stats.logType = "Periodic";
+    stats.timestamp = timestamp;
+    stats.heapMemory = new HeapMemoryStats();
+    stats.heapMemory.usedMB = youngCount * 1.5;
+    MemoryPoolStats eden = new MemoryPoolStats();
+    eden.name = "Eden Space";
+    eden.usedMB = 12.25;
+    stats.heapMemory.pools = List.of(eden);
+    stats.garbageCollection = new GarbageCollectionStats();
+    stats.garbageCollection.collectors = new ArrayList<>();
+    stats.garbageCollection.collectors.add(collector("Young", youngCount));
+    if (oldCount != null) {
+      stats.garbageCollection.collectors.add(collector("Old", oldCount));
+    }
+    return stats;
+  }
+
+  private static GcCollectorStats collector(String name, long count) {
+    GcCollectorStats collector = new GcCollectorStats();
+    collector.name = name;
+    collector.collectionCount = count;
+    return collector;
+  }
+
+  private static MetricsSchema.Column column(List<MetricsSchema.Column> columns, String name) {
+    return columns.stream().filter(c -> c.name().equals(name)).findFirst().orElseThrow();
+  }
+
+  @Test
+  public void testDerive_FlattensDtoFieldsAndMarksCounters() {
+    List<MetricsSchema.Column> columns = MetricsSchema.derive(snapshot(0, 1, 1L)).getColumns();
+
+    assertEquals(MetricsSchema.ColumnType.LONG, column(columns, "timestamp").type());
+    assertEquals(
+        MetricsSchema.ColumnType.DOUBLE,
+        column(columns, "heapMemory.pools[Eden Space].usedMB").type());
+    assertTrue(column(columns, "garbageCollection.collectors[Old].collectionCount").delta());
+    assertTrue(column(columns, "classLoading.totalLoadedClassCount").delta());
+    // Null in the snapshot but still described by its class
+    assertEquals(MetricsSchema.ColumnType.LONG, column(columns, "threads.counts.peak").type());
+    assertTrue(columns.stream().noneMatch(c -> c.name().contains("logType")));
+  }
+
+  @Test
+  public void testWriteAndRead_RestoresCountersFromDeltas(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve("metrics.bin");
+    MetricsSchema schema = MetricsSchema.derive(snapshot(1000, 5, 1L));
+    try (MetricsLogWriter writer = MetricsLogWriter.create(file, schema)) {
+      writer.append(snapshot(1000, 5, 1L));
+      writer.append(snapshot(2000, 9, null));
+      writer.append(snapshot(3000, 12, 2L));
+    }
+
+    MetricsLogReader reader = MetricsLogReader.open(file);
+    assertEquals(3, reader.getRecordCount());
+    List<String> names = reader.getColumns().stream().map(MetricsSchema.Column::name).toList();
+    int young = names.indexOf("garbageCollection.collectors[Young].collectionCount");
+    int old = names.indexOf("garbageCollection.collectors[Old].collectionCount");
+    int heapUsed = names.indexOf("heapMemory.usedMB");
+    long headerSize = MetricsLogWriter.RECORD_COUNT_OFFSET + Long.BYTES;
+    for (String name : names) {
+      headerSize += 2 + Short.BYTES + name.getBytes(StandardCharsets.UTF_8).length;
+    }
+    assertEquals(
+        headerSize + 3L * names.size() * Long.BYTES,
+        Files.size(file),
+        "file is trimmed to the records written");
+
+    List<Number[]> totals = new ArrayList<>();
+    reader.read(false, (index, values) -> totals.add(values.clone()));
+    assertEquals(List.of(5L, 9L, 12L), totals.stream().map(v -> v[young]).toList());
+    assertEquals(1L, totals.get(0)[old]);
+    assertNull(totals.get(1)[old]);
+    assertEquals(2L, totals.get(2)[old]);
+    assertEquals(13.5, totals.get(1)[heapUsed]);
+
+    List<Number[]> deltas = new ArrayList<>();
+    reader.read(true, (index, values) -> deltas.add(values.clone()));
+    assertEquals(List.of(5L, 4L, 3L), deltas.stream().map(v -> v[young]).toList());
+
+    ByteArrayOutputStream json = new ByteArrayOutputStream();
+    reader.writeJson(false, new PrintStream(json, true, StandardCharsets.UTF_8));
+    String[] lines = json.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(3, lines.length);
+    assertEquals(3000, new JSONObject(lines[2]).getLong("timestamp"));
+
+    ByteArrayOutputStream tsv = new ByteArrayOutputStream();
+    reader.writeTsv(true, new PrintStream(tsv, true, StandardCharsets.UTF_8));
+    String header = tsv.toString(StandardCharsets.UTF_8).split("\n")[0];
+    assertTrue(header.startsWith("timestamp\t"));
+  }
+}
@@ -0,0 +1,99 @@
+package pc.jvm.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pc.jvm.dto.ContainerStats;
+
+public class ContainerStatsCollectorTest {
+
+  private static final int MB = 1024 * 1024;
+
+  private static void write(Path file, String content) throws Exception {
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, content);
+  }
+
+  private static void writeCgroup(Path dir, String memoryMax, String cpuMax) throws Exception {
+    write(dir.resolve("memory.current"), (768L * MB) + "\n");
+    write(dir.resolve("memory.max"), memoryMax + "\n");
+    write(
+        dir.resolve("memory.stat"),
+        "anon " + (600L * MB) + "\nfile " + (160L * MB) + "\ninactive_file " + (128L * MB) + "\n");
+    write(dir.resolve("cpu.max"), cpuMax + "\n");
+    write(
+        dir.resolve("cpu.stat"),
+        "usage_usec 9000000\nuser_usec 8000000\nsystem_usec 1000000\n"
+            + "nr_periods 200\nnr_throttled 50\nthrottled_usec 2500000\n");
+  }
+
+  @Test
+  public void testCollect_ReadsOwnCgroupAndProcessStatus(@TempDir Path dir) throws Exception {
+    Path cgroup = dir.resolve("cgroup");
+    Path proc = dir.resolve("proc");
+    write(cgroup.resolve("cgroup.controllers"), "cpu memory pids\n");
+    writeCgroup(cgroup.resolve("kubepods/pod1"), Long.toString(1024L * MB), "150000 100000");
+    write(proc.resolve("cgroup"), "0::/kubepods/pod1\n");
+    write(
+        proc.resolve("status"),
+        "Name:\tjava\nVmHWM:\t  819200 kB\nVmRSS:\t  716800 kB\nThreads:\t42\n");
+
+    ContainerStats stats = new ContainerStatsCollector(cgroup, proc).collect();
+
+    assertTrue(stats.cgroupV2);
+    assertEquals(768, stats.memoryCurrentMB);
+    assertEquals(1024, stats.memoryMaxMB);
+    assertEquals(75, stats.memoryUsagePercent);
+    assertEquals(600, stats.memoryAnonMB);
+    assertEquals(640, stats.workingSetMB);
+    assertEquals(1.5, stats.cpuLimitCores);
+    assertEquals(200, stats.cpuPeriods);
+    assertEquals(50, stats.cpuThrottledPeriods);
+    assertEquals(2_500_000, stats.cpuThrottledUs);
+    assertEquals(700, stats.rssMB);
+    assertEquals(800, stats.peakRssMB);
+    assertEquals(42, stats.processThreads);
+  }
+
+  @Test
+  public void testCollect_NoLimitsAtNamespaceRoot(@TempDir Path dir) throws Exception {
+    Path cgroup = dir.resolve("cgroup");
+    Path proc = dir.resolve("proc");
+    write(cgroup.resolve("cgroup.controllers"), "cpu memory\n");
+    writeCgroup(cgroup, "max", "max 100000");
+    // A cgroup namespace shows the container's own cgroup as the root
+    write(proc.resolve("cgroup"), "0::/\n");
+
+    ContainerStats stats = new ContainerStatsCollector(cgroup, proc).collect();
+
+    assertEquals(768, stats.memoryCurrentMB);
+    assertEquals(-1, stats.memoryMaxMB);
+    assertEquals(-1, stats.memoryUsagePercent);
+    assertEquals(-1, stats.cpuLimitCores);
+    assertEquals(-1, stats.rssMB);
+    JSONObject json = stats.toJSON();
+    assertEquals("Unlimited", json.getString("memoryMaxMB"));
+    assertEquals("Unlimited", json.getString("cpuLimitCores"));
+  }
+
+  @Test
+  public void testCollect_WithoutCgroupV2ReportsProcessOnly(@TempDir Path dir) throws Exception {
+    Path proc = dir.resolve("proc");
+    write(proc.resolve("status"), "VmRSS:\t  2048 kB\nThreads:\t7\n");
+
+    ContainerStats stats = new ContainerStatsCollector(dir.resolve("cgroup"), proc).collect();
+
+    assertFalse(stats.cgroupV2);
+    assertEquals(2, stats.rssMB);
+    assertEquals(7, stats.processThreads);
+    assertFalse(stats.toJSON().has("memoryCurrentMB"));
+    assertNull(new ContainerStatsCollector(dir.resolve("none"), dir.resolve("none")).collect());
+  }
+}
@@ -0,0 +1,76 @@
+package pc.jvm.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import pc.jvm.dto.GcPauseEvent;
+import pc.jvm.dto.GcPauseStats;
+
+public class GcPauseRecorderTest {
+
+  private static GcPauseEvent pause(long id, long durationMs, String cause, boolean concurrent) {
+    GcPauseEvent event = new GcPauseEvent();
+    event.id = id;
+    event.collector = "Test Collector";
+    event.action = concurrent ? "end of GC cycle" : "end of minor GC";
+    event.cause = cause;
+    event.durationMs = durationMs;
+    event.concurrent = concurrent;
+    return event;
+  }
+
+  @Test
+  public void testRecord_RingBufferFull_KeepsRecentEventsButMaxAndCountsOverAll() {
+    GcPauseRecorder recorder = new GcPauseRecorder(10, Long.MAX_VALUE);
+    recorder.record(pause(0, 500, "Allocation Failure", false));
+    for (int i = 1; i <= 100; i++) {
+      recorder.record(pause(i, i % 10 + 1, "G1 Evacuation Pause", false));
+    }
+    recorder.record(pause(101, 900, "Concurrent Cycle", true));
+
+    List<GcPauseEvent> events = recorder.getEvents();
+    assertEquals(10, events.size());
+    assertEquals(92, events.get(0).id);
+    assertEquals(101, events.get(9).id);
+
+    GcPauseStats stats = recorder.getStats();
+    assertEquals(101, stats.pauseCount);
+    assertEquals(1, stats.concurrentCycleCount);
+    assertEquals(500, stats.maxPauseMs);
+    assertEquals(0, stats.longestPause.id);
+    assertEquals(9, stats.recordedPauses);
+    assertEquals(6, stats.p50PauseMs);
+    assertEquals(10, stats.p99PauseMs);
+    assertEquals(100, stats.causes.get("G1 Evacuation Pause"));
+  }
+
+  @Test
+  public void testStart_SystemGc_RecordsPauseWithCauseAndPoolUsage() throws Exception {
+    try (GcPauseRecorder recorder = new GcPauseRecorder(16, Long.MAX_VALUE)) {
+      recorder.start();
+      System.gc();
+      // Notifications are delivered asynchronously
+      long deadline = System.currentTimeMillis() + 5_000;
+      while (recorder.getEvents().isEmpty() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+
+      List<GcPauseEvent> events = recorder.getEvents();
+      assertFalse(events.isEmpty());
+      assertTrue(events.stream().anyMatch(e -> "System.gc()".equals(e.cause)));
+      assertTrue(events.stream().anyMatch(e -> !e.pools.isEmpty()));
+    }
+  }
+
+  @Test
+  public void testPercentile_NearestRank() {
+    long[] sorted = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+    assertEquals(5, GcPauseRecorder.percentile(sorted, 50));
+    assertEquals(9, GcPauseRecorder.percentile(sorted, 90));
+    assertEquals(10, GcPauseRecorder.percentile(sorted, 99));
+    assertEquals(0, GcPauseRecorder.percentile(new long[0], 50));
+  }
+}
@@ -0,0 +1,66 @@
+package pc.jvm.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pc.jvm.dto.CollectionTierStats;
+import pc.jvm.metricslog.MetricsLogReader;
+
+public class MemoryMonitorThreadTest {
+
+  private static void awaitCollections(
+      CollectionOverhead overhead, CollectionTier tier, long collections) throws Exception {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (overhead.getCollections(tier) < collections && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  public void testRun_CollectsTiersAtTheirOwnPeriodsAndMeasuresThem() throws Exception {
+    MemoryMonitorThread monitor = new MemoryMonitorThread(200, 20, 600_000, null);
+    CollectionOverhead overhead = monitor.getCollectionOverhead();
+    monitor.start();
+    awaitCollections(overhead, CollectionTier.MEDIUM, 3);
+    // Only the initial snapshot is expensive until one is requested
+    assertEquals(1, overhead.getCollections(CollectionTier.EXPENSIVE));
+
+    monitor.requestExpensiveCollection();
+    awaitCollections(overhead, CollectionTier.EXPENSIVE, 2);
+    monitor.requestFinalLog();
+    monitor.join(10_000);
+
+    List<CollectionTierStats> tiers = overhead.snapshot();
+    CollectionTierStats cheap = tiers.get(CollectionTier.CHEAP.ordinal());
+    CollectionTierStats medium = tiers.get(CollectionTier.MEDIUM.ordinal());
+    CollectionTierStats expensive = tiers.get(CollectionTier.EXPENSIVE.ordinal());
+    assertEquals("cheap", cheap.name);
+    assertTrue(cheap.collections > medium.collections);
+    // Initial, requested and final
+    assertEquals(3, expensive.collections);
+    assertTrue(medium.totalTimeUs > 0);
+    assertTrue(expensive.maxTimeUs > 0);
+  }
+
+  @Test
+  public void testRequestFinalLog_AppendsFinalRecordAndTrimsMetricsLog(@TempDir Path dir)
+      throws Exception {
+    Path file = dir.resolve("metrics.bin");
+    MemoryMonitorThread monitor = new MemoryMonitorThread(20, 5, 600_000, file);
+    monitor.start();
+    awaitCollections(monitor.getCollectionOverhead(), CollectionTier.MEDIUM, 5);
+    // Stop while the thread is most likely busy rather than waiting
+    monitor.requestFinalLog();
+    monitor.join(10_000);
+
+    MetricsLogReader reader = MetricsLogReader.open(file);
+    long collections = monitor.getCollectionOverhead().getCollections(CollectionTier.MEDIUM);
+    assertEquals(collections, reader.getRecordCount(), "every snapshot, including the final one");
+    assertTrue(Files.size(file) < 1 << 20, "mapped tail is trimmed");
+  }
+}
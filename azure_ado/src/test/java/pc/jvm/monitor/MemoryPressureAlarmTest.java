@@ -0,0 +1,50 @@
+package pc.jvm.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MemoryPressureAlarmTest {
+
+  @Test
+  public void testStart_WarnsWhenPoolStaysAboveThresholdAfterGc() throws Exception {
+    // A threshold of one byte is exceeded by whatever survives a full GC
+    try (MemoryPressureAlarm alarm = new MemoryPressureAlarm(1e-9, () -> "test", null, false)) {
+      alarm.start();
+      long deadline = System.currentTimeMillis() + 5000;
+      while (alarm.getAlertCount() == 0 && System.currentTimeMillis() < deadline) {
+        System.gc();
+        Thread.sleep(50);
+      }
+      assertTrue(alarm.getAlertCount() > 0);
+    }
+  }
+
+  @Test
+  public void testThresholdExceeded_TakesDiagnosticsOnlyOnce(@TempDir Path dir) throws Exception {
+    MemoryPressureAlarm alarm =
+        new MemoryPressureAlarm(80, () -> "workItems (team 'A')", dir, true);
+    MemoryUsage usage = new MemoryUsage(0, 900, 1000, 1000);
+
+    alarm.onThresholdExceeded(false, "Old Gen", usage);
+    assertEquals(0, alarm.getAlertCount(), "usage before GC is only an early sign");
+    alarm.onThresholdExceeded(true, "Old Gen", usage);
+    alarm.onThresholdExceeded(true, "Old Gen", usage);
+    alarm.awaitDiagnostics(60_000);
+
+    assertEquals(2, alarm.getAlertCount());
+    try (Stream<Path> files = Files.list(dir)) {
+      List<Path> dumps = files.toList();
+      assertEquals(1, dumps.size());
+      assertTrue(dumps.get(0).getFileName().toString().endsWith(".hprof"));
+      assertTrue(Files.size(dumps.get(0)) > 0);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package pc.jvm.monitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class MetricsTimeSeriesTest {
+
+  private static MetricsTimeSeries filled(int samples) {
+    MetricsTimeSeries series = new MetricsTimeSeries(List.of("up", "down"), 10, 5, 3);
+    for (int i = 0; i < samples; i++) {
+      series.add(i * 1000L, new double[] {i, -i});
+    }
+    return series;
+  }
+
+  @Test
+  public void testQuery_OlderSamplesComeFromCoarserTiers() {
+    List<MetricsTimeSeries.Point> points = filled(200).query("up");
+
+    // 6 points of 25 samples, 8 points of 5 samples, then the last 10 raw samples
+    assertEquals(24, points.size());
+    assertEquals(200, points.stream().mapToInt(MetricsTimeSeries.Point::samples).sum());
+    for (int i = 1; i < points.size(); i++) {
+      assertTrue(points.get(i).timestampMs() > points.get(i - 1).endTimestampMs());
+    }
+    MetricsTimeSeries.Point oldest = points.get(0);
+    assertEquals(25, oldest.samples());
+    assertEquals(12, oldest.mean());
+    assertEquals(0, oldest.min());
+    assertEquals(24, oldest.max());
+    MetricsTimeSeries.Point newest = points.get(points.size() - 1);
+    assertEquals(1, newest.samples());
+    assertEquals(199, newest.mean());
+  }
+
+  @Test
+  public void testSummarizeAndResample_CoverWholeHistory() {
+    MetricsTimeSeries series = filled(200);
+    MetricsTimeSeries.Point summary = series.summarize("down");
+    assertEquals(-99.5, summary.mean());
+    assertEquals(-199, summary.min());
+    assertEquals(0, summary.max());
+    assertEquals(200, series.getSampleCount());
+
+    List<MetricsTimeSeries.Point> trend = series.resample("up", 4);
+    assertEquals(4, trend.size());
+    assertEquals(0, trend.get(0).timestampMs());
+    assertEquals(199_000, trend.get(3).endTimestampMs());
+    assertEquals(200, trend.stream().mapToInt(MetricsTimeSeries.Point::samples).sum());
+  }
+
+  @Test
+  public void testWriteCsv_OneLinePerPointAndMetric() throws Exception {
+    StringBuilder csv = new StringBuilder();
+    filled(3).writeCsv(csv);
+    String[] lines = csv.toString().split("\n");
+    assertEquals("metric,timestampMs,endTimestampMs,samples,mean,min,max", lines[0]);
+    assertEquals(7, lines.length);
+    assertEquals("down,2000,2000,1,-2.000,-2.000,-2.000", lines[6]);
+  }
+
+  @Test
+  public void testLatest_CopiesNewestSample() {
+    double[] values = new double[2];
+    assertEquals(-1, filled(0).latest(values));
+    assertEquals(199_000, filled(200).latest(values));
+    assertEquals(199, values[0]);
+    assertEquals(-199, values[1]);
+  }
+
+  @Test
+  public void testAdd_WrongValueCount_Throws() {
+    MetricsTimeSeries series = filled(0);
+    assertThrows(IllegalArgumentException.class, () -> series.add(0, new double[] {1}));
+    assertThrows(IllegalArgumentException.class, () -> series.query("missing"));
+  }
+}